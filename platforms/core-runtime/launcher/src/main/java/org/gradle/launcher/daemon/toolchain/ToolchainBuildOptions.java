@@ -60,6 +60,12 @@ public void applyTo(boolean value, ToolchainConfiguration settings, Origin origi
                         settings.setDownloadEnabled(value);
                     }
                 },
+                new ReleaseFileDetectionOption<ToolchainConfiguration>() {
+                    @Override
+                    public void applyTo(boolean value, ToolchainConfiguration settings, Origin origin) {
+                        settings.setReleaseFileDetectionEnabled(value);
+                    }
+                },
                 new IntellijJdkBuildOption<ToolchainConfiguration>() {
                     @Override
                     public void applyTo(String value, ToolchainConfiguration settings, Origin origin) {
@@ -102,6 +108,12 @@ public void applyTo(boolean value, StartParameter settings, Origin origin) {
                         settings.getProjectProperties().putIfAbsent(getProperty(), Boolean.toString(value));
                     }
                 },
+                new ReleaseFileDetectionOption<StartParameter>() {
+                    @Override
+                    public void applyTo(boolean value, StartParameter settings, Origin origin) {
+                        settings.getProjectProperties().putIfAbsent(getProperty(), Boolean.toString(value));
+                    }
+                },
                 new IntellijJdkBuildOption<StartParameter>() {
                     @Override
                     public void applyTo(String value, StartParameter settings, Origin origin) {
@@ -148,6 +160,14 @@ public AutoDownloadOption() {
         }
     }
 
+    private abstract static class ReleaseFileDetectionOption<T> extends BooleanBuildOption<T> {
+        private static final String GRADLE_PROPERTY = ToolchainConfiguration.RELEASE_FILE_DETECTION;
+
+        public ReleaseFileDetectionOption() {
+            super(GRADLE_PROPERTY);
+        }
+    }
+
     private abstract static class IntellijJdkBuildOption<T> extends StringBuildOption<T> {
         private static final String GRADLE_PROPERTY = IntellijInstallationSupplier.INTELLIJ_JDK_DIR_PROPERTY;
 
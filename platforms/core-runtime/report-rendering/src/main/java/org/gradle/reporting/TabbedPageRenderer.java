@@ -86,11 +86,21 @@ public void render(final T model, HtmlPageBuilder<SimpleHtmlWriter> builder) thr
                             .endElement()
                         .endElement()
                     .characters("Generated by ")
-                        .startElement("a").attribute("href", "https://www.gradle.org").characters("Gradle " + GradleVersion.current().getVersion()).endElement()
-                        .characters(String.format(" at %s", builder.formatDate(new Date())))
-                    .endElement()
+                        .startElement("a").attribute("href", "https://www.gradle.org").characters("Gradle " + GradleVersion.current().getVersion()).endElement();
+                    if (isGenerationTimeShown()) {
+                        htmlWriter.characters(String.format(" at %s", builder.formatDate(new Date())));
+                    }
+                    htmlWriter.endElement()
                 .endElement()
             .endElement()
         .endElement();
     }
+
+    /**
+     * Whether the footer shows when the page was generated.
+     * Pages that are kept across report generations should not show it, as it would no longer be accurate.
+     */
+    protected boolean isGenerationTimeShown() {
+        return true;
+    }
 }
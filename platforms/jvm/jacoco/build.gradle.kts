@@ -25,7 +25,9 @@ dependencies {
     api(libs.inject)
     api(libs.jspecify)
 
+    implementation(projects.concurrent)
     implementation(projects.daemonServerWorker)
+    implementation(projects.hashing)
     implementation(projects.loggingApi)
     implementation(projects.modelCore)
     implementation(projects.platformBase)
@@ -33,6 +35,8 @@ dependencies {
     implementation(projects.pluginsJavaBase)
     implementation(projects.pluginsJvmTestSuite)
     implementation(projects.serviceLookup)
+    implementation(projects.serviceProvider)
+    implementation(projects.snapshots)
     implementation(projects.testSuitesBase)
     implementation(projects.testingJvm)
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.testing.jacoco.plugins
+
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import org.gradle.testing.jacoco.plugins.fixtures.JacocoCoverage
+import org.gradle.testing.jacoco.plugins.fixtures.JavaProjectUnderTest
+
+class JacocoReportGeneratorIntegrationTest extends AbstractIntegrationSpec {
+
+    private final JavaProjectUnderTest javaProjectUnderTest = new JavaProjectUnderTest(testDirectory)
+
+    def setup() {
+        JacocoCoverage.assumeDefaultJacocoWorksOnCurrentJdk()
+        settingsFile << "rootProject.name = 'sample'"
+        javaProjectUnderTest.writeBuildScript().writeSourceFiles(3)
+        buildFile << """
+            jacocoTestReport {
+                reports {
+                    xml.required = true
+                    csv.required = true
+                }
+            }
+        """
+    }
+
+    def "generates the same reports as the JaCoCo Ant task"() {
+        given:
+        buildFile << """
+            def jacocoAntClasspath = configurations.jacocoAnt
+            def executionData = layout.buildDirectory.file("jacoco/test.exec")
+            def classesDir = layout.buildDirectory.dir("classes/java/main")
+            def sourcesDir = layout.projectDirectory.dir("src/main/java")
+            def antReportsDir = layout.buildDirectory.dir("reports/ant")
+
+            tasks.register("antJacocoReport") {
+                dependsOn test
+                doLast {
+                    antReportsDir.get().asFile.mkdirs()
+                    ant.taskdef(name: 'antJacocoReport', classname: 'org.jacoco.ant.ReportTask', classpath: jacocoAntClasspath.asPath)
+                    ant.antJacocoReport {
+                        executiondata {
+                            fileset(file: executionData.get().asFile)
+                        }
+                        structure(name: 'sample') {
+                            classfiles {
+                                fileset(dir: classesDir.get().asFile)
+                            }
+                            sourcefiles(encoding: 'UTF-8') {
+                                fileset(dir: sourcesDir.asFile)
+                            }
+                        }
+                        xml(destfile: antReportsDir.get().file("report.xml").asFile)
+                        csv(destfile: antReportsDir.get().file("report.csv").asFile)
+                    }
+                }
+            }
+        """
+        file("src/test/java/org/gradle/Class2Test.java").text = """
+            package org.gradle;
+
+            import org.junit.Test;
+
+            public class Class2Test {
+                @Test
+                public void someTest() {
+                }
+            }
+        """
+
+        when:
+        succeeds "jacocoTestReport", "antJacocoReport"
+
+        then:
+        file("build/reports/jacoco/test/jacocoTestReport.xml").text == file("build/reports/ant/report.xml").text
+        file("build/reports/jacoco/test/jacocoTestReport.csv").text == file("build/reports/ant/report.csv").text
+    }
+
+    def "warns when the classes do not match the execution data"() {
+        given:
+        succeeds "test"
+        file("src/main/java/org/gradle/Class1.java").text = """
+            package org.gradle;
+
+            public class Class1 {
+                public boolean isFoo(Object arg) {
+                    return arg != null;
+                }
+            }
+        """
+
+        when:
+        succeeds "jacocoTestReport", "-x", "test"
+
+        then:
+        outputContains("Classes in bundle 'sample' do not match with execution data. For report generation the same class files must be used as at runtime.")
+        outputContains("Execution data for class org/gradle/Class1 does not match.")
+    }
+
+    def "reuses the analysis of classes whose probes did not change"() {
+        given:
+        executer.requireDaemon().requireIsolatedDaemons()
+
+        when:
+        succeeds "jacocoTestReport", "--info"
+
+        then:
+        outputContains("Analyzed 3 of 3 class files")
+
+        when:
+        succeeds "jacocoTestReport", "--rerun", "--info"
+
+        then:
+        outputContains("Analyzed 0 of 3 class files")
+
+        when:
+        file("src/test/java/org/gradle/Class1Test.java").text = """
+            package org.gradle;
+
+            import org.junit.Test;
+
+            public class Class1Test {
+                @Test
+                public void someTest() {
+                }
+            }
+        """
+        succeeds "jacocoTestReport", "--info"
+
+        then:
+        outputContains("Analyzed 1 of 3 class files")
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import org.gradle.internal.UncheckedException;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The parts of the JaCoCo core and report APIs used to generate coverage reports, loaded from the JaCoCo version selected by the build.
+ * <p>
+ * Gradle does not compile against JaCoCo, so the API is accessed reflectively.
+ * Plain reflection is used rather than dynamic Groovy, so that the class loader of JaCoCo is not retained by Groovy's meta-class registry.
+ * All JaCoCo objects are passed around as {@link Object}s.
+ */
+final class JacocoApi {
+    private final ClassLoader classLoader;
+
+    private final Constructor<?> newExecFileLoader;
+    private final Method loadExecFile;
+    private final Method getExecutionDataStore;
+    private final Method getSessionInfoStore;
+
+    private final Constructor<?> newExecutionDataStore;
+    private final Method acceptExecutionData;
+    private final Method getExecutionData;
+    private final Method containsClass;
+    private final Method getContents;
+    private final Method getProbes;
+
+    private final Constructor<?> newSessionInfoStore;
+    private final Method acceptSessionInfos;
+    private final Method getInfos;
+
+    private final Constructor<?> newCoverageBuilder;
+    private final Method visitCoverage;
+    private final Method getClasses;
+    private final Method getNoMatchClasses;
+    private final Method getBundle;
+    private final Method getClassId;
+    private final Method getClassName;
+    private final Method getClassCounter;
+    private final Method getLineCounter;
+    private final Method getTotalCount;
+
+    private final Constructor<?> newAnalyzer;
+    private final Method analyzeClass;
+    private final Method analyzeAll;
+
+    private final Constructor<?> newMultiSourceFileLocator;
+    private final Method addSourceFileLocator;
+    private final Constructor<?> newDirectorySourceFileLocator;
+
+    private final Constructor<?> newHtmlFormatter;
+    private final Method createHtmlVisitor;
+    private final Constructor<?> newFileMultiReportOutput;
+    private final Constructor<?> newXmlFormatter;
+    private final Method createXmlVisitor;
+    private final Constructor<?> newCsvFormatter;
+    private final Method createCsvVisitor;
+    private final Constructor<?> newMultiReportVisitor;
+    private final Method visitInfo;
+    private final Method visitBundle;
+    private final Method visitEnd;
+
+    private JacocoApi(ClassLoader classLoader) throws ReflectiveOperationException {
+        this.classLoader = classLoader;
+
+        Class<?> execFileLoader = load("org.jacoco.core.tools.ExecFileLoader");
+        Class<?> executionDataStore = load("org.jacoco.core.data.ExecutionDataStore");
+        Class<?> executionDataVisitor = load("org.jacoco.core.data.IExecutionDataVisitor");
+        Class<?> executionData = load("org.jacoco.core.data.ExecutionData");
+        Class<?> sessionInfoStore = load("org.jacoco.core.data.SessionInfoStore");
+        Class<?> sessionInfoVisitor = load("org.jacoco.core.data.ISessionInfoVisitor");
+        Class<?> coverageBuilder = load("org.jacoco.core.analysis.CoverageBuilder");
+        Class<?> coverageVisitor = load("org.jacoco.core.analysis.ICoverageVisitor");
+        Class<?> classCoverage = load("org.jacoco.core.analysis.IClassCoverage");
+        Class<?> bundleCoverage = load("org.jacoco.core.analysis.IBundleCoverage");
+        Class<?> coverageNode = load("org.jacoco.core.analysis.ICoverageNode");
+        Class<?> counter = load("org.jacoco.core.analysis.ICounter");
+        Class<?> analyzer = load("org.jacoco.core.analysis.Analyzer");
+        Class<?> sourceFileLocator = load("org.jacoco.report.ISourceFileLocator");
+        Class<?> multiSourceFileLocator = load("org.jacoco.report.MultiSourceFileLocator");
+        Class<?> directorySourceFileLocator = load("org.jacoco.report.DirectorySourceFileLocator");
+        Class<?> multiReportOutput = load("org.jacoco.report.IMultiReportOutput");
+        Class<?> fileMultiReportOutput = load("org.jacoco.report.FileMultiReportOutput");
+        Class<?> htmlFormatter = load("org.jacoco.report.html.HTMLFormatter");
+        Class<?> xmlFormatter = load("org.jacoco.report.xml.XMLFormatter");
+        Class<?> csvFormatter = load("org.jacoco.report.csv.CSVFormatter");
+        Class<?> reportVisitor = load("org.jacoco.report.IReportVisitor");
+        Class<?> multiReportVisitor = load("org.jacoco.report.MultiReportVisitor");
+
+        newExecFileLoader = execFileLoader.getConstructor();
+        loadExecFile = execFileLoader.getMethod("load", File.class);
+        getExecutionDataStore = execFileLoader.getMethod("getExecutionDataStore");
+        getSessionInfoStore = execFileLoader.getMethod("getSessionInfoStore");
+
+        newExecutionDataStore = executionDataStore.getConstructor();
+        acceptExecutionData = executionDataStore.getMethod("accept", executionDataVisitor);
+        getExecutionData = executionDataStore.getMethod("get", long.class);
+        containsClass = executionDataStore.getMethod("contains", String.class);
+        getContents = executionDataStore.getMethod("getContents");
+        getProbes = executionData.getMethod("getProbes");
+
+        newSessionInfoStore = sessionInfoStore.getConstructor();
+        acceptSessionInfos = sessionInfoStore.getMethod("accept", sessionInfoVisitor);
+        getInfos = sessionInfoStore.getMethod("getInfos");
+
+        newCoverageBuilder = coverageBuilder.getConstructor();
+        visitCoverage = coverageBuilder.getMethod("visitCoverage", classCoverage);
+        getClasses = coverageBuilder.getMethod("getClasses");
+        getNoMatchClasses = coverageBuilder.getMethod("getNoMatchClasses");
+        getBundle = coverageBuilder.getMethod("getBundle", String.class);
+        getClassId = classCoverage.getMethod("getId");
+        getClassName = classCoverage.getMethod("getName");
+        getClassCounter = coverageNode.getMethod("getClassCounter");
+        getLineCounter = coverageNode.getMethod("getLineCounter");
+        getTotalCount = counter.getMethod("getTotalCount");
+
+        newAnalyzer = analyzer.getConstructor(executionDataStore, coverageVisitor);
+        analyzeClass = analyzer.getMethod("analyzeClass", byte[].class, String.class);
+        analyzeAll = analyzer.getMethod("analyzeAll", File.class);
+
+        newMultiSourceFileLocator = multiSourceFileLocator.getConstructor(int.class);
+        addSourceFileLocator = multiSourceFileLocator.getMethod("add", sourceFileLocator);
+        newDirectorySourceFileLocator = directorySourceFileLocator.getConstructor(File.class, String.class, int.class);
+
+        newHtmlFormatter = htmlFormatter.getConstructor();
+        createHtmlVisitor = htmlFormatter.getMethod("createVisitor", multiReportOutput);
+        newFileMultiReportOutput = fileMultiReportOutput.getConstructor(File.class);
+        newXmlFormatter = xmlFormatter.getConstructor();
+        createXmlVisitor = xmlFormatter.getMethod("createVisitor", OutputStream.class);
+        newCsvFormatter = csvFormatter.getConstructor();
+        createCsvVisitor = csvFormatter.getMethod("createVisitor", OutputStream.class);
+        newMultiReportVisitor = multiReportVisitor.getConstructor(List.class);
+        visitInfo = reportVisitor.getMethod("visitInfo", List.class, Collection.class);
+        visitBundle = reportVisitor.getMethod("visitBundle", bundleCoverage, sourceFileLocator);
+        visitEnd = reportVisitor.getMethod("visitEnd");
+    }
+
+    /**
+     * Returns the API of the JaCoCo version loaded by the given class loader, or {@code null} when this version does not provide all of it.
+     */
+    @Nullable
+    static JacocoApi load(ClassLoader classLoader) {
+        try {
+            return new JacocoApi(classLoader);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Returns an {@code ExecFileLoader} that loaded the given execution data file.
+     */
+    Object loadExecFile(File file) {
+        Object loader = newInstance(newExecFileLoader);
+        invoke(loadExecFile, loader, file);
+        return loader;
+    }
+
+    /**
+     * Merges the execution data and session infos of the given {@code ExecFileLoader} into the given stores.
+     */
+    void mergeExecFile(Object loader, Object executionDataStore, Object sessionInfoStore) {
+        invoke(acceptExecutionData, invoke(getExecutionDataStore, loader), executionDataStore);
+        invoke(acceptSessionInfos, invoke(getSessionInfoStore, loader), sessionInfoStore);
+    }
+
+    Object newExecutionDataStore() {
+        return newInstance(newExecutionDataStore);
+    }
+
+    Object newSessionInfoStore() {
+        return newInstance(newSessionInfoStore);
+    }
+
+    /**
+     * Returns the probes recorded for the class with the given id, or {@code null} when the class was not executed.
+     */
+    boolean @Nullable [] getProbes(Object executionDataStore, long classId) {
+        Object executionData = invoke(getExecutionData, executionDataStore, classId);
+        return executionData == null ? null : (boolean[]) invoke(getProbes, executionData);
+    }
+
+    /**
+     * Whether execution data was recorded for a class with the given name, in any version.
+     */
+    boolean containsClass(Object executionDataStore, String className) {
+        return (Boolean) invoke(containsClass, executionDataStore, className);
+    }
+
+    Object newCoverageBuilder() {
+        return newInstance(newCoverageBuilder);
+    }
+
+    void visitCoverage(Object coverageBuilder, Object classCoverage) {
+        invoke(visitCoverage, coverageBuilder, classCoverage);
+    }
+
+    Collection<?> getClasses(Object coverageBuilder) {
+        return (Collection<?>) invoke(getClasses, coverageBuilder);
+    }
+
+    Collection<?> getNoMatchClasses(Object coverageBuilder) {
+        return (Collection<?>) invoke(getNoMatchClasses, coverageBuilder);
+    }
+
+    long getClassId(Object classCoverage) {
+        return (Long) invoke(getClassId, classCoverage);
+    }
+
+    String getClassName(Object classCoverage) {
+        return (String) invoke(getClassName, classCoverage);
+    }
+
+    /**
+     * Returns the number of classes in the given coverage node, such as a bundle.
+     */
+    int getClassCount(Object coverageNode) {
+        return (Integer) invoke(getTotalCount, invoke(getClassCounter, coverageNode));
+    }
+
+    /**
+     * Returns the number of lines in the given coverage node, which is zero when its classes were compiled without debug information.
+     */
+    int getLineCount(Object coverageNode) {
+        return (Integer) invoke(getTotalCount, invoke(getLineCounter, coverageNode));
+    }
+
+    /**
+     * Analyzes a single class file, reporting its coverage to the given {@code CoverageBuilder}.
+     */
+    void analyzeClass(Object executionDataStore, Object coverageBuilder, byte[] content, String location) {
+        invoke(analyzeClass, newInstance(newAnalyzer, executionDataStore, coverageBuilder), content, location);
+    }
+
+    /**
+     * Analyzes the class files in the given file, which may be a directory or an archive, reporting their coverage to the given {@code CoverageBuilder}.
+     */
+    void analyzeAll(Object executionDataStore, Object coverageBuilder, File file) {
+        invoke(analyzeAll, newInstance(newAnalyzer, executionDataStore, coverageBuilder), file);
+    }
+
+    /**
+     * Returns a source file locator that looks up source files in the given directories.
+     */
+    Object newSourceFileLocator(Iterable<File> directories, @Nullable String encoding) {
+        int tabWidth = 4;
+        Object locator = newInstance(newMultiSourceFileLocator, tabWidth);
+        for (File directory : directories) {
+            invoke(addSourceFileLocator, locator, newInstance(newDirectorySourceFileLocator, directory, encoding, tabWidth));
+        }
+        return locator;
+    }
+
+    Object newHtmlVisitor(File destination) {
+        return invoke(createHtmlVisitor, newInstance(newHtmlFormatter), newInstance(newFileMultiReportOutput, destination));
+    }
+
+    Object newXmlVisitor(OutputStream output) {
+        return invoke(createXmlVisitor, newInstance(newXmlFormatter), output);
+    }
+
+    Object newCsvVisitor(OutputStream output) {
+        return invoke(createCsvVisitor, newInstance(newCsvFormatter), output);
+    }
+
+    /**
+     * Writes the given bundle of classes with all the given report visitors.
+     */
+    void writeReports(List<Object> visitors, Object sessionInfoStore, Object executionDataStore, Object bundle, Object sourceFileLocator) {
+        Object visitor = newInstance(newMultiReportVisitor, visitors);
+        invoke(visitInfo, visitor, invoke(getInfos, sessionInfoStore), invoke(getContents, executionDataStore));
+        invoke(visitBundle, visitor, bundle, sourceFileLocator);
+        invoke(visitEnd, visitor);
+    }
+
+    Object getBundle(Object coverageBuilder, String name) {
+        return invoke(getBundle, coverageBuilder, name);
+    }
+
+    private Class<?> load(String className) throws ClassNotFoundException {
+        return Class.forName(className, false, classLoader);
+    }
+
+    private static Object newInstance(Constructor<?> constructor, Object... args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    @Nullable
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
+import org.gradle.internal.snapshot.RegularFileSnapshot;
+import org.gradle.internal.snapshot.SnapshotVisitResult;
+import org.gradle.internal.vfs.FileSystemAccess;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers the coverage analysis of class files done by JaCoCo, across report generations and builds.
+ * <p>
+ * The coverage of a class only depends on the content of its class file, on the probes recorded for it and on the JaCoCo version doing the analysis.
+ * Class files are identified by their content hash from the virtual file system, which usually already hashed them as inputs of the report task,
+ * so unchanged classes are neither read nor analyzed again.
+ * Analyses are kept per JaCoCo class loader, which the isolated Ant builder shares between all the reports using the same JaCoCo version.
+ */
+@ServiceScope(Scope.UserHome.class)
+public class JacocoClassAnalysisCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JacocoClassAnalysisCache.class);
+    private static final int MAX_JACOCO_VERSIONS = 4;
+    private static final int MAX_CLASSES = 100_000;
+
+    private final FileSystemAccess fileSystemAccess;
+    // The analyzers retain their class loader, so they are only softly referenced:
+    // a class loader discarded by the isolated Ant builder can then be collected, once memory is needed
+    private final Cache<ClassLoader, Optional<Analyzer>> analyzers = CacheBuilder.newBuilder()
+        .weakKeys()
+        .softValues()
+        .maximumSize(MAX_JACOCO_VERSIONS)
+        .build();
+
+    public JacocoClassAnalysisCache(FileSystemAccess fileSystemAccess) {
+        this.fileSystemAccess = fileSystemAccess;
+    }
+
+    /**
+     * Returns the analyzer for the JaCoCo version loaded by the given class loader, or {@code null} when this version is not supported.
+     */
+    @Nullable
+    Analyzer getAnalyzer(ClassLoader jacocoClassLoader) {
+        try {
+            return analyzers.get(jacocoClassLoader, () -> Optional.ofNullable(JacocoApi.load(jacocoClassLoader)).map(Analyzer::new)).orElse(null);
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        }
+    }
+
+    /**
+     * Analyzes class files with a given JaCoCo version, reusing the coverage of classes it has already analyzed with the same probes.
+     */
+    class Analyzer {
+        private final JacocoApi api;
+        // The id and name of the class in a class file, keyed by the content hash of the class file
+        private final Cache<HashCode, ClassIdentity> classes = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CLASSES)
+            .build();
+        // The coverage of a class, keyed by the content hash of its class file and its probes
+        private final Cache<HashCode, Object> coverages = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CLASSES)
+            .softValues()
+            .build();
+
+        private Analyzer(JacocoApi api) {
+            this.api = api;
+        }
+
+        JacocoApi getApi() {
+            return api;
+        }
+
+        /**
+         * Analyzes the given classes directories and files, reporting the coverage of their classes to the given {@code CoverageBuilder}.
+         * <p>
+         * Class files are analyzed in parallel. Archives and other files are passed to JaCoCo as they are.
+         */
+        void analyze(Iterable<File> classes, Object executionDataStore, Object coverageBuilder) {
+            List<ClassFile> classFiles = new ArrayList<>();
+            List<File> otherFiles = new ArrayList<>();
+            for (File file : classes) {
+                FileSystemLocationSnapshot root = fileSystemAccess.read(file.getAbsolutePath());
+                root.accept(snapshot -> {
+                    if (snapshot instanceof RegularFileSnapshot) {
+                        if (snapshot.getName().endsWith(".class")) {
+                            classFiles.add(new ClassFile(new File(snapshot.getAbsolutePath()), snapshot.getHash()));
+                        } else {
+                            otherFiles.add(new File(snapshot.getAbsolutePath()));
+                        }
+                    }
+                    return SnapshotVisitResult.CONTINUE;
+                });
+            }
+
+            AtomicInteger analyzedCount = new AtomicInteger();
+            List<List<Object>> analyzed = classFiles.parallelStream()
+                .map(classFile -> analyzeClass(classFile, executionDataStore, analyzedCount))
+                .collect(Collectors.toList());
+            LOGGER.info("Analyzed {} of {} class files, reusing the previous analysis of the others.", analyzedCount.get(), classFiles.size());
+            for (List<Object> coverages : analyzed) {
+                for (Object coverage : coverages) {
+                    api.visitCoverage(coverageBuilder, coverage);
+                }
+            }
+            for (File otherFile : otherFiles) {
+                api.analyzeAll(executionDataStore, coverageBuilder, otherFile);
+            }
+        }
+
+        private List<Object> analyzeClass(ClassFile classFile, Object executionDataStore, AtomicInteger analyzedCount) {
+            ClassIdentity identity = classes.getIfPresent(classFile.hash);
+            if (identity == ClassIdentity.NONE) {
+                return ImmutableList.of();
+            }
+            if (identity != null) {
+                Object coverage = coverages.getIfPresent(coverageKey(classFile.hash, identity, executionDataStore));
+                if (coverage != null) {
+                    return ImmutableList.of(coverage);
+                }
+            }
+
+            analyzedCount.incrementAndGet();
+            Object coverageBuilder = api.newCoverageBuilder();
+            api.analyzeClass(executionDataStore, coverageBuilder, readClassFile(classFile.file), classFile.file.getPath());
+            List<Object> analyzed = ImmutableList.copyOf(api.getClasses(coverageBuilder));
+            if (analyzed.size() == 1) {
+                Object coverage = analyzed.get(0);
+                identity = new ClassIdentity(api.getClassId(coverage), api.getClassName(coverage));
+                classes.put(classFile.hash, identity);
+                coverages.put(coverageKey(classFile.hash, identity, executionDataStore), coverage);
+            } else if (analyzed.isEmpty()) {
+                // Filtered out by JaCoCo, for example a module descriptor or a synthetic class
+                classes.put(classFile.hash, ClassIdentity.NONE);
+            }
+            return analyzed;
+        }
+
+        private HashCode coverageKey(HashCode classFileHash, ClassIdentity identity, Object executionDataStore) {
+            Hasher hasher = Hashing.newHasher();
+            hasher.putHash(classFileHash);
+            boolean[] probes = api.getProbes(executionDataStore, identity.id);
+            if (probes == null) {
+                hasher.putNull();
+                // JaCoCo reports classes which were executed in a different version
+                hasher.putBoolean(api.containsClass(executionDataStore, identity.name));
+            } else {
+                byte[] packed = new byte[(probes.length + 7) / 8];
+                for (int i = 0; i < probes.length; i++) {
+                    if (probes[i]) {
+                        packed[i >> 3] |= (byte) (1 << (i & 7));
+                    }
+                }
+                hasher.putInt(probes.length);
+                hasher.putBytes(packed);
+            }
+            return hasher.hash();
+        }
+
+        private byte[] readClassFile(File file) {
+            try {
+                return Files.readAllBytes(file.toPath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class ClassFile {
+        private final File file;
+        private final HashCode hash;
+
+        ClassFile(File file, HashCode hash) {
+            this.file = file;
+            this.hash = hash;
+        }
+    }
+
+    private static final class ClassIdentity {
+        static final ClassIdentity NONE = new ClassIdentity(0, "");
+
+        private final long id;
+        private final String name;
+
+        ClassIdentity(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
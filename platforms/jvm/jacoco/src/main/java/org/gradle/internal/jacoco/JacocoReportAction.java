@@ -20,6 +20,8 @@
 import org.gradle.api.internal.project.antbuilder.AntBuilderDelegate;
 import org.gradle.api.plugins.internal.ant.AntWorkAction;
 
+import javax.inject.Inject;
+
 public abstract class JacocoReportAction extends AntWorkAction<JacocoReportParameters> {
 
     @Override
@@ -29,6 +31,9 @@ protected String getActionName() {
 
     @Override
     protected Action<AntBuilderDelegate> getAntAction() {
-        return new AntJacocoReport(getParameters());
+        return new JacocoReportGenerator(getParameters(), getAnalysisCache());
     }
+
+    @Inject
+    protected abstract JacocoClassAnalysisCache getAnalysisCache();
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco;
+
+import org.gradle.api.Action;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.internal.project.antbuilder.AntBuilderDelegate;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a JaCoCo report by calling the JaCoCo API directly, instead of running the JaCoCo Ant task.
+ * <p>
+ * This produces the same report as {@link AntJacocoReport}, but loads the execution data files in parallel
+ * and reuses the analysis of class files from previous reports, see {@link JacocoClassAnalysisCache}.
+ * Falls back to the Ant task for JaCoCo versions that do not provide the expected API.
+ */
+public class JacocoReportGenerator implements Action<AntBuilderDelegate> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JacocoReportGenerator.class);
+
+    private final JacocoReportParameters params;
+    private final JacocoClassAnalysisCache analysisCache;
+
+    public JacocoReportGenerator(JacocoReportParameters params, JacocoClassAnalysisCache analysisCache) {
+        this.params = params;
+        this.analysisCache = analysisCache;
+    }
+
+    @Override
+    public void execute(AntBuilderDelegate antBuilder) {
+        JacocoClassAnalysisCache.Analyzer analyzer = analysisCache.getAnalyzer(antBuilder.getAntlibClassLoader());
+        if (analyzer == null) {
+            LOGGER.info("Generating the JaCoCo report with the JaCoCo Ant task, as the JaCoCo version in use does not provide the expected API.");
+            new AntJacocoReport(params).execute(antBuilder);
+            return;
+        }
+        JacocoApi api = analyzer.getApi();
+
+        Object executionDataStore = api.newExecutionDataStore();
+        Object sessionInfoStore = api.newSessionInfoStore();
+        List<File> executionDataFiles = params.getExecutionData().getFiles().stream()
+            .filter(File::exists)
+            .collect(Collectors.toList());
+        List<Object> loadedExecutionData = executionDataFiles.parallelStream()
+            .map(api::loadExecFile)
+            .collect(Collectors.toList());
+        for (Object loaded : loadedExecutionData) {
+            api.mergeExecFile(loaded, executionDataStore, sessionInfoStore);
+        }
+
+        Object coverageBuilder = api.newCoverageBuilder();
+        analyzer.analyze(params.getAllClassesDirs().filter(File::exists), executionDataStore, coverageBuilder);
+        String bundleName = params.getProjectName().get();
+        Object bundle = api.getBundle(coverageBuilder, bundleName);
+        logBundleInfo(api, bundleName, bundle, coverageBuilder);
+
+        FileCollection sourcesDirs = params.getAllSourcesDirs().filter(File::exists);
+        if (!sourcesDirs.isEmpty() && api.getClassCount(bundle) > 0 && api.getLineCount(bundle) == 0) {
+            LOGGER.warn("To enable source code annotation class files for bundle '{}' have to be compiled with debug information.", bundleName);
+        }
+        Object sourceFileLocator = api.newSourceFileLocator(sourcesDirs, params.getEncoding().getOrNull());
+        List<Object> visitors = new ArrayList<>();
+        List<OutputStream> outputs = new ArrayList<>();
+        try {
+            if (params.getGenerateHtml().get()) {
+                visitors.add(api.newHtmlVisitor(params.getHtmlDestination().getAsFile().get()));
+            }
+            if (params.getGenerateXml().get()) {
+                OutputStream output = createOutput(params.getXmlDestination().getAsFile().get());
+                outputs.add(output);
+                visitors.add(api.newXmlVisitor(output));
+            }
+            if (params.getGenerateCsv().get()) {
+                OutputStream output = createOutput(params.getCsvDestination().getAsFile().get());
+                outputs.add(output);
+                visitors.add(api.newCsvVisitor(output));
+            }
+            api.writeReports(visitors, sessionInfoStore, executionDataStore, bundle, sourceFileLocator);
+        } finally {
+            CompositeStoppable.stoppable(outputs).stop();
+        }
+    }
+
+    private static void logBundleInfo(JacocoApi api, String name, Object bundle, Object coverageBuilder) {
+        LOGGER.info("Writing bundle '{}' with {} classes", name, api.getClassCount(bundle));
+        List<?> noMatchClasses = new ArrayList<>(api.getNoMatchClasses(coverageBuilder));
+        if (!noMatchClasses.isEmpty()) {
+            LOGGER.warn("Classes in bundle '{}' do not match with execution data. For report generation the same class files must be used as at runtime.", name);
+            for (Object noMatchClass : noMatchClasses) {
+                LOGGER.warn("Execution data for class {} does not match.", api.getClassName(noMatchClass));
+            }
+        }
+    }
+
+    private static OutputStream createOutput(File file) {
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            return new BufferedOutputStream(Files.newOutputStream(file.toPath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jacoco
+
+import org.gradle.api.internal.project.antbuilder.AntBuilderDelegate
+import org.gradle.internal.vfs.FileSystemAccess
+import spock.lang.Specification
+
+class JacocoReportGeneratorTest extends Specification {
+    def analysisCache = new JacocoClassAnalysisCache(Mock(FileSystemAccess))
+    def classLoaderWithoutJacoco = new URLClassLoader(new URL[0], (ClassLoader) null)
+
+    def "does not provide an analyzer for a class loader without the JaCoCo API"() {
+        expect:
+        JacocoApi.load(classLoaderWithoutJacoco) == null
+        analysisCache.getAnalyzer(classLoaderWithoutJacoco) == null
+    }
+
+    def "falls back to the JaCoCo Ant task when the JaCoCo API is not available"() {
+        def antBuilder = Mock(AntBuilderDelegate)
+        def generator = new JacocoReportGenerator(Mock(JacocoReportParameters), analysisCache)
+
+        when:
+        generator.execute(antBuilder)
+
+        then:
+        _ * antBuilder.antlibClassLoader >> classLoaderWithoutJacoco
+        1 * antBuilder.invokeMethod("taskdef", [name: "jacocoReport", classname: "org.jacoco.ant.ReportTask"])
+        1 * antBuilder.invokeMethod("jacocoReport", _)
+        0 * antBuilder._
+    }
+}
@@ -19,16 +19,17 @@
 import org.gradle.internal.jvm.Jvm;
 import org.gradle.jvm.toolchain.internal.InstallationLocation;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
-public class CachingJvmMetadataDetector implements JvmMetadataDetector, ConditionalInvalidation<JvmInstallationMetadata> {
+public class CachingJvmMetadataDetector implements JvmMetadataDetector, ConditionalInvalidation<JvmInstallationMetadata>, Closeable {
 
-    private final Map<File, JvmInstallationMetadata> javaMetadata = Collections.synchronizedMap(new HashMap<>());
+    // Installations are probed in parallel, so the map must not be locked while probing
+    private final Map<File, JvmInstallationMetadata> javaMetadata = new ConcurrentHashMap<>();
     private final JvmMetadataDetector delegate;
 
     public CachingJvmMetadataDetector(JvmMetadataDetector delegate) {
@@ -39,7 +40,17 @@ public CachingJvmMetadataDetector(JvmMetadataDetector delegate) {
     @Override
     public JvmInstallationMetadata getMetadata(InstallationLocation javaInstallationLocation) {
         File javaHome = resolveSymlink(javaInstallationLocation.getLocation());
-        return javaMetadata.computeIfAbsent(javaHome, file -> delegate.getMetadata(javaInstallationLocation));
+        JvmInstallationMetadata metadata = javaMetadata.get(javaHome);
+        if (metadata == null) {
+            metadata = delegate.getMetadata(javaInstallationLocation);
+            if (metadata != null) {
+                JvmInstallationMetadata existing = javaMetadata.putIfAbsent(javaHome, metadata);
+                if (existing != null) {
+                    metadata = existing;
+                }
+            }
+        }
+        return metadata;
     }
 
     private File resolveSymlink(File jdkPath) {
@@ -52,8 +63,13 @@ private File resolveSymlink(File jdkPath) {
 
     @Override
     public void invalidateItemsMatching(Predicate<JvmInstallationMetadata> predicate) {
-        synchronized (javaMetadata) {
-            javaMetadata.entrySet().removeIf(it -> predicate.test(it.getValue()));
+        javaMetadata.values().removeIf(predicate);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
         }
     }
 }
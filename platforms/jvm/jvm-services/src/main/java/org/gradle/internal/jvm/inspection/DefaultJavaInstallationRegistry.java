@@ -106,7 +106,7 @@ protected DefaultJavaInstallationRegistry(
     ) {
         this.logger = logger;
         this.buildOperationRunner = buildOperationRunner;
-        this.metadataDetector = metadataDetector;
+        this.metadataDetector = toolchainConfiguration.isReleaseFileDetectionEnabled() ? new ReleaseFileJvmMetadataDetector(metadataDetector) : metadataDetector;
         List<InstallationSupplier> allSuppliers = new ArrayList<>(suppliers);
         if (toolchainConfiguration.isAutoDetectEnabled()) {
             allSuppliers.addAll(optionalSuppliers);
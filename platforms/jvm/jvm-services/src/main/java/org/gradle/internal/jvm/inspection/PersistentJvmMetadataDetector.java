@@ -21,11 +21,13 @@
 import org.gradle.cache.IndexedCache;
 import org.gradle.cache.IndexedCacheParameters;
 import org.gradle.cache.PersistentCache;
+import org.gradle.internal.os.OperatingSystem;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.jvm.toolchain.internal.InstallationLocation;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.io.Closeable;
 import java.io.File;
@@ -33,36 +35,68 @@
 
 /**
  * A {@link JvmMetadataDetector} that caches the results of the JVM installation metadata in a persistent cache.
- *
- * @implNote This currently only persistently caches the results for JVMs that are auto-provisioned.
+ * <p>
+ * Auto-provisioned installations are trusted not to change.
+ * The metadata of other installations is reused as long as the size and modification time of their {@code release} file and {@code java} executable are unchanged,
+ * which covers an installation being updated in place.
+ * Only the metadata of valid installations is cached, so that failures are retried.
+ * <p>
+ * The cache is shared by the launcher and all daemons of the user home, so it is locked on demand.
  */
 @NullMarked
 public class PersistentJvmMetadataDetector implements JvmMetadataDetector, Closeable {
     private final JvmMetadataDetector delegate;
     private final PersistentCache cache;
-    private final IndexedCache<File, JvmInstallationMetadata> indexedCache;
+    private static final String AUTO_PROVISIONED = "auto-provisioned";
+
+    private final IndexedCache<File, StampedMetadata> indexedCache;
 
     public PersistentJvmMetadataDetector(JvmMetadataDetector delegate, CacheBuilder cacheBuilder) {
         this.delegate = delegate;
-        this.cache = cacheBuilder.withInitialLockMode(FileLockManager.LockMode.None).open();
+        this.cache = cacheBuilder.withInitialLockMode(FileLockManager.LockMode.OnDemand).open();
         // TODO: This cache should be cleaned up
-        IndexedCacheParameters<File, JvmInstallationMetadata> parameters = IndexedCacheParameters.of(
+        IndexedCacheParameters<File, StampedMetadata> parameters = IndexedCacheParameters.of(
             "metadata",
             new FileSerializer(),
-            new JvmInstallationMetadataSerializer()
+            new StampedMetadataSerializer()
         );
         this.indexedCache = cache.createIndexedCache(parameters);
     }
 
     @Override
     public JvmInstallationMetadata getMetadata(InstallationLocation javaInstallationLocation) {
+        File javaHome = javaInstallationLocation.getLocation();
         // If the Java installation was auto-provisioned, we can trust that it will not change
-        if (javaInstallationLocation.isAutoProvisioned()) {
-            return cache.useCache(() -> indexedCache.get(javaInstallationLocation.getLocation(), key -> delegate.getMetadata(javaInstallationLocation)));
-        } else {
-            // Otherwise, we need to reprobe each time
+        String stamp = javaInstallationLocation.isAutoProvisioned() ? AUTO_PROVISIONED : stampOf(javaHome);
+        if (stamp == null) {
             return delegate.getMetadata(javaInstallationLocation);
         }
+        StampedMetadata cached = cache.useCache(() -> indexedCache.getIfPresent(javaHome));
+        if (cached != null && cached.stamp.equals(stamp)) {
+            return cached.metadata;
+        }
+        // Probe outside of the cache, so that installations can be probed in parallel
+        JvmInstallationMetadata metadata = delegate.getMetadata(javaInstallationLocation);
+        if (metadata.isValidInstallation()) {
+            cache.useCache(() -> indexedCache.put(javaHome, new StampedMetadata(stamp, metadata)));
+        }
+        return metadata;
+    }
+
+    /**
+     * Returns a stamp of the files that identify the version of the installation, or {@code null} if there is no {@code java} executable.
+     */
+    @Nullable
+    private static String stampOf(File javaHome) {
+        File javaExecutable = new File(new File(javaHome, "bin"), OperatingSystem.current().getExecutableName("java"));
+        if (!javaExecutable.isFile()) {
+            return null;
+        }
+        return fileStamp(new File(javaHome, "release")) + ";" + fileStamp(javaExecutable);
+    }
+
+    private static String fileStamp(File file) {
+        return file.length() + ":" + file.lastModified();
     }
 
     @Override
@@ -84,10 +118,22 @@ public void write(Encoder encoder, File value) throws Exception {
     }
 
     @NullMarked
-    private static class JvmInstallationMetadataSerializer implements Serializer<JvmInstallationMetadata> {
+    private static class StampedMetadata {
+        private final String stamp;
+        private final JvmInstallationMetadata metadata;
+
+        StampedMetadata(String stamp, JvmInstallationMetadata metadata) {
+            this.stamp = stamp;
+            this.metadata = metadata;
+        }
+    }
+
+    @NullMarked
+    private static class StampedMetadataSerializer implements Serializer<StampedMetadata> {
         @Override
-        public JvmInstallationMetadata read(Decoder decoder) throws Exception {
-            return JvmInstallationMetadata.from(
+        public StampedMetadata read(Decoder decoder) throws Exception {
+            String stamp = decoder.readString();
+            return new StampedMetadata(stamp, JvmInstallationMetadata.from(
                 new File(decoder.readString()),
                 decoder.readString(),
                 decoder.readString(),
@@ -96,11 +142,13 @@ public JvmInstallationMetadata read(Decoder decoder) throws Exception {
                 decoder.readString(),
                 decoder.readString(),
                 decoder.readString(),
-                decoder.readString());
+                decoder.readString()));
         }
 
         @Override
-        public void write(Encoder encoder, JvmInstallationMetadata value) throws Exception {
+        public void write(Encoder encoder, StampedMetadata stampedMetadata) throws Exception {
+            encoder.writeString(stampedMetadata.stamp);
+            JvmInstallationMetadata value = stampedMetadata.metadata;
             encoder.writeString(value.getJavaHome().toString());
             encoder.writeString(value.getJavaVersion());
             encoder.writeString(value.getVendor().getRawVendor());
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jvm.inspection;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.gradle.api.JavaVersion;
+import org.gradle.internal.os.OperatingSystem;
+import org.gradle.jvm.toolchain.internal.InstallationLocation;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * A {@link JvmMetadataDetector} that reads the metadata of an installation from its {@code release} file, instead of running the installation.
+ * <p>
+ * The {@code release} file does not contain all the system properties that are probed, so some of them are approximated:
+ * the runtime name is the implementor version, the JVM name is derived from the JVM variant, and the JVM vendor is the implementor,
+ * which matches {@code java.vm.vendor} for most distributions.
+ * The architecture is converted to the value of {@code os.arch} on the current operating system.
+ * Installations without a {@code release} file, or with an incomplete one, are probed by the delegate.
+ */
+@NullMarked
+public class ReleaseFileJvmMetadataDetector implements JvmMetadataDetector {
+    private final JvmMetadataDetector delegate;
+
+    public ReleaseFileJvmMetadataDetector(JvmMetadataDetector delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public JvmInstallationMetadata getMetadata(InstallationLocation javaInstallationLocation) {
+        JvmInstallationMetadata metadata = readReleaseFile(javaInstallationLocation.getLocation());
+        if (metadata != null) {
+            return metadata;
+        }
+        return delegate.getMetadata(javaInstallationLocation);
+    }
+
+    @VisibleForTesting
+    @Nullable
+    static JvmInstallationMetadata readReleaseFile(File javaHome) {
+        File releaseFile = new File(javaHome, "release");
+        if (!releaseFile.isFile()) {
+            return null;
+        }
+        Properties release = new Properties();
+        try (Reader reader = Files.newBufferedReader(releaseFile.toPath(), StandardCharsets.UTF_8)) {
+            release.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        String javaVersion = valueOf(release, "JAVA_VERSION");
+        String vendor = valueOf(release, "IMPLEMENTOR");
+        String runtimeVersion = valueOf(release, "JAVA_RUNTIME_VERSION");
+        String architecture = valueOf(release, "OS_ARCH");
+        if (javaVersion == null || vendor == null || runtimeVersion == null || architecture == null) {
+            return null;
+        }
+        try {
+            JavaVersion.toVersion(javaVersion);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String implementorVersion = valueOf(release, "IMPLEMENTOR_VERSION");
+        String runtimeName = implementorVersion != null ? implementorVersion : "";
+        String jvmName = jvmNameOf(valueOf(release, "JVM_VARIANT"));
+        return JvmInstallationMetadata.from(javaHome, javaVersion, vendor, runtimeName, runtimeVersion, jvmName, runtimeVersion, vendor, toOsArch(architecture, OperatingSystem.current()));
+    }
+
+    private static String jvmNameOf(@Nullable String jvmVariant) {
+        if (jvmVariant == null) {
+            return "HotSpot VM";
+        }
+        // The J9 capability is derived from the JVM name, which is "Eclipse OpenJ9 VM" for the "Openj9" variant
+        if (jvmVariant.toUpperCase(Locale.ROOT).contains("J9")) {
+            return "Eclipse OpenJ9 VM";
+        }
+        return jvmVariant + " VM";
+    }
+
+    /**
+     * Converts the architecture name of the build that produced the installation to the value of {@code os.arch} the installation reports.
+     */
+    @VisibleForTesting
+    static String toOsArch(String architecture, OperatingSystem operatingSystem) {
+        switch (architecture) {
+            case "x86_64":
+                return operatingSystem.isMacOsX() ? architecture : "amd64";
+            case "x86":
+                return operatingSystem.isWindows() ? architecture : "i386";
+            default:
+                return architecture;
+        }
+    }
+
+    @Nullable
+    private static String valueOf(Properties release, String key) {
+        String value = release.getProperty(key);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -32,6 +32,7 @@ public class DefaultToolchainConfiguration implements ToolchainConfiguration {
     private Collection<String> installationsFromPaths;
     private boolean autoDetectEnabled;
     private boolean downloadEnabled;
+    private boolean releaseFileDetectionEnabled;
     private File intellijInstallationDirectory;
 
     private final SystemProperties systemProperties;
@@ -97,6 +98,16 @@ public void setDownloadEnabled(boolean enabled) {
         this.downloadEnabled = enabled;
     }
 
+    @Override
+    public boolean isReleaseFileDetectionEnabled() {
+        return releaseFileDetectionEnabled;
+    }
+
+    @Override
+    public void setReleaseFileDetectionEnabled(boolean enabled) {
+        this.releaseFileDetectionEnabled = enabled;
+    }
+
     @Override
     public File getAsdfDataDirectory() {
         String asdfEnvVar = environment.get("ASDF_DATA_DIR");
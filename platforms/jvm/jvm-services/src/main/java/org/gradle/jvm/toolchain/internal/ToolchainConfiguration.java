@@ -31,6 +31,7 @@
 @ServiceScope({ Scope.Build.class, Scope.Global.class })
 public interface ToolchainConfiguration {
     String AUTO_DETECT = "org.gradle.java.installations.auto-detect";
+    String RELEASE_FILE_DETECTION = "org.gradle.java.installations.release-file-detection";
 
     Collection<String> getJavaInstallationsFromEnvironment();
     void setJavaInstallationsFromEnvironment(Collection<String> installations);
@@ -44,6 +45,12 @@ public interface ToolchainConfiguration {
     boolean isDownloadEnabled();
     void setDownloadEnabled(boolean enabled);
 
+    /**
+     * Whether the metadata of detected installations is read from their {@code release} file instead of running them.
+     */
+    boolean isReleaseFileDetectionEnabled();
+    void setReleaseFileDetectionEnabled(boolean enabled);
+
     File getAsdfDataDirectory();
 
     File getIntelliJdkDirectory();
@@ -19,6 +19,7 @@ package org.gradle.internal.jvm.inspection
 
 import org.gradle.cache.internal.DefaultUnscopedCacheBuilderFactory
 import org.gradle.cache.internal.scopes.DefaultGlobalScopedCacheBuilderFactory
+import org.gradle.internal.os.OperatingSystem
 import org.gradle.jvm.toolchain.internal.InstallationLocation
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.testfixtures.internal.TestInMemoryCacheFactory
@@ -49,7 +50,7 @@ class PersistentJvmMetadataDetectorTest extends Specification {
         0 * _
     }
 
-    def "does not cache the metadata result of user defined installation"() {
+    def "does not cache the metadata result of user defined installation without java executable"() {
         def location = location("test-location")
         when:
         def first = detector.getMetadata(userDefinedInstallation(location))
@@ -64,6 +65,47 @@ class PersistentJvmMetadataDetectorTest extends Specification {
         0 * _
     }
 
+    def "caches the metadata result of user defined installation until its release file changes"() {
+        def location = location("test-location")
+        location.file("bin", OperatingSystem.current().getExecutableName("java")).createFile()
+        def releaseFile = location.file("release")
+        releaseFile.text = 'JAVA_VERSION="1.8.0"'
+        when:
+        def first = detector.getMetadata(userDefinedInstallation(location))
+        then:
+        1 * delegate.getMetadata(_) >> JvmInstallationMetadata.from(location, "8", "oracle", "hotspot", "1.8.0", "hotspot", "1.8.0", "oracle", "x86")
+
+        when:
+        def second = detector.getMetadata(userDefinedInstallation(location))
+        then:
+        first == second
+        0 * _
+
+        when:
+        releaseFile.text = 'JAVA_VERSION="11.0.1"'
+        releaseFile.lastModified = releaseFile.lastModified() + 2000
+        def third = detector.getMetadata(userDefinedInstallation(location))
+        then:
+        1 * delegate.getMetadata(_) >> JvmInstallationMetadata.from(location, "11.0.1", "oracle", "hotspot", "11.0.1", "hotspot", "11.0.1", "oracle", "x86")
+        third.javaMajorVersion == 11
+        0 * _
+    }
+
+    def "does not cache the metadata result of invalid installation"() {
+        def location = location("test-location")
+        when:
+        detector.getMetadata(installation(location))
+        then:
+        1 * delegate.getMetadata(_) >> JvmInstallationMetadata.failure(location, "broken")
+
+        when:
+        def second = detector.getMetadata(installation(location))
+        then:
+        1 * delegate.getMetadata(_) >> JvmInstallationMetadata.from(location, "8", "oracle", "hotspot", "1.8.0", "hotspot", "1.8.0", "oracle", "x86")
+        second.isValidInstallation()
+        0 * _
+    }
+
     def "can detect metadata for multiple installations"() {
         def firstLocation = location("firstLocation")
         def secondLocation = location("secondLocation")
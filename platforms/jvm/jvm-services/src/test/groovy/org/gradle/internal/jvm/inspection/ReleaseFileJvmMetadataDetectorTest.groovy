@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.jvm.inspection
+
+import org.gradle.internal.os.OperatingSystem
+import org.gradle.jvm.toolchain.internal.InstallationLocation
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class ReleaseFileJvmMetadataDetectorTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def delegate = Mock(JvmMetadataDetector)
+    def detector = new ReleaseFileJvmMetadataDetector(delegate)
+
+    def "reads metadata from release file"() {
+        def javaHome = tmpDir.file("jdk")
+        javaHome.file("release").text = """
+IMPLEMENTOR="Eclipse Adoptium"
+IMPLEMENTOR_VERSION="Temurin-17.0.9+9"
+JAVA_RUNTIME_VERSION="17.0.9+9"
+JAVA_VERSION="17.0.9"
+JVM_VARIANT="Hotspot"
+OS_ARCH="aarch64"
+"""
+
+        when:
+        def metadata = detector.getMetadata(InstallationLocation.userDefined(javaHome, "test"))
+
+        then:
+        0 * delegate._
+        metadata.isValidInstallation()
+        metadata.javaMajorVersion == 17
+        metadata.javaVersion == "17.0.9"
+        metadata.vendor.knownVendor == JvmVendor.KnownJvmVendor.ADOPTIUM
+        metadata.runtimeVersion == "17.0.9+9"
+        metadata.jvmVendor == "Eclipse Adoptium"
+        metadata.architecture == "aarch64"
+        !metadata.capabilities.contains(JavaInstallationCapability.J9_VIRTUAL_MACHINE)
+    }
+
+    def "detects J9 virtual machines from release file"() {
+        def javaHome = tmpDir.file("jdk")
+        javaHome.file("release").text = """
+IMPLEMENTOR="IBM Corporation"
+JAVA_RUNTIME_VERSION="11.0.21+9"
+JAVA_VERSION="11.0.21"
+JVM_VARIANT="Openj9"
+OS_ARCH="aarch64"
+"""
+
+        when:
+        def metadata = detector.getMetadata(InstallationLocation.userDefined(javaHome, "test"))
+
+        then:
+        0 * delegate._
+        metadata.capabilities.contains(JavaInstallationCapability.J9_VIRTUAL_MACHINE)
+    }
+
+    def "probes installation when release file is #description"() {
+        def javaHome = tmpDir.file("jdk")
+        if (content != null) {
+            javaHome.file("release").text = content
+        }
+        def location = InstallationLocation.userDefined(javaHome, "test")
+        def probed = JvmInstallationMetadata.from(javaHome, "8", "oracle", "hotspot", "1.8.0", "hotspot", "1.8.0", "oracle", "x86")
+
+        when:
+        def metadata = detector.getMetadata(location)
+
+        then:
+        1 * delegate.getMetadata(location) >> probed
+        metadata.is(probed)
+
+        where:
+        description          | content
+        "missing"            | null
+        "incomplete"         | 'JAVA_VERSION="1.8.0_392"'
+        "using bad versions" | 'IMPLEMENTOR="Oracle Corporation"\nJAVA_RUNTIME_VERSION="x"\nJAVA_VERSION="x"\nOS_ARCH="x86_64"'
+    }
+
+    def "converts architecture #architecture to os.arch on #operatingSystem"() {
+        expect:
+        ReleaseFileJvmMetadataDetector.toOsArch(architecture, operatingSystem) == osArch
+
+        where:
+        architecture | operatingSystem           | osArch
+        "x86_64"     | OperatingSystem.LINUX     | "amd64"
+        "x86_64"     | OperatingSystem.WINDOWS   | "amd64"
+        "x86_64"     | OperatingSystem.MAC_OS    | "x86_64"
+        "x86"        | OperatingSystem.LINUX     | "i386"
+        "x86"        | OperatingSystem.WINDOWS   | "x86"
+        "aarch64"    | OperatingSystem.MAC_OS    | "aarch64"
+        "ppc64le"    | OperatingSystem.LINUX     | "ppc64le"
+    }
+}
@@ -58,6 +58,7 @@ dependencies {
     api(libs.jspecify)
     api(libs.inject)
 
+    implementation(projects.buildOption)
     implementation(projects.concurrent)
     implementation(projects.serviceLookup)
     implementation(projects.time)
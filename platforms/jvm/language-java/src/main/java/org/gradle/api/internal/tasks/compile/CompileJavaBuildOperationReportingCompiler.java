@@ -79,7 +79,15 @@ private Result toBuildOperationResult(WorkResult result) {
             }
 
             private DefaultAnnotationProcessorDetails toAnnotationProcessorDetails(AnnotationProcessorResult result) {
-                return new DefaultAnnotationProcessorDetails(result.getClassName(), toType(result.getType()), result.getExecutionTimeInMillis());
+                return new DefaultAnnotationProcessorDetails(
+                    result.getClassName(),
+                    toType(result.getType()),
+                    result.getExecutionTimeInMillis(),
+                    result.getProcessingTimeInMillis(),
+                    result.getRoundCount(),
+                    result.getGeneratedTypeCount(),
+                    result.getGeneratedResourceCount()
+                );
             }
 
             private AnnotationProcessorDetails.Type toType(IncrementalAnnotationProcessorType type) {
@@ -114,11 +122,19 @@ private static class DefaultAnnotationProcessorDetails implements AnnotationProc
         private final String className;
         private final Type type;
         private final long executionTimeInMillis;
+        private final long processingTimeInMillis;
+        private final int roundCount;
+        private final int generatedTypeCount;
+        private final int generatedResourceCount;
 
-        DefaultAnnotationProcessorDetails(String className, Type type, long executionTimeInMillis) {
+        DefaultAnnotationProcessorDetails(String className, Type type, long executionTimeInMillis, long processingTimeInMillis, int roundCount, int generatedTypeCount, int generatedResourceCount) {
             this.className = className;
             this.type = type;
             this.executionTimeInMillis = executionTimeInMillis;
+            this.processingTimeInMillis = processingTimeInMillis;
+            this.roundCount = roundCount;
+            this.generatedTypeCount = generatedTypeCount;
+            this.generatedResourceCount = generatedResourceCount;
         }
 
         @Override
@@ -136,6 +152,26 @@ public long getExecutionTimeInMillis() {
             return executionTimeInMillis;
         }
 
+        @Override
+        public long getProcessingTimeInMillis() {
+            return processingTimeInMillis;
+        }
+
+        @Override
+        public int getRoundCount() {
+            return roundCount;
+        }
+
+        @Override
+        public int getGeneratedTypeCount() {
+            return generatedTypeCount;
+        }
+
+        @Override
+        public int getGeneratedResourceCount() {
+            return generatedResourceCount;
+        }
+
     }
 
 }
@@ -68,6 +68,26 @@ interface AnnotationProcessorDetails {
              */
             long getExecutionTimeInMillis();
 
+            /**
+             * Returns the part of the execution time this annotation processor spent in processing rounds.
+             */
+            long getProcessingTimeInMillis();
+
+            /**
+             * Returns the number of processing rounds this annotation processor took part in.
+             */
+            int getRoundCount();
+
+            /**
+             * Returns the number of source and class files generated by this annotation processor.
+             */
+            int getGeneratedTypeCount();
+
+            /**
+             * Returns the number of resources generated by this annotation processor.
+             */
+            int getGeneratedResourceCount();
+
             /**
              * Type of annotation processor.
              *
@@ -18,6 +18,7 @@
 import org.gradle.api.internal.ClassPathRegistry;
 import org.gradle.api.internal.tasks.compile.daemon.AbstractDaemonCompiler;
 import org.gradle.api.internal.tasks.compile.daemon.CompilerWorkerExecutor;
+import org.gradle.internal.buildoption.InternalFlag;
 import org.gradle.internal.classloader.VisitableURLClassLoader;
 import org.gradle.internal.classpath.ClassPath;
 import org.gradle.internal.jvm.JavaInfo;
@@ -35,6 +36,12 @@
 import java.util.Set;
 
 public class DaemonJavaCompiler extends AbstractDaemonCompiler<JavaCompileSpec> {
+    /**
+     * Lets compiler daemons keep the file managers of previous compilations, together with the jars they have opened.
+     * Those jars stay open in the compiler daemon between compilations.
+     */
+    public static final InternalFlag REUSE_FILE_MANAGER = new InternalFlag("org.gradle.internal.java.compile.reuse-file-manager");
+
     private final JavaHomeBasedJavaCompilerFactory javaCompilerFactory;
     private final JavaForkOptionsFactory forkOptionsFactory;
     private final File daemonWorkingDir;
@@ -15,6 +15,7 @@
  */
 package org.gradle.api.internal.tasks.compile;
 
+import com.google.common.collect.Iterables;
 import com.sun.tools.javac.util.Context;
 import org.gradle.api.JavaVersion;
 import org.gradle.api.internal.tasks.compile.processing.AnnotationProcessorDeclaration;
@@ -37,6 +38,7 @@
 import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
+import java.io.Closeable;
 import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.util.Iterator;
@@ -104,8 +106,27 @@ private JavaCompiler.CompilationTask createCompileTask(JavaCompileSpec spec, Api
         Charset charset = Optional.ofNullable(compileOptions.getEncoding())
             .map(Charset::forName)
             .orElse(null);
+        if (compileOptions.reusesFileManager() && JavaVersion.current().isJava9Compatible() && StandardJavaFileManagerPool.canReuseFileManagerFor(options)) {
+            StandardJavaFileManagerPool.Lease lease = StandardJavaFileManagerPool.acquire(compiler, diagnosticToProblemListener, charset, options, Iterables.concat(spec.getCompileClasspath(), spec.getModulePath()));
+            try {
+                return createCompileTask(spec, result, compiler, options, lease.getFileManager(), lease);
+            } catch (RuntimeException e) {
+                lease.discard();
+                throw e;
+            }
+        }
         StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnosticToProblemListener, null, charset);
+        return createCompileTask(spec, result, compiler, options, standardFileManager, standardFileManager);
+    }
 
+    private JavaCompiler.CompilationTask createCompileTask(
+        JavaCompileSpec spec,
+        ApiCompilerResult result,
+        ContextAwareJavaCompiler compiler,
+        List<String> options,
+        StandardJavaFileManager standardFileManager,
+        Closeable fileManagerResources
+    ) {
         Iterable<? extends JavaFileObject> compilationUnits = standardFileManager.getJavaFileObjectsFromFiles(spec.getSourceFiles());
         boolean hasEmptySourcepaths = JavaVersion.current().isJava9Compatible() && emptySourcepathIn(options);
         JavaFileManager fileManager = GradleStandardJavaFileManager.wrap(standardFileManager, DefaultClassPath.of(spec.getAnnotationProcessorPath()), hasEmptySourcepaths);
@@ -122,7 +143,7 @@ private JavaCompiler.CompilationTask createCompileTask(JavaCompileSpec spec, Api
         }
         Set<AnnotationProcessorDeclaration> annotationProcessors = spec.getEffectiveAnnotationProcessors();
         task = new AnnotationProcessingCompileTask(task, annotationProcessors, spec.getAnnotationProcessorPath(), result.getAnnotationProcessingResult());
-        task = new ResourceCleaningCompilationTask(task, fileManager);
+        task = new ResourceCleaningCompilationTask(task, fileManagerResources);
         return task;
     }
 
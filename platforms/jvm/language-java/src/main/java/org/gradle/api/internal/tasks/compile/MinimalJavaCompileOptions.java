@@ -48,6 +48,7 @@ public class MinimalJavaCompileOptions implements Serializable {
     private boolean supportsCompilerApi;
     private boolean supportsConstantsAnalysis;
     private boolean supportsIncrementalCompilationAfterFailure;
+    private boolean reusesFileManager;
     private File previousCompilationDataFile;
 
     public MinimalJavaCompileOptions(final CompileOptions compileOptions) {
@@ -250,4 +251,15 @@ public boolean supportsIncrementalCompilationAfterFailure() {
     public void setSupportsIncrementalCompilationAfterFailure(boolean supportsIncrementalCompilationAfterFailure) {
         this.supportsIncrementalCompilationAfterFailure = supportsIncrementalCompilationAfterFailure;
     }
+
+    /**
+     * Whether the compiler may reuse the file manager of previous compilations in the same process, instead of opening the dependencies again.
+     */
+    public boolean reusesFileManager() {
+        return reusesFileManager;
+    }
+
+    public void setReusesFileManager(boolean reusesFileManager) {
+        this.reusesFileManager = reusesFileManager;
+    }
 }
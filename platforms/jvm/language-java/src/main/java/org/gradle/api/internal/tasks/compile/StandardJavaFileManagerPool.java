@@ -0,0 +1,291 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.jspecify.annotations.Nullable;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticListener;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps {@link StandardJavaFileManager}s alive across compilations in the same process.
+ * <p>
+ * A standard file manager keeps the archives it has opened, together with the index of their contents, until it is closed.
+ * Reusing it for the next compilation saves opening and indexing the same dependency jars again, which is a significant part
+ * of compiling small modules.
+ * <p>
+ * A file manager is only reused for compilations with the same charset and compiler options, except for annotation processor options
+ * and the values of the per-compilation paths like the class path or the output directories. As every compilation applies all its options
+ * to the file manager again, it sees the same locations as with a new file manager.
+ * As the file manager may still serve the content of archives it opened before, it is discarded as soon as one of the files
+ * on the class path or module path of a previous compilation has changed.
+ */
+final class StandardJavaFileManagerPool {
+
+    private static final int MAX_IDLE_FILE_MANAGERS = 4;
+
+    /**
+     * Options setting locations of the file manager which are set by every compilation, so only their presence needs to match.
+     */
+    private static final Set<String> PER_COMPILATION_PATH_OPTIONS = ImmutableSet.of(
+        "-d", "-s", "-h",
+        "-classpath", "-cp", "--class-path",
+        "-sourcepath", "--source-path",
+        "--module-path", "-p",
+        "-processorpath", "--processor-path", "--processor-module-path"
+    );
+
+    private static final Deque<PooledFileManager> IDLE_FILE_MANAGERS = new ArrayDeque<>();
+
+    private StandardJavaFileManagerPool() {
+    }
+
+    /**
+     * Whether a file manager can be reused for a compilation with the given options.
+     */
+    static boolean canReuseFileManagerFor(List<String> options) {
+        // The file manager remembers the class files written when checking for output file clashes
+        return options.stream().noneMatch(option -> option.contains("output-file-clash"));
+    }
+
+    /**
+     * Returns a file manager for a compilation with the given options, reading from the given class path and module path.
+     * Closing the returned lease makes the file manager available to other compilations.
+     */
+    static Lease acquire(JavaCompiler compiler, DiagnosticListener<? super JavaFileObject> diagnosticListener, @Nullable Charset charset, List<String> options, Iterable<File> inputFiles) {
+        Key key = new Key(compiler.getClass(), charset, fileManagerOptionsOf(options));
+        PooledFileManager fileManager = takeIdleFileManager(key);
+        if (fileManager == null) {
+            SwitchingDiagnosticListener switchingListener = new SwitchingDiagnosticListener();
+            fileManager = new PooledFileManager(key, compiler.getStandardFileManager(switchingListener, null, charset), switchingListener);
+        }
+        fileManager.diagnosticListener.delegate = diagnosticListener;
+        for (File inputFile : inputFiles) {
+            if (inputFile.isFile()) {
+                fileManager.inputFileStates.put(inputFile, new FileState(inputFile));
+            }
+        }
+        return new Lease(fileManager);
+    }
+
+    @Nullable
+    private static PooledFileManager takeIdleFileManager(Key key) {
+        List<PooledFileManager> stale = new ArrayList<>();
+        PooledFileManager found = null;
+        synchronized (IDLE_FILE_MANAGERS) {
+            Iterator<PooledFileManager> iterator = IDLE_FILE_MANAGERS.descendingIterator();
+            while (iterator.hasNext()) {
+                PooledFileManager candidate = iterator.next();
+                if (!candidate.key.equals(key)) {
+                    continue;
+                }
+                iterator.remove();
+                if (candidate.isUpToDate()) {
+                    found = candidate;
+                    break;
+                }
+                stale.add(candidate);
+            }
+        }
+        CompositeStoppable.stoppable(stale).stop();
+        return found;
+    }
+
+    private static void release(PooledFileManager fileManager) {
+        fileManager.diagnosticListener.delegate = null;
+        try {
+            // Drops the directory listings and file contents cached for the compilation
+            fileManager.fileManager.flush();
+        } catch (IOException e) {
+            fileManager.close();
+            return;
+        }
+        PooledFileManager evicted = null;
+        synchronized (IDLE_FILE_MANAGERS) {
+            IDLE_FILE_MANAGERS.addLast(fileManager);
+            if (IDLE_FILE_MANAGERS.size() > MAX_IDLE_FILE_MANAGERS) {
+                evicted = IDLE_FILE_MANAGERS.removeFirst();
+            }
+        }
+        CompositeStoppable.stoppable(evicted).stop();
+    }
+
+    private static List<String> fileManagerOptionsOf(List<String> options) {
+        ImmutableList.Builder<String> builder = ImmutableList.builder();
+        Iterator<String> iterator = options.iterator();
+        while (iterator.hasNext()) {
+            String option = iterator.next();
+            if (option.startsWith("-A")) {
+                // Annotation processor options are not seen by the file manager
+                continue;
+            }
+            builder.add(option);
+            if (PER_COMPILATION_PATH_OPTIONS.contains(option) && iterator.hasNext()) {
+                iterator.next();
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * A file manager in use by a compilation.
+     */
+    static class Lease implements Closeable {
+        private final PooledFileManager fileManager;
+        private boolean released;
+
+        private Lease(PooledFileManager fileManager) {
+            this.fileManager = fileManager;
+        }
+
+        StandardJavaFileManager getFileManager() {
+            return fileManager.fileManager;
+        }
+
+        /**
+         * Closes the file manager instead of returning it to the pool, for example when it could not be set up for the compilation.
+         */
+        void discard() {
+            if (!released) {
+                released = true;
+                fileManager.close();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(fileManager);
+            }
+        }
+    }
+
+    private static class PooledFileManager implements Closeable {
+        private final Key key;
+        private final StandardJavaFileManager fileManager;
+        private final SwitchingDiagnosticListener diagnosticListener;
+        private final Map<File, FileState> inputFileStates = new HashMap<>();
+
+        PooledFileManager(Key key, StandardJavaFileManager fileManager, SwitchingDiagnosticListener diagnosticListener) {
+            this.key = key;
+            this.fileManager = fileManager;
+            this.diagnosticListener = diagnosticListener;
+        }
+
+        boolean isUpToDate() {
+            for (Map.Entry<File, FileState> entry : inputFileStates.entrySet()) {
+                if (!entry.getValue().equals(new FileState(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            CompositeStoppable.stoppable(fileManager).stop();
+        }
+    }
+
+    private static class FileState {
+        private final long length;
+        private final long lastModified;
+
+        FileState(File file) {
+            // Both are 0 for a missing file
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FileState)) {
+                return false;
+            }
+            FileState other = (FileState) o;
+            return length == other.length && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(length, lastModified);
+        }
+    }
+
+    private static class Key {
+        private final Class<?> compilerType;
+        @Nullable
+        private final Charset charset;
+        private final List<String> fileManagerOptions;
+
+        Key(Class<?> compilerType, @Nullable Charset charset, List<String> fileManagerOptions) {
+            this.compilerType = compilerType;
+            this.charset = charset;
+            this.fileManagerOptions = fileManagerOptions;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return compilerType.equals(other.compilerType) && Objects.equals(charset, other.charset) && fileManagerOptions.equals(other.fileManagerOptions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(compilerType, charset, fileManagerOptions);
+        }
+    }
+
+    /**
+     * The file manager reports diagnostics to the listener it was created with, so that listener forwards them to the current compilation.
+     */
+    private static class SwitchingDiagnosticListener implements DiagnosticListener<JavaFileObject> {
+        @Nullable
+        private volatile DiagnosticListener<? super JavaFileObject> delegate;
+
+        @Override
+        public void report(Diagnostic<? extends JavaFileObject> diagnostic) {
+            DiagnosticListener<? super JavaFileObject> current = delegate;
+            if (current != null) {
+                current.report(diagnostic);
+            }
+        }
+    }
+}
@@ -27,6 +27,7 @@
 import org.gradle.internal.hash.FileHasher;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.hash.StreamHasher;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,12 +35,21 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.gradle.internal.FileUtils.hasExtension;
 
 public class DefaultClassSetAnalyzer implements ClassSetAnalyzer {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultClassSetAnalyzer.class);
 
+    /**
+     * Below this number of class files, analyzing them in parallel costs more than it saves.
+     */
+    private static final int MIN_CLASSES_TO_ANALYZE_IN_PARALLEL = 32;
+
     private final FileHasher fileHasher;
     private final StreamHasher hasher;
     private final ClassDependenciesAnalyzer analyzer;
@@ -81,61 +91,93 @@ private void visit(File classpathEntry, ClassDependentsAccumulator accumulator,
             fileOperations.zipTreeNoLocking(classpathEntry).visit(new JarEntryVisitor(accumulator, abiOnly));
         }
         if (classpathEntry.isDirectory()) {
-            fileOperations.fileTree(classpathEntry).visit(new DirectoryEntryVisitor(accumulator, abiOnly));
+            ClassFileCollector classFiles = new ClassFileCollector();
+            fileOperations.fileTree(classpathEntry).visit(classFiles);
+            analyzeClassFiles(classFiles.getClassFiles(), accumulator, abiOnly);
         }
     }
 
-    private abstract class EntryVisitor implements FileVisitor {
-        private final ClassDependentsAccumulator accumulator;
-        private final boolean abiOnly;
-
-        public EntryVisitor(ClassDependentsAccumulator accumulator, boolean abiOnly) {
-            this.accumulator = accumulator;
-            this.abiOnly = abiOnly;
+    /**
+     * Analyzes the class files of a directory, in parallel if there are enough of them.
+     * The results are added to the accumulator in visiting order, so the outcome is the same as when analyzing the class files one by one.
+     */
+    private void analyzeClassFiles(List<FileVisitDetails> classFiles, ClassDependentsAccumulator accumulator, boolean abiOnly) {
+        Stream<FileVisitDetails> stream = classFiles.size() < MIN_CLASSES_TO_ANALYZE_IN_PARALLEL
+            ? classFiles.stream()
+            : classFiles.parallelStream();
+        List<AnalyzedClassFile> analyzedClassFiles = stream
+            .map(classFile -> analyzeClassFile(classFile, fileHasher.hash(classFile.getFile(), classFile.getSize(), classFile.getLastModified()), abiOnly))
+            .collect(Collectors.toList());
+        for (AnalyzedClassFile analyzedClassFile : analyzedClassFiles) {
+            analyzedClassFile.addTo(accumulator);
         }
+    }
 
-        @Override
-        public void visitDir(FileVisitDetails dirDetails) {
+    private AnalyzedClassFile analyzeClassFile(FileVisitDetails classFile, HashCode classFileHash, boolean abiOnly) {
+        try {
+            ClassAnalysis analysis = maybeStripToAbi(analyzer.getClassAnalysis(classFileHash, classFile), abiOnly);
+            return new AnalyzedClassFile(classFile.getName(), classFileHash, analysis, null);
+        } catch (Exception e) {
+            return new AnalyzedClassFile(classFile.getName(), classFileHash, null, e);
         }
+    }
 
-        @Override
-        public void visitFile(FileVisitDetails fileDetails) {
-            if (!fileDetails.getName().endsWith(".class")) {
-                return;
-            }
+    private static ClassAnalysis maybeStripToAbi(ClassAnalysis analysis, boolean abiOnly) {
+        if (abiOnly) {
+            return new ClassAnalysis(analysis.getClassName(), ImmutableSet.of(), analysis.getAccessibleClassDependencies(), analysis.getDependencyToAllReason(), analysis.getConstants());
+        } else {
+            return analysis;
+        }
+    }
 
-            HashCode classFileHash = getHashCode(fileDetails);
+    private static class AnalyzedClassFile {
+        private final String fileName;
+        private final HashCode classFileHash;
+        private final @Nullable ClassAnalysis analysis;
+        private final @Nullable Exception failure;
+
+        AnalyzedClassFile(String fileName, HashCode classFileHash, @Nullable ClassAnalysis analysis, @Nullable Exception failure) {
+            this.fileName = fileName;
+            this.classFileHash = classFileHash;
+            this.analysis = analysis;
+            this.failure = failure;
+        }
 
-            try {
-                ClassAnalysis analysis = maybeStripToAbi(analyzer.getClassAnalysis(classFileHash, fileDetails));
+        void addTo(ClassDependentsAccumulator accumulator) {
+            if (analysis != null) {
                 accumulator.addClass(analysis, classFileHash);
-            } catch (Exception e) {
-                accumulator.fullRebuildNeeded(fileDetails.getName() + " could not be analyzed for incremental compilation. See the debug log for more details");
+            } else {
+                accumulator.fullRebuildNeeded(fileName + " could not be analyzed for incremental compilation. See the debug log for more details");
                 if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Could not analyze " + fileDetails.getName() + " for incremental compilation", e);
+                    LOGGER.debug("Could not analyze " + fileName + " for incremental compilation", failure);
                 }
             }
         }
-
-        private ClassAnalysis maybeStripToAbi(ClassAnalysis analysis) {
-            if (abiOnly) {
-                return new ClassAnalysis(analysis.getClassName(), ImmutableSet.of(), analysis.getAccessibleClassDependencies(), analysis.getDependencyToAllReason(), analysis.getConstants());
-            } else {
-                return analysis;
-            }
-        }
-
-        protected abstract HashCode getHashCode(FileVisitDetails fileDetails);
     }
 
-    private class JarEntryVisitor extends EntryVisitor {
+    private class JarEntryVisitor implements FileVisitor {
+        private final ClassDependentsAccumulator accumulator;
+        private final boolean abiOnly;
 
         public JarEntryVisitor(ClassDependentsAccumulator accumulator, boolean abiOnly) {
-            super(accumulator, abiOnly);
+            this.accumulator = accumulator;
+            this.abiOnly = abiOnly;
+        }
+
+        @Override
+        public void visitDir(FileVisitDetails dirDetails) {
         }
 
         @Override
-        protected HashCode getHashCode(FileVisitDetails fileDetails) {
+        public void visitFile(FileVisitDetails fileDetails) {
+            if (!fileDetails.getName().endsWith(".class")) {
+                return;
+            }
+            // Jar entries can only be read while the jar is being visited, so they are analyzed one by one
+            analyzeClassFile(fileDetails, getHashCode(fileDetails), abiOnly).addTo(accumulator);
+        }
+
+        private HashCode getHashCode(FileVisitDetails fileDetails) {
             InputStream inputStream = fileDetails.open();
             try {
                 return hasher.hash(inputStream);
@@ -147,15 +189,22 @@ protected HashCode getHashCode(FileVisitDetails fileDetails) {
         }
     }
 
-    private class DirectoryEntryVisitor extends EntryVisitor {
+    private static class ClassFileCollector implements FileVisitor {
+        private final List<FileVisitDetails> classFiles = new ArrayList<>();
 
-        public DirectoryEntryVisitor(ClassDependentsAccumulator accumulator, boolean abiOnly) {
-            super(accumulator, abiOnly);
+        @Override
+        public void visitDir(FileVisitDetails dirDetails) {
         }
 
         @Override
-        protected HashCode getHashCode(FileVisitDetails fileDetails) {
-            return fileHasher.hash(fileDetails.getFile(), fileDetails.getSize(), fileDetails.getLastModified());
+        public void visitFile(FileVisitDetails fileDetails) {
+            if (fileDetails.getName().endsWith(".class")) {
+                classFiles.add(fileDetails);
+            }
+        }
+
+        public List<FileVisitDetails> getClassFiles() {
+            return classFiles;
         }
     }
 
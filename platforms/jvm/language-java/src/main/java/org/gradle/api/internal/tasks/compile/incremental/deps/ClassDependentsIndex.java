@@ -0,0 +1,441 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.deps;
+
+import com.google.common.collect.ImmutableSet;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.gradle.api.internal.tasks.compile.incremental.compilerapi.deps.DependentsSet;
+import org.gradle.internal.serialize.AbstractSerializer;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.HierarchicalNameSerializer;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The reverse dependency view of a class set, in a packed form.
+ * <p>
+ * Class names are interned into ids and the private and accessible dependents of all classes are stored as rows of shared int arrays,
+ * instead of a set of names per class. This keeps reading, merging and querying the dependents of large class sets cheap,
+ * since the dependents of a class are only turned into a {@link DependentsSet} when they are requested.
+ */
+final class ClassDependentsIndex {
+
+    private static final ClassDependentsIndex EMPTY = new Builder().build();
+
+    private final String[] names;
+    private final Object2IntOpenHashMap<String> ids;
+    private final BitSet classes;
+    private final Int2ObjectOpenHashMap<String> dependencyToAllReasons;
+    private final AdjacencyRows privateDependents;
+    private final AdjacencyRows accessibleDependents;
+
+    private ClassDependentsIndex(String[] names, BitSet classes, Int2ObjectOpenHashMap<String> dependencyToAllReasons, AdjacencyRows privateDependents, AdjacencyRows accessibleDependents) {
+        this.names = names;
+        this.classes = classes;
+        this.dependencyToAllReasons = dependencyToAllReasons;
+        this.privateDependents = privateDependents;
+        this.accessibleDependents = accessibleDependents;
+        this.ids = new Object2IntOpenHashMap<>(names.length);
+        ids.defaultReturnValue(-1);
+        for (int id = 0; id < names.length; id++) {
+            ids.put(names[id], id);
+        }
+    }
+
+    public static ClassDependentsIndex empty() {
+        return EMPTY;
+    }
+
+    public static ClassDependentsIndex of(Map<String, DependentsSet> dependents) {
+        if (dependents.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder();
+        dependents.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * The number of classes which have an entry in this index.
+     */
+    public int size() {
+        return classes.cardinality();
+    }
+
+    public Set<String> keySet() {
+        ImmutableSet.Builder<String> result = ImmutableSet.builderWithExpectedSize(size());
+        for (int id = classes.nextSetBit(0); id >= 0; id = classes.nextSetBit(id + 1)) {
+            result.add(names[id]);
+        }
+        return result.build();
+    }
+
+    /**
+     * Returns the dependents of the given class, or {@code null} if the class has no entry in this index.
+     */
+    @Nullable
+    public DependentsSet get(String className) {
+        int id = ids.getInt(className);
+        if (id < 0 || !classes.get(id)) {
+            return null;
+        }
+        String dependencyToAllReason = dependencyToAllReasons.get(id);
+        if (dependencyToAllReason != null) {
+            return DependentsSet.dependencyToAll(dependencyToAllReason);
+        }
+        return DependentsSet.dependentClasses(namesInRow(privateDependents, id), namesInRow(accessibleDependents, id));
+    }
+
+    /**
+     * Returns the classes which are a dependency to all others.
+     */
+    public Set<String> getDependenciesToAll() {
+        ImmutableSet.Builder<String> result = ImmutableSet.builderWithExpectedSize(dependencyToAllReasons.size());
+        for (int id : dependencyToAllReasons.keySet()) {
+            result.add(names[id]);
+        }
+        return result.build();
+    }
+
+    /**
+     * Returns the given classes known to this index together with all the classes they transitively depend on, following accessible dependencies only.
+     * Dependencies to all others are not followed, these need to be handled separately by the caller.
+     */
+    public Set<String> getAccessibleDependenciesOf(Collection<String> classNames) {
+        AdjacencyRows dependencies = accessibleDependents.transpose();
+        BitSet visited = new BitSet(names.length);
+        IntArrayList pending = new IntArrayList();
+        for (String className : classNames) {
+            int id = ids.getInt(className);
+            if (id >= 0 && !visited.get(id)) {
+                visited.set(id);
+                pending.add(id);
+            }
+        }
+        while (!pending.isEmpty()) {
+            int id = pending.popInt();
+            for (int i = dependencies.start(id); i < dependencies.end(id); i++) {
+                int dependency = dependencies.target(i);
+                if (!visited.get(dependency)) {
+                    visited.set(dependency);
+                    pending.add(dependency);
+                }
+            }
+        }
+        ImmutableSet.Builder<String> result = ImmutableSet.builderWithExpectedSize(visited.cardinality());
+        for (int id = visited.nextSetBit(0); id >= 0; id = visited.nextSetBit(id + 1)) {
+            result.add(names[id]);
+        }
+        return result.build();
+    }
+
+    /**
+     * Adds all entries of this index to the given builder, merging them with the entries already present.
+     */
+    public void addTo(Builder builder) {
+        int[] builderIds = new int[names.length];
+        for (int id = 0; id < names.length; id++) {
+            builderIds[id] = builder.intern(names[id]);
+        }
+        for (int id = classes.nextSetBit(0); id >= 0; id = classes.nextSetBit(id + 1)) {
+            int builderId = builderIds[id];
+            String dependencyToAllReason = dependencyToAllReasons.get(id);
+            if (dependencyToAllReason != null) {
+                builder.addDependencyToAll(builderId, dependencyToAllReason);
+                continue;
+            }
+            builder.addClass(builderId);
+            for (int i = privateDependents.start(id); i < privateDependents.end(id); i++) {
+                builder.addPrivateDependent(builderId, builderIds[privateDependents.target(i)]);
+            }
+            for (int i = accessibleDependents.start(id); i < accessibleDependents.end(id); i++) {
+                builder.addAccessibleDependent(builderId, builderIds[accessibleDependents.target(i)]);
+            }
+        }
+    }
+
+    private Set<String> namesInRow(AdjacencyRows rows, int id) {
+        int start = rows.start(id);
+        int end = rows.end(id);
+        if (start == end) {
+            return Collections.emptySet();
+        }
+        ImmutableSet.Builder<String> result = ImmutableSet.builderWithExpectedSize(end - start);
+        for (int i = start; i < end; i++) {
+            result.add(names[rows.target(i)]);
+        }
+        return result.build();
+    }
+
+    /**
+     * Collects the entries of a {@link ClassDependentsIndex}. Merging entries for the same class unions their dependents,
+     * unless one of them is a dependency to all, in which case the first such reason is kept.
+     */
+    static final class Builder {
+        private final Object2IntOpenHashMap<String> ids = new Object2IntOpenHashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final BitSet classes = new BitSet();
+        private final Int2ObjectOpenHashMap<String> dependencyToAllReasons = new Int2ObjectOpenHashMap<>();
+        // Pairs of class id and dependent id
+        private final IntArrayList privateDependents = new IntArrayList();
+        private final IntArrayList accessibleDependents = new IntArrayList();
+
+        Builder() {
+            ids.defaultReturnValue(-1);
+        }
+
+        public void add(String className, DependentsSet dependents) {
+            int id = intern(className);
+            if (dependents.isDependencyToAll()) {
+                addDependencyToAll(id, dependents.getDescription());
+                return;
+            }
+            addClass(id);
+            for (String dependent : dependents.getPrivateDependentClasses()) {
+                addPrivateDependent(id, intern(dependent));
+            }
+            for (String dependent : dependents.getAccessibleDependentClasses()) {
+                addAccessibleDependent(id, intern(dependent));
+            }
+        }
+
+        private int intern(String name) {
+            int id = ids.getInt(name);
+            if (id < 0) {
+                id = names.size();
+                names.add(name);
+                ids.put(name, id);
+            }
+            return id;
+        }
+
+        private void addClass(int id) {
+            classes.set(id);
+        }
+
+        private void addDependencyToAll(int id, String reason) {
+            classes.set(id);
+            dependencyToAllReasons.putIfAbsent(id, reason);
+        }
+
+        private void addPrivateDependent(int id, int dependentId) {
+            privateDependents.add(id);
+            privateDependents.add(dependentId);
+        }
+
+        private void addAccessibleDependent(int id, int dependentId) {
+            accessibleDependents.add(id);
+            accessibleDependents.add(dependentId);
+        }
+
+        public ClassDependentsIndex build() {
+            int count = names.size();
+            return new ClassDependentsIndex(
+                names.toArray(new String[0]),
+                classes,
+                dependencyToAllReasons,
+                AdjacencyRows.fromPairs(count, privateDependents, dependencyToAllReasons),
+                AdjacencyRows.fromPairs(count, accessibleDependents, dependencyToAllReasons)
+            );
+        }
+    }
+
+    /**
+     * Adjacency lists of all ids, stored as compressed sparse rows. The targets of row {@code i} are
+     * {@code targets[offsets[i]]} up to, but excluding, {@code targets[offsets[i + 1]]}, sorted in ascending order.
+     */
+    private static final class AdjacencyRows {
+        private final int[] offsets;
+        private final int[] targets;
+
+        private AdjacencyRows(int[] offsets, int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        /**
+         * Creates the rows from pairs of row and target, skipping the excluded rows and any duplicate targets.
+         */
+        static AdjacencyRows fromPairs(int rowCount, IntArrayList pairs, Int2ObjectOpenHashMap<?> excludedRows) {
+            int[] offsets = new int[rowCount + 1];
+            for (int i = 0; i < pairs.size(); i += 2) {
+                int row = pairs.getInt(i);
+                if (!excludedRows.containsKey(row)) {
+                    offsets[row + 1]++;
+                }
+            }
+            for (int row = 0; row < rowCount; row++) {
+                offsets[row + 1] += offsets[row];
+            }
+            int[] targets = new int[offsets[rowCount]];
+            int[] next = Arrays.copyOf(offsets, rowCount);
+            for (int i = 0; i < pairs.size(); i += 2) {
+                int row = pairs.getInt(i);
+                if (!excludedRows.containsKey(row)) {
+                    targets[next[row]++] = pairs.getInt(i + 1);
+                }
+            }
+
+            int size = 0;
+            int start = 0;
+            for (int row = 0; row < rowCount; row++) {
+                int end = offsets[row + 1];
+                Arrays.sort(targets, start, end);
+                offsets[row] = size;
+                for (int i = start; i < end; i++) {
+                    if (size == offsets[row] || targets[i] != targets[size - 1]) {
+                        targets[size++] = targets[i];
+                    }
+                }
+                start = end;
+            }
+            offsets[rowCount] = size;
+            return new AdjacencyRows(offsets, size == targets.length ? targets : Arrays.copyOf(targets, size));
+        }
+
+        int start(int row) {
+            return offsets[row];
+        }
+
+        int end(int row) {
+            return offsets[row + 1];
+        }
+
+        int target(int index) {
+            return targets[index];
+        }
+
+        AdjacencyRows transpose() {
+            int rowCount = offsets.length - 1;
+            IntArrayList pairs = new IntArrayList(targets.length * 2);
+            for (int row = 0; row < rowCount; row++) {
+                for (int i = start(row); i < end(row); i++) {
+                    pairs.add(targets[i]);
+                    pairs.add(row);
+                }
+            }
+            return fromPairs(rowCount, pairs, new Int2ObjectOpenHashMap<>());
+        }
+    }
+
+    public static class Serializer extends AbstractSerializer<ClassDependentsIndex> {
+        private final Supplier<HierarchicalNameSerializer> hierarchicalNameSerializerSupplier;
+
+        public Serializer(Supplier<HierarchicalNameSerializer> hierarchicalNameSerializerSupplier) {
+            this.hierarchicalNameSerializerSupplier = hierarchicalNameSerializerSupplier;
+        }
+
+        @Override
+        public ClassDependentsIndex read(Decoder decoder) throws Exception {
+            HierarchicalNameSerializer nameSerializer = hierarchicalNameSerializerSupplier.get();
+            int nameCount = decoder.readSmallInt();
+            String[] names = new String[nameCount];
+            for (int id = 0; id < nameCount; id++) {
+                names[id] = nameSerializer.read(decoder);
+            }
+
+            BitSet classes = new BitSet(nameCount);
+            Int2ObjectOpenHashMap<String> dependencyToAllReasons = new Int2ObjectOpenHashMap<>();
+            int[] privateOffsets = new int[nameCount + 1];
+            int[] accessibleOffsets = new int[nameCount + 1];
+            IntArrayList privateTargets = new IntArrayList();
+            IntArrayList accessibleTargets = new IntArrayList();
+            // Classes are written in ascending id order, so the rows can be filled in directly
+            int nextRow = 0;
+            int classCount = decoder.readSmallInt();
+            for (int i = 0; i < classCount; i++) {
+                int id = decoder.readSmallInt();
+                for (; nextRow <= id; nextRow++) {
+                    privateOffsets[nextRow] = privateTargets.size();
+                    accessibleOffsets[nextRow] = accessibleTargets.size();
+                }
+                classes.set(id);
+                if (decoder.readByte() == 0) {
+                    dependencyToAllReasons.put(id, decoder.readString());
+                } else {
+                    readRow(decoder, privateTargets);
+                    readRow(decoder, accessibleTargets);
+                }
+            }
+            for (; nextRow <= nameCount; nextRow++) {
+                privateOffsets[nextRow] = privateTargets.size();
+                accessibleOffsets[nextRow] = accessibleTargets.size();
+            }
+            return new ClassDependentsIndex(
+                names,
+                classes,
+                dependencyToAllReasons,
+                new AdjacencyRows(privateOffsets, privateTargets.toIntArray()),
+                new AdjacencyRows(accessibleOffsets, accessibleTargets.toIntArray())
+            );
+        }
+
+        private static void readRow(Decoder decoder, IntArrayList targets) throws Exception {
+            int count = decoder.readSmallInt();
+            int target = 0;
+            for (int i = 0; i < count; i++) {
+                target += decoder.readSmallInt();
+                targets.add(target);
+            }
+        }
+
+        @Override
+        public void write(Encoder encoder, ClassDependentsIndex value) throws Exception {
+            HierarchicalNameSerializer nameSerializer = hierarchicalNameSerializerSupplier.get();
+            encoder.writeSmallInt(value.names.length);
+            for (String name : value.names) {
+                nameSerializer.write(encoder, name);
+            }
+
+            encoder.writeSmallInt(value.size());
+            for (int id = value.classes.nextSetBit(0); id >= 0; id = value.classes.nextSetBit(id + 1)) {
+                encoder.writeSmallInt(id);
+                String dependencyToAllReason = value.dependencyToAllReasons.get(id);
+                if (dependencyToAllReason != null) {
+                    encoder.writeByte((byte) 0);
+                    encoder.writeString(dependencyToAllReason);
+                } else {
+                    encoder.writeByte((byte) 1);
+                    writeRow(encoder, value.privateDependents, id);
+                    writeRow(encoder, value.accessibleDependents, id);
+                }
+            }
+        }
+
+        private static void writeRow(Encoder encoder, AdjacencyRows rows, int row) throws Exception {
+            encoder.writeSmallInt(rows.end(row) - rows.start(row));
+            // Targets are sorted, so only the differences between them are written
+            int previous = 0;
+            for (int i = rows.start(row); i < rows.end(row); i++) {
+                encoder.writeSmallInt(rows.target(i) - previous);
+                previous = rows.target(i);
+            }
+        }
+    }
+}
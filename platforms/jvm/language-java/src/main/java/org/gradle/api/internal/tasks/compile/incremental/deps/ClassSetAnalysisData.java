@@ -16,17 +16,14 @@
 
 package org.gradle.api.internal.tasks.compile.incremental.deps;
 
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.ints.IntSets;
 import org.apache.commons.lang3.StringUtils;
 import org.gradle.api.internal.tasks.compile.incremental.compilerapi.CompilerApiData;
-import org.gradle.api.internal.tasks.compile.incremental.compilerapi.deps.DependentSetSerializer;
 import org.gradle.api.internal.tasks.compile.incremental.compilerapi.deps.DependentsSet;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.serialize.AbstractSerializer;
@@ -35,10 +32,7 @@
 import org.gradle.internal.serialize.HashCodeSerializer;
 import org.gradle.internal.serialize.HierarchicalNameSerializer;
 
-import java.util.ArrayDeque;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -50,6 +44,7 @@
  * Provides information about a set of classes, e.g. a JAR or a whole classpath.
  * Contains a hash for every class contained in the set, so it can determine which classes have changed compared to another set.
  * Contains a reverse dependency view, so we can determine which classes in this set are affected by a change to a class inside or outside this set.
+ * The reverse dependency view is stored as a packed {@link ClassDependentsIndex}, so it is cheap to load and merge.
  * Contains information about the accessible, inlineable constants in each class, since these require full recompilation of dependents if changed.
  * If analysis failed for any reason, that reason is captured and triggers full rebuilds if this class set is used.
  *
@@ -66,43 +61,41 @@ public class ClassSetAnalysisData {
     public static ClassSetAnalysisData merge(List<ClassSetAnalysisData> datas) {
         int classCount = 0;
         int constantsCount = 0;
-        int dependentsCount = 0;
         for (ClassSetAnalysisData data : datas) {
             classCount += data.classHashes.size();
             constantsCount += data.classesToConstants.size();
-            dependentsCount += data.dependents.size();
         }
 
         Map<String, HashCode> classHashes = new HashMap<>(classCount);
         Map<String, IntSet> classesToConstants = new HashMap<>(constantsCount);
-        Multimap<String, DependentsSet> dependents = ArrayListMultimap.create(dependentsCount, 10);
+        ClassDependentsIndex.Builder dependents = new ClassDependentsIndex.Builder();
         String fullRebuildCause = null;
 
         for (ClassSetAnalysisData data : Lists.reverse(datas)) {
             classHashes.putAll(data.classHashes);
             classesToConstants.putAll(data.classesToConstants);
-            data.dependents.forEach(dependents::put);
+            data.dependents.addTo(dependents);
             if (fullRebuildCause == null) {
                 fullRebuildCause = data.fullRebuildCause;
             }
         }
-        ImmutableMap.Builder<String, DependentsSet> mergedDependents = ImmutableMap.builderWithExpectedSize(dependents.size());
-        for (Map.Entry<String, Collection<DependentsSet>> entry : dependents.asMap().entrySet()) {
-            mergedDependents.put(entry.getKey(), DependentsSet.merge(entry.getValue()));
-        }
-        return new ClassSetAnalysisData(classHashes, mergedDependents.build(), classesToConstants, fullRebuildCause);
+        return new ClassSetAnalysisData(classHashes, dependents.build(), classesToConstants, fullRebuildCause);
     }
 
     private final Map<String, HashCode> classHashes;
-    private final Map<String, DependentsSet> dependents;
+    private final ClassDependentsIndex dependents;
     private final Map<String, IntSet> classesToConstants;
     private final String fullRebuildCause;
 
     public ClassSetAnalysisData() {
-        this(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), null);
+        this(Collections.emptyMap(), ClassDependentsIndex.empty(), Collections.emptyMap(), null);
     }
 
     public ClassSetAnalysisData(Map<String, HashCode> classHashes, Map<String, DependentsSet> dependents, Map<String, IntSet> classesToConstants, String fullRebuildCause) {
+        this(classHashes, ClassDependentsIndex.of(dependents), classesToConstants, fullRebuildCause);
+    }
+
+    private ClassSetAnalysisData(Map<String, HashCode> classHashes, ClassDependentsIndex dependents, Map<String, IntSet> classesToConstants, String fullRebuildCause) {
         this.classHashes = classHashes;
         this.dependents = dependents;
         this.classesToConstants = classesToConstants;
@@ -122,29 +115,14 @@ public ClassSetAnalysisData reduceToTypesAffecting(ClassSetAnalysisData other, C
             return this;
         }
         Set<String> usedClasses = new HashSet<>(classHashes.size());
-        for (Map.Entry<String, DependentsSet> entry : dependents.entrySet()) {
-            if (entry.getValue().isDependencyToAll()) {
-                usedClasses.add(entry.getKey());
-            }
-        }
+        usedClasses.addAll(dependents.getDependenciesToAll());
         for (String cls : classHashes.keySet()) {
             if (cls.endsWith(PACKAGE_INFO)) {
                 usedClasses.add(cls);
             }
         }
         usedClasses.addAll(other.dependents.keySet());
-
-        Multimap<String, String> dependencies = getForwardDependencyView();
-
-        Set<String> visited = new HashSet<>(usedClasses.size());
-        Deque<String> pending = new ArrayDeque<>(usedClasses);
-        while (!pending.isEmpty()) {
-            String cls = pending.poll();
-            if (visited.add(cls)) {
-                usedClasses.add(cls);
-                pending.addAll(dependencies.get(cls));
-            }
-        }
+        usedClasses.addAll(dependents.getAccessibleDependenciesOf(usedClasses));
 
         Set<String> usedConstantSources = compilerApiData.isSupportsConstantsMapping()
             ? compilerApiData.getConstantToClassMapping().getConstantDependents().keySet()
@@ -153,7 +131,7 @@ public ClassSetAnalysisData reduceToTypesAffecting(ClassSetAnalysisData other, C
         usedClasses.addAll(usedConstantSources);
 
         Map<String, HashCode> classHashes = new HashMap<>(usedClasses.size());
-        Map<String, DependentsSet> dependents = new HashMap<>(usedClasses.size());
+        ClassDependentsIndex.Builder dependents = new ClassDependentsIndex.Builder();
         Map<String, IntSet> classesToConstants = new HashMap<>(usedClasses.size());
         for (String usedClass : usedClasses) {
             HashCode hash = this.classHashes.get(usedClass);
@@ -162,12 +140,12 @@ public ClassSetAnalysisData reduceToTypesAffecting(ClassSetAnalysisData other, C
                 DependentsSet dependentsSet = this.dependents.get(usedClass);
                 if (dependentsSet != null) {
                     if (dependentsSet.isDependencyToAll()) {
-                        dependents.put(usedClass, dependentsSet);
+                        dependents.add(usedClass, dependentsSet);
                     } else {
                         Set<String> usedAccessibleClasses = new HashSet<>(dependentsSet.getAccessibleDependentClasses());
                         usedAccessibleClasses.retainAll(usedClasses);
                         if (!usedAccessibleClasses.isEmpty()) {
-                            dependents.put(usedClass, DependentsSet.dependentClasses(Collections.emptySet(), usedAccessibleClasses));
+                            dependents.add(usedClass, DependentsSet.dependentClasses(Collections.emptySet(), usedAccessibleClasses));
                         }
                     }
                 }
@@ -178,24 +156,7 @@ public ClassSetAnalysisData reduceToTypesAffecting(ClassSetAnalysisData other, C
             }
         }
 
-        return new ClassSetAnalysisData(classHashes, dependents, classesToConstants, null);
-    }
-
-    /**
-     * Takes the reverse dependency view of this set and reverses it, so it turns into a forward dependency view.
-     * Excludes types that are dependencies to all others, these need to be handled separately by the caller.
-     */
-    private Multimap<String, String> getForwardDependencyView() {
-        Multimap<String, String> dependencies = ArrayListMultimap.create(dependents.size(), 10);
-        for (Map.Entry<String, DependentsSet> entry : dependents.entrySet()) {
-            if (entry.getValue().isDependencyToAll()) {
-                continue;
-            }
-            for (String dependent : entry.getValue().getAccessibleDependentClasses()) {
-                dependencies.put(dependent, entry.getKey());
-            }
-        }
-        return dependencies;
+        return new ClassSetAnalysisData(classHashes, dependents.build(), classesToConstants, null);
     }
 
     /**
@@ -285,7 +246,7 @@ public Serializer(Supplier<HierarchicalNameSerializer> classNameSerializerSuppli
         @Override
         public ClassSetAnalysisData read(Decoder decoder) throws Exception {
             HierarchicalNameSerializer hierarchicalNameSerializer = classNameSerializerSupplier.get();
-            DependentSetSerializer dependentSetSerializer = new DependentSetSerializer(() -> hierarchicalNameSerializer);
+            ClassDependentsIndex.Serializer dependentsSerializer = new ClassDependentsIndex.Serializer(() -> hierarchicalNameSerializer);
             int count = decoder.readSmallInt();
             ImmutableMap.Builder<String, HashCode> classHashes = ImmutableMap.builderWithExpectedSize(count);
             for (int i = 0; i < count; i++) {
@@ -294,13 +255,7 @@ public ClassSetAnalysisData read(Decoder decoder) throws Exception {
                 classHashes.put(className, hashCode);
             }
 
-            count = decoder.readSmallInt();
-            ImmutableMap.Builder<String, DependentsSet> dependentsBuilder = ImmutableMap.builderWithExpectedSize(count);
-            for (int i = 0; i < count; i++) {
-                String className = hierarchicalNameSerializer.read(decoder);
-                DependentsSet dependents = dependentSetSerializer.read(decoder);
-                dependentsBuilder.put(className, dependents);
-            }
+            ClassDependentsIndex dependents = dependentsSerializer.read(decoder);
 
             count = decoder.readSmallInt();
             ImmutableMap.Builder<String, IntSet> classesToConstantsBuilder = ImmutableMap.builderWithExpectedSize(count);
@@ -312,24 +267,20 @@ public ClassSetAnalysisData read(Decoder decoder) throws Exception {
 
             String fullRebuildCause = decoder.readNullableString();
 
-            return new ClassSetAnalysisData(classHashes.build(), dependentsBuilder.build(), classesToConstantsBuilder.build(), fullRebuildCause);
+            return new ClassSetAnalysisData(classHashes.build(), dependents, classesToConstantsBuilder.build(), fullRebuildCause);
         }
 
         @Override
         public void write(Encoder encoder, ClassSetAnalysisData value) throws Exception {
             HierarchicalNameSerializer hierarchicalNameSerializer = classNameSerializerSupplier.get();
-            DependentSetSerializer dependentSetSerializer = new DependentSetSerializer(() -> hierarchicalNameSerializer);
+            ClassDependentsIndex.Serializer dependentsSerializer = new ClassDependentsIndex.Serializer(() -> hierarchicalNameSerializer);
             encoder.writeSmallInt(value.classHashes.size());
             for (Map.Entry<String, HashCode> entry : value.classHashes.entrySet()) {
                 hierarchicalNameSerializer.write(encoder, entry.getKey());
                 hashCodeSerializer.write(encoder, entry.getValue());
             }
 
-            encoder.writeSmallInt(value.dependents.size());
-            for (Map.Entry<String, DependentsSet> entry : value.dependents.entrySet()) {
-                hierarchicalNameSerializer.write(encoder, entry.getKey());
-                dependentSetSerializer.write(encoder, entry.getValue());
-            }
+            dependentsSerializer.write(encoder, value.dependents);
 
             encoder.writeSmallInt(value.classesToConstants.size());
             for (Map.Entry<String, IntSet> entry : value.classesToConstants.entrySet()) {
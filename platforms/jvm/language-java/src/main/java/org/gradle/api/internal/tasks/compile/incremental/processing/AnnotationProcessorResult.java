@@ -27,6 +27,10 @@ public class AnnotationProcessorResult implements Serializable {
     private final String className;
     private IncrementalAnnotationProcessorType type;
     private long executionTimeInMillis;
+    private long processingTimeInMillis;
+    private int roundCount;
+    private int generatedTypeCount;
+    private int generatedResourceCount;
 
     public AnnotationProcessorResult(AnnotationProcessingResult processingResult, String className) {
         this.processingResult = processingResult;
@@ -53,6 +57,50 @@ public void setExecutionTimeInMillis(long executionTimeInMillis) {
         this.executionTimeInMillis = executionTimeInMillis;
     }
 
+    /**
+     * The time spent in processing rounds, which is part of the {@link #getExecutionTimeInMillis() execution time}.
+     */
+    public long getProcessingTimeInMillis() {
+        return processingTimeInMillis;
+    }
+
+    public void setProcessingTimeInMillis(long processingTimeInMillis) {
+        this.processingTimeInMillis = processingTimeInMillis;
+    }
+
+    /**
+     * The number of processing rounds this processor took part in.
+     */
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    public void incrementRoundCount() {
+        roundCount++;
+    }
+
+    /**
+     * The number of source and class files this processor generated, regardless of whether it is incremental.
+     */
+    public int getGeneratedTypeCount() {
+        return generatedTypeCount;
+    }
+
+    public void incrementGeneratedTypeCount() {
+        generatedTypeCount++;
+    }
+
+    /**
+     * The number of resources this processor generated, regardless of whether it is incremental.
+     */
+    public int getGeneratedResourceCount() {
+        return generatedResourceCount;
+    }
+
+    public void incrementGeneratedResourceCount() {
+        generatedResourceCount++;
+    }
+
     public void addGeneratedType(String name, Set<String> originatingElements) {
         processingResult.addGeneratedType(name, originatingElements);
     }
@@ -42,13 +42,19 @@ public class IncrementalFiler implements Filer {
     @Override
     public final JavaFileObject createSourceFile(CharSequence name, Element... originatingElements) throws IOException {
         strategy.recordGeneratedType(name, originatingElements);
-        return delegate.createSourceFile(name, originatingElements);
+        // Only count the types the filer actually created
+        JavaFileObject file = delegate.createSourceFile(name, originatingElements);
+        strategy.result.incrementGeneratedTypeCount();
+        return file;
     }
 
     @Override
     public final JavaFileObject createClassFile(CharSequence name, Element... originatingElements) throws IOException {
         strategy.recordGeneratedType(name, originatingElements);
-        return delegate.createClassFile(name, originatingElements);
+        // Only count the types the filer actually created
+        JavaFileObject file = delegate.createClassFile(name, originatingElements);
+        strategy.result.incrementGeneratedTypeCount();
+        return file;
     }
 
     @Override
@@ -56,6 +62,7 @@ public final FileObject createResource(JavaFileManager.Location location, CharSe
         // Prefer having javac validate the location over us, by calling it first.
         FileObject resource = delegate.createResource(location, pkg, relativeName, originatingElements);
         strategy.recordGeneratedResource(location, pkg, relativeName, originatingElements);
+        strategy.result.incrementGeneratedResourceCount();
         return resource;
     }
 
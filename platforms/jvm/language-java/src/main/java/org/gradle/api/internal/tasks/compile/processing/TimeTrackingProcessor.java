@@ -38,6 +38,7 @@ public class TimeTrackingProcessor extends DelegatingProcessor {
 
     private final AnnotationProcessorResult result;
     private final Stopwatch stopwatch;
+    private final Stopwatch processingStopwatch;
 
     public TimeTrackingProcessor(Processor delegate, AnnotationProcessorResult result) {
         this(delegate, result, Ticker.systemTicker());
@@ -48,6 +49,7 @@ protected TimeTrackingProcessor(Processor delegate, AnnotationProcessorResult re
         super(delegate);
         this.result = result;
         this.stopwatch = Stopwatch.createUnstarted(ticker);
+        this.processingStopwatch = Stopwatch.createUnstarted(ticker);
     }
 
     @Override
@@ -93,12 +95,19 @@ public Void create() {
 
     @Override
     public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
-        return track(new Factory<Boolean>() {
-            @Override
-            public Boolean create() {
-                return TimeTrackingProcessor.super.process(annotations, roundEnv);
-            }
-        });
+        result.incrementRoundCount();
+        processingStopwatch.start();
+        try {
+            return track(new Factory<Boolean>() {
+                @Override
+                public Boolean create() {
+                    return TimeTrackingProcessor.super.process(annotations, roundEnv);
+                }
+            });
+        } finally {
+            processingStopwatch.stop();
+            result.setProcessingTimeInMillis(processingStopwatch.elapsed(TimeUnit.MILLISECONDS));
+        }
     }
 
     @Override
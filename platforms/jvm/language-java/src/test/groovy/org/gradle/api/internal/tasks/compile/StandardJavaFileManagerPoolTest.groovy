@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import javax.tools.DiagnosticListener
+import javax.tools.JavaCompiler
+import javax.tools.StandardJavaFileManager
+
+class StandardJavaFileManagerPoolTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def compiler = Mock(JavaCompiler)
+    def listener = Stub(DiagnosticListener)
+
+    def "reuses file manager for compilations with different paths"() {
+        def fileManager = Mock(StandardJavaFileManager)
+        def jar = tmpDir.file("lib.jar").createFile()
+
+        when:
+        def first = acquire(["-d", "out1", "-classpath", "lib.jar", "-Aproject=one"], [jar])
+        first.close()
+        def second = acquire(["-d", "out2", "-classpath", "other.jar", "-Aproject=two"], [jar])
+        second.close()
+
+        then:
+        1 * compiler.getStandardFileManager(_, null, null) >> fileManager
+        second.fileManager.is(first.fileManager)
+        0 * fileManager.close()
+    }
+
+    def "does not reuse file manager for compilations with different options"() {
+        def jar = tmpDir.file("lib.jar").createFile()
+
+        when:
+        def first = acquire(["-d", "out", "-parameters"], [jar])
+        first.close()
+        def second = acquire(["-d", "out", "--release", "11"], [jar])
+        second.close()
+
+        then:
+        2 * compiler.getStandardFileManager(_, null, null) >> { Mock(StandardJavaFileManager) }
+        !second.fileManager.is(first.fileManager)
+    }
+
+    def "discards file manager when a jar it has read has changed"() {
+        def fileManager = Mock(StandardJavaFileManager)
+        def jar = tmpDir.file("lib.jar")
+        jar.text = "content"
+
+        when:
+        def first = acquire(["-d", "out", "-g"], [jar])
+        first.close()
+        jar.text = "changed content"
+        def second = acquire(["-d", "out", "-g"], [])
+        second.close()
+
+        then:
+        1 * compiler.getStandardFileManager(_, null, null) >> fileManager
+        1 * compiler.getStandardFileManager(_, null, null) >> Mock(StandardJavaFileManager)
+        1 * fileManager.close()
+        !second.fileManager.is(first.fileManager)
+    }
+
+    def "does not reuse file manager in use by another compilation"() {
+        when:
+        def first = acquire(["-d", "out", "-nowarn"], [])
+        def second = acquire(["-d", "out", "-nowarn"], [])
+        first.close()
+        second.close()
+
+        then:
+        2 * compiler.getStandardFileManager(_, null, null) >> { Mock(StandardJavaFileManager) }
+        !second.fileManager.is(first.fileManager)
+    }
+
+    private StandardJavaFileManagerPool.Lease acquire(List<String> options, List<File> inputFiles) {
+        return StandardJavaFileManagerPool.acquire(compiler, listener, null, options, inputFiles)
+    }
+}
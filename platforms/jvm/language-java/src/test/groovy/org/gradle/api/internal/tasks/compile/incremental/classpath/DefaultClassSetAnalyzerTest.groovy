@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.classpath
+
+import org.gradle.api.file.FileVisitDetails
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.api.internal.tasks.compile.incremental.analyzer.DefaultClassDependenciesAnalyzer
+import org.gradle.api.internal.tasks.compile.incremental.compilerapi.deps.DependentsSet
+import org.gradle.api.internal.tasks.compile.incremental.deps.ClassDependentsAccumulator
+import org.gradle.api.internal.tasks.compile.incremental.deps.ClassSetAnalysisData
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Opcodes
+import spock.lang.Specification
+
+class DefaultClassSetAnalyzerTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def fileHasher = TestFiles.fileHasher()
+    def dependenciesAnalyzer = new DefaultClassDependenciesAnalyzer(new StringInterner())
+    def fileOperations = TestFiles.fileOperations(tmpDir.testDirectory)
+    def analyzer = new DefaultClassSetAnalyzer(fileHasher, TestFiles.streamHasher(), dependenciesAnalyzer, fileOperations)
+
+    def "analysis of #classCount class files is the same as when analyzing them one by one"() {
+        given:
+        def classes = writeClasses(classCount)
+
+        when:
+        def analysis = analyzer.analyzeOutputFolder(classes)
+
+        then:
+        describe(analysis) == describe(analyzeOneByOne(classes))
+        describe(analysis).classHashes.size() == classCount
+        analysis.getDependents("org.C0").accessibleDependentClasses == ["org.C1"] as Set
+        analysis.getDependents("org.D1").privateDependentClasses.contains("org.C1")
+        !analysis.getConstants("org.C2").empty
+
+        where:
+        classCount << [3, 40]
+    }
+
+    def "needs a full rebuild when one of #classCount class files cannot be analyzed"() {
+        given:
+        def classes = writeClasses(classCount)
+        classes.file("org/Broken.class").text = "not a class file"
+
+        when:
+        def analysis = analyzer.analyzeOutputFolder(classes)
+
+        then:
+        analysis.getDependents("org.C0").dependencyToAll
+        analysis.getDependents("org.C0").description == "Broken.class could not be analyzed for incremental compilation. See the debug log for more details"
+
+        where:
+        classCount << [3, 40]
+    }
+
+    /**
+     * Writes classes {@code org.Ci} extending {@code org.C(i-1)}, with a private field of type {@code org.Di} and a constant equal to {@code i}.
+     */
+    private TestFile writeClasses(int count) {
+        def classes = tmpDir.file("classes")
+        count.times { i ->
+            def writer = new ClassWriter(0)
+            writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "org/C$i", null, i == 0 ? "java/lang/Object" : "org/C${i - 1}", null)
+            writer.visitField(Opcodes.ACC_PRIVATE, "field", "Lorg/D$i;", null, null).visitEnd()
+            writer.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "CONSTANT", "I", null, i).visitEnd()
+            writer.visitEnd()
+            classes.file("org/C${i}.class").bytes = writer.toByteArray()
+        }
+        classes
+    }
+
+    private ClassSetAnalysisData analyzeOneByOne(File classes) {
+        def accumulator = new ClassDependentsAccumulator()
+        fileOperations.fileTree(classes).visit { FileVisitDetails classFile ->
+            if (!classFile.directory) {
+                def hash = fileHasher.hash(classFile.file)
+                accumulator.addClass(dependenciesAnalyzer.getClassAnalysis(hash, classFile), hash)
+            }
+        }
+        accumulator.analysis
+    }
+
+    private static Map<String, Object> describe(ClassSetAnalysisData analysis) {
+        Map<String, ?> classHashes = analysis.@classHashes
+        Set<String> classNames = classHashes.keySet() + analysis.@dependents.keySet()
+        [
+            classHashes: classHashes,
+            dependents: classNames.collectEntries { [it, describe(analysis.getDependents(it))] },
+            constants: classNames.collectEntries { [it, analysis.getConstants(it)] }
+        ]
+    }
+
+    private static List<Object> describe(DependentsSet dependents) {
+        dependents.dependencyToAll
+            ? [dependents.description]
+            : [dependents.privateDependentClasses, dependents.accessibleDependentClasses]
+    }
+}
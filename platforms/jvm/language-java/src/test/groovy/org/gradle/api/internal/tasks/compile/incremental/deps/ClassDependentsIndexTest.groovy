@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.deps
+
+import spock.lang.Specification
+
+import static org.gradle.api.internal.tasks.compile.incremental.compilerapi.deps.DependentsSet.dependencyToAll
+import static org.gradle.api.internal.tasks.compile.incremental.compilerapi.deps.DependentsSet.dependentClasses
+
+class ClassDependentsIndexTest extends Specification {
+
+    def "provides the dependents of each class"() {
+        def index = ClassDependentsIndex.of([
+            A: dependentClasses(["B", "C"] as Set, ["D"] as Set),
+            B: dependencyToAll("reason"),
+            C: dependentClasses([] as Set, [] as Set)
+        ])
+
+        expect:
+        index.size() == 3
+        index.keySet() == ["A", "B", "C"] as Set
+        index.get("A").privateDependentClasses == ["B", "C"] as Set
+        index.get("A").accessibleDependentClasses == ["D"] as Set
+        index.get("B").dependencyToAll
+        index.get("B").description == "reason"
+        index.get("C").empty
+        index.get("D") == null
+        index.get("E") == null
+        index.dependenciesToAll == ["B"] as Set
+    }
+
+    def "merges dependents of the same class"() {
+        def builder = new ClassDependentsIndex.Builder()
+        ClassDependentsIndex.of([A: dependentClasses(["B"] as Set, ["C"] as Set), X: dependencyToAll("first")]).addTo(builder)
+        ClassDependentsIndex.of([A: dependentClasses(["B", "D"] as Set, [] as Set), X: dependentClasses(["A"] as Set, [] as Set), Y: dependencyToAll("second")]).addTo(builder)
+
+        when:
+        def index = builder.build()
+
+        then:
+        index.keySet() == ["A", "X", "Y"] as Set
+        index.get("A").privateDependentClasses == ["B", "D"] as Set
+        index.get("A").accessibleDependentClasses == ["C"] as Set
+        index.get("X").description == "first"
+        index.get("Y").description == "second"
+    }
+
+    def "finds transitive accessible dependencies"() {
+        def index = ClassDependentsIndex.of([
+            A: dependentClasses([] as Set, ["B"] as Set),
+            B: dependentClasses(["E"] as Set, ["C"] as Set),
+            D: dependentClasses([] as Set, ["C"] as Set),
+            F: dependencyToAll("reason")
+        ])
+
+        expect:
+        index.getAccessibleDependenciesOf(["C"]) == ["A", "B", "C", "D"] as Set
+        index.getAccessibleDependenciesOf(["B"]) == ["A", "B"] as Set
+        index.getAccessibleDependenciesOf(["E"]) == ["E"] as Set
+        index.getAccessibleDependenciesOf(["Unknown"]).empty
+    }
+}
@@ -53,12 +53,12 @@ class ClassSetAnalysisDataSerializerTest extends Specification {
         read.dependents.keySet() == data.dependents.keySet()
 
         ["A", "B", "C"].each {
-            assert read.dependents[it].privateDependentClasses == data.dependents[it].privateDependentClasses
-            assert read.dependents[it].accessibleDependentClasses == data.dependents[it].accessibleDependentClasses
-            assert read.dependents[it].dependencyToAll == data.dependents[it].dependencyToAll
+            assert read.dependents.get(it).privateDependentClasses == data.dependents.get(it).privateDependentClasses
+            assert read.dependents.get(it).accessibleDependentClasses == data.dependents.get(it).accessibleDependentClasses
+            assert read.dependents.get(it).dependencyToAll == data.dependents.get(it).dependencyToAll
         }
 
-        read.dependents["D"].dependencyToAll
+        read.dependents.get("D").dependencyToAll
         read.classesToConstants == [C: [1,2] as Set, D: [] as Set]
         read.fullRebuildCause == "Because"
     }
@@ -22,22 +22,63 @@ import org.gradle.api.internal.tasks.compile.incremental.compilerapi.deps.Genera
 import spock.lang.Specification
 
 import javax.annotation.processing.Filer
+import javax.annotation.processing.FilerException
 import javax.lang.model.element.ExecutableElement
 import javax.lang.model.element.Name
 import javax.lang.model.element.PackageElement
 import javax.lang.model.element.TypeElement
+import javax.tools.StandardLocation
 
 abstract class IncrementalFilerTest extends Specification {
     Filer delegate = Stub(Filer)
     AnnotationProcessingResult result = new AnnotationProcessingResult()
+    AnnotationProcessorResult processorResult = new AnnotationProcessorResult(result, "TestProcessor")
     Filer filer
 
     def setup() {
-        filer = new IncrementalFiler(delegate, getStrategy(new AnnotationProcessorResult(result, "TestProcessor")))
+        filer = new IncrementalFiler(delegate, getStrategy(processorResult))
     }
 
     abstract IncrementalProcessingStrategy getStrategy(AnnotationProcessorResult result)
 
+    def "counts generated types and resources"() {
+        when:
+        filer.createSourceFile("Foo", type("A"))
+        filer.createClassFile("Bar", type("A"))
+        filer.createResource(StandardLocation.CLASS_OUTPUT, "", "foo.txt", type("A"))
+
+        then:
+        processorResult.generatedTypeCount == 2
+        processorResult.generatedResourceCount == 1
+    }
+
+    def "does not count types and resources the filer refused to create"() {
+        given:
+        delegate.createSourceFile(*_) >> { throw new FilerException("Attempt to recreate a file for type Foo") }
+        delegate.createClassFile(*_) >> { throw new FilerException("Attempt to recreate a file for type Bar") }
+        delegate.createResource(*_) >> { throw new FilerException("Attempt to reopen a file for path foo.txt") }
+
+        when:
+        filer.createSourceFile("Foo", type("A"))
+
+        then:
+        thrown(FilerException)
+
+        when:
+        filer.createClassFile("Bar", type("A"))
+
+        then:
+        thrown(FilerException)
+
+        when:
+        filer.createResource(StandardLocation.CLASS_OUTPUT, "", "foo.txt", type("A"))
+
+        then:
+        thrown(FilerException)
+        processorResult.generatedTypeCount == 0
+        processorResult.generatedResourceCount == 0
+    }
+
     PackageElement pkg(String packageName) {
         Stub(PackageElement) {
             getQualifiedName() >> Stub(Name) {
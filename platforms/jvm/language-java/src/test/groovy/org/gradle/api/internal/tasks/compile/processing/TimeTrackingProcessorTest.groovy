@@ -118,6 +118,32 @@ class TimeTrackingProcessorTest extends Specification {
         result.executionTimeInMillis == 42 + 23
     }
 
+    def "tracks rounds and processing time separately from other calls"() {
+        def typeElems = [Stub(TypeElement)] as Set
+        def roundEnv = Stub(RoundEnvironment)
+        delegate.init(_) >> {
+            simulateWorkWithDuration(7)
+        }
+
+        when:
+        tracker.init(Stub(ProcessingEnvironment))
+        tracker.process(typeElems, roundEnv)
+        tracker.process([] as Set, roundEnv)
+
+        then:
+        1 * delegate.process(typeElems, roundEnv) >> {
+            simulateWorkWithDuration(42)
+            true
+        }
+        1 * delegate.process([] as Set, roundEnv) >> {
+            simulateWorkWithDuration(3)
+            false
+        }
+        result.roundCount == 2
+        result.processingTimeInMillis == 42 + 3
+        result.executionTimeInMillis == 7 + 42 + 3
+    }
+
     def "tracks time for getCompletions()"() {
         def element = Stub(Element)
         def annotation = Stub(AnnotationMirror)
@@ -26,20 +26,37 @@
 import org.jspecify.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.function.Predicate;
 
 /**
  * Caches the result of hashing regular files with a {@link ResourceHasher}.
- * It does not cache the result of hashing {@link ZipEntry}s.
+ * It only caches the result of hashing {@link ZipEntry}s accepted by the given predicate, keyed by the hash of their content.
+ * This way, only the changed entries of a changed archive need to be hashed again.
  * It also caches the absence of a hash.
  */
 public class CachingResourceHasher implements ResourceHasher {
+    /**
+     * The content of cached zip entries is held in memory while hashing, so larger entries are not cached.
+     */
+    private static final int MAX_CACHED_ZIP_ENTRY_SIZE = 1024 * 1024;
+
     private final ResourceHasher delegate;
     private final ResourceSnapshotterCacheService resourceSnapshotterCacheService;
+    private final Predicate<ZipEntryContext> cachedZipEntries;
     private final HashCode delegateConfigurationHash;
 
     public CachingResourceHasher(ResourceHasher delegate, ResourceSnapshotterCacheService resourceSnapshotterCacheService) {
+        this(delegate, resourceSnapshotterCacheService, zipEntryContext -> false);
+    }
+
+    /**
+     * Creates a hasher that also caches the hashes of the zip entries accepted by {@code cachedZipEntries}.
+     * The delegate's hash of such entries must only depend on their content.
+     */
+    public CachingResourceHasher(ResourceHasher delegate, ResourceSnapshotterCacheService resourceSnapshotterCacheService, Predicate<ZipEntryContext> cachedZipEntries) {
         this.delegate = delegate;
         this.resourceSnapshotterCacheService = resourceSnapshotterCacheService;
+        this.cachedZipEntries = cachedZipEntries;
         Hasher hasher = Hashing.newHasher();
         delegate.appendConfigurationToHasher(hasher);
         this.delegateConfigurationHash = hasher.hash();
@@ -51,9 +68,21 @@ public HashCode hash(RegularFileSnapshotContext fileSnapshotContext) throws IOEx
         return resourceSnapshotterCacheService.hashFile(fileSnapshotContext, delegate, delegateConfigurationHash);
     }
 
+    @Nullable
     @Override
     public HashCode hash(ZipEntryContext zipEntryContext) throws IOException {
-        return delegate.hash(zipEntryContext);
+        if (!cachedZipEntries.test(zipEntryContext)) {
+            return delegate.hash(zipEntryContext);
+        }
+        ZipEntry entry = zipEntryContext.getEntry();
+        // Entries of unknown size may be arbitrarily large
+        if (entry.size() < 0 || entry.size() > MAX_CACHED_ZIP_ENTRY_SIZE) {
+            return delegate.hash(zipEntryContext);
+        }
+        CachingZipEntry cachingEntry = new CachingZipEntry(entry);
+        HashCode contentHash = Hashing.hashBytes(cachingEntry.getContent());
+        ZipEntryContext cachingEntryContext = new DefaultZipEntryContext(cachingEntry, zipEntryContext.getFullName(), zipEntryContext.getRootParentName());
+        return resourceSnapshotterCacheService.hashZipEntry(cachingEntryContext, contentHash, delegate, delegateConfigurationHash);
     }
 
     @Override
@@ -19,6 +19,8 @@
 import org.gradle.internal.fingerprint.hashing.FileSystemLocationSnapshotHasher;
 import org.gradle.internal.fingerprint.hashing.RegularFileSnapshotContext;
 import org.gradle.internal.fingerprint.hashing.RegularFileSnapshotContextHasher;
+import org.gradle.internal.fingerprint.hashing.ResourceHasher;
+import org.gradle.internal.fingerprint.hashing.ZipEntryContext;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
@@ -34,4 +36,11 @@ public interface ResourceSnapshotterCacheService {
 
     @Nullable
     HashCode hashFile(RegularFileSnapshotContext fileSnapshotContext, RegularFileSnapshotContextHasher hasher, HashCode configurationHash) throws IOException;
+
+    /**
+     * Hashes a zip entry with the given content hash, reusing the result of hashing an entry with the same content before.
+     * The entry of the given context must be readable more than once.
+     */
+    @Nullable
+    HashCode hashZipEntry(ZipEntryContext zipEntryContext, HashCode contentHash, ResourceHasher hasher, HashCode configurationHash) throws IOException;
 }
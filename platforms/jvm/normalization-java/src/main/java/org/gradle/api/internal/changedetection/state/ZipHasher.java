@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.changedetection.state;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import org.apache.commons.io.FilenameUtils;
 import org.gradle.api.internal.file.archive.ZipEntry;
@@ -41,16 +42,19 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public class ZipHasher implements RegularFileSnapshotContextHasher, ConfigurableNormalizer {
 
     private static final Set<String> KNOWN_ZIP_EXTENSIONS = ImmutableSet.of("zip", "jar", "war", "rar", "ear", "apk", "aar", "klib");
     private static final Logger LOGGER = LoggerFactory.getLogger(ZipHasher.class);
     private static final HashCode EMPTY_HASH_MARKER = Hashing.signature(ZipHasher.class);
+    private static final int MIN_ENTRIES_TO_HASH_IN_PARALLEL = 32;
 
     public static boolean isZipFile(final String name) {
         return KNOWN_ZIP_EXTENSIONS.contains(FilenameUtils.getExtension(name).toLowerCase(Locale.ROOT));
@@ -58,10 +62,17 @@ public static boolean isZipFile(final String name) {
 
     private final ResourceHasher resourceHasher;
     private final HashingExceptionReporter hashingExceptionReporter;
+    private final int minEntriesToHashInParallel;
 
     public ZipHasher(ResourceHasher resourceHasher) {
+        this(resourceHasher, MIN_ENTRIES_TO_HASH_IN_PARALLEL);
+    }
+
+    @VisibleForTesting
+    ZipHasher(ResourceHasher resourceHasher, int minEntriesToHashInParallel) {
         this.resourceHasher = resourceHasher;
         this.hashingExceptionReporter = (s, e) -> LOGGER.debug("Malformed archive '{}'. Falling back to full content hash instead of entry hashing.", s.getName(), e);
+        this.minEntriesToHashInParallel = minEntriesToHashInParallel;
     }
 
     @Nullable
@@ -95,34 +106,78 @@ private HashCode hashZipContents(RegularFileSnapshot zipFileSnapshot) {
     private List<FileSystemLocationFingerprint> fingerprintZipEntries(String zipFile) throws IOException {
         try (ZipInput input = FileZipInput.create(new File(zipFile))) {
             List<FileSystemLocationFingerprint> fingerprints = new ArrayList<>();
-            fingerprintZipEntries("", zipFile, fingerprints, input);
+            if (input instanceof FileZipInput) {
+                fingerprintFileZipEntries(zipFile, fingerprints, input);
+            } else {
+                fingerprintZipEntries("", zipFile, fingerprints, input);
+            }
             return fingerprints;
         }
     }
 
+    /**
+     * Entries of a zip file on disk are located via its central directory and can be read independently of each other,
+     * so the entries of larger archives are hashed in parallel.
+     * The fingerprints are collected in entry order, so the result is the same as when hashing the entries one after the other.
+     */
+    private void fingerprintFileZipEntries(String zipFile, List<FileSystemLocationFingerprint> fingerprints, ZipInput input) throws IOException {
+        List<ZipEntry> entries = new ArrayList<>();
+        for (ZipEntry zipEntry : input) {
+            if (!zipEntry.isDirectory()) {
+                entries.add(zipEntry);
+            }
+        }
+        fingerprints.add(newZipMarker(""));
+        if (entries.size() < minEntriesToHashInParallel) {
+            for (ZipEntry zipEntry : entries) {
+                fingerprintZipEntry("", zipFile, zipEntry, fingerprints);
+            }
+            return;
+        }
+        List<List<FileSystemLocationFingerprint>> entryFingerprints;
+        try {
+            entryFingerprints = entries.parallelStream()
+                .map(zipEntry -> {
+                    List<FileSystemLocationFingerprint> result = new ArrayList<>(1);
+                    try {
+                        fingerprintZipEntry("", zipFile, zipEntry, result);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return result;
+                })
+                .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        for (List<FileSystemLocationFingerprint> fingerprintsOfEntry : entryFingerprints) {
+            fingerprints.addAll(fingerprintsOfEntry);
+        }
+    }
+
     private void fingerprintZipEntries(String parentName, String rootParentName, List<FileSystemLocationFingerprint> fingerprints, ZipInput input) throws IOException {
         fingerprints.add(newZipMarker(parentName));
         for (ZipEntry zipEntry : input) {
             if (zipEntry.isDirectory()) {
                 continue;
             }
-            String fullName = parentName.isEmpty() ? zipEntry.getName() : parentName + "/" + zipEntry.getName();
-            ZipEntryContext zipEntryContext = new DefaultZipEntryContext(zipEntry, fullName, rootParentName);
-            if (isZipFile(zipEntry.getName())) {
-                zipEntryContext.getEntry().withInputStream(inputStream -> {
-                    fingerprintZipEntries(fullName, rootParentName, fingerprints, new StreamZipInput(inputStream));
-                    return null;
-                });
-            } else {
-                fingerprintZipEntry(zipEntryContext, fingerprints);
-            }
+            fingerprintZipEntry(parentName, rootParentName, zipEntry, fingerprints);
         }
     }
 
-    private void fingerprintZipEntry(ZipEntryContext zipEntryContext, List<FileSystemLocationFingerprint> fingerprints) throws IOException {
-        HashCode hash = resourceHasher.hash(zipEntryContext);
-        if (hash != null) {
-            fingerprints.add(new DefaultFileSystemLocationFingerprint(zipEntryContext.getFullName(), FileType.RegularFile, hash));
+    private void fingerprintZipEntry(String parentName, String rootParentName, ZipEntry zipEntry, List<FileSystemLocationFingerprint> fingerprints) throws IOException {
+        String fullName = parentName.isEmpty() ? zipEntry.getName() : parentName + "/" + zipEntry.getName();
+        ZipEntryContext zipEntryContext = new DefaultZipEntryContext(zipEntry, fullName, rootParentName);
+        if (isZipFile(zipEntry.getName())) {
+            zipEntryContext.getEntry().withInputStream(inputStream -> {
+                fingerprintZipEntries(fullName, rootParentName, fingerprints, new StreamZipInput(inputStream));
+                return null;
+            });
+        } else {
+            HashCode hash = resourceHasher.hash(zipEntryContext);
+            if (hash != null) {
+                fingerprints.add(new DefaultFileSystemLocationFingerprint(fullName, FileType.RegularFile, hash));
+            }
         }
     }
 
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.fingerprint.classpath.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.gradle.internal.fingerprint.FileSystemLocationFingerprint;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the fingerprints of classpath entries and of whole classpaths in memory across builds.
+ * <p>
+ * Keys are derived from the snapshot hashes of the classpath entries, which cover their content,
+ * so a cached fingerprint stays valid for as long as the entries it was computed from do not change.
+ * Both caches are bounded by the number of file fingerprints they hold, and the fingerprints are softly referenced,
+ * so they are released when the daemon runs low on memory.
+ *
+ * @see ClasspathFingerprintingStrategy
+ */
+@ServiceScope(Scope.UserHome.class)
+public class ClasspathFingerprintCache {
+    private final Cache<HashCode, Map<String, FileSystemLocationFingerprint>> entries;
+    private final Cache<HashCode, Map<String, FileSystemLocationFingerprint>> classpaths;
+
+    public ClasspathFingerprintCache(long maxEntryFingerprints, long maxClasspathFingerprints) {
+        this.entries = createCache(maxEntryFingerprints);
+        this.classpaths = createCache(maxClasspathFingerprints);
+    }
+
+    private static Cache<HashCode, Map<String, FileSystemLocationFingerprint>> createCache(long maxFingerprints) {
+        return CacheBuilder.newBuilder()
+            .maximumWeight(maxFingerprints)
+            .softValues()
+            .weigher((HashCode key, Map<String, FileSystemLocationFingerprint> fingerprints) -> fingerprints.size())
+            .build();
+    }
+
+    /**
+     * Returns the fingerprints of the classpath entry with the given key, computing them if they are not cached.
+     */
+    Map<String, FileSystemLocationFingerprint> getEntry(HashCode key, Supplier<Map<String, FileSystemLocationFingerprint>> fingerprinter) {
+        Map<String, FileSystemLocationFingerprint> fingerprints = entries.getIfPresent(key);
+        if (fingerprints == null) {
+            fingerprints = fingerprinter.get();
+            entries.put(key, fingerprints);
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Returns the fingerprints of the whole classpath with the given key, or {@code null} if they are not cached.
+     */
+    @Nullable
+    Map<String, FileSystemLocationFingerprint> getClasspath(HashCode key) {
+        return classpaths.getIfPresent(key);
+    }
+
+    /**
+     * Caches the fingerprints of a whole classpath. The prefixes of the classpath are not cached separately.
+     */
+    void putClasspath(HashCode key, Map<String, FileSystemLocationFingerprint> fingerprints) {
+        classpaths.put(key, fingerprints);
+    }
+}
@@ -55,7 +55,9 @@
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.gradle.internal.fingerprint.classpath.impl.ClasspathFingerprintingStrategy.NonJarFingerprintingStrategy.IGNORE;
 import static org.gradle.internal.fingerprint.classpath.impl.ClasspathFingerprintingStrategy.NonJarFingerprintingStrategy.USE_FILE_HASH;
@@ -79,6 +81,8 @@ public class ClasspathFingerprintingStrategy extends AbstractFingerprintingStrat
     private final ZipHasher zipHasher;
     private final Interner<String> stringInterner;
     private final HashCode zipHasherConfigurationHash;
+    @Nullable
+    private final ClasspathFingerprintCache fingerprintCache;
 
     private ClasspathFingerprintingStrategy(
         String identifier,
@@ -86,7 +90,8 @@ private ClasspathFingerprintingStrategy(
         ResourceHasher classpathResourceHasher,
         ZipHasher zipHasher,
         ResourceSnapshotterCacheService cacheService,
-        Interner<String> stringInterner
+        Interner<String> stringInterner,
+        @Nullable ClasspathFingerprintCache fingerprintCache
     ) {
         super(identifier, zipHasher);
         this.nonZipFingerprintingStrategy = nonZipFingerprintingStrategy;
@@ -98,6 +103,7 @@ private ClasspathFingerprintingStrategy(
         Hasher hasher = Hashing.newHasher();
         zipHasher.appendConfigurationToHasher(hasher);
         this.zipHasherConfigurationHash = hasher.hash();
+        this.fingerprintCache = fingerprintCache;
     }
 
     public static ClasspathFingerprintingStrategy runtimeClasspath(
@@ -111,12 +117,25 @@ public static ClasspathFingerprintingStrategy runtimeClasspath(
     ) {
         ResourceHasher resourceHasher = runtimeClasspathResourceHasher(runtimeClasspathResourceHasher, lineEndingSensitivity, propertiesFileFilters, manifestAttributeResourceEntryFilter, classpathResourceFilter);
         ZipHasher zipHasher = new ZipHasher(resourceHasher);
-        return new ClasspathFingerprintingStrategy(CLASSPATH_IDENTIFIER, USE_FILE_HASH, resourceHasher, zipHasher, cacheService, stringInterner);
+        return new ClasspathFingerprintingStrategy(CLASSPATH_IDENTIFIER, USE_FILE_HASH, resourceHasher, zipHasher, cacheService, stringInterner, null);
     }
 
-    public static ClasspathFingerprintingStrategy compileClasspath(ResourceHasher classpathResourceHasher, ResourceSnapshotterCacheService cacheService, Interner<String> stringInterner) {
+    /**
+     * Creates the strategy for compile classpaths.
+     * <p>
+     * The fingerprints of the classpath entries, and of the classpaths built from them, are kept in the given cache and reused as long as the entries do not change.
+     * Many projects share the same external jars and the class directories of the projects they depend on,
+     * so this avoids normalizing the same entries again for each of them.
+     * A classpath which starts with a classpath fingerprinted before only needs to add the fingerprints of its remaining entries.
+     */
+    public static ClasspathFingerprintingStrategy compileClasspath(
+        ResourceHasher classpathResourceHasher,
+        ResourceSnapshotterCacheService cacheService,
+        Interner<String> stringInterner,
+        ClasspathFingerprintCache fingerprintCache
+    ) {
         ZipHasher zipHasher = new ZipHasher(classpathResourceHasher);
-        return new ClasspathFingerprintingStrategy(COMPILE_CLASSPATH_IDENTIFIER, IGNORE, classpathResourceHasher, zipHasher, cacheService, stringInterner);
+        return new ClasspathFingerprintingStrategy(COMPILE_CLASSPATH_IDENTIFIER, IGNORE, classpathResourceHasher, zipHasher, cacheService, stringInterner, fingerprintCache);
     }
 
     public static ResourceHasher runtimeClasspathResourceHasher(
@@ -146,9 +165,77 @@ private static ResourceHasher metaInfAwareClasspathResourceHasher(ResourceHasher
 
     @Override
     public Map<String, FileSystemLocationFingerprint> collectFingerprints(FileSystemSnapshot roots) {
+        ClasspathFingerprintCache fingerprintCache = this.fingerprintCache;
+        if (fingerprintCache != null) {
+            return collectCachedFingerprints(roots, fingerprintCache);
+        }
+        ImmutableMap.Builder<String, FileSystemLocationFingerprint> builder = ImmutableMap.builder();
+        roots.accept(new RelativePathTracker(), new ClasspathFingerprintingVisitor(new HashSet<>(), builder));
+        return builder.build();
+    }
+
+    /**
+     * Collects the fingerprints of the classpath from the cached fingerprints of the longest whole classpath fingerprinted before that it starts with,
+     * and the cached fingerprints of its remaining entries.
+     * Only whole classpaths are cached, so a prefix is only reused when another classpath consisted of exactly these entries.
+     * <p>
+     * The snapshot hash of an entry covers the paths and contents of all the files in it, so together with its location it determines the fingerprints of the entry.
+     * Likewise, the keys of the entries of a classpath, in order, determine the fingerprints of the classpath.
+     */
+    private Map<String, FileSystemLocationFingerprint> collectCachedFingerprints(FileSystemSnapshot roots, ClasspathFingerprintCache fingerprintCache) {
+        List<FileSystemLocationSnapshot> entries = roots.roots().collect(Collectors.toList());
+        if (entries.isEmpty()) {
+            return ImmutableMap.of();
+        }
+        HashCode[] entryKeys = new HashCode[entries.size()];
+        HashCode[] prefixKeys = new HashCode[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            FileSystemLocationSnapshot entry = entries.get(i);
+            Hasher entryHasher = Hashing.newHasher();
+            entryHasher.putHash(zipHasherConfigurationHash);
+            entryHasher.putString(entry.getAbsolutePath());
+            entryHasher.putHash(entry.getHash());
+            entryKeys[i] = entryHasher.hash();
+
+            Hasher prefixHasher = Hashing.newHasher();
+            if (i > 0) {
+                prefixHasher.putHash(prefixKeys[i - 1]);
+            }
+            prefixHasher.putHash(entryKeys[i]);
+            prefixKeys[i] = prefixHasher.hash();
+        }
+
         ImmutableMap.Builder<String, FileSystemLocationFingerprint> builder = ImmutableMap.builder();
         HashSet<String> processedEntries = new HashSet<>();
-        roots.accept(new RelativePathTracker(), new ClasspathFingerprintingVisitor(processedEntries, builder));
+        int firstUncachedEntry = 0;
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Map<String, FileSystemLocationFingerprint> prefixFingerprints = fingerprintCache.getClasspath(prefixKeys[i]);
+            if (prefixFingerprints != null) {
+                if (i == entries.size() - 1) {
+                    return prefixFingerprints;
+                }
+                builder.putAll(prefixFingerprints);
+                processedEntries.addAll(prefixFingerprints.keySet());
+                firstUncachedEntry = i + 1;
+                break;
+            }
+        }
+        for (int i = firstUncachedEntry; i < entries.size(); i++) {
+            FileSystemLocationSnapshot entry = entries.get(i);
+            fingerprintCache.getEntry(entryKeys[i], () -> fingerprintEntry(entry)).forEach((absolutePath, fingerprint) -> {
+                if (processedEntries.add(absolutePath)) {
+                    builder.put(absolutePath, fingerprint);
+                }
+            });
+        }
+        Map<String, FileSystemLocationFingerprint> fingerprints = builder.build();
+        fingerprintCache.putClasspath(prefixKeys[entries.size() - 1], fingerprints);
+        return fingerprints;
+    }
+
+    private Map<String, FileSystemLocationFingerprint> fingerprintEntry(FileSystemLocationSnapshot entry) {
+        ImmutableMap.Builder<String, FileSystemLocationFingerprint> builder = ImmutableMap.builder();
+        entry.accept(new RelativePathTracker(), new ClasspathFingerprintingVisitor(new HashSet<>(), builder));
         return builder.build();
     }
 
@@ -20,6 +20,7 @@ import org.gradle.api.internal.file.archive.ZipEntry
 import org.gradle.internal.file.FileMetadata.AccessType
 import org.gradle.internal.file.impl.DefaultFileMetadata
 import org.gradle.internal.fingerprint.hashing.ResourceHasher
+import org.gradle.internal.hash.Hashing
 import org.gradle.internal.hash.TestHashCodes
 import org.gradle.internal.snapshot.RegularFileSnapshot
 import spock.lang.Specification
@@ -65,4 +66,56 @@ class CachingResourceHasherTest extends Specification {
 
         actualHash == expectedHash
     }
+
+    def "caches accepted zip entries by content hash"() {
+        def expectedHash = TestHashCodes.hashCodeFrom(123)
+        def content = [1, 2, 3] as byte[]
+        def zipEntry = Mock(ZipEntry)
+        def zipEntryContext = new DefaultZipEntryContext(zipEntry, "Foo.class", "foo.zip")
+        def cachingHasher = new CachingResourceHasher(delegate, snapshotterCacheService, { it.fullName.endsWith(".class") })
+
+        when:
+        def actualHash = cachingHasher.hash(zipEntryContext)
+
+        then:
+        _ * zipEntry.size() >> content.length
+        1 * zipEntry.content >> content
+        1 * snapshotterCacheService.hashZipEntry({ it.entry.canReopen() && it.fullName == "Foo.class" && it.rootParentName == "foo.zip" }, Hashing.hashBytes(content), delegate, _) >> expectedHash
+        0 * _
+
+        actualHash == expectedHash
+    }
+
+    def "does not cache zip entries that are not accepted"() {
+        def expectedHash = TestHashCodes.hashCodeFrom(123)
+        def zipEntry = Mock(ZipEntry)
+        def zipEntryContext = new DefaultZipEntryContext(zipEntry, "foo.txt", "foo.zip")
+        def cachingHasher = new CachingResourceHasher(delegate, snapshotterCacheService, { it.fullName.endsWith(".class") })
+
+        when:
+        def actualHash = cachingHasher.hash(zipEntryContext)
+
+        then:
+        1 * delegate.hash(zipEntryContext) >> expectedHash
+        0 * _
+
+        actualHash == expectedHash
+    }
+
+    def "does not cache accepted zip entries of unknown size"() {
+        def expectedHash = TestHashCodes.hashCodeFrom(123)
+        def zipEntry = Mock(ZipEntry)
+        def zipEntryContext = new DefaultZipEntryContext(zipEntry, "Foo.class", "foo.zip")
+        def cachingHasher = new CachingResourceHasher(delegate, snapshotterCacheService, { it.fullName.endsWith(".class") })
+
+        when:
+        def actualHash = cachingHasher.hash(zipEntryContext)
+
+        then:
+        _ * zipEntry.size() >> -1
+        1 * delegate.hash(zipEntryContext) >> expectedHash
+        0 * _
+
+        actualHash == expectedHash
+    }
 }
@@ -148,6 +148,28 @@ class ZipHasherTest extends Specification {
         hash1 == hash2
     }
 
+    def "hashing entries in parallel produces the same hash as hashing them sequentially"() {
+        given:
+        def content = tmpDir.createDir("content")
+        100.times { i ->
+            content.file("org/gradle/dir${i % 7}/Resource${i}.txt") << "resource ${i}"
+        }
+        content.file("META-INF/build-info.properties") << "created-by=someone"
+        def innerContent = tmpDir.createDir("inner")
+        innerContent.file("foo") << "Foo"
+        innerContent.zipTo(content.file("lib/inner.jar"))
+        def jarfile = tmpDir.file("test.jar")
+        content.zipTo(jarfile)
+
+        def resourceHasher = resourceHasher(ResourceEntryFilter.FILTER_NOTHING, ResourceEntryFilter.FILTER_NOTHING)
+        def sequentialHash = new ZipHasher(resourceHasher, Integer.MAX_VALUE).hash(snapshotContext(jarfile))
+        def parallelHash = new ZipHasher(resourceHasher, 1).hash(snapshotContext(jarfile))
+
+        expect:
+        sequentialHash != null
+        parallelHash == sequentialHash
+    }
+
     def createJarWithAttributes(TestFile jarfile, Map<String, String> attributes) {
         def manifest = new Manifest()
         def mainAttributes = manifest.getMainAttributes()
@@ -1,5 +1,6 @@
 plugins {
     id("gradlebuild.distribution.api-java")
+    id("gradlebuild.jmh")
 }
 
 description = "Plugins for building Scala code with Gradle."
@@ -60,6 +61,11 @@ dependencies {
     testImplementation(testFixtures(projects.pluginsJava))
     testImplementation(testFixtures(projects.languageJvm))
     testImplementation(testFixtures(projects.languageJava))
+    testImplementation(libs.zinc) {
+        because("The Zinc analysis stores are tested with the Zinc API.")
+        exclude(module="log4j-core")
+        exclude(module="log4j-api")
+    }
 
     integTestImplementation(projects.jvmServices)
 
@@ -70,6 +76,12 @@ dependencies {
         because("ProjectBuilder tests load services from a Gradle distribution.")
     }
     integTestDistributionRuntimeOnly(projects.distributionsJvm)
+
+    jmhImplementation(platform(projects.distributionsDependencies))
+    jmhImplementation(libs.zinc) {
+        exclude(module="log4j-core")
+        exclude(module="log4j-api")
+    }
 }
 
 dependencyAnalysis {
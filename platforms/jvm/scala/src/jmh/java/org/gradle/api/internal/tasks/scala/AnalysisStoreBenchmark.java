@@ -0,0 +1,210 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.scala;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import sbt.internal.inc.Analysis;
+import sbt.internal.inc.CompileOutput;
+import sbt.internal.inc.FarmHash;
+import sbt.internal.inc.SourceInfos;
+import scala.Tuple3;
+import scala.jdk.javaapi.CollectionConverters;
+import xsbti.T2;
+import xsbti.UseScope;
+import xsbti.VirtualFileRef;
+import xsbti.api.AnalyzedClass;
+import xsbti.api.ClassDefinition;
+import xsbti.api.ClassLike;
+import xsbti.api.Companions;
+import xsbti.api.DefinitionType;
+import xsbti.api.DependencyContext;
+import xsbti.api.EmptyType;
+import xsbti.api.ExternalDependency;
+import xsbti.api.InternalDependency;
+import xsbti.api.Modifiers;
+import xsbti.api.NameHash;
+import xsbti.api.Public;
+import xsbti.api.SafeLazyProxy;
+import xsbti.api.Structure;
+import xsbti.api.Type;
+import xsbti.compile.AnalysisContents;
+import xsbti.compile.CompileOrder;
+import xsbti.compile.FileAnalysisStore;
+import xsbti.compile.FileHash;
+import xsbti.compile.MiniOptions;
+import xsbti.compile.MiniSetup;
+import xsbti.compile.analysis.Stamp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compares reading a Zinc analysis file, as every compilation used to do, with reading it through the {@link AnalysisStoreProvider} of a compiler daemon
+ * that has already seen the file.
+ * <p>
+ * The analysis is synthetic: each source defines one class, which depends on a few other classes and on the Scala library.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class AnalysisStoreBenchmark {
+
+    private static final int DEPENDENCIES_PER_SOURCE = 10;
+    private static final int NAMES_PER_CLASS = 20;
+
+    @Param({"500", "5000"})
+    int sources;
+
+    private Path tempDir;
+    private File analysisFile;
+    private AnalysisContents contents;
+    private AnalysisStoreProvider provider;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        tempDir = Files.createTempDirectory("analysis-store");
+        analysisFile = tempDir.resolve("compile.analysis").toFile();
+        contents = AnalysisContents.create(createAnalysis(), createSetup());
+        provider = new AnalysisStoreProvider();
+        provider.get(analysisFile).set(contents);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(analysisFile.toPath());
+        Files.deleteIfExists(tempDir);
+    }
+
+    @Benchmark
+    public Optional<AnalysisContents> readFromFile() {
+        return FileAnalysisStore.getDefault(analysisFile).get();
+    }
+
+    @Benchmark
+    public Optional<AnalysisContents> readFromDaemonCache() {
+        return provider.get(analysisFile).get();
+    }
+
+    @Benchmark
+    public void writeToFile() {
+        FileAnalysisStore.getDefault(analysisFile).set(contents);
+    }
+
+    private Analysis createAnalysis() {
+        Path sourceDir = tempDir.resolve("src");
+        Path classesDir = tempDir.resolve("classes");
+        VirtualFileRef scalaLibrary = VirtualFileRef.of(tempDir.resolve("scala-library.jar").toString());
+        Analysis analysis = Analysis.empty();
+        for (int i = 0; i < sources; i++) {
+            String className = "org.gradle.sample.Class" + i;
+            VirtualFileRef source = VirtualFileRef.of(sourceDir.resolve("Class" + i + ".scala").toString());
+            List<InternalDependency> internalDependencies = new ArrayList<>();
+            for (int j = 1; j <= DEPENDENCIES_PER_SOURCE; j++) {
+                internalDependencies.add(InternalDependency.of(className, "org.gradle.sample.Class" + (i + j) % sources, DependencyContext.DependencyByMemberRef));
+            }
+            Analysis.NonLocalProduct product = new Analysis.NonLocalProduct(
+                className,
+                className,
+                VirtualFileRef.of(classesDir.resolve("org/gradle/sample/Class" + i + ".class").toString()),
+                FarmHash.fromLong(i)
+            );
+            analysis = analysis.addSource(
+                source,
+                CollectionConverters.asScala(Collections.singletonList(analyzedClass(className))),
+                FarmHash.fromLong(i),
+                SourceInfos.emptyInfo(),
+                CollectionConverters.asScala(Collections.singletonList(product)),
+                CollectionConverters.asScala(Collections.<Analysis.LocalProduct>emptyList()),
+                CollectionConverters.asScala(internalDependencies),
+                CollectionConverters.asScala(Collections.<ExternalDependency>emptyList()),
+                CollectionConverters.asScala(Collections.singletonList(new Tuple3<VirtualFileRef, String, Stamp>(scalaLibrary, "scala.Predef", FarmHash.fromLong(0))))
+            );
+        }
+        return analysis;
+    }
+
+    private static AnalyzedClass analyzedClass(String className) {
+        Structure structure = Structure.of(
+            SafeLazyProxy.strict(new Type[0]),
+            SafeLazyProxy.strict(new ClassDefinition[0]),
+            SafeLazyProxy.strict(new ClassDefinition[0])
+        );
+        ClassLike classApi = ClassLike.of(
+            className,
+            Public.of(),
+            new Modifiers(false, false, false, false, false, false, false, false),
+            new xsbti.api.Annotation[0],
+            DefinitionType.ClassDef,
+            SafeLazyProxy.strict(EmptyType.of()),
+            SafeLazyProxy.strict(structure),
+            new String[0],
+            new Type[0],
+            true,
+            new xsbti.api.TypeParameter[0]
+        );
+        ClassLike objectApi = ClassLike.of(
+            className,
+            Public.of(),
+            new Modifiers(false, false, false, false, false, false, false, false),
+            new xsbti.api.Annotation[0],
+            DefinitionType.Module,
+            SafeLazyProxy.strict(EmptyType.of()),
+            SafeLazyProxy.strict(structure),
+            new String[0],
+            new Type[0],
+            true,
+            new xsbti.api.TypeParameter[0]
+        );
+        NameHash[] nameHashes = new NameHash[NAMES_PER_CLASS];
+        for (int i = 0; i < NAMES_PER_CLASS; i++) {
+            nameHashes[i] = NameHash.of("member" + i, UseScope.Default, className.hashCode() + i);
+        }
+        return AnalyzedClass.of(0L, className, SafeLazyProxy.strict(Companions.of(classApi, objectApi)), className.hashCode(), nameHashes, false);
+    }
+
+    private MiniSetup createSetup() {
+        return MiniSetup.of(
+            CompileOutput.apply(tempDir.resolve("classes")),
+            MiniOptions.of(new FileHash[0], new String[0], new String[0]),
+            "2.13.16",
+            CompileOrder.Mixed,
+            true,
+            noExtra()
+        );
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static T2<String, String>[] noExtra() {
+        return new T2[0];
+    }
+}
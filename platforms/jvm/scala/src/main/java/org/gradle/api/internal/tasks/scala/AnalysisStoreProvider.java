@@ -16,19 +16,143 @@
 
 package org.gradle.api.internal.tasks.scala;
 
-import org.gradle.cache.Cache;
-import org.gradle.cache.internal.MapBackedCache;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.jspecify.annotations.Nullable;
+import xsbti.compile.AnalysisContents;
 import xsbti.compile.AnalysisStore;
 import xsbti.compile.FileAnalysisStore;
 
 import java.io.File;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.Optional;
 
+/**
+ * Provides the stores for Zinc analysis files.
+ * <p>
+ * Reading a large analysis file means deserializing all of it, and the analysis files of upstream projects are read again by every downstream compilation.
+ * The provider is shared by all compilations in a compiler daemon, and keeps the analysis it last read from or wrote to each file in memory.
+ * A cached analysis is used as long as the file still has the size, modification time and identity it had when the analysis was read or written,
+ * so any change made to the file by someone else, such as a clean build or an output restored from the build cache, causes it to be read again.
+ * Analyses are softly referenced, so the cache gives way under memory pressure.
+ */
 public class AnalysisStoreProvider {
 
-    private final Cache<File, AnalysisStore> cache = new MapBackedCache<>(new ConcurrentHashMap<>());
+    private static final int MAX_CACHED_ANALYSES = 100;
+
+    private final Cache<File, CachedAnalysis> cache = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_ANALYSES)
+        .softValues()
+        .build();
 
     AnalysisStore get(final File analysisFile) {
-        return AnalysisStore.getCachedStore(cache.get(analysisFile, () -> AnalysisStore.getThreadSafeStore(FileAnalysisStore.getDefault(analysisFile))));
+        return get(analysisFile, AnalysisStore.getThreadSafeStore(FileAnalysisStore.getDefault(analysisFile)));
+    }
+
+    /**
+     * Returns a store that reads and writes the given analysis file with the given store, unless the cached analysis of the file can be used.
+     */
+    @VisibleForTesting
+    AnalysisStore get(File analysisFile, AnalysisStore fileStore) {
+        return new CachingAnalysisStore(analysisFile, fileStore);
+    }
+
+    private class CachingAnalysisStore implements AnalysisStore {
+        private final File analysisFile;
+        private final AnalysisStore delegate;
+
+        CachingAnalysisStore(File analysisFile, AnalysisStore delegate) {
+            this.analysisFile = analysisFile;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Optional<AnalysisContents> get() {
+            FileState state = FileState.of(analysisFile);
+            if (state == null) {
+                cache.invalidate(analysisFile);
+                return delegate.get();
+            }
+            CachedAnalysis cached = cache.getIfPresent(analysisFile);
+            if (cached != null && cached.state.equals(state)) {
+                return Optional.of(cached.contents);
+            }
+            Optional<AnalysisContents> contents = delegate.get();
+            if (contents.isPresent()) {
+                cache.put(analysisFile, new CachedAnalysis(state, contents.get()));
+            } else {
+                cache.invalidate(analysisFile);
+            }
+            return contents;
+        }
+
+        @Override
+        public AnalysisContents unsafeGet() {
+            return get().orElseThrow(() -> new IllegalStateException("No analysis found in " + analysisFile));
+        }
+
+        @Override
+        public void set(AnalysisContents contents) {
+            cache.invalidate(analysisFile);
+            delegate.set(contents);
+            FileState state = FileState.of(analysisFile);
+            if (state != null) {
+                cache.put(analysisFile, new CachedAnalysis(state, contents));
+            }
+        }
+    }
+
+    private static class CachedAnalysis {
+        private final FileState state;
+        private final AnalysisContents contents;
+
+        CachedAnalysis(FileState state, AnalysisContents contents) {
+            this.state = state;
+            this.contents = contents;
+        }
+    }
+
+    private static class FileState {
+        private final long size;
+        private final FileTime lastModified;
+        private final @Nullable Object fileKey;
+
+        private FileState(long size, FileTime lastModified, @Nullable Object fileKey) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fileKey = fileKey;
+        }
+
+        static @Nullable FileState of(File file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+                return new FileState(attributes.size(), attributes.lastModifiedTime(), attributes.fileKey());
+            } catch (IOException e) {
+                // Missing file, or its state cannot be determined, so do not use the cache
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileState that = (FileState) o;
+            return size == that.size && lastModified.equals(that.lastModified) && Objects.equals(fileKey, that.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, lastModified, fileKey);
+        }
     }
 }
@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.tasks.scala;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterables;
 import org.gradle.api.internal.tasks.compile.CompilationFailedException;
 import org.gradle.api.internal.tasks.compile.JavaCompilerArgumentsBuilder;
@@ -157,8 +158,7 @@ public WorkResult execute(final ScalaJavaJointCompileSpec spec) {
         try {
             CompileResult compile = incremental.compile(inputs, new SbtLoggerAdapter());
             if (analysisStore.isPresent()) {
-                AnalysisContents contentNext = AnalysisContents.create(compile.analysis(), compile.setup());
-                analysisStore.get().set(contentNext);
+                storeAnalysis(analysisStore.get(), previousResult, compile);
             }
         } catch (xsbti.CompileFailed e) {
             throw new CompilationFailedException(e);
@@ -167,6 +167,17 @@ public WorkResult execute(final ScalaJavaJointCompileSpec spec) {
         return WorkResults.didWork(true);
     }
 
+    /**
+     * Writes the analysis of the compilation to the store, unless Zinc reports that the previous analysis is still up to date.
+     */
+    @VisibleForTesting
+    static void storeAnalysis(AnalysisStore analysisStore, PreviousResult previousResult, CompileResult compile) {
+        if (compile.hasModified() || !previousResult.analysis().isPresent()) {
+            AnalysisContents contentNext = AnalysisContents.create(compile.analysis(), compile.setup());
+            analysisStore.set(contentNext);
+        }
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static T2<String, String>[] getExtra() {
         return new T2[0];
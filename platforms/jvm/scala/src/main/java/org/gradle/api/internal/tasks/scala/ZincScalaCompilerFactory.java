@@ -65,6 +65,7 @@ public class ZincScalaCompilerFactory {
     private static final String SCALA_3_LIBRARY_ID = "scala3-library_3";
     private static final GuavaBackedClassLoaderCache<HashCode> CLASSLOADER_CACHE = new GuavaBackedClassLoaderCache<HashCode>(CLASSLOADER_CACHE_SIZE);
     private static final ClassLoaderCache COMPILER_CLASSLOADER_CACHE;
+    private static final AnalysisStoreProvider ANALYSIS_STORE_PROVIDER = new AnalysisStoreProvider();
 
     static {
         // Load TimeCheckingClassLoaderCache and use it to create cache via reflection
@@ -127,7 +128,7 @@ static ZincScalaCompiler getCompiler(GlobalScopedCacheBuilderFactory globalScope
             Option.apply(COMPILER_CLASSLOADER_CACHE)
         );
 
-        return new ZincScalaCompiler(scalaInstance, scalaCompiler, new AnalysisStoreProvider());
+        return new ZincScalaCompiler(scalaInstance, scalaCompiler, ANALYSIS_STORE_PROVIDER);
     }
 
     private static ClassLoader getClassLoader(ClassPath classpath, ClassLoader parent) {
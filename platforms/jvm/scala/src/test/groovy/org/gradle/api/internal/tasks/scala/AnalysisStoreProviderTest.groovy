@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.scala
+
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.test.precondition.Requires
+import org.gradle.test.preconditions.UnitTestPreconditions
+import org.junit.Rule
+import spock.lang.Specification
+import xsbti.compile.AnalysisContents
+import xsbti.compile.AnalysisStore
+
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+
+class AnalysisStoreProviderTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def provider = new AnalysisStoreProvider()
+    def contents = Stub(AnalysisContents)
+    def fileStore = Mock(AnalysisStore) {
+        get() >> Optional.of(contents)
+    }
+    TestFile analysisFile = tmpDir.file("analysis.bin").createFile()
+    AnalysisStore store = provider.get(analysisFile, fileStore)
+
+    def "reuses the analysis read from an unchanged file"() {
+        when:
+        def first = store.get()
+        def second = provider.get(analysisFile, fileStore).get()
+
+        then:
+        1 * fileStore.get() >> Optional.of(contents)
+        0 * fileStore._
+        first.get() == contents
+        second.get() == contents
+    }
+
+    def "reads the analysis again when the size of the file changed"() {
+        given:
+        store.get()
+
+        when:
+        analysisFile << "more"
+        def result = store.get()
+
+        then:
+        1 * fileStore.get() >> Optional.of(contents)
+        result.get() == contents
+    }
+
+    def "reads the analysis again when the modification time of the file changed"() {
+        given:
+        store.get()
+
+        when:
+        analysisFile.setLastModified(analysisFile.lastModified() - 10000)
+        store.get()
+
+        then:
+        1 * fileStore.get() >> Optional.of(contents)
+    }
+
+    @Requires(UnitTestPreconditions.NotWindows)
+    def "reads the analysis again when the file was replaced by another file"() {
+        given:
+        def lastModified = analysisFile.lastModified() - 10000
+        analysisFile.text = "analysis"
+        analysisFile.setLastModified(lastModified)
+        store.get()
+        def replacement = tmpDir.file("replacement.bin")
+        replacement.text = "analysis"
+        replacement.setLastModified(lastModified)
+
+        when:
+        Files.move(replacement.toPath(), analysisFile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+        store.get()
+
+        then:
+        1 * fileStore.get() >> Optional.of(contents)
+    }
+
+    def "reads the analysis again once the file was deleted"() {
+        given:
+        store.get()
+
+        when:
+        analysisFile.delete()
+        def result = store.get()
+
+        then:
+        1 * fileStore.get() >> Optional.empty()
+        !result.present
+
+        when:
+        analysisFile.createFile()
+        store.get()
+
+        then:
+        1 * fileStore.get() >> Optional.of(contents)
+    }
+
+    def "reuses the analysis written to the file"() {
+        def written = Stub(AnalysisContents)
+
+        when:
+        store.set(written)
+        def result = provider.get(analysisFile, fileStore).get()
+
+        then:
+        1 * fileStore.set(written) >> { analysisFile << "written" }
+        0 * fileStore._
+        result.get() == written
+    }
+
+    def "reads the analysis again when the file changed after it was written"() {
+        given:
+        store.set(Stub(AnalysisContents))
+
+        when:
+        analysisFile << "changed"
+        def result = store.get()
+
+        then:
+        1 * fileStore.get() >> Optional.of(contents)
+        result.get() == contents
+    }
+
+    def "does not keep an analysis that could not be read"() {
+        when:
+        store.get()
+        store.get()
+
+        then:
+        2 * fileStore.get() >> Optional.empty()
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.scala
+
+import spock.lang.Specification
+import xsbti.compile.AnalysisContents
+import xsbti.compile.AnalysisStore
+import xsbti.compile.CompileAnalysis
+import xsbti.compile.CompileResult
+import xsbti.compile.PreviousResult
+
+class ZincScalaCompilerTest extends Specification {
+    def analysisStore = Mock(AnalysisStore)
+    def previousAnalysis = Stub(CompileAnalysis)
+    def analysis = Stub(CompileAnalysis)
+
+    def "does not write the analysis when nothing was modified"() {
+        when:
+        ZincScalaCompiler.storeAnalysis(analysisStore, PreviousResult.of(Optional.of(previousAnalysis), Optional.empty()), CompileResult.of(analysis, null, false))
+
+        then:
+        0 * analysisStore._
+    }
+
+    def "writes the analysis when something was modified"() {
+        when:
+        ZincScalaCompiler.storeAnalysis(analysisStore, PreviousResult.of(Optional.of(previousAnalysis), Optional.empty()), CompileResult.of(analysis, null, true))
+
+        then:
+        1 * analysisStore.set({ AnalysisContents contents -> contents.analysis == analysis })
+        0 * analysisStore._
+    }
+
+    def "writes the analysis when there was no previous analysis"() {
+        when:
+        ZincScalaCompiler.storeAnalysis(analysisStore, PreviousResult.of(Optional.empty(), Optional.empty()), CompileResult.of(analysis, null, false))
+
+        then:
+        1 * analysisStore.set({ AnalysisContents contents -> contents.analysis == analysis })
+        0 * analysisStore._
+    }
+}
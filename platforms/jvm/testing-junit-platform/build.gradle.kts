@@ -29,4 +29,12 @@ dependencies {
     }
 
     implementation(libs.jsr305)
+
+    testImplementation(testFixtures(projects.messaging))
+    testImplementation(libs.junitPlatform) {
+        because("To provide an implementation during testing")
+    }
+    testImplementation(libs.junitJupiter) {
+        because("To compile and run the test classes used as test data")
+    }
 }
@@ -17,6 +17,8 @@
 package org.gradle.api.internal.tasks.testing.junitplatform;
 
 import org.gradle.api.Action;
+import org.gradle.api.internal.tasks.testing.ShardedTestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 import org.gradle.api.internal.tasks.testing.filter.TestFilterSpec;
 import org.gradle.api.internal.tasks.testing.filter.TestSelectionMatcher;
@@ -27,6 +29,7 @@
 import org.gradle.internal.id.IdGenerator;
 import org.gradle.internal.time.Clock;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.junit.platform.engine.DiscoverySelector;
 import org.junit.platform.engine.FilterResult;
 import org.junit.platform.engine.TestDescriptor;
@@ -48,7 +51,10 @@
 import javax.annotation.WillCloseWhenClosed;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -98,6 +104,17 @@ protected Action<String> createTestExecutor(Actor resultProcessorActor) {
         return testClassExecutor;
     }
 
+    @Override
+    public void processTestClass(TestClassRunInfo testClass) {
+        if (startedProcessing && testClass instanceof ShardedTestClassRunInfo) {
+            if (!testClassExecutor.addShard((ShardedTestClassRunInfo) testClass)) {
+                // Another shard of the class was already received, the class is selected once for all of its shards
+                return;
+            }
+        }
+        super.processTestClass(testClass);
+    }
+
     @Override
     public void stop() {
         if (startedProcessing) {
@@ -109,6 +126,7 @@ public void stop() {
 
     private class CollectAllTestClassesExecutor implements Action<String> {
         private final List<Class<?>> testClasses = new ArrayList<>();
+        private final Map<String, TestClassShards> shards = new HashMap<>();
         private final TestResultProcessor resultProcessor;
 
         CollectAllTestClassesExecutor(TestResultProcessor resultProcessor) {
@@ -124,8 +142,22 @@ public void execute(@NonNull String testClassName) {
             testClasses.add(klass);
         }
 
+        /**
+         * Records a shard of a test class to run, returning whether it is the first shard received for the class.
+         */
+        private boolean addShard(ShardedTestClassRunInfo shard) {
+            TestClassShards classShards = shards.get(shard.getTestClassName());
+            boolean first = classShards == null;
+            if (first) {
+                classShards = new TestClassShards(shard.getShardCount());
+                shards.put(shard.getTestClassName(), classShards);
+            }
+            classShards.add(shard.getShardIndex());
+            return first;
+        }
+
         private void processAllTestClasses() {
-            LauncherDiscoveryRequest discoveryRequest = createLauncherDiscoveryRequest(testClasses);
+            LauncherDiscoveryRequest discoveryRequest = createLauncherDiscoveryRequest(testClasses, shards);
             TestExecutionListener executionListener = new JUnitPlatformTestExecutionListener(resultProcessor, clock, idGenerator);
             Launcher launcher = launcherSession.getLauncher();
             if (spec.isDryRun()) {
@@ -187,7 +219,7 @@ private Class<?> loadClass(String className) {
         }
     }
 
-    private LauncherDiscoveryRequest createLauncherDiscoveryRequest(List<Class<?>> testClasses) {
+    private LauncherDiscoveryRequest createLauncherDiscoveryRequest(List<Class<?>> testClasses, Map<String, TestClassShards> shards) {
         List<DiscoverySelector> classSelectors = testClasses.stream()
             .map(DiscoverySelectors::selectClass)
             .collect(Collectors.toList());
@@ -197,6 +229,9 @@ private LauncherDiscoveryRequest createLauncherDiscoveryRequest(List<Class<?>> t
         addTestNameFilters(requestBuilder);
         addEnginesFilter(requestBuilder);
         addTagsFilter(requestBuilder);
+        if (!shards.isEmpty()) {
+            requestBuilder.filters(new TestClassShardFilter(shards));
+        }
 
         return requestBuilder.build();
     }
@@ -340,6 +375,63 @@ private Optional<String> className(TestDescriptor descriptor) {
         }
     }
 
+    private static class TestClassShards {
+        private final int shardCount;
+        private final Set<Integer> shardIndices = new HashSet<>();
+
+        TestClassShards(int shardCount) {
+            this.shardCount = shardCount;
+        }
+
+        void add(int shardIndex) {
+            shardIndices.add(shardIndex);
+        }
+
+        boolean includes(String testIdentity) {
+            return shardIndices.contains(ShardedTestClassRunInfo.shardOf(testIdentity, shardCount));
+        }
+    }
+
+    /**
+     * Keeps only the tests of sharded test classes that belong to the shards assigned to this worker.
+     * <p>
+     * The direct children of a sharded class, such as its test methods, test factories or nested classes, are assigned
+     * to shards by their unique id. All the descendants of a child belong to the same shard, so that for example all the
+     * invocations of a parameterized test run in the same worker.
+     */
+    private static class TestClassShardFilter implements PostDiscoveryFilter {
+        private final Map<String, TestClassShards> shards;
+
+        private TestClassShardFilter(Map<String, TestClassShards> shards) {
+            this.shards = shards;
+        }
+
+        @Override
+        public FilterResult apply(TestDescriptor descriptor) {
+            @Nullable TestDescriptor child = null;
+            @Nullable TestDescriptor current = descriptor;
+            while (current != null) {
+                if (child != null) {
+                    TestClassShards classShards = classShards(current);
+                    if (classShards != null) {
+                        return FilterResult.includedIf(classShards.includes(child.getUniqueId().toString()), () -> "In assigned shard", () -> "In another shard");
+                    }
+                }
+                child = current;
+                current = current.getParent().orElse(null);
+            }
+            return FilterResult.included("Not sharded");
+        }
+
+        @Nullable
+        private TestClassShards classShards(TestDescriptor descriptor) {
+            return descriptor.getSource()
+                .filter(ClassSource.class::isInstance)
+                .map(source -> shards.get(((ClassSource) source).getClassName()))
+                .orElse(null);
+        }
+    }
+
     private static class BackwardsCompatibleLauncherSession implements AutoCloseable {
 
         static BackwardsCompatibleLauncherSession open() {
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.junitplatform;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * JUnit Jupiter test classes run by {@code JUnitPlatformTestClassProcessorTest}.
+ * <p>
+ * These live in the test fixtures rather than the tests, so that they are not picked up as tests of this project.
+ */
+public class JUnitPlatformTestClassProcessorData {
+
+    public static class ATestClassWithSeveralTests {
+        @Test
+        public void test1() {
+        }
+
+        @Test
+        public void test2() {
+        }
+
+        @Test
+        public void test3() {
+        }
+
+        @Test
+        public void test4() {
+        }
+
+        @Test
+        public void test5() {
+        }
+
+        @Test
+        public void test6() {
+        }
+
+        @Test
+        public void test7() {
+        }
+
+        @Test
+        public void test8() {
+        }
+    }
+
+    public static class ATestClassWithNestedTests {
+        @Test
+        public void ok() {
+        }
+
+        @Test
+        public void ok2() {
+        }
+
+        @Nested
+        public class Inner {
+            @Test
+            public void nested1() {
+            }
+
+            @Test
+            public void nested2() {
+            }
+
+            @Test
+            public void nested3() {
+            }
+        }
+
+        @Nested
+        public class Inner2 {
+            @Test
+            public void nested1() {
+            }
+
+            @Test
+            public void nested2() {
+            }
+        }
+    }
+
+    public static class ATestClassWithParameterizedAndDynamicTests {
+        @Test
+        public void ok() {
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 2, 3, 4})
+        public void parameterized(int value) {
+        }
+
+        @TestFactory
+        public Stream<DynamicTest> dynamic() {
+            return IntStream.range(0, 4).mapToObj(i -> dynamicTest("dynamic" + i, () -> {
+            }));
+        }
+    }
+
+    public static class ATestClassWithOneTest {
+        @Test
+        public void ok() {
+        }
+    }
+}
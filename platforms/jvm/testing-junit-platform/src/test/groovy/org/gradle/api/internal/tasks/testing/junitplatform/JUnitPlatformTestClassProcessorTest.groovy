@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.junitplatform
+
+import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo
+import org.gradle.api.internal.tasks.testing.ShardedTestClassRunInfo
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.api.internal.tasks.testing.filter.TestFilterSpec
+import org.gradle.internal.actor.TestActorFactory
+import org.gradle.internal.id.LongIdGenerator
+import org.gradle.internal.time.Time
+import spock.lang.Specification
+
+import static org.gradle.api.internal.tasks.testing.junitplatform.JUnitPlatformTestClassProcessorData.ATestClassWithNestedTests
+import static org.gradle.api.internal.tasks.testing.junitplatform.JUnitPlatformTestClassProcessorData.ATestClassWithOneTest
+import static org.gradle.api.internal.tasks.testing.junitplatform.JUnitPlatformTestClassProcessorData.ATestClassWithParameterizedAndDynamicTests
+import static org.gradle.api.internal.tasks.testing.junitplatform.JUnitPlatformTestClassProcessorData.ATestClassWithSeveralTests
+
+class JUnitPlatformTestClassProcessorTest extends Specification {
+
+    def "runs each test of a split class in exactly one shard"() {
+        when:
+        def unsplit = run(new DefaultTestClassRunInfo(ATestClassWithSeveralTests.name))
+        def shards = runShards(ATestClassWithSeveralTests, 3)
+
+        then:
+        unsplit.size() == 8
+        shards.flatten().sort() == unsplit.sort()
+        shards.count { !it.isEmpty() } > 1
+    }
+
+    def "runs the shards assigned to the same worker together"() {
+        when:
+        def shards = runShards(ATestClassWithSeveralTests, 3)
+        def together = run(new ShardedTestClassRunInfo(ATestClassWithSeveralTests.name, 0, 3), new ShardedTestClassRunInfo(ATestClassWithSeveralTests.name, 2, 3))
+
+        then:
+        together.sort() == (shards[0] + shards[2]).sort()
+    }
+
+    def "runs all tests of a nested class in the same shard"() {
+        when:
+        def unsplit = run(new DefaultTestClassRunInfo(ATestClassWithNestedTests.name))
+        def shards = runShards(ATestClassWithNestedTests, 4)
+
+        then:
+        unsplit.size() == 7
+        shards.flatten().sort() == unsplit.sort()
+        [ATestClassWithNestedTests.Inner, ATestClassWithNestedTests.Inner2].each { nestedClass ->
+            def nestedTests = unsplit.findAll { it.startsWith(nestedClass.name + '.') }
+            assert nestedTests.size() > 1
+            assert shards.count { it.containsAll(nestedTests) } == 1
+        }
+    }
+
+    def "runs all invocations of a parameterized or dynamic test in the same shard"() {
+        when:
+        def unsplit = run(new DefaultTestClassRunInfo(ATestClassWithParameterizedAndDynamicTests.name))
+        def shards = runShards(ATestClassWithParameterizedAndDynamicTests, 3)
+
+        then:
+        unsplit.size() == 9
+        shards.flatten().sort() == unsplit.sort()
+        // invocations are reported with their display name, such as "[1] 1" or "dynamic1"
+        ['.[', '.dynamic'].each { prefix ->
+            def invocations = unsplit.findAll { it.contains(prefix) }
+            assert invocations.size() == 4
+            assert shards.count { it.containsAll(invocations) } == 1
+        }
+    }
+
+    def "does not run a class for a shard without tests"() {
+        when:
+        def shards = (0..<4).collect { shardIndex -> execute(new ShardedTestClassRunInfo(ATestClassWithOneTest.name, shardIndex, 4)) }
+
+        then:
+        shards.count { it.isEmpty() } == 3
+        shards.flatten().findAll { !it.composite }*.name == ['ok()']
+    }
+
+    /**
+     * Runs each shard of the given class in a processor of its own, returning the tests run by each shard.
+     */
+    private List<List<String>> runShards(Class<?> testClass, int shardCount) {
+        (0..<shardCount).collect { shardIndex -> run(new ShardedTestClassRunInfo(testClass.name, shardIndex, shardCount)) }
+    }
+
+    /**
+     * Returns the tests run when processing the given test classes.
+     */
+    private List<String> run(TestClassRunInfo... testClasses) {
+        execute(testClasses).findAll { !it.composite }.collect { "${it.className}.${it.displayName}".toString() }
+    }
+
+    private List<TestDescriptorInternal> execute(TestClassRunInfo... testClasses) {
+        List<TestDescriptorInternal> descriptors = []
+        def resultProcessor = Stub(TestResultProcessor) {
+            started(_, _) >> { TestDescriptorInternal descriptor, event -> descriptors << descriptor }
+        }
+        def spec = new JUnitPlatformSpec(new TestFilterSpec([] as Set, [] as Set, [] as Set), [] as Set, [] as Set, [] as Set, [] as Set, false)
+        def classProcessor = new JUnitPlatformTestClassProcessor(spec, new LongIdGenerator(), new TestActorFactory(), Time.clock())
+        classProcessor.startProcessing(resultProcessor)
+        testClasses.each { classProcessor.processTestClass(it) }
+        classProcessor.stop()
+        descriptors
+    }
+}
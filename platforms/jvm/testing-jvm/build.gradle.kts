@@ -35,13 +35,16 @@ dependencies {
     api(libs.jspecify)
 
     implementation(projects.logging)
+    implementation(projects.buildOption)
     implementation(projects.classloaders)
     implementation(projects.concurrent)
     implementation(projects.fileTemp)
     implementation(projects.functional)
+    implementation(projects.hashing)
     implementation(projects.loggingApi)
     implementation(projects.platformBase)
     implementation(projects.serviceLookup)
+    implementation(projects.snapshots)
     implementation(projects.testingJvmInfrastructure)
 
     implementation(libs.commonsIo)
@@ -147,6 +147,43 @@ class TestProcessingStartupFailureIntegrationTest extends AbstractIntegrationSpe
         failure.assertThatCause(matchesRegexp(/Process 'Gradle Test Executor \d+' finished with non-zero exit value.*/))
     }
 
+    def "reports the test that was running when the test process exited"() {
+        given:
+        buildFile << """
+            plugins {
+                id("java-library")
+            }
+
+            ${mavenCentralRepository()}
+
+            testing {
+                suites {
+                    test {
+                        useJUnitJupiter()
+                    }
+                }
+            }
+
+            ${addLoggingTestListener()}
+        """
+
+        file("src/test/java/MyExitingTest.java") << """
+            public class MyExitingTest {
+                @org.junit.jupiter.api.Test
+                void test() {
+                    System.exit(-25);
+                }
+            }
+        """
+        when:
+        executer.withStackTraceChecksDisabled()
+        fails('test')
+
+        then: "Events written by the test process just before it exited are received"
+        failure.assertThatCause(matchesRegexp(/Process 'Gradle Test Executor \d+' finished with non-zero exit value.*/))
+        outputContains("beforeTest Test test()(MyExitingTest)")
+    }
+
     def "tests not found due to incorrect framework used (junit 4 default)"() {
         given:
         buildFile << """
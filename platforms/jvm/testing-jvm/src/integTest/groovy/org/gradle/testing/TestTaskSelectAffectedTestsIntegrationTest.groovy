@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.testing
+
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import org.gradle.integtests.fixtures.DefaultTestExecutionResult
+
+import static org.gradle.testing.fixture.JUnitCoverage.getLATEST_JUPITER_VERSION
+
+class TestTaskSelectAffectedTestsIntegrationTest extends AbstractIntegrationSpec {
+
+    private static final String SELECT_AFFECTED_TESTS = "-Dorg.gradle.internal.testing.select-affected-tests=true"
+
+    def setup() {
+        buildFile << """
+            plugins {
+                id 'java'
+                id 'jvm-test-suite'
+            }
+            ${mavenCentralRepository()}
+            testing.suites.test {
+                useJUnitJupiter('${LATEST_JUPITER_VERSION}')
+            }
+        """
+        file("src/main/java/First.java") << "public class First { public static int value() { return 1; } }"
+        file("src/main/java/Second.java") << "public class Second { public static int value() { return 2; } }"
+        file("src/test/java/FirstTest.java") << """
+            public class FirstTest {
+                @org.junit.jupiter.api.Test
+                public void test() { org.junit.jupiter.api.Assertions.assertTrue(First.value() > 0); }
+            }
+        """
+        file("src/test/java/SecondTest.java") << """
+            public class SecondTest {
+                @org.junit.jupiter.api.Test
+                public void test() { org.junit.jupiter.api.Assertions.assertTrue(Second.value() > 0); }
+            }
+        """
+    }
+
+    def "runs only the test classes affected by a change"() {
+        when:
+        succeeds("test", SELECT_AFFECTED_TESTS)
+
+        then:
+        testResult.assertTestClassesExecuted("FirstTest", "SecondTest")
+
+        when:
+        file("src/main/java/First.java").text = "public class First { public static int value() { return 3; } }"
+        succeeds("test", SELECT_AFFECTED_TESTS)
+
+        then:
+        executedAndNotSkipped(":test")
+        testResult.assertTestClassesExecuted("FirstTest")
+    }
+
+    def "runs all test classes when selection is disabled after a selective run"() {
+        given:
+        succeeds("test", SELECT_AFFECTED_TESTS)
+        file("src/main/java/First.java").text = "public class First { public static int value() { return 3; } }"
+        succeeds("test", SELECT_AFFECTED_TESTS)
+        testResult.assertTestClassesExecuted("FirstTest")
+
+        when:
+        succeeds("test")
+
+        then:
+        executedAndNotSkipped(":test")
+        testResult.assertTestClassesExecuted("FirstTest", "SecondTest")
+    }
+
+    def "does not store the results of a selective run in the build cache"() {
+        when:
+        withBuildCache().succeeds("test", SELECT_AFFECTED_TESTS, "--info")
+
+        then:
+        outputContains("Caching disabled for task ':test' because:")
+        outputContains("Only the test classes affected by changes are selected")
+
+        when:
+        file("build").deleteDir()
+        withBuildCache().succeeds("test")
+
+        then:
+        executedAndNotSkipped(":test")
+        testResult.assertTestClassesExecuted("FirstTest", "SecondTest")
+    }
+
+    private DefaultTestExecutionResult getTestResult() {
+        new DefaultTestExecutionResult(testDirectory)
+    }
+}
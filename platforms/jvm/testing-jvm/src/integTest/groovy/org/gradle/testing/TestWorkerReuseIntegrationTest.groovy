@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.testing
+
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import org.gradle.integtests.fixtures.DefaultTestExecutionResult
+
+import static org.gradle.testing.fixture.JUnitCoverage.getLATEST_JUPITER_VERSION
+
+class TestWorkerReuseIntegrationTest extends AbstractIntegrationSpec {
+
+    private static final String REUSE_TEST_WORKERS = "-Dorg.gradle.internal.testing.reuse-workers=true"
+
+    def setup() {
+        executer.requireDaemon().requireIsolatedDaemons()
+        buildFile << """
+            plugins {
+                id 'java'
+                id 'jvm-test-suite'
+            }
+            ${mavenCentralRepository()}
+            testing.suites.test {
+                useJUnitJupiter('${LATEST_JUPITER_VERSION}')
+            }
+        """
+        file("src/main/java/Counter.java") << """
+            public class Counter {
+                private static int count;
+                public static int increment() { return ++count; }
+            }
+        """
+        file("src/test/java/IsolationTest.java") << """
+            import static org.junit.jupiter.api.Assertions.*;
+
+            public class IsolationTest {
+                @org.junit.jupiter.api.Test
+                public void doesNotSeeStateOfEarlierExecutions() {
+                    assertNull(System.getProperty("isolation.leaked"));
+                    System.setProperty("isolation.leaked", "true");
+                    assertEquals(1, Counter.increment());
+                }
+            }
+        """
+    }
+
+    def "runs a test task again in the same worker without leaking system properties or static state"() {
+        when:
+        succeeds("test", REUSE_TEST_WORKERS, "--info")
+
+        then:
+        testResult.assertTestClassesExecuted("IsolationTest")
+        outputDoesNotContain("Reusing test worker")
+
+        when:
+        succeeds("test", "--rerun", REUSE_TEST_WORKERS, "--info")
+
+        then:
+        executedAndNotSkipped(":test")
+        testResult.assertTestClassesExecuted("IsolationTest")
+        testResult.testClass("IsolationTest").assertTestPassed("doesNotSeeStateOfEarlierExecutions")
+        outputContains("Reusing test worker")
+    }
+
+    private DefaultTestExecutionResult getTestResult() {
+        new DefaultTestExecutionResult(testDirectory)
+    }
+}
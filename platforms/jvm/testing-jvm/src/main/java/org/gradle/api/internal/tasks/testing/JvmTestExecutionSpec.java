@@ -18,11 +18,15 @@
 
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.FileTree;
+import org.gradle.api.internal.tasks.testing.impact.TestImpact;
 import org.gradle.internal.scan.UsedByScanPlugin;
 import org.gradle.process.JavaForkOptions;
 import org.gradle.util.Path;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 @UsedByScanPlugin("test-distribution, test-retry")
@@ -40,8 +44,20 @@ public class JvmTestExecutionSpec implements TestExecutionSpec {
     private final int maxParallelForks;
     private final Set<String> previousFailedTestClasses;
     private final boolean testIsModule;
+    private final Map<String, Long> previousTestClassDurations;
+    private final boolean splitLongTestClasses;
+    @Nullable
+    private final TestImpact testImpact;
 
     public JvmTestExecutionSpec(TestFramework testFramework, Iterable<? extends File> classpath, Iterable<? extends File>  modulePath, FileTree candidateClassFiles, boolean scanForTestClasses, FileCollection testClassesDirs, String path, Path identityPath, long forkEvery, JavaForkOptions javaForkOptions, int maxParallelForks, Set<String> previousFailedTestClasses, boolean testIsModule) {
+        this(testFramework, classpath, modulePath, candidateClassFiles, scanForTestClasses, testClassesDirs, path, identityPath, forkEvery, javaForkOptions, maxParallelForks, previousFailedTestClasses, testIsModule, Collections.emptyMap(), false);
+    }
+
+    public JvmTestExecutionSpec(TestFramework testFramework, Iterable<? extends File> classpath, Iterable<? extends File>  modulePath, FileTree candidateClassFiles, boolean scanForTestClasses, FileCollection testClassesDirs, String path, Path identityPath, long forkEvery, JavaForkOptions javaForkOptions, int maxParallelForks, Set<String> previousFailedTestClasses, boolean testIsModule, Map<String, Long> previousTestClassDurations, boolean splitLongTestClasses) {
+        this(testFramework, classpath, modulePath, candidateClassFiles, scanForTestClasses, testClassesDirs, path, identityPath, forkEvery, javaForkOptions, maxParallelForks, previousFailedTestClasses, testIsModule, previousTestClassDurations, splitLongTestClasses, null);
+    }
+
+    public JvmTestExecutionSpec(TestFramework testFramework, Iterable<? extends File> classpath, Iterable<? extends File>  modulePath, FileTree candidateClassFiles, boolean scanForTestClasses, FileCollection testClassesDirs, String path, Path identityPath, long forkEvery, JavaForkOptions javaForkOptions, int maxParallelForks, Set<String> previousFailedTestClasses, boolean testIsModule, Map<String, Long> previousTestClassDurations, boolean splitLongTestClasses, @Nullable TestImpact testImpact) {
         this.testFramework = testFramework;
         this.classpath = classpath;
         this.modulePath = modulePath;
@@ -55,6 +71,9 @@ public JvmTestExecutionSpec(TestFramework testFramework, Iterable<? extends File
         this.maxParallelForks = maxParallelForks;
         this.previousFailedTestClasses = previousFailedTestClasses;
         this.testIsModule = testIsModule;
+        this.previousTestClassDurations = previousTestClassDurations;
+        this.splitLongTestClasses = splitLongTestClasses;
+        this.testImpact = testImpact;
     }
 
     @SuppressWarnings("unused")
@@ -62,7 +81,7 @@ public JvmTestExecutionSpec(TestFramework testFramework, Iterable<? extends File
     public JvmTestExecutionSpec copyWithTestFramework(TestFramework testFramework) {
         return new JvmTestExecutionSpec(testFramework, this.classpath, this.modulePath, this.candidateClassFiles,
             this.scanForTestClasses, this.testClassesDirs, this.path, this.identityPath, this.forkEvery,
-            this.javaForkOptions, this.maxParallelForks, this.previousFailedTestClasses, this.testIsModule
+            this.javaForkOptions, this.maxParallelForks, this.previousFailedTestClasses, this.testIsModule, this.previousTestClassDurations, this.splitLongTestClasses, this.testImpact
         );
     }
 
@@ -119,4 +138,27 @@ public Set<String> getPreviousFailedTestClasses() {
     public boolean getTestIsModule() {
         return testIsModule;
     }
+
+    /**
+     * The duration in milliseconds of each test class in the previous execution, used to balance test classes across forks.
+     * Empty when balancing is disabled or there are no previous results.
+     */
+    public Map<String, Long> getPreviousTestClassDurations() {
+        return previousTestClassDurations;
+    }
+
+    /**
+     * Whether test classes that took longer than a fair share of the previous execution should be split across forks.
+     */
+    public boolean isSplitLongTestClasses() {
+        return splitLongTestClasses;
+    }
+
+    /**
+     * Selects the test classes affected by changes since the previous execution, or null when all test classes should be executed.
+     */
+    @Nullable
+    public TestImpact getTestImpact() {
+        return testImpact;
+    }
 }
@@ -61,9 +61,14 @@ private static Supplier<TestResultsProvider> createAggregateProvider(FileCollect
     }
 
     private final Supplier<TestResultsProvider> provider;
+    private final File stateDir;
 
-    public LegacyTestReportGenerator(FileCollection resultDirs) {
+    /**
+     * @param stateDir a directory to keep state between report generations in, used to skip rendering the pages of unchanged test classes
+     */
+    public LegacyTestReportGenerator(FileCollection resultDirs, File stateDir) {
         this.provider = createAggregateProvider(resultDirs);
+        this.stateDir = stateDir;
     }
 
     @Override
@@ -79,7 +84,7 @@ public boolean hasResults() {
     public void generateReport(BuildOperationRunner operationRunner, BuildOperationExecutor operationExecutor, Path outputDir) {
         HtmlTestReport testReport = new HtmlTestReport(operationRunner, operationExecutor);
         try (TestResultsProvider provider = this.provider.get()) {
-            testReport.generateReport(provider, outputDir.toFile());
+            testReport.generateReport(provider, outputDir.toFile(), stateDir);
         } catch (IOException e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
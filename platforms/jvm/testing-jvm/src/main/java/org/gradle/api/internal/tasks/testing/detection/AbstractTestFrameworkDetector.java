@@ -24,6 +24,7 @@
 import org.gradle.internal.Factories;
 import org.gradle.internal.Factory;
 import org.gradle.internal.IoActions;
+import org.jspecify.annotations.Nullable;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Type;
 import org.slf4j.Logger;
@@ -37,6 +38,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.gradle.internal.FileUtils.hasExtension;
 
@@ -47,7 +49,10 @@
     private List<File> testClassDirectories;
     private final ClassFileExtractionManager classFileExtractionManager;
     private final Map<File, Boolean> superClasses;
+    private final Map<File, TestClass> prefetchedClasses = new ConcurrentHashMap<>();
     private TestClassProcessor testClassProcessor;
+    @Nullable
+    private TestClassDetectionCache detectionCache;
 
     private List<File> testClassesDirectories;
     private List<File> testClasspath;
@@ -100,7 +105,11 @@ private void prepareClasspath() {
                 if (file.isDirectory()) {
                     testClassDirectories.add(file);
                 } else if (file.isFile() && hasExtension(file, ".jar")) {
-                    classFileExtractionManager.addLibraryJar(file);
+                    if (detectionCache != null) {
+                        classFileExtractionManager.addLibraryJarPackages(file, detectionCache.getJarPackages(file, () -> new JarFilePackageLister().listJarPackages(file)));
+                    } else {
+                        classFileExtractionManager.addLibraryJar(file);
+                    }
                 }
             }
         }
@@ -116,7 +125,47 @@ public void setTestClasspath(List<File> testClasspath) {
         this.testClasspath = testClasspath;
     }
 
-    private TestClass readClassFile(File testClassFile, Factory<String> fallbackClassNameProvider) {
+    @Override
+    public void setDetectionCache(TestClassDetectionCache detectionCache) {
+        this.detectionCache = detectionCache;
+    }
+
+    /**
+     * Reads the given class files in parallel, so that {@link #processTestClass(RelativeFile)} only has to resolve their super classes.
+     */
+    @Override
+    public void prefetchTestClasses(List<RelativeFile> testClassFiles) {
+        testClassFiles.parallelStream().forEach(testClassFile -> {
+            File file = testClassFile.getFile();
+            TestClass testClass = readClassFile(file, true);
+            if (testClass != null) {
+                prefetchedClasses.put(file, testClass);
+            }
+        });
+    }
+
+    private TestClass readClassFile(File testClassFile, boolean cacheable, Factory<String> fallbackClassNameProvider) {
+        TestClass testClass = prefetchedClasses.remove(testClassFile);
+        if (testClass == null) {
+            testClass = readClassFile(testClassFile, cacheable);
+        }
+        if (testClass == null) {
+            LOGGER.debug("Failed to read class file {}; assuming it's a test class and continuing", testClassFile.getAbsolutePath());
+            return TestClass.forUnparseableFile(fallbackClassNameProvider.create());
+        }
+        return testClass;
+    }
+
+    @Nullable
+    private TestClass readClassFile(File testClassFile, boolean cacheable) {
+        if (cacheable && detectionCache != null) {
+            return detectionCache.getTestClass(getClass(), testClassFile, () -> parseClassFile(testClassFile));
+        }
+        return parseClassFile(testClassFile);
+    }
+
+    @Nullable
+    private TestClass parseClassFile(File testClassFile) {
         final TestClassVisitor classVisitor = createClassVisitor();
 
         InputStream classStream = null;
@@ -126,8 +175,8 @@ private TestClass readClassFile(File testClassFile, Factory<String> fallbackClas
             classReader.accept(classVisitor, ClassReader.SKIP_DEBUG | ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
             return TestClass.forParseableFile(classVisitor);
         } catch (Throwable e) {
-            LOGGER.debug("Failed to read class file " + testClassFile.getAbsolutePath() + "; assuming it's a test class and continuing", e);
-            return TestClass.forUnparseableFile(fallbackClassNameProvider.create());
+            LOGGER.debug("Failed to parse class file " + testClassFile.getAbsolutePath(), e);
+            return null;
         } finally {
             IoActions.closeQuietly(classStream);
         }
@@ -135,7 +184,7 @@ private TestClass readClassFile(File testClassFile, Factory<String> fallbackClas
 
     @Override
     public boolean processTestClass(final RelativeFile testClassFile) {
-        return processTestClass(testClassFile.getFile(), false, new Factory<String>() {
+        return processTestClass(testClassFile.getFile(), false, true, new Factory<String>() {
             @Override
             public String create() {
                 return testClassFile.getRelativePath().getPathString().replace(".class", "");
@@ -151,8 +200,8 @@ public String create() {
      * <p>
      * When a parent class is a test class all the extending classes are marked as test classes.
      */
-    private boolean processTestClass(File testClassFile, boolean superClass, Factory<String> fallbackClassNameProvider) {
-        TestClass testClass = readClassFile(testClassFile, fallbackClassNameProvider);
+    private boolean processTestClass(File testClassFile, boolean superClass, boolean cacheable, Factory<String> fallbackClassNameProvider) {
+        TestClass testClass = readClassFile(testClassFile, cacheable, fallbackClassNameProvider);
 
         boolean isTest = testClass.isTest();
 
@@ -165,7 +214,7 @@ private boolean processTestClass(File testClassFile, boolean superClass, Factory
                 File superClassFile = getSuperTestClassFile(superClassName);
 
                 if (superClassFile != null) {
-                    isTest = processSuperClass(superClassFile, superClassName);
+                    isTest = processSuperClass(superClassFile, superClassName, !classFileExtractionManager.isExtractedClassFile(superClassFile));
                 } else {
                     LOGGER.debug("test-class-scan : failed to scan parent class {}, could not find the class file",
                         superClassName);
@@ -180,13 +229,13 @@ private boolean processTestClass(File testClassFile, boolean superClass, Factory
 
     protected abstract boolean isKnownTestCaseClassName(String testCaseClassName);
 
-    private boolean processSuperClass(File testClassFile, String superClassName) {
+    private boolean processSuperClass(File testClassFile, String superClassName, boolean cacheable) {
         boolean isTest;
 
         Boolean isSuperTest = superClasses.get(testClassFile);
 
         if (isSuperTest == null) {
-            isTest = processTestClass(testClassFile, true, Factories.constant(superClassName));
+            isTest = processTestClass(testClassFile, true, cacheable, Factories.constant(superClassName));
 
             superClasses.put(testClassFile, isTest);
         } else {
@@ -212,7 +261,7 @@ public void startDetection(TestClassProcessor testClassProcessor) {
         this.testClassProcessor = testClassProcessor;
     }
 
-    private static class TestClass {
+    static class TestClass {
         private final boolean test;
         private final boolean isAbstract;
         private final String className;
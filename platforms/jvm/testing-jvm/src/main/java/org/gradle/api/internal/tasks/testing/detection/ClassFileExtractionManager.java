@@ -52,17 +52,31 @@ public ClassFileExtractionManager(final Factory<File> tempDirFactory) {
      * @param libraryJar Jar file to add to the index.
      */
     public void addLibraryJar(final File libraryJar) {
-        new JarFilePackageLister().listJarPackages(libraryJar, new JarFilePackageListener() {
-            @Override
-            public void receivePackage(String packageName) {
-                Set<File> jarFiles = packageJarFilesMappings.get(packageName);
-                if (jarFiles == null) {
-                    jarFiles = new TreeSet<File>();
-                    packageJarFilesMappings.put(packageName, jarFiles);
-                }
-                jarFiles.add(libraryJar);
+        addLibraryJarPackages(libraryJar, new JarFilePackageLister().listJarPackages(libraryJar));
+    }
+
+    /**
+     * Add the given packages of the jar file to the package &lt;&gt; jar(s) index.
+     *
+     * @param libraryJar Jar file to add to the index.
+     * @param packageNames The packages found in the jar file.
+     */
+    public void addLibraryJarPackages(final File libraryJar, Iterable<String> packageNames) {
+        for (String packageName : packageNames) {
+            Set<File> jarFiles = packageJarFilesMappings.get(packageName);
+            if (jarFiles == null) {
+                jarFiles = new TreeSet<File>();
+                packageJarFilesMappings.put(packageName, jarFiles);
             }
-        });
+            jarFiles.add(libraryJar);
+        }
+    }
+
+    /**
+     * Whether the given file is a class file extracted from a library jar, rather than a class file of the classpath.
+     */
+    public boolean isExtractedClassFile(File classFile) {
+        return extractedJarClasses.containsValue(classFile);
     }
 
     /**
@@ -25,6 +25,8 @@
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
@@ -33,6 +35,7 @@
  */
 public class DefaultTestClassScanner implements Runnable {
     private static final Pattern ANONYMOUS_CLASS_NAME = Pattern.compile(".*\\$\\d+");
+    private static final int PREFETCH_BATCH_SIZE = 500;
     private final FileTree candidateClassFiles;
     private final TestFrameworkDetector testFrameworkDetector;
     private final TestClassProcessor testClassProcessor;
@@ -55,12 +58,28 @@ public void run() {
 
     private void detectionScan() {
         testFrameworkDetector.startDetection(testClassProcessor);
+        List<RelativeFile> batch = new ArrayList<>(PREFETCH_BATCH_SIZE);
         candidateClassFiles.visit(new ClassFileVisitor() {
             @Override
             public void visitClassFile(FileVisitDetails fileDetails) {
-                testFrameworkDetector.processTestClass(new RelativeFile(fileDetails.getFile(), fileDetails.getRelativePath()));
+                batch.add(new RelativeFile(fileDetails.getFile(), fileDetails.getRelativePath()));
+                if (batch.size() == PREFETCH_BATCH_SIZE) {
+                    processBatch(batch);
+                }
             }
         });
+        processBatch(batch);
+    }
+
+    private void processBatch(List<RelativeFile> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        testFrameworkDetector.prefetchTestClasses(batch);
+        for (RelativeFile testClassFile : batch) {
+            testFrameworkDetector.processTestClass(testClassFile);
+        }
+        batch.clear();
     }
 
     private void filenameScan() {
@@ -25,21 +25,31 @@
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory;
 import org.gradle.api.internal.tasks.testing.filter.DefaultTestFilter;
+import org.gradle.api.internal.tasks.testing.impact.TestImpact;
+import org.gradle.api.internal.tasks.testing.junit.JUnitTestFramework;
+import org.gradle.api.internal.tasks.testing.junitplatform.JUnitPlatformTestFramework;
 import org.gradle.api.internal.tasks.testing.processors.MaxNParallelTestClassProcessor;
 import org.gradle.api.internal.tasks.testing.processors.PatternMatchTestClassProcessor;
 import org.gradle.api.internal.tasks.testing.processors.RestartEveryNTestClassProcessor;
 import org.gradle.api.internal.tasks.testing.processors.RunPreviousFailedFirstTestClassProcessor;
+import org.gradle.api.internal.tasks.testing.processors.SplitLongTestClassesProcessor;
+import org.gradle.api.internal.tasks.testing.processors.TestClassDurationEstimates;
 import org.gradle.api.internal.tasks.testing.processors.TestMainAction;
 import org.gradle.api.internal.tasks.testing.results.TestRetryShieldingTestResultProcessor;
+import org.gradle.api.internal.tasks.testing.testng.TestNGTestFramework;
 import org.gradle.api.internal.tasks.testing.worker.ForkedTestClasspath;
 import org.gradle.api.internal.tasks.testing.worker.ForkingTestClassProcessor;
+import org.gradle.api.internal.tasks.testing.worker.PooledForkingTestClassProcessor;
+import org.gradle.api.internal.tasks.testing.worker.TestWorkerPool;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.internal.Factory;
 import org.gradle.internal.actor.ActorFactory;
+import org.gradle.internal.buildoption.InternalFlag;
 import org.gradle.internal.time.Clock;
 import org.gradle.internal.work.WorkerLeaseService;
 import org.gradle.process.internal.worker.WorkerProcessFactory;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -49,6 +59,32 @@
  */
 public class DefaultTestExecuter implements TestExecuter<JvmTestExecutionSpec> {
 
+    /**
+     * Balances test classes across forks using the class durations of the previous execution, instead of assigning them round-robin.
+     */
+    public static final InternalFlag BALANCED_DISTRIBUTION = new InternalFlag("org.gradle.internal.testing.balanced-distribution");
+
+    /**
+     * Splits the JUnit Platform test classes that dominated the previous execution, so that their tests run in several forks.
+     * Implies {@link #BALANCED_DISTRIBUTION}.
+     * <p>
+     * Each shard has a class lifecycle of its own: class-level setup and teardown, such as JUnit Jupiter's
+     * {@code @BeforeAll} and {@code @AfterAll} methods, run once per shard rather than once per class,
+     * and static state is not shared between shards that run in different forks.
+     * Classes whose tests depend on each other, for example through {@code @TestMethodOrder}, should not be run with this flag.
+     */
+    public static final InternalFlag SPLIT_LONG_TEST_CLASSES = new InternalFlag("org.gradle.internal.testing.split-long-test-classes");
+
+    /**
+     * Runs tests in warm test workers kept by the {@link TestWorkerPool} of the Gradle user home, instead of in workers started for each test task.
+     */
+    public static final InternalFlag REUSE_TEST_WORKERS = new InternalFlag("org.gradle.internal.testing.reuse-workers");
+
+    /**
+     * Only runs the test classes affected by changes since the previous execution of the test task, see {@link TestImpact}.
+     */
+    public static final InternalFlag SELECT_AFFECTED_TESTS = new InternalFlag("org.gradle.internal.testing.select-affected-tests");
+
     private static final Logger LOGGER = Logging.getLogger(DefaultTestExecuter.class);
 
     private final WorkerProcessFactory workerFactory;
@@ -58,12 +94,25 @@ public class DefaultTestExecuter implements TestExecuter<JvmTestExecutionSpec> {
     private final int maxWorkerCount;
     private final Clock clock;
     private final DefaultTestFilter testFilter;
+    @Nullable
+    private final TestWorkerPool testWorkerPool;
+    @Nullable
+    private final TestClassDetectionCache detectionCache;
     private TestClassProcessor processor;
 
     public DefaultTestExecuter(
         WorkerProcessFactory workerFactory, ActorFactory actorFactory, ModuleRegistry moduleRegistry,
         WorkerLeaseService workerLeaseService, int maxWorkerCount,
         Clock clock, DefaultTestFilter testFilter
+    ) {
+        this(workerFactory, actorFactory, moduleRegistry, workerLeaseService, maxWorkerCount, clock, testFilter, null, null);
+    }
+
+    public DefaultTestExecuter(
+        WorkerProcessFactory workerFactory, ActorFactory actorFactory, ModuleRegistry moduleRegistry,
+        WorkerLeaseService workerLeaseService, int maxWorkerCount,
+        Clock clock, DefaultTestFilter testFilter, @Nullable TestWorkerPool testWorkerPool,
+        @Nullable TestClassDetectionCache detectionCache
     ) {
         this.workerFactory = workerFactory;
         this.actorFactory = actorFactory;
@@ -72,6 +121,8 @@ public DefaultTestExecuter(
         this.maxWorkerCount = maxWorkerCount;
         this.clock = clock;
         this.testFilter = testFilter;
+        this.testWorkerPool = testWorkerPool;
+        this.detectionCache = detectionCache;
     }
 
     @Override
@@ -84,9 +135,14 @@ public void execute(final JvmTestExecutionSpec testExecutionSpec, TestResultProc
             testExecutionSpec.getModulePath()
         );
 
+        final boolean reuseWorkers = canReuseWorkers(testExecutionSpec, classpath);
         final Factory<TestClassProcessor> forkingProcessorFactory = new Factory<TestClassProcessor>() {
             @Override
             public TestClassProcessor create() {
+                if (reuseWorkers) {
+                    return new PooledForkingTestClassProcessor(workerLeaseService, testWorkerPool, workerFactory, testInstanceFactory, testExecutionSpec.getJavaForkOptions(),
+                        classpath, testFramework.getWorkerConfigurationAction());
+                }
                 return new ForkingTestClassProcessor(workerLeaseService, workerFactory, testInstanceFactory, testExecutionSpec.getJavaForkOptions(),
                     classpath, testFramework.getWorkerConfigurationAction());
             }
@@ -97,10 +153,18 @@ public TestClassProcessor create() {
                 return new RestartEveryNTestClassProcessor(forkingProcessorFactory, testExecutionSpec.getForkEvery());
             }
         };
-        processor =
-            new PatternMatchTestClassProcessor(testFilter,
-                new RunPreviousFailedFirstTestClassProcessor(testExecutionSpec.getPreviousFailedTestClasses(),
-                    new MaxNParallelTestClassProcessor(getMaxParallelForks(testExecutionSpec), reforkingProcessorFactory, actorFactory)));
+        TestClassDurationEstimates durationEstimates = new TestClassDurationEstimates(testExecutionSpec.getPreviousTestClassDurations());
+        int maxParallelForks = getMaxParallelForks(testExecutionSpec);
+        TestClassProcessor parallelProcessor = new MaxNParallelTestClassProcessor(maxParallelForks, reforkingProcessorFactory, actorFactory, durationEstimates);
+        if (testExecutionSpec.isSplitLongTestClasses() && testFramework instanceof JUnitPlatformTestFramework) {
+            parallelProcessor = new SplitLongTestClassesProcessor(durationEstimates, maxParallelForks, parallelProcessor);
+        }
+        TestClassProcessor orderingProcessor = new RunPreviousFailedFirstTestClassProcessor(testExecutionSpec.getPreviousFailedTestClasses(), durationEstimates, parallelProcessor);
+        TestImpact testImpact = testExecutionSpec.getTestImpact();
+        if (testImpact != null && classpath.getApplicationModulepath().isEmpty()) {
+            orderingProcessor = testImpact.selectAffectedTestClasses(testExecutionSpec, classpath.getApplicationClasspath(), orderingProcessor);
+        }
+        processor = new PatternMatchTestClassProcessor(testFilter, orderingProcessor);
 
         final FileTree testClassFiles = testExecutionSpec.getCandidateClassFiles();
 
@@ -109,6 +173,9 @@ public TestClassProcessor create() {
             TestFrameworkDetector testFrameworkDetector = testFramework.getDetector();
             testFrameworkDetector.setTestClasses(new ArrayList<File>(testExecutionSpec.getTestClassesDirs().getFiles()));
             testFrameworkDetector.setTestClasspath(classpath.getApplicationClasspath());
+            if (detectionCache != null) {
+                testFrameworkDetector.setDetectionCache(detectionCache);
+            }
             detector = new DefaultTestClassScanner(testClassFiles, testFrameworkDetector, processor);
         } else {
             detector = new DefaultTestClassScanner(testClassFiles, null, processor);
@@ -137,6 +204,18 @@ public void stopNow() {
         }
     }
 
+    /**
+     * Reusable workers load the test runtime classpath in a ClassLoader per test task, which only works for tests on the classpath,
+     * run by a test framework integration that can be loaded next to it.
+     */
+    private boolean canReuseWorkers(JvmTestExecutionSpec testExecutionSpec, ForkedTestClasspath classpath) {
+        if (testWorkerPool == null || testExecutionSpec.getJavaForkOptions().getDebug() || !classpath.getApplicationModulepath().isEmpty()) {
+            return false;
+        }
+        TestFramework testFramework = testExecutionSpec.getTestFramework();
+        return testFramework instanceof JUnitPlatformTestFramework || testFramework instanceof JUnitTestFramework || testFramework instanceof TestNGTestFramework;
+    }
+
     private int getMaxParallelForks(JvmTestExecutionSpec testExecutionSpec) {
         int maxParallelForks = testExecutionSpec.getMaxParallelForks();
         if (maxParallelForks > maxWorkerCount) {
@@ -45,10 +45,18 @@ public ForkedTestClasspath create(
         return new ForkedTestClasspath(
             ImmutableList.copyOf(classpath),
             ImmutableList.copyOf(modulepath),
-            withImplementation(ImmutableList.of())
+            withImplementation(ImmutableList.of()),
+            testFrameworkImplementation()
         );
     }
 
+    private ImmutableList<URL> testFrameworkImplementation() {
+        return ImmutableList.copyOf(CollectionUtils.flattenCollections(URL.class,
+            moduleRegistry.getModule("gradle-testing-jvm-infrastructure").getImplementationClasspath().getAsURLs(),
+            moduleRegistry.getModule("gradle-testing-junit-platform").getImplementationClasspath().getAsURLs()
+        ));
+    }
+
     /**
      * Constructs the implementation classpath required by the Gradle testing infrastructure
      * while also mixing-in the additional implementation classpath jars required by the
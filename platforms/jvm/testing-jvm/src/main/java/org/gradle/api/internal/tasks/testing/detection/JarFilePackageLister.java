@@ -20,13 +20,26 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import static org.gradle.internal.FileUtils.hasExtension;
 
 public class JarFilePackageLister {
+    /**
+     * Returns the distinct packages of the given jar file, in the order they were found.
+     */
+    public List<String> listJarPackages(File jarFile) {
+        Set<String> packages = new LinkedHashSet<>();
+        listJarPackages(jarFile, packages::add);
+        return new ArrayList<>(packages);
+    }
+
     public void listJarPackages(File jarFile, JarFilePackageListener listener) {
         if (jarFile == null) {
             throw new IllegalArgumentException("jarFile is null!");
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.detection;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
+import org.gradle.internal.snapshot.RegularFileSnapshot;
+import org.gradle.internal.vfs.FileSystemAccess;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Remembers what test class detection learned about class files and jars, across test task executions and builds.
+ * <p>
+ * Entries are keyed by the content hash of files from the virtual file system, which usually already hashed them
+ * as inputs of the test task: the test classes and the test runtime classpath.
+ */
+@ServiceScope(Scope.UserHome.class)
+public class TestClassDetectionCache {
+    private static final int MAX_CLASSES = 100_000;
+    private static final int MAX_JARS = 10_000;
+
+    private final FileSystemAccess fileSystemAccess;
+    private final Cache<ClassKey, AbstractTestFrameworkDetector.TestClass> testClasses = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CLASSES)
+        .build();
+    private final Cache<HashCode, List<String>> jarPackages = CacheBuilder.newBuilder()
+        .maximumSize(MAX_JARS)
+        .build();
+
+    public TestClassDetectionCache(FileSystemAccess fileSystemAccess) {
+        this.fileSystemAccess = fileSystemAccess;
+    }
+
+    /**
+     * Returns what the given type of detector read from the class file, reading it when its content was not seen before.
+     */
+    AbstractTestFrameworkDetector.@Nullable TestClass getTestClass(Class<?> detectorType, File classFile, Supplier<AbstractTestFrameworkDetector.@Nullable TestClass> reader) {
+        HashCode hash = hashOf(classFile);
+        if (hash == null) {
+            return reader.get();
+        }
+        ClassKey key = new ClassKey(detectorType.getName(), hash);
+        AbstractTestFrameworkDetector.TestClass testClass = testClasses.getIfPresent(key);
+        if (testClass == null) {
+            testClass = reader.get();
+            // Unreadable class files are not cached, as they are reported using the name of the file they were found in
+            if (testClass != null) {
+                testClasses.put(key, testClass);
+            }
+        }
+        return testClass;
+    }
+
+    /**
+     * Returns the packages of the jar file, listing them when its content was not seen before.
+     */
+    List<String> getJarPackages(File jarFile, Supplier<List<String>> lister) {
+        HashCode hash = hashOf(jarFile);
+        if (hash == null) {
+            return lister.get();
+        }
+        List<String> packages = jarPackages.getIfPresent(hash);
+        if (packages == null) {
+            packages = lister.get();
+            jarPackages.put(hash, packages);
+        }
+        return packages;
+    }
+
+    @Nullable
+    private HashCode hashOf(File file) {
+        FileSystemLocationSnapshot snapshot = fileSystemAccess.read(file.getAbsolutePath());
+        return snapshot instanceof RegularFileSnapshot ? snapshot.getHash() : null;
+    }
+
+    private static final class ClassKey {
+        private final String detectorType;
+        private final HashCode hash;
+
+        ClassKey(String detectorType, HashCode hash) {
+            this.detectorType = detectorType;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ClassKey classKey = (ClassKey) o;
+            return detectorType.equals(classKey.detectorType) && hash.equals(classKey.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(detectorType, hash);
+        }
+    }
+}
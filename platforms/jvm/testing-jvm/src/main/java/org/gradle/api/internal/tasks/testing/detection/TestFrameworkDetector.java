@@ -29,4 +29,17 @@ public interface TestFrameworkDetector {
     void setTestClasses(List<File> testClasses);
 
     void setTestClasspath(List<File> classpath);
+
+    /**
+     * Sets the cache of detection results to use across test task executions.
+     */
+    default void setDetectionCache(TestClassDetectionCache detectionCache) {
+    }
+
+    /**
+     * Called with batches of test class files before they are passed to {@link #processTestClass(RelativeFile)}, in the same order.
+     * This allows a detector to read them concurrently.
+     */
+    default void prefetchTestClasses(List<RelativeFile> testClassFiles) {
+    }
 }
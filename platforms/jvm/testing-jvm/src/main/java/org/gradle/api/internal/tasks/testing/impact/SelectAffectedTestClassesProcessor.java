@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.impact;
+
+import org.gradle.api.internal.tasks.testing.TestClassProcessor;
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.tasks.testing.TestFailure;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.api.tasks.testing.TestResult;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Passes the test classes selected by a {@link TestImpactAnalysis} to its delegate, and tracks which of them were executed successfully.
+ */
+class SelectAffectedTestClassesProcessor implements TestClassProcessor {
+    private static final Logger LOGGER = Logging.getLogger(SelectAffectedTestClassesProcessor.class);
+
+    private final TestImpactAnalysis analysis;
+    private final boolean recordSuccessfulTestClasses;
+    private final TestClassProcessor delegate;
+    private final Consumer<TestImpactHistory> historyConsumer;
+    private final Map<Object, String> testClassNames = new ConcurrentHashMap<>();
+    private final Set<String> executedTestClasses = ConcurrentHashMap.newKeySet();
+    private final Set<String> failedTestClasses = ConcurrentHashMap.newKeySet();
+    private volatile boolean unattributedFailure;
+    private int selectedCount;
+    private int skippedCount;
+
+    SelectAffectedTestClassesProcessor(TestImpactAnalysis analysis, boolean recordSuccessfulTestClasses, TestClassProcessor delegate, Consumer<TestImpactHistory> historyConsumer) {
+        this.analysis = analysis;
+        this.recordSuccessfulTestClasses = recordSuccessfulTestClasses;
+        this.delegate = delegate;
+        this.historyConsumer = historyConsumer;
+    }
+
+    @Override
+    public void startProcessing(TestResultProcessor resultProcessor) {
+        delegate.startProcessing(new RecordingResultProcessor(resultProcessor));
+    }
+
+    @Override
+    public void processTestClass(TestClassRunInfo testClass) {
+        if (analysis.isSelected(testClass.getTestClassName())) {
+            selectedCount++;
+            delegate.processTestClass(testClass);
+        } else {
+            skippedCount++;
+        }
+    }
+
+    @Override
+    public void stop() {
+        delegate.stop();
+        int affectedClassCount = analysis.getAffectedClassCount();
+        LOGGER.info("Selected {} of {} test classes, {} classes were affected by changes since the previous execution.",
+            selectedCount, selectedCount + skippedCount, affectedClassCount < 0 ? "all" : String.valueOf(affectedClassCount));
+        historyConsumer.accept(analysis.toHistory(getSuccessfulTestClasses()));
+    }
+
+    private Set<String> getSuccessfulTestClasses() {
+        if (!recordSuccessfulTestClasses || unattributedFailure) {
+            return Collections.emptySet();
+        }
+        Set<String> successful = new HashSet<>(executedTestClasses);
+        successful.removeAll(failedTestClasses);
+        return successful;
+    }
+
+    @Override
+    public void stopNow() {
+        delegate.stopNow();
+    }
+
+    private class RecordingResultProcessor implements TestResultProcessor {
+        private final TestResultProcessor delegate;
+
+        RecordingResultProcessor(TestResultProcessor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void started(TestDescriptorInternal test, TestStartEvent event) {
+            String className = test.getClassName();
+            if (className != null) {
+                testClassNames.put(test.getId(), className);
+                executedTestClasses.add(className);
+            }
+            delegate.started(test, event);
+        }
+
+        @Override
+        public void completed(Object testId, TestCompleteEvent event) {
+            if (event.getResultType() == TestResult.ResultType.FAILURE) {
+                String className = testClassNames.get(testId);
+                if (className != null) {
+                    failedTestClasses.add(className);
+                }
+            }
+            delegate.completed(testId, event);
+        }
+
+        @Override
+        public void output(Object testId, TestOutputEvent event) {
+            delegate.output(testId, event);
+        }
+
+        @Override
+        public void failure(Object testId, TestFailure result) {
+            String className = testClassNames.get(testId);
+            if (className != null) {
+                failedTestClasses.add(className);
+            } else {
+                unattributedFailure = true;
+            }
+            delegate.failure(testId, result);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.impact;
+
+import org.gradle.api.internal.tasks.testing.JvmTestExecutionSpec;
+import org.gradle.api.internal.tasks.testing.TestClassProcessor;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.vfs.FileSystemAccess;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs only the test classes affected by the changes made since the previous execution of a test task, see {@link TestImpactAnalysis}.
+ * <p>
+ * The history of the previous execution is stored in the binary results directory of the test task. It is read when this is created,
+ * since that directory is cleared before tests are executed, and written again after each execution.
+ */
+public class TestImpact {
+    public static final String HISTORY_FILE_NAME = "test-impact.bin";
+
+    private final FileSystemAccess fileSystemAccess;
+    private final File historyFile;
+    private final boolean recordSuccessfulTestClasses;
+    @Nullable
+    private TestImpactHistory history;
+
+    /**
+     * @param recordSuccessfulTestClasses whether the test classes executed successfully can be skipped by later executions. This is not
+     * the case when tests are filtered, since only some of the tests of a class may have been executed.
+     */
+    public TestImpact(FileSystemAccess fileSystemAccess, File binaryResultsDir, boolean recordSuccessfulTestClasses) {
+        this.fileSystemAccess = fileSystemAccess;
+        this.historyFile = new File(binaryResultsDir, HISTORY_FILE_NAME);
+        this.recordSuccessfulTestClasses = recordSuccessfulTestClasses;
+        this.history = TestImpactHistory.read(historyFile);
+    }
+
+    /**
+     * Returns a processor that only passes the affected test classes to the given processor, and records the history of the execution when stopped.
+     */
+    public TestClassProcessor selectAffectedTestClasses(JvmTestExecutionSpec testExecutionSpec, List<File> classpath, TestClassProcessor delegate) {
+        TestImpactAnalysis analysis = TestImpactAnalysis.analyze(fileSystemAccess, classpath, configurationHash(testExecutionSpec), history);
+        return new SelectAffectedTestClassesProcessor(analysis, recordSuccessfulTestClasses, delegate, newHistory -> {
+            newHistory.write(historyFile);
+            history = newHistory;
+        });
+    }
+
+    private static HashCode configurationHash(JvmTestExecutionSpec testExecutionSpec) {
+        Hasher hasher = Hashing.newHasher();
+        hasher.putString(testExecutionSpec.getTestFramework().getClass().getName());
+        hasher.putString(String.valueOf(testExecutionSpec.getJavaForkOptions().getExecutable()));
+        List<String> jvmArgs = testExecutionSpec.getJavaForkOptions().getAllJvmArgs();
+        hasher.putInt(jvmArgs.size());
+        for (String jvmArg : jvmArgs) {
+            hasher.putString(jvmArg);
+        }
+        Map<String, Object> environment = new TreeMap<>(testExecutionSpec.getJavaForkOptions().getEnvironment());
+        hasher.putInt(environment.size());
+        for (Map.Entry<String, Object> entry : environment.entrySet()) {
+            hasher.putString(entry.getKey());
+            hasher.putString(String.valueOf(entry.getValue()));
+        }
+        return hasher.hash();
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.impact;
+
+import org.gradle.api.internal.tasks.testing.impact.TestImpactHistory.ClassInfo;
+import org.gradle.internal.file.FileType;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
+import org.gradle.internal.snapshot.RelativePathTracker;
+import org.gradle.internal.snapshot.SnapshotVisitResult;
+import org.gradle.internal.vfs.FileSystemAccess;
+import org.jspecify.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Determines which test classes may be affected by the changes made to the test runtime classpath since a previous test execution.
+ * <p>
+ * The classes found in the directories of the classpath, usually the test classes and the production classes of the project,
+ * form a graph of the classes referenced in their constant pools. A test class is affected when it transitively refers to a class
+ * that was added, changed or removed. Any change to the jars of the classpath, to the other files of the classpath directories,
+ * or to the configuration of the test process affects all test classes.
+ * <p>
+ * This is a static approximation: a test class that only reaches a changed class through reflection, for example
+ * using a dependency injection framework or a {@link java.util.ServiceLoader}, is not considered affected.
+ */
+final class TestImpactAnalysis {
+    private static final byte CONSTANT_UTF8 = 1;
+    private static final byte CONSTANT_CLASS = 7;
+
+    private final HashCode inputsHash;
+    private final Map<String, ClassInfo> classes;
+    private final Set<String> verifiedTestClasses;
+    private final int affectedClassCount;
+
+    private TestImpactAnalysis(HashCode inputsHash, Map<String, ClassInfo> classes, Set<String> verifiedTestClasses, int affectedClassCount) {
+        this.inputsHash = inputsHash;
+        this.classes = classes;
+        this.verifiedTestClasses = verifiedTestClasses;
+        this.affectedClassCount = affectedClassCount;
+    }
+
+    /**
+     * Whether the test class needs to be executed, because it is affected by a change, or it was not executed successfully after its last change.
+     */
+    boolean isSelected(String testClassName) {
+        return !verifiedTestClasses.contains(testClassName);
+    }
+
+    /**
+     * The number of classes affected by changes, or -1 when all of them are.
+     */
+    int getAffectedClassCount() {
+        return affectedClassCount;
+    }
+
+    /**
+     * Creates the history to store after the execution, given the test classes that were executed successfully.
+     */
+    TestImpactHistory toHistory(Set<String> successfulTestClasses) {
+        Set<String> verified = new HashSet<>(verifiedTestClasses);
+        verified.addAll(successfulTestClasses);
+        return new TestImpactHistory(inputsHash, classes, verified);
+    }
+
+    static TestImpactAnalysis analyze(FileSystemAccess fileSystemAccess, List<File> classpath, HashCode configurationHash, @Nullable TestImpactHistory previous) {
+        Hasher inputsHasher = Hashing.newHasher();
+        inputsHasher.putHash(configurationHash);
+        Map<String, HashCode> classHashes = new LinkedHashMap<>();
+        Map<String, String> classFiles = new HashMap<>();
+        for (File entry : classpath) {
+            FileSystemLocationSnapshot snapshot = fileSystemAccess.read(entry.getAbsolutePath());
+            if (snapshot.getType() == FileType.Directory) {
+                snapshot.accept(new RelativePathTracker(), (fileSnapshot, relativePath) -> {
+                    if (relativePath.isRoot() || fileSnapshot.getType() != FileType.RegularFile) {
+                        return SnapshotVisitResult.CONTINUE;
+                    }
+                    String path = relativePath.toRelativePath();
+                    String className = classNameOf(path);
+                    if (className != null) {
+                        // The first class on the classpath wins, like it does when loading it
+                        if (classHashes.putIfAbsent(className, fileSnapshot.getHash()) == null) {
+                            classFiles.put(className, fileSnapshot.getAbsolutePath());
+                        }
+                    } else {
+                        inputsHasher.putString(path);
+                        inputsHasher.putHash(fileSnapshot.getHash());
+                    }
+                    return SnapshotVisitResult.CONTINUE;
+                });
+            } else if (snapshot.getType() == FileType.RegularFile) {
+                inputsHasher.putString(entry.getName());
+                inputsHasher.putHash(snapshot.getHash());
+            } else {
+                inputsHasher.putString(entry.getName());
+                inputsHasher.putNull();
+            }
+        }
+        HashCode inputsHash = inputsHasher.hash();
+
+        Map<String, ClassInfo> previousClasses = previous == null ? Collections.emptyMap() : previous.getClasses();
+        List<String> changedClasses = new ArrayList<>();
+        for (Map.Entry<String, HashCode> entry : classHashes.entrySet()) {
+            ClassInfo previousClass = previousClasses.get(entry.getKey());
+            if (previousClass == null || !previousClass.getHash().equals(entry.getValue())) {
+                changedClasses.add(entry.getKey());
+            }
+        }
+        Map<String, List<String>> parsedDependencies = new ConcurrentHashMap<>();
+        changedClasses.parallelStream().forEach(className -> {
+            List<String> dependencies = readDependencies(className, new File(classFiles.get(className)), classHashes.keySet());
+            if (dependencies != null) {
+                parsedDependencies.put(className, dependencies);
+            }
+        });
+
+        Map<String, ClassInfo> classes = new LinkedHashMap<>(classHashes.size() * 2);
+        for (Map.Entry<String, HashCode> entry : classHashes.entrySet()) {
+            List<String> dependencies = parsedDependencies.get(entry.getKey());
+            if (dependencies == null) {
+                ClassInfo previousClass = previousClasses.get(entry.getKey());
+                // Unreadable classes are recorded as referring to nothing, and affect all test classes below
+                dependencies = previousClass != null && previousClass.getHash().equals(entry.getValue()) ? previousClass.getDependencies() : Collections.emptyList();
+            }
+            classes.put(entry.getKey(), new ClassInfo(entry.getValue(), dependencies));
+        }
+
+        if (previous == null || !previous.getInputsHash().equals(inputsHash) || parsedDependencies.size() != changedClasses.size()) {
+            return new TestImpactAnalysis(inputsHash, classes, Collections.emptySet(), -1);
+        }
+
+        Set<String> affected = new HashSet<>(changedClasses);
+        for (String previousClass : previousClasses.keySet()) {
+            if (!classes.containsKey(previousClass)) {
+                affected.add(previousClass);
+            }
+        }
+        Map<String, List<String>> referrers = new HashMap<>();
+        for (Map.Entry<String, ClassInfo> entry : classes.entrySet()) {
+            for (String dependency : entry.getValue().getDependencies()) {
+                referrers.computeIfAbsent(dependency, key -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        Deque<String> queue = new ArrayDeque<>(affected);
+        while (!queue.isEmpty()) {
+            List<String> classReferrers = referrers.get(queue.removeFirst());
+            if (classReferrers != null) {
+                for (String referrer : classReferrers) {
+                    if (affected.add(referrer)) {
+                        queue.addLast(referrer);
+                    }
+                }
+            }
+        }
+
+        Set<String> verified = new HashSet<>(previous.getVerifiedTestClasses());
+        verified.removeAll(affected);
+        return new TestImpactAnalysis(inputsHash, classes, verified, affected.size());
+    }
+
+    @Nullable
+    private static String classNameOf(String relativePath) {
+        if (!relativePath.endsWith(".class") || relativePath.startsWith("META-INF/") || relativePath.endsWith("module-info.class")) {
+            return null;
+        }
+        return relativePath.substring(0, relativePath.length() - ".class".length()).replace('/', '.');
+    }
+
+    /**
+     * Reads the names of the known classes referenced by the class file, either as classes or in the descriptors and signatures of its constant pool.
+     * Modified UTF-8 strings are decoded as UTF-8, which only differs for the null character and supplementary characters.
+     */
+    @Nullable
+    private static List<String> readDependencies(String className, File classFile, Set<String> knownClasses) {
+        byte[] bytes;
+        ClassReader reader;
+        try {
+            bytes = Files.readAllBytes(classFile.toPath());
+            reader = new ClassReader(bytes);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        Set<String> dependencies = new TreeSet<>();
+        char[] charBuffer = new char[reader.getMaxStringLength()];
+        for (int i = 1; i < reader.getItemCount(); i++) {
+            int itemOffset = reader.getItem(i);
+            if (itemOffset <= 0) {
+                continue;
+            }
+            byte tag = (byte) reader.readByte(itemOffset - 1);
+            if (tag == CONSTANT_CLASS) {
+                String name = reader.readUTF8(itemOffset, charBuffer);
+                if (name.startsWith("[")) {
+                    addDescriptorReferences(name, knownClasses, dependencies);
+                } else {
+                    addReference(name, knownClasses, dependencies);
+                }
+            } else if (tag == CONSTANT_UTF8) {
+                // The descriptors and signatures of the class, its members and annotations, and of the members it uses
+                int length = reader.readUnsignedShort(itemOffset);
+                addDescriptorReferences(new String(bytes, itemOffset + 2, length, StandardCharsets.UTF_8), knownClasses, dependencies);
+            }
+        }
+        dependencies.remove(className);
+        return new ArrayList<>(dependencies);
+    }
+
+    private static void addDescriptorReferences(String value, Set<String> knownClasses, Set<String> dependencies) {
+        int start = value.indexOf('L');
+        while (start >= 0) {
+            int end = start + 1;
+            while (end < value.length() && value.charAt(end) != ';' && value.charAt(end) != '<') {
+                end++;
+            }
+            if (end < value.length()) {
+                addReference(value.substring(start + 1, end), knownClasses, dependencies);
+            }
+            start = value.indexOf('L', start + 1);
+        }
+    }
+
+    private static void addReference(String internalName, Set<String> knownClasses, Set<String> dependencies) {
+        String name = internalName.replace('/', '.');
+        if (knownClasses.contains(name)) {
+            dependencies.add(name);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.impact;
+
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.FlushableEncoder;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What a test execution learned about the classes on the test runtime classpath, stored next to the binary test results.
+ * <p>
+ * Records the content hash and the referenced classes of each class found in a directory of the classpath,
+ * a hash of everything else the tests depend on, and the test classes that were executed successfully
+ * against exactly these classes.
+ */
+final class TestImpactHistory {
+    private static final int HISTORY_VERSION = 1;
+
+    private final HashCode inputsHash;
+    private final Map<String, ClassInfo> classes;
+    private final Set<String> verifiedTestClasses;
+
+    TestImpactHistory(HashCode inputsHash, Map<String, ClassInfo> classes, Set<String> verifiedTestClasses) {
+        this.inputsHash = inputsHash;
+        this.classes = classes;
+        this.verifiedTestClasses = verifiedTestClasses;
+    }
+
+    /**
+     * The hash of the test runtime classpath jars, the other files of the classpath directories and the configuration of the test process.
+     */
+    HashCode getInputsHash() {
+        return inputsHash;
+    }
+
+    Map<String, ClassInfo> getClasses() {
+        return classes;
+    }
+
+    Set<String> getVerifiedTestClasses() {
+        return verifiedTestClasses;
+    }
+
+    @Nullable
+    static TestImpactHistory read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (InputStream inputStream = new FileInputStream(file)) {
+            Decoder decoder = new KryoBackedDecoder(inputStream);
+            if (decoder.readSmallInt() != HISTORY_VERSION) {
+                return null;
+            }
+            HashCode inputsHash = HashCode.fromBytes(decoder.readBinary());
+            int classCount = decoder.readSmallInt();
+            String[] names = new String[classCount];
+            HashCode[] hashes = new HashCode[classCount];
+            int[][] dependencies = new int[classCount][];
+            for (int i = 0; i < classCount; i++) {
+                names[i] = decoder.readString();
+                hashes[i] = HashCode.fromBytes(decoder.readBinary());
+                int dependencyCount = decoder.readSmallInt();
+                dependencies[i] = new int[dependencyCount];
+                for (int j = 0; j < dependencyCount; j++) {
+                    dependencies[i][j] = decoder.readSmallInt();
+                }
+            }
+            Map<String, ClassInfo> classes = new LinkedHashMap<>(classCount * 2);
+            for (int i = 0; i < classCount; i++) {
+                List<String> classDependencies = new ArrayList<>(dependencies[i].length);
+                for (int dependency : dependencies[i]) {
+                    classDependencies.add(names[dependency]);
+                }
+                classes.put(names[i], new ClassInfo(hashes[i], classDependencies));
+            }
+            int verifiedCount = decoder.readSmallInt();
+            Set<String> verifiedTestClasses = new HashSet<>(verifiedCount * 2);
+            for (int i = 0; i < verifiedCount; i++) {
+                verifiedTestClasses.add(names[decoder.readSmallInt()]);
+            }
+            return new TestImpactHistory(inputsHash, classes, verifiedTestClasses);
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    /**
+     * Writes this history. References to classes that are not part of it, and verified test classes that no longer exist, are dropped.
+     */
+    void write(File file) {
+        Map<String, Integer> indices = new HashMap<>(classes.size() * 2);
+        for (String name : classes.keySet()) {
+            indices.put(name, indices.size());
+        }
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            FlushableEncoder encoder = new KryoBackedEncoder(outputStream);
+            encoder.writeSmallInt(HISTORY_VERSION);
+            encoder.writeBinary(inputsHash.toByteArray());
+            encoder.writeSmallInt(classes.size());
+            List<Integer> dependencyIndices = new ArrayList<>();
+            for (Map.Entry<String, ClassInfo> entry : classes.entrySet()) {
+                encoder.writeString(entry.getKey());
+                encoder.writeBinary(entry.getValue().getHash().toByteArray());
+                dependencyIndices.clear();
+                for (String dependency : entry.getValue().getDependencies()) {
+                    Integer index = indices.get(dependency);
+                    if (index != null) {
+                        dependencyIndices.add(index);
+                    }
+                }
+                encoder.writeSmallInt(dependencyIndices.size());
+                for (int index : dependencyIndices) {
+                    encoder.writeSmallInt(index);
+                }
+            }
+            List<Integer> verifiedIndices = new ArrayList<>(verifiedTestClasses.size());
+            for (String testClass : verifiedTestClasses) {
+                Integer index = indices.get(testClass);
+                if (index != null) {
+                    verifiedIndices.add(index);
+                }
+            }
+            encoder.writeSmallInt(verifiedIndices.size());
+            for (int index : verifiedIndices) {
+                encoder.writeSmallInt(index);
+            }
+            encoder.flush();
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    static final class ClassInfo {
+        private final HashCode hash;
+        private final List<String> dependencies;
+
+        ClassInfo(HashCode hash, List<String> dependencies) {
+            this.hash = hash;
+            this.dependencies = dependencies;
+        }
+
+        HashCode getHash() {
+            return hash;
+        }
+
+        /**
+         * The names of the other classes of the classpath directories that this class refers to.
+         */
+        List<String> getDependencies() {
+            return dependencies;
+        }
+    }
+}
@@ -34,13 +34,17 @@
 import org.gradle.api.internal.tasks.testing.TestExecuter;
 import org.gradle.api.internal.tasks.testing.TestFramework;
 import org.gradle.api.internal.tasks.testing.detection.DefaultTestExecuter;
+import org.gradle.api.internal.tasks.testing.detection.TestClassDetectionCache;
 import org.gradle.api.internal.tasks.testing.filter.DefaultTestFilter;
+import org.gradle.api.internal.tasks.testing.impact.TestImpact;
 import org.gradle.api.internal.tasks.testing.junit.JUnitTestFramework;
 import org.gradle.api.internal.tasks.testing.junit.result.TestClassResult;
 import org.gradle.api.internal.tasks.testing.junit.result.TestResultSerializer;
 import org.gradle.api.internal.tasks.testing.junitplatform.JUnitPlatformTestFramework;
+import org.gradle.api.internal.tasks.testing.processors.TestClassDurationEstimates;
 import org.gradle.api.internal.tasks.testing.testng.TestNGTestFramework;
 import org.gradle.api.internal.tasks.testing.worker.TestWorker;
+import org.gradle.api.internal.tasks.testing.worker.TestWorkerPool;
 import org.gradle.api.jvm.ModularitySpec;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
@@ -67,6 +71,7 @@
 import org.gradle.internal.Actions;
 import org.gradle.internal.Cast;
 import org.gradle.internal.actor.ActorFactory;
+import org.gradle.internal.buildoption.InternalOptions;
 import org.gradle.internal.concurrent.CompositeStoppable;
 import org.gradle.internal.instrumentation.api.annotations.ToBeReplacedByLazyProperty;
 import org.gradle.internal.jvm.DefaultModularitySpec;
@@ -75,6 +80,7 @@
 import org.gradle.internal.jvm.UnsupportedJavaRuntimeException;
 import org.gradle.internal.scan.UsedByScanPlugin;
 import org.gradle.internal.time.Clock;
+import org.gradle.internal.vfs.FileSystemAccess;
 import org.gradle.internal.work.WorkerLeaseService;
 import org.gradle.jvm.toolchain.JavaLauncher;
 import org.gradle.jvm.toolchain.JavaToolchainService;
@@ -94,6 +100,7 @@
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -202,6 +209,10 @@ public Object call() {
         javaLauncher.finalizeValueOnRead();
         getDryRun().convention(false);
         testFramework = objectFactory.property(TestFramework.class).convention(objectFactory.newInstance(JUnitTestFramework.class, this.getFilter(), this.getTemporaryDirFactory(), this.getDryRun()));
+        // The results of a run with affected test selection only cover some of the test classes,
+        // so a later run without it must execute again and must not reuse them from the cache
+        getInputs().property("selectAffectedTests", (Callable<Boolean>) this::isSelectAffectedTests);
+        getOutputs().doNotCacheIf("Only the test classes affected by changes are selected", task -> isSelectAffectedTests());
     }
 
     private Provider<JavaLauncher> createJavaLauncherConvention() {
@@ -666,7 +677,7 @@ protected JvmTestExecutionSpec createTestExecutionSpec() {
         boolean testIsModule = javaModuleDetector.isModule(modularity.getInferModulePath().get(), getTestClassesDirs());
         FileCollection classpath = javaModuleDetector.inferClasspath(testIsModule, stableClasspath);
         FileCollection modulePath = javaModuleDetector.inferModulePath(testIsModule, stableClasspath);
-        return new JvmTestExecutionSpec(getTestFramework(), classpath, modulePath, getCandidateClassFiles(), isScanForTestClasses(), getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(), getPreviousFailedTestClasses(), testIsModule);
+        return new JvmTestExecutionSpec(getTestFramework(), classpath, modulePath, getCandidateClassFiles(), isScanForTestClasses(), getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(), getPreviousFailedTestClasses(), testIsModule, getPreviousTestClassDurations(), isSplitLongTestClasses(), getTestImpact());
     }
 
     private void validateExecutableMatchesToolchain() {
@@ -695,6 +706,56 @@ public void execute(TestClassResult testClassResult) {
         }
     }
 
+    private boolean isSplitLongTestClasses() {
+        return getServices().get(InternalOptions.class).getOption(DefaultTestExecuter.SPLIT_LONG_TEST_CLASSES).get();
+    }
+
+    /**
+     * Reads the history of the previous execution now, before the binary results directory that contains it is cleared.
+     */
+    @Nullable
+    private TestImpact getTestImpact() {
+        if (!isSelectAffectedTests()) {
+            return null;
+        }
+        return new TestImpact(getServices().get(FileSystemAccess.class), getBinaryResultsDirectory().getAsFile().get(), noTestFiltersSpecified());
+    }
+
+    private boolean isSelectAffectedTests() {
+        return getServices().get(InternalOptions.class).getOption(DefaultTestExecuter.SELECT_AFFECTED_TESTS).get();
+    }
+
+    @Nullable
+    private TestWorkerPool getTestWorkerPool() {
+        if (!getServices().get(InternalOptions.class).getOption(DefaultTestExecuter.REUSE_TEST_WORKERS).get()) {
+            return null;
+        }
+        return getServices().get(TestWorkerPool.class);
+    }
+
+    private Map<String, Long> getPreviousTestClassDurations() {
+        if (getMaxParallelForks() <= 1) {
+            return Collections.emptyMap();
+        }
+        InternalOptions internalOptions = getServices().get(InternalOptions.class);
+        if (!internalOptions.getOption(DefaultTestExecuter.BALANCED_DISTRIBUTION).get() && !internalOptions.getOption(DefaultTestExecuter.SPLIT_LONG_TEST_CLASSES).get()) {
+            return Collections.emptyMap();
+        }
+        TestResultSerializer serializer = new TestResultSerializer(getBinaryResultsDirectory().getAsFile().get());
+        if (serializer.isHasResults()) {
+            final Map<String, Long> previousTestClassDurations = new HashMap<String, Long>();
+            serializer.read(new Action<TestClassResult>() {
+                @Override
+                public void execute(TestClassResult testClassResult) {
+                    previousTestClassDurations.put(testClassResult.getClassName(), TestClassDurationEstimates.durationOf(testClassResult));
+                }
+            });
+            return previousTestClassDurations;
+        } else {
+            return Collections.emptyMap();
+        }
+    }
+
     @Override
     @TaskAction
     public void executeTests() {
@@ -724,7 +785,9 @@ protected TestExecuter<JvmTestExecutionSpec> createTestExecuter() {
                 getServices().get(WorkerLeaseService.class),
                 getServices().get(StartParameter.class).getMaxWorkerCount(),
                 getServices().get(Clock.class),
-                (DefaultTestFilter) getFilter());
+                (DefaultTestFilter) getFilter(),
+                getTestWorkerPool(),
+                getServices().get(TestClassDetectionCache.class));
         } else {
             return testExecuter;
         }
@@ -1255,6 +1318,11 @@ public Property<JavaLauncher> getJavaLauncher() {
 
     @Override
     boolean testsAreNotFiltered() {
+        // Not finding any test is expected when no test class is affected by the changes
+        return noTestFiltersSpecified() && !isSelectAffectedTests();
+    }
+
+    private boolean noTestFiltersSpecified() {
         return super.testsAreNotFiltered()
             && noCategoryOrTagOrGroupSpecified();
     }
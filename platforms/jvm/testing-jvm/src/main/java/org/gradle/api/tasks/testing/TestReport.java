@@ -121,7 +121,7 @@ TestReportGenerator detectAndCreateImplementation(FileCollection resultDirs) {
         if (isGenericImplementation) {
             return new GenericTestReportGenerator(resultDirs.getFiles().stream().map(File::toPath).collect(Collectors.toSet()), getMetadataRendererRegistry());
         } else {
-            return new LegacyTestReportGenerator(resultDirs);
+            return new LegacyTestReportGenerator(resultDirs, getTemporaryDir());
         }
     }
 
@@ -51,6 +51,8 @@ class DefaultTestClassScannerTest extends Specification {
             visitor.visitFile(class2)
         }
         then:
+        1 * detector.prefetchTestClasses({ it*.file == [class1.file, class2.file] })
+        then:
         1 * detector.processTestClass({ it.file.is(class1.file) && it.relativePath.is(class1.relativePath) })
         then:
         1 * detector.processTestClass({ it.file.is(class2.file) && it.relativePath.is(class2.relativePath) })
@@ -47,6 +47,7 @@ class ForkedTestClasspathFactoryTest extends Specification {
         classpath.implementationClasspath.size() == NUM_INTERNAL_JARS + NUM_EXTERNAL_JARS
         classpath.implementationClasspath.findAll { it.toString().endsWith("-internal.jar") }.size() == NUM_INTERNAL_JARS
         classpath.implementationClasspath.findAll { it.toString().endsWith("-external.jar") }.size() == NUM_EXTERNAL_JARS
+        classpath.testFrameworkImplementationClasspath == [new URL("file://gradle-testing-jvm-infrastructure-internal.jar"), new URL("file://gradle-testing-junit-platform-internal.jar")]
     }
 
     def "input classpath classes are added to the application classpath"() {
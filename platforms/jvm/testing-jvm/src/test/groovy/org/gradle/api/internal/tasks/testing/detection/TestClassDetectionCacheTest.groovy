@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.detection
+
+import org.gradle.api.file.RelativePath
+import org.gradle.api.internal.file.RelativeFile
+import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo
+import org.gradle.api.internal.tasks.testing.TestClassProcessor
+import org.gradle.api.internal.tasks.testing.junit.JUnitDetector
+import org.gradle.internal.file.FileMetadata
+import org.gradle.internal.file.impl.DefaultFileMetadata
+import org.gradle.internal.hash.Hashing
+import org.gradle.internal.snapshot.MissingFileSnapshot
+import org.gradle.internal.snapshot.RegularFileSnapshot
+import org.gradle.internal.vfs.FileSystemAccess
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import org.objectweb.asm.ClassWriter
+import spock.lang.Specification
+
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+import static org.objectweb.asm.Opcodes.ACC_ABSTRACT
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC
+import static org.objectweb.asm.Opcodes.V1_8
+
+class TestClassDetectionCacheTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def fileSystemAccess = Mock(FileSystemAccess)
+    def cache = new TestClassDetectionCache(fileSystemAccess)
+    def testClassesDir = tmpDir.createDir("classes")
+    def extractedClassesDir = tmpDir.createDir("extracted")
+
+    def setup() {
+        _ * fileSystemAccess.read(_ as String) >> { String path ->
+            def file = new File(path)
+            file.isFile()
+                ? new RegularFileSnapshot(path, file.name, Hashing.hashBytes(file.bytes), DefaultFileMetadata.file(file.lastModified(), file.length(), FileMetadata.AccessType.DIRECT))
+                : new MissingFileSnapshot(path, FileMetadata.AccessType.DIRECT)
+        }
+    }
+
+    def "reuses what was read from class files with the same content"() {
+        def first = classFile("org/gradle/FooTest", "junit/framework/TestCase")
+        def copy = tmpDir.file("other/org/gradle/FooTest.class")
+        first.copyTo(copy)
+        def changed = classFile("org/gradle/BarTest", "junit/framework/TestCase")
+        def reads = 0
+        def reader = { -> reads++; AbstractTestFrameworkDetector.TestClass.forUnparseableFile("unused") }
+
+        when:
+        def result = cache.getTestClass(JUnitDetector, first, reader)
+
+        then:
+        reads == 1
+
+        when:
+        def resultForCopy = cache.getTestClass(JUnitDetector, copy, reader)
+
+        then:
+        reads == 1
+        resultForCopy.is(result)
+
+        when:
+        cache.getTestClass(JUnitDetector, changed, reader)
+
+        then:
+        reads == 2
+
+        when:
+        cache.getTestClass(Object, copy, reader)
+
+        then:
+        reads == 3
+    }
+
+    def "does not remember class files that could not be read"() {
+        def file = classFile("org/gradle/FooTest", "junit/framework/TestCase")
+        def reads = 0
+
+        when:
+        cache.getTestClass(JUnitDetector, file) { -> reads++; null }
+        cache.getTestClass(JUnitDetector, file) { -> reads++; null }
+
+        then:
+        reads == 2
+    }
+
+    def "reuses the package listings of jars with the same content"() {
+        def jar = jar("lib.jar", [:])
+        def lists = 0
+
+        when:
+        def packages = cache.getJarPackages(jar) { -> lists++; ["org/lib/"] }
+        cache.getJarPackages(jar) { -> lists++; ["org/lib/"] }
+
+        then:
+        lists == 1
+        packages == ["org/lib/"]
+    }
+
+    def "detects the same test classes in the same order when class files are prefetched"() {
+        def files = [
+            classFile("org/gradle/ATest", "junit/framework/TestCase"),
+            classFile("org/gradle/AbstractBaseTest", "junit/framework/TestCase", ACC_PUBLIC | ACC_ABSTRACT),
+            classFile("org/gradle/NotATest", "java/lang/Object"),
+            classFile("org/gradle/SubTest", "org/gradle/AbstractBaseTest"),
+            classFile("org/gradle/sub/OtherTest", "junit/framework/TestCase"),
+            unparseableClassFile("org/gradle/Unparseable")
+        ].collect { relativeFile(it) }
+
+        expect:
+        def expected = ['org.gradle.ATest', 'org.gradle.SubTest', 'org.gradle.sub.OtherTest', 'org.gradle.Unparseable']
+        detect(files, false, null) == expected
+        detect(files, true, null) == expected
+        detect(files, true, cache) == expected
+        detect(files, true, cache) == expected
+    }
+
+    def "reports unparseable class files with the same content using their own file name"() {
+        def first = unparseableClassFile("org/gradle/First")
+        def second = unparseableClassFile("org/gradle/Second")
+
+        expect:
+        first.bytes == second.bytes
+        detect([relativeFile(first), relativeFile(second)], true, cache) == ['org.gradle.First', 'org.gradle.Second']
+        detect([relativeFile(second), relativeFile(first)], false, cache) == ['org.gradle.Second', 'org.gradle.First']
+    }
+
+    def "does not cache class files extracted from library jars"() {
+        def writer = new ClassWriter(0)
+        writer.visit(V1_8, ACC_PUBLIC | ACC_ABSTRACT, "org/lib/LibraryTestCase", null, "junit/framework/TestCase", null)
+        def jar = jar("lib.jar", ["org/lib/LibraryTestCase.class": writer.toByteArray()])
+        def testClass = relativeFile(classFile("org/gradle/FooTest", "org/lib/LibraryTestCase"))
+
+        when:
+        def detected = detect([testClass], true, cache, [jar])
+
+        then:
+        detected == ['org.gradle.FooTest']
+        0 * fileSystemAccess.read({ it.startsWith(extractedClassesDir.absolutePath) })
+    }
+
+    private List<String> detect(List<RelativeFile> files, boolean prefetch, TestClassDetectionCache detectionCache, List<File> classpath = []) {
+        List<String> detected = []
+        def processor = Stub(TestClassProcessor) {
+            processTestClass(_) >> { DefaultTestClassRunInfo testClass -> detected << testClass.testClassName }
+        }
+        def detector = new JUnitDetector(new ClassFileExtractionManager({ extractedClassesDir }))
+        detector.setTestClasses([testClassesDir])
+        detector.setTestClasspath(classpath)
+        if (detectionCache != null) {
+            detector.setDetectionCache(detectionCache)
+        }
+        detector.startDetection(processor)
+        if (prefetch) {
+            detector.prefetchTestClasses(files)
+        }
+        files.each { detector.processTestClass(it) }
+        detected
+    }
+
+    private TestFile classFile(String className, String superClassName, int access = ACC_PUBLIC) {
+        def writer = new ClassWriter(0)
+        writer.visit(V1_8, access, className, null, superClassName, null)
+        writer.visitEnd()
+        def file = testClassesDir.file("${className}.class")
+        file.parentFile.mkdirs()
+        file.bytes = writer.toByteArray()
+        file
+    }
+
+    private TestFile unparseableClassFile(String className) {
+        def file = testClassesDir.file("${className}.class")
+        file.parentFile.mkdirs()
+        file.text = "not a class file"
+        file
+    }
+
+    private RelativeFile relativeFile(File file) {
+        def path = testClassesDir.toPath().relativize(file.toPath()).toString().replace(File.separator, "/")
+        new RelativeFile(file, RelativePath.parse(true, path))
+    }
+
+    private TestFile jar(String name, Map<String, byte[]> entries) {
+        def jar = tmpDir.file(name)
+        new ZipOutputStream(new FileOutputStream(jar)).withCloseable { out ->
+            entries.each { path, bytes ->
+                out.putNextEntry(new ZipEntry(path))
+                out.write(bytes)
+            }
+        }
+        jar
+    }
+}
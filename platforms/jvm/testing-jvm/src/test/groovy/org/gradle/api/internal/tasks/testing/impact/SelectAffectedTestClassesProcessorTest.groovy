@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.impact
+
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.api.internal.tasks.testing.DefaultTestClassDescriptor
+import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo
+import org.gradle.api.internal.tasks.testing.DefaultTestDescriptor
+import org.gradle.api.internal.tasks.testing.DefaultTestSuiteDescriptor
+import org.gradle.api.internal.tasks.testing.TestClassProcessor
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.api.internal.tasks.testing.TestStartEvent
+import org.gradle.api.tasks.testing.TestFailure
+import org.gradle.internal.hash.Hashing
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Opcodes
+import spock.lang.Specification
+
+import static org.gradle.api.tasks.testing.TestResult.ResultType.FAILURE
+import static org.gradle.api.tasks.testing.TestResult.ResultType.SUCCESS
+
+class SelectAffectedTestClassesProcessorTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def testClasses = tmpDir.createDir("test")
+    def delegate = Mock(TestClassProcessor)
+    TestResultProcessor resultProcessor
+    TestImpactHistory history
+
+    def setup() {
+        ["t/ATest", "t/BTest", "t/CTest"].each { name ->
+            def writer = new ClassWriter(0)
+            writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null)
+            writer.visitEnd()
+            testClasses.file("${name}.class").bytes = writer.toByteArray()
+        }
+        _ * delegate.startProcessing(_) >> { TestResultProcessor processor -> resultProcessor = processor }
+    }
+
+    def "records the test classes that were executed successfully"() {
+        when:
+        execute(true) {
+            runTest("1", "t.ATest", SUCCESS)
+            runTest("2", "t.BTest", SUCCESS)
+        }
+
+        then:
+        history.verifiedTestClasses == ["t.ATest", "t.BTest"] as Set
+    }
+
+    def "does not record a test class with a failed test"() {
+        when:
+        execute(true) {
+            runTest("1", "t.ATest", SUCCESS)
+            def test = new DefaultTestDescriptor("2", "t.BTest", "test")
+            resultProcessor.started(test, new TestStartEvent(0))
+            resultProcessor.failure("2", TestFailure.fromTestFrameworkFailure(new RuntimeException()))
+            resultProcessor.completed("2", new TestCompleteEvent(0, FAILURE))
+        }
+
+        then:
+        history.verifiedTestClasses == ["t.ATest"] as Set
+    }
+
+    def "does not record a test class that failed outside of its tests"() {
+        when:
+        execute(true) {
+            runTest("1", "t.ATest", SUCCESS)
+            def testClass = new DefaultTestClassDescriptor("2", "t.BTest")
+            resultProcessor.started(testClass, new TestStartEvent(0))
+            runTest("3", "t.BTest", SUCCESS)
+            resultProcessor.failure("2", TestFailure.fromTestFrameworkFailure(new RuntimeException("@AfterAll failed")))
+            resultProcessor.completed("2", new TestCompleteEvent(0))
+        }
+
+        then:
+        history.verifiedTestClasses == ["t.ATest"] as Set
+    }
+
+    def "does not record any test class when a failure cannot be attributed to a test class"() {
+        when:
+        execute(true) {
+            def suite = new DefaultTestSuiteDescriptor("0", "Gradle Test Executor 1")
+            resultProcessor.started(suite, new TestStartEvent(0))
+            runTest("1", "t.ATest", SUCCESS)
+            runTest("2", "t.BTest", SUCCESS)
+            resultProcessor.failure("0", TestFailure.fromTestFrameworkFailure(new RuntimeException("worker failed")))
+            resultProcessor.completed("0", new TestCompleteEvent(0))
+        }
+
+        then:
+        history.verifiedTestClasses.isEmpty()
+    }
+
+    def "does not record successful test classes when tests are filtered"() {
+        when:
+        execute(false) {
+            runTest("1", "t.ATest", SUCCESS)
+            runTest("2", "t.BTest", SUCCESS)
+        }
+
+        then:
+        history.verifiedTestClasses.isEmpty()
+    }
+
+    def "skips test classes verified by a previous execution and keeps them verified"() {
+        given:
+        execute(true) {
+            runTest("1", "t.ATest", SUCCESS)
+        }
+
+        when:
+        execute(false) {
+            runTest("2", "t.BTest", SUCCESS)
+        }
+
+        then:
+        0 * delegate.processTestClass(new DefaultTestClassRunInfo("t.ATest"))
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo("t.BTest"))
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo("t.CTest"))
+        history.verifiedTestClasses == ["t.ATest"] as Set
+    }
+
+    /**
+     * Processes all test classes, running the given closure while the delegate processes them, and keeps the history of the execution.
+     */
+    private void execute(boolean recordSuccessfulTestClasses, Closure<?> runTests) {
+        def analysis = TestImpactAnalysis.analyze(TestFiles.fileSystemAccess(), [testClasses], Hashing.signature("configuration"), history)
+        def processor = new SelectAffectedTestClassesProcessor(analysis, recordSuccessfulTestClasses, delegate, { history = it })
+        processor.startProcessing(Stub(TestResultProcessor))
+        ["t.ATest", "t.BTest", "t.CTest"].each { processor.processTestClass(new DefaultTestClassRunInfo(it)) }
+        runTests()
+        processor.stop()
+    }
+
+    private void runTest(String id, String className, def resultType) {
+        TestDescriptorInternal test = new DefaultTestDescriptor(id, className, "test")
+        resultProcessor.started(test, new TestStartEvent(0))
+        resultProcessor.completed(id, new TestCompleteEvent(0, resultType))
+    }
+}
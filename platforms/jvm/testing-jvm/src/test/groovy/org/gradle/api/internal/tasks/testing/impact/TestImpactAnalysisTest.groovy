@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.impact
+
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.internal.hash.Hashing
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Opcodes
+import spock.lang.Specification
+
+class TestImpactAnalysisTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def mainClasses = tmpDir.createDir("main")
+    def testClasses = tmpDir.createDir("test")
+    def library = tmpDir.file("lib.jar")
+    def configuration = Hashing.signature("configuration")
+    TestImpactHistory history
+
+    def setup() {
+        writeClass(mainClasses, "p/A", "p/B")
+        writeClass(mainClasses, "p/B")
+        writeClass(mainClasses, "p/C")
+        writeClass(testClasses, "t/ATest", "p/A")
+        writeClass(testClasses, "t/CTest", "p/C")
+        library.text = "library"
+    }
+
+    def "selects all test classes without a previous execution"() {
+        when:
+        def analysis = analyze()
+
+        then:
+        analysis.affectedClassCount == -1
+        selected(analysis) == ["t.ATest", "t.CTest"]
+    }
+
+    def "selects no test class when nothing changed"() {
+        given:
+        executeAllSuccessfully()
+
+        expect:
+        selected(analyze()) == []
+    }
+
+    def "selects test classes that transitively refer to changed classes"() {
+        given:
+        executeAllSuccessfully()
+
+        when:
+        writeClass(mainClasses, "p/B", 2)
+
+        then:
+        selected(analyze()) == ["t.ATest"]
+    }
+
+    def "selects test classes that refer to removed classes"() {
+        given:
+        executeAllSuccessfully()
+
+        when:
+        mainClasses.file("p/C.class").delete()
+
+        then:
+        selected(analyze()) == ["t.CTest"]
+    }
+
+    def "selects added test classes"() {
+        given:
+        executeAllSuccessfully()
+
+        when:
+        writeClass(testClasses, "t/BTest", "p/B")
+
+        then:
+        selected(analyze(), "t.BTest") == ["t.BTest"]
+    }
+
+    def "selects all test classes when a jar changes"() {
+        given:
+        executeAllSuccessfully()
+
+        when:
+        library.text = "changed"
+
+        then:
+        selected(analyze()) == ["t.ATest", "t.CTest"]
+    }
+
+    def "selects all test classes when a resource changes"() {
+        given:
+        executeAllSuccessfully()
+
+        when:
+        mainClasses.file("p/config.properties").text = "changed"
+
+        then:
+        selected(analyze()) == ["t.ATest", "t.CTest"]
+    }
+
+    def "selects all test classes when the configuration of the test process changes"() {
+        given:
+        executeAllSuccessfully()
+
+        when:
+        configuration = Hashing.signature("other configuration")
+
+        then:
+        selected(analyze()) == ["t.ATest", "t.CTest"]
+    }
+
+    def "keeps selecting test classes that were not executed successfully"() {
+        given:
+        history = analyze().toHistory(["t.ATest"] as Set)
+
+        expect:
+        selected(analyze()) == ["t.CTest"]
+
+        when:
+        history = analyze().toHistory([] as Set)
+
+        then:
+        selected(analyze()) == ["t.CTest"]
+    }
+
+    def "reads the history that was written"() {
+        given:
+        def file = tmpDir.file("history.bin")
+        analyze().toHistory(["t.ATest", "t.CTest"] as Set).write(file)
+
+        when:
+        history = TestImpactHistory.read(file)
+
+        then:
+        history.verifiedTestClasses == ["t.ATest", "t.CTest"] as Set
+        history.classes.keySet() == ["p.A", "p.B", "p.C", "t.ATest", "t.CTest"] as Set
+        history.classes["p.A"].dependencies == ["p.B"]
+        selected(analyze()) == []
+    }
+
+    private void executeAllSuccessfully() {
+        history = analyze().toHistory(["t.ATest", "t.CTest"] as Set)
+    }
+
+    private TestImpactAnalysis analyze() {
+        // Use a new virtual file system for each execution, so that changes are seen
+        TestImpactAnalysis.analyze(TestFiles.fileSystemAccess(), [testClasses, mainClasses, library], configuration, history)
+    }
+
+    private static List<String> selected(TestImpactAnalysis analysis, String... additionalTestClasses) {
+        (["t.ATest", "t.CTest"] + (additionalTestClasses as List)).findAll { analysis.isSelected(it) }
+    }
+
+    private static void writeClass(TestFile dir, String name, Object... referencesOrVersion) {
+        def writer = new ClassWriter(0)
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null)
+        referencesOrVersion.eachWithIndex { reference, i ->
+            if (reference instanceof Integer) {
+                writer.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "version", "I", null, reference).visitEnd()
+            } else {
+                writer.visitField(Opcodes.ACC_PUBLIC, "field$i", "L${reference};", null, null).visitEnd()
+            }
+        }
+        writer.visitEnd()
+        dir.file("${name}.class").bytes = writer.toByteArray()
+    }
+}
@@ -72,6 +72,7 @@ public void validateAllPropertiesConfigurationsForDaemonJvmToolchains() {
             validatePropertyConfiguration(LocationListInstallationSupplier.JAVA_INSTALLATIONS_PATHS_PROPERTY);
             validatePropertyConfiguration(ToolchainConfiguration.AUTO_DETECT);
             validatePropertyConfiguration(AutoInstalledInstallationSupplier.AUTO_DOWNLOAD);
+            validatePropertyConfiguration(ToolchainConfiguration.RELEASE_FILE_DETECTION);
             validatePropertyConfiguration(IntellijInstallationSupplier.INTELLIJ_JDK_DIR_PROPERTY);
         }
     }
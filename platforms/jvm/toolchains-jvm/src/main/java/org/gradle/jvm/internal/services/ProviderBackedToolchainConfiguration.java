@@ -106,6 +106,16 @@ public void setDownloadEnabled(boolean enabled) {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public boolean isReleaseFileDetectionEnabled() {
+        return fromGradleProperty(ToolchainConfiguration.RELEASE_FILE_DETECTION).map(Boolean::parseBoolean).getOrElse(Boolean.FALSE);
+    }
+
+    @Override
+    public void setReleaseFileDetectionEnabled(boolean enabled) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public File getAsdfDataDirectory() {
         String asdfEnvVar = providerFactory.environmentVariable("ASDF_DATA_DIR").getOrNull();
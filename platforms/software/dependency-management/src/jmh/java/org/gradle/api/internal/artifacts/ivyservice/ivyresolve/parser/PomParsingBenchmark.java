@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Compares reading POMs into a full DOM, as {@link PomReader} used to do, with reading them into a {@link PomDocument}.
+ * <p>
+ * The corpus contains real POMs from Maven Central:
+ * <ul>
+ *     <li>{@code library.pom}: jackson-databind 2.17.2, a library POM with a parent and profiles</li>
+ *     <li>{@code parent.pom}: org.apache:apache:33, a parent POM with a large build section and profiles</li>
+ *     <li>{@code bom.pom}: spring-boot-dependencies 3.3.2, a large BOM importing other BOMs</li>
+ * </ul>
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class PomParsingBenchmark {
+
+    @Param({"library.pom", "parent.pom", "bom.pom"})
+    String pom;
+
+    private byte[] content;
+    private byte[] m2Entities;
+    private DocumentBuilderFactory documentBuilderFactory;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        try (InputStream stream = PomParsingBenchmark.class.getResourceAsStream("poms/" + pom)) {
+            content = IOUtils.toByteArray(stream);
+        }
+        try (InputStream stream = org.apache.ivy.plugins.parser.m2.PomReader.class.getResourceAsStream("m2-entities.ent")) {
+            m2Entities = IOUtils.toByteArray(stream);
+        }
+        documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        documentBuilderFactory.setValidating(false);
+    }
+
+    @Benchmark
+    public Document dom() throws Exception {
+        DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
+        documentBuilder.setEntityResolver((publicId, systemId) -> new InputSource(new ByteArrayInputStream(m2Entities)));
+        return documentBuilder.parse(new PomDomParser.AddDTDFilterInputStream(new ByteArrayInputStream(content)), pom);
+    }
+
+    @Benchmark
+    public PomDocument streaming() throws Exception {
+        return PomDocument.parse(new ByteArrayInputStream(content), pom);
+    }
+}
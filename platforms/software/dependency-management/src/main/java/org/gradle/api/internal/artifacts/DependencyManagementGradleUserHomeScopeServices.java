@@ -22,7 +22,10 @@
 import org.gradle.api.internal.artifacts.ivyservice.ArtifactCachesProvider;
 import org.gradle.api.internal.artifacts.ivyservice.CacheLayout;
 import org.gradle.api.internal.artifacts.ivyservice.DefaultArtifactCaches;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.CrossBuildVerificationResultCache;
+import org.gradle.api.internal.artifacts.ivyservice.modulecache.dynamicversions.CrossBuildModuleVersionsStore;
 import org.gradle.api.internal.artifacts.transform.ImmutableTransformWorkspaceServices;
+import org.gradle.api.internal.artifacts.transform.InFlightDeduplicatingCache;
 import org.gradle.api.internal.artifacts.transform.ToPlannedTransformStepConverter;
 import org.gradle.api.internal.artifacts.transform.TransformExecutionResult;
 import org.gradle.api.internal.cache.CacheConfigurationsInternal;
@@ -30,7 +33,6 @@
 import org.gradle.cache.CacheBuilder;
 import org.gradle.cache.CacheCleanupStrategyFactory;
 import org.gradle.cache.UnscopedCacheBuilderFactory;
-import org.gradle.cache.internal.CrossBuildInMemoryCache;
 import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
 import org.gradle.cache.scopes.GlobalScopedCacheBuilderFactory;
 import org.gradle.execution.plan.ToPlannedNodeConverter;
@@ -89,6 +91,16 @@ public void buildFinished(BuildResult result) {
         return artifactCachesProvider;
     }
 
+    @Provides
+    CrossBuildModuleVersionsStore createCrossBuildModuleVersionsStore(CrossBuildInMemoryCacheFactory crossBuildInMemoryCacheFactory) {
+        return new CrossBuildModuleVersionsStore(crossBuildInMemoryCacheFactory);
+    }
+
+    @Provides
+    CrossBuildVerificationResultCache createCrossBuildVerificationResultCache(CrossBuildInMemoryCacheFactory crossBuildInMemoryCacheFactory) {
+        return new CrossBuildVerificationResultCache(crossBuildInMemoryCacheFactory);
+    }
+
     @Provides
     ImmutableTransformWorkspaceServices createTransformWorkspaceServices(
         GlobalScopedCacheBuilderFactory cacheBuilderFactory,
@@ -101,7 +113,9 @@ ImmutableTransformWorkspaceServices createTransformWorkspaceServices(
         CacheBuilder cacheBuilder = cacheBuilderFactory
             .createCacheBuilder(CacheLayout.TRANSFORMS.getName())
             .withDisplayName("Artifact transforms cache");
-        CrossBuildInMemoryCache<UnitOfWork.Identity, ExecutionEngine.IdentityCacheResult<TransformExecutionResult.TransformWorkspaceResult>> identityCache = crossBuildInMemoryCacheFactory.newCacheRetainingDataFromPreviousBuild(result -> result.getResult().isSuccessful());
+        Cache<UnitOfWork.Identity, ExecutionEngine.IdentityCacheResult<TransformExecutionResult.TransformWorkspaceResult>> identityCache = new InFlightDeduplicatingCache<>(
+            crossBuildInMemoryCacheFactory.newCacheRetainingDataFromPreviousBuild(result -> result.getResult().isSuccessful())
+        );
         CacheBasedImmutableWorkspaceProvider workspaceProvider = CacheBasedImmutableWorkspaceProvider.createWorkspaceProvider(cacheBuilder, fileAccessTimeJournal, cacheConfigurations, cacheCleanupStrategyFactory, unscopedCacheBuilderFactory);
         return new ImmutableTransformWorkspaceServices() {
             @Override
@@ -43,4 +43,11 @@ public interface ArtifactCacheMetadata {
      * @return Metadata store location
      */
     File getMetaDataStoreDirectory();
+
+    /**
+     * Returns the root directory for the content-addressed blob store shared by the file stores.
+     *
+     * @return Blob store location
+     */
+    File getBlobStoreDirectory();
 }
@@ -81,6 +81,9 @@ public enum CacheLayout {
 
     RESOURCES(MODULES, "resources", introducedIn("1.9-rc-1")),
 
+    // Content-addressed storage linked from FILE_STORE and RESOURCES entries
+    BLOBS(MODULES, "blobs", introducedIn("9.2-rc-1")),
+
     TRANSFORMS(null, "transforms", introducedIn("3.5-rc-1")
         .changedTo(2, "5.1")
         .changedTo(3, "6.8-rc-1")
@@ -19,6 +19,7 @@
 import org.gradle.cache.GlobalCache;
 import org.gradle.cache.internal.CacheVersion;
 import org.gradle.cache.scopes.GlobalScopedCacheBuilderFactory;
+import org.gradle.internal.buildoption.InternalFlag;
 
 import java.io.File;
 import java.util.List;
@@ -26,6 +27,12 @@
 public class DefaultArtifactCacheMetadata implements ArtifactCacheMetadata, GlobalCache {
 
     public static final CacheVersion CACHE_LAYOUT_VERSION = CacheLayout.META_DATA.getVersion();
+
+    /**
+     * When enabled, the file stores keep the content of their entries once in the {@link #getBlobStoreDirectory() blob store} and link to it.
+     */
+    public static final InternalFlag DEDUPLICATE_CONTENT = new InternalFlag("org.gradle.internal.dependency-cache.deduplicate");
+
     private final File cacheDir;
     private final File baseDir;
 
@@ -58,6 +65,11 @@ public File getMetaDataStoreDirectory() {
         return new File(createCacheRelativeDir(CacheLayout.META_DATA), "descriptors");
     }
 
+    @Override
+    public File getBlobStoreDirectory() {
+        return createCacheRelativeDir(CacheLayout.BLOBS);
+    }
+
     private File createCacheRelativeDir(CacheLayout cacheLayout) {
         return cacheLayout.getPath(getCacheDir());
     }
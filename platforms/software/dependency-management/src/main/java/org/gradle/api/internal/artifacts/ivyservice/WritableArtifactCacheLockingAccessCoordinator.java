@@ -29,6 +29,7 @@
 import org.gradle.cache.internal.SingleDepthFilesFinder;
 import org.gradle.internal.file.FileAccessTimeJournal;
 import org.gradle.internal.resource.cached.DefaultExternalResourceFileStore;
+import org.gradle.internal.resource.local.UnreferencedBlobCacheCleanup;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.internal.time.TimestampSuppliers;
 import org.gradle.internal.versionedcache.UnusedVersionsCacheCleanup;
@@ -66,6 +67,8 @@ private CleanupAction createCleanupAction(ArtifactCacheMetadata cacheMetaData, F
                 .add(cacheMetaData.getFileStoreDirectory(),
                     UnusedVersionsCacheCleanup.create(CacheLayout.FILE_STORE.getName(), CacheLayout.FILE_STORE.getVersionMapping(), usedGradleVersions),
                     new LeastRecentlyUsedCacheCleanup(new SingleDepthFilesFinder(DefaultArtifactIdentifierFileStore.FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP), fileAccessTimeJournal, getMaxAgeTimestamp(cacheConfigurations)))
+                // Must run after the file stores have been cleaned up, so that blobs of deleted entries are no longer referenced
+                .add(cacheMetaData.getBlobStoreDirectory(), new UnreferencedBlobCacheCleanup(fileAccessTimeJournal, getMaxAgeTimestamp(cacheConfigurations)))
                 .add(cacheMetaData.getMetaDataStoreDirectory().getParentFile(),
                     UnusedVersionsCacheCleanup.create(CacheLayout.META_DATA.getName(), CacheLayout.META_DATA.getVersionMapping(), usedGradleVersions))
                 // Cleanup old unused 'transforms-X' directories too. Transforms are now cached in 'caches/<gradle-version>/transforms'.
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.io.IOUtils;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classloader.ClassLoaderUtils;
+import org.gradle.internal.xml.XmlFactories;
+import org.xml.sax.Attributes;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+import static org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.PomDomParser.AddDTDFilterInputStream;
+
+/**
+ * The parts of a POM file that are relevant for dependency resolution.
+ * <p>
+ * The POM is read in a single streaming pass, retaining only the elements that {@link PomReader} queries.
+ * Everything else, such as build plugins, reporting, developers or licenses, is skipped without being materialized.
+ * Instances are immutable, so they can be shared between all the {@link PomReader}s that read the same POM file,
+ * for example the parent POMs and BOMs shared by many modules.
+ */
+public final class PomDocument {
+
+    private static final String PROFILES = "profiles";
+    private static final String PROFILE = "profile";
+
+    private static final Set<String> RETAINED_PROJECT_ELEMENTS = ImmutableSet.of(
+        "groupId", "artifactId", "version", "packaging", "parent", "properties",
+        "dependencies", "dependencyManagement", "distributionManagement", PROFILES
+    );
+    private static final Set<String> RETAINED_PROFILE_ELEMENTS = ImmutableSet.of(
+        "id", "activation", "properties", "dependencies", "dependencyManagement"
+    );
+
+    private static final byte[] M2_ENTITIES_RESOURCE;
+    private static final SAXParserFactory SAX_PARSER_FACTORY;
+
+    static {
+        byte[] bytes;
+        try {
+            bytes = IOUtils.toByteArray(org.apache.ivy.plugins.parser.m2.PomReader.class.getResourceAsStream("m2-entities.ent"));
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        M2_ENTITIES_RESOURCE = bytes;
+
+        // Set the context classloader the bootstrap classloader, to work around the way that JAXP locates implementation classes
+        // This should ensure that the JAXP classes provided by the JVM are used, rather than some other implementation
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(ClassLoaderUtils.getPlatformClassLoader());
+        try {
+            SAX_PARSER_FACTORY = XmlFactories.newSAXParserFactory();
+            SAX_PARSER_FACTORY.setValidating(false);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    private static final EntityResolver M2_ENTITY_RESOLVER = new EntityResolver() {
+        @Override
+        public InputSource resolveEntity(String publicId, String systemId) {
+            if ((systemId != null) && systemId.endsWith("m2-entities.ent")) {
+                return new InputSource(new ByteArrayInputStream(M2_ENTITIES_RESOURCE));
+            }
+            return null;
+        }
+    };
+
+    private final String systemId;
+    private final PomElement projectElement;
+    private final boolean gradleMetadataMarker;
+
+    private PomDocument(String systemId, PomElement projectElement, boolean gradleMetadataMarker) {
+        this.systemId = systemId;
+        this.projectElement = projectElement;
+        this.gradleMetadataMarker = gradleMetadataMarker;
+    }
+
+    public String getSystemId() {
+        return systemId;
+    }
+
+    /**
+     * Returns the root element. This is expected to be a {@code project} element, which is checked by {@link PomReader}.
+     */
+    public PomElement getProjectElement() {
+        return projectElement;
+    }
+
+    /**
+     * Whether the project element contains a comment marking the presence of Gradle module metadata.
+     */
+    public boolean hasGradleMetadataMarker() {
+        return gradleMetadataMarker;
+    }
+
+    public static PomDocument parse(InputStream stream, String systemId) throws IOException, SAXException {
+        // Set the context classloader the bootstrap classloader, to work around the way that JAXP locates implementation classes
+        // This should ensure that the JAXP classes provided by the JVM are used, rather than some other implementation
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(ClassLoaderUtils.getPlatformClassLoader());
+        try {
+            PomHandler handler = new PomHandler();
+            XMLReader reader = newSaxParser().getXMLReader();
+            reader.setEntityResolver(M2_ENTITY_RESOLVER);
+            reader.setContentHandler(handler);
+            reader.setErrorHandler(handler);
+            reader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+            InputSource inputSource = new InputSource(new AddDTDFilterInputStream(stream));
+            inputSource.setSystemId(systemId);
+            reader.parse(inputSource);
+
+            return new PomDocument(systemId, handler.root, handler.gradleMetadataMarker);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    private static SAXParser newSaxParser() throws SAXException {
+        try {
+            return SAX_PARSER_FACTORY.newSAXParser();
+        } catch (ParserConfigurationException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static class PomHandler extends DefaultHandler2 {
+        private final Deque<PomElement.Builder> retained = new ArrayDeque<>();
+        // Depth of the element currently being read, the root element being at depth 1
+        private int depth;
+        // Depth at which the subtree currently being skipped started, or 0 when not skipping
+        private int skippingFrom;
+        private boolean inProfile;
+        private PomElement root;
+        private boolean gradleMetadataMarker;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            depth++;
+            if (skippingFrom != 0) {
+                return;
+            }
+            if (!isRetained(qName)) {
+                skippingFrom = depth;
+                return;
+            }
+            if (depth == 3 && PROFILE.equals(qName) && PROFILES.equals(retained.getLast().getName())) {
+                inProfile = true;
+            }
+            retained.addLast(new PomElement.Builder(qName));
+        }
+
+        private boolean isRetained(String name) {
+            if (depth == 2) {
+                return RETAINED_PROJECT_ELEMENTS.contains(name);
+            }
+            if (depth == 4 && inProfile) {
+                return RETAINED_PROFILE_ELEMENTS.contains(name);
+            }
+            return true;
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (skippingFrom != 0) {
+                if (skippingFrom == depth) {
+                    skippingFrom = 0;
+                }
+                depth--;
+                return;
+            }
+            if (depth == 3) {
+                inProfile = false;
+            }
+            PomElement element = retained.removeLast().build();
+            if (retained.isEmpty()) {
+                root = element;
+            } else {
+                retained.getLast().addChild(element);
+            }
+            depth--;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (skippingFrom == 0 && !retained.isEmpty()) {
+                retained.getLast().appendText(ch, start, length);
+            }
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) {
+            if (depth == 1 && skippingFrom == 0 && !gradleMetadataMarker) {
+                String comment = new String(ch, start, length);
+                gradleMetadataMarker = comment.contains(MetaDataParser.GRADLE_6_METADATA_MARKER) || comment.contains(MetaDataParser.GRADLE_METADATA_MARKER);
+            }
+        }
+
+        @Override
+        public void fatalError(SAXParseException e) throws SAXException {
+            throw e;
+        }
+    }
+}
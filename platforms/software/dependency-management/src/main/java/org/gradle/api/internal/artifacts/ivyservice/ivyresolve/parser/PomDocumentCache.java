@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.gradle.internal.resource.local.LocallyAvailableExternalResource;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+
+/**
+ * Memoizes the {@link PomDocument}s read during a build.
+ * <p>
+ * Parent POMs and imported BOMs are typically shared by many modules, so a cold resolution reads the same POM files over and over again.
+ * Documents are keyed by file location, size and modification time, which covers files in the local Maven repository being changed.
+ */
+@ServiceScope(Scope.BuildTree.class)
+public class PomDocumentCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final Cache<String, PomDocument> documents = CacheBuilder.newBuilder()
+        .maximumSize(MAX_ENTRIES)
+        .build();
+
+    public PomDocument get(LocallyAvailableExternalResource resource) throws SAXException {
+        String key = keyFor(resource.getFile());
+        PomDocument document = documents.getIfPresent(key);
+        if (document == null) {
+            document = PomReader.parse(resource);
+            documents.put(key, document);
+        }
+        return document;
+    }
+
+    private static String keyFor(File file) {
+        return file.getAbsolutePath() + ':' + file.length() + ':' + file.lastModified();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A minimal, immutable XML element as retained by {@link PomDocument}.
+ * <p>
+ * Only the element name, its own text content and its child elements are kept.
+ */
+public final class PomElement {
+    private final String name;
+    private final String textContent;
+    private final List<PomElement> children;
+
+    PomElement(String name, String textContent, List<PomElement> children) {
+        this.name = name;
+        this.textContent = textContent;
+        this.children = children;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the concatenated text and CDATA content directly contained in this element.
+     */
+    public String getTextContent() {
+        return textContent;
+    }
+
+    public List<PomElement> getChildren() {
+        return children;
+    }
+
+    static class Builder {
+        private final String name;
+        private StringBuilder text;
+        private List<PomElement> children;
+
+        Builder(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        void appendText(char[] ch, int start, int length) {
+            if (text == null) {
+                text = new StringBuilder(length);
+            }
+            text.append(ch, start, length);
+        }
+
+        void addChild(PomElement child) {
+            if (children == null) {
+                children = new ArrayList<>(4);
+            }
+            children.add(child);
+        }
+
+        PomElement build() {
+            return new PomElement(
+                name,
+                text == null ? "" : text.toString(),
+                children == null ? Collections.emptyList() : Collections.unmodifiableList(children)
+            );
+        }
+    }
+}
@@ -45,12 +45,16 @@
 import org.gradle.internal.component.external.model.ExternalModuleComponentGraphResolveState;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.hash.ChecksumService;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
 import org.gradle.internal.logging.ConsoleRenderer;
 import org.gradle.internal.operations.BuildOperationContext;
 import org.gradle.internal.operations.BuildOperationDescriptor;
 import org.gradle.internal.operations.BuildOperationExecutor;
 import org.gradle.internal.operations.RunnableBuildOperation;
 import org.gradle.internal.resource.local.FileResourceListener;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -76,6 +80,9 @@ public class ChecksumAndSignatureVerificationOverride implements DependencyVerif
     private final Deque<VerificationEvent> verificationEvents = Queues.newArrayDeque();
     private final AtomicBoolean closed = new AtomicBoolean();
     private final DependencyVerificationReportWriter reportWriter;
+    private final CrossBuildVerificationResultCache verificationResultCache;
+    private final boolean refreshKeys;
+    private final HashCode verificationConfigurationHash;
 
     // Must hold lock on `failuresLock` to access `failures` or `hasFatalFailure`
     private final Object failuresLock = new Object();
@@ -92,12 +99,16 @@ public ChecksumAndSignatureVerificationOverride(
         DocumentationRegistry documentationRegistry,
         File reportsDirectory,
         Factory<GradleProperties> gradlePropertiesFactory,
-        FileResourceListener fileResourceListener
+        FileResourceListener fileResourceListener,
+        CrossBuildVerificationResultCache verificationResultCache,
+        boolean refreshKeys
     ) {
         this.buildOperationExecutor = buildOperationExecutor;
         this.checksumService = checksumService;
         this.verificationMode = verificationMode;
         this.fileResourceListener = fileResourceListener;
+        this.verificationResultCache = verificationResultCache;
+        this.refreshKeys = refreshKeys;
         try {
             this.verifier = DependencyVerificationsXmlReader.readFromXml(
                 new FileInputStream(observed(verificationsFile))
@@ -110,6 +121,18 @@ public ChecksumAndSignatureVerificationOverride(
         }
         BuildTreeDefinedKeys localKeyring = new BuildTreeDefinedKeys(verificationsFile.getParentFile(), verifier.getConfiguration().getKeyringFormat());
         this.signatureVerificationService = signatureVerificationServiceFactory.create(localKeyring, keyServers(), verifier.getConfiguration().isUseKeyServers());
+        this.verificationConfigurationHash = hashVerificationConfiguration(verificationsFile, localKeyring.getEffectiveKeyringsFile());
+    }
+
+    private HashCode hashVerificationConfiguration(File verificationsFile, File keyringsFile) {
+        Hasher hasher = Hashing.newHasher();
+        hasher.putHash(checksumService.sha256(verificationsFile));
+        if (keyringsFile.exists()) {
+            hasher.putHash(checksumService.sha256(keyringsFile));
+        } else {
+            hasher.putNull();
+        }
+        return hasher.hash();
     }
 
     private List<URI> keyServers() {
@@ -144,7 +167,15 @@ private void verifyConcurrently() {
                     queue.add(new RunnableBuildOperation() {
                         @Override
                         public void run(BuildOperationContext context) {
-                            verifier.verify(checksumService, signatureVerificationService, ve.kind, ve.artifact, observed(ve.mainFile), observed(ve.signatureFile.create()), f -> {
+                            File mainFile = observed(ve.mainFile);
+                            File signatureFile = observed(ve.signatureFile.create());
+                            HashCode verificationResultKey = verificationResultKey(ve, mainFile, signatureFile);
+                            if (verificationResultKey != null && verificationResultCache.isVerified(verificationResultKey)) {
+                                return;
+                            }
+                            AtomicBoolean failed = new AtomicBoolean();
+                            verifier.verify(checksumService, signatureVerificationService, ve.kind, ve.artifact, mainFile, signatureFile, f -> {
+                                failed.set(true);
                                 synchronized (failuresLock) {
                                     failures.put(ve.artifact, new RepositoryAwareVerificationFailure(f, ve.repositoryName));
                                     if (f.isFatal()) {
@@ -152,6 +183,9 @@ public void run(BuildOperationContext context) {
                                     }
                                 }
                             });
+                            if (verificationResultKey != null && !failed.get()) {
+                                verificationResultCache.markVerified(verificationResultKey);
+                            }
                         }
 
                         @Override
@@ -166,6 +200,35 @@ public BuildOperationDescriptor.Builder description() {
 
     }
 
+    /**
+     * Identifies a successful verification of the given artifact, so that it can be reused by later builds.
+     * A previous result covers the artifact as long as the verification metadata, the keyring and the contents of the artifact and signature files are unchanged.
+     * <p>
+     * Results are not reused when signatures may be checked with keys downloaded from key servers,
+     * as the verification then depends on more than these files.
+     */
+    @Nullable
+    private HashCode verificationResultKey(VerificationEvent event, File mainFile, @Nullable File signatureFile) {
+        if (refreshKeys || !mainFile.isFile()) {
+            return null;
+        }
+        if (verifier.getConfiguration().isVerifySignatures() && verifier.getConfiguration().isUseKeyServers()) {
+            return null;
+        }
+        Hasher hasher = Hashing.newHasher();
+        hasher.putHash(verificationConfigurationHash);
+        hasher.putString(event.kind.name());
+        hasher.putString(event.artifact.getComponentIdentifier().getDisplayName());
+        hasher.putString(event.artifact.getFileName());
+        hasher.putHash(checksumService.sha256(mainFile));
+        if (signatureFile != null && signatureFile.isFile()) {
+            hasher.putHash(checksumService.sha256(signatureFile));
+        } else {
+            hasher.putNull();
+        }
+        return hasher.hash();
+    }
+
     @Override
     public ModuleComponentRepository<ExternalModuleComponentGraphResolveState> overrideDependencyVerification(ModuleComponentRepository<ExternalModuleComponentGraphResolveState> original) {
         return new DependencyVerifyingModuleComponentRepository(original, this, verifier.getConfiguration().isVerifySignatures());
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification;
+
+import org.gradle.cache.internal.CrossBuildInMemoryCache;
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+
+/**
+ * Remembers the artifacts which passed dependency verification in previous builds of this daemon.
+ * <p>
+ * Keys identify the verification metadata and keyring in use, the artifact and the content of the artifact file.
+ * Only successful verifications are recorded, so that failures are always recomputed and reported the same way.
+ */
+@ServiceScope(Scope.UserHome.class)
+public class CrossBuildVerificationResultCache {
+    private final CrossBuildInMemoryCache<HashCode, Boolean> verifiedArtifacts;
+
+    public CrossBuildVerificationResultCache(CrossBuildInMemoryCacheFactory cacheFactory) {
+        this.verifiedArtifacts = cacheFactory.newCacheRetainingDataFromPreviousBuild(verified -> true);
+    }
+
+    public boolean isVerified(HashCode key) {
+        return verifiedArtifacts.getIfPresent(key) != null;
+    }
+
+    public void markVerified(HashCode key) {
+        verifiedArtifacts.put(key, Boolean.TRUE);
+    }
+}
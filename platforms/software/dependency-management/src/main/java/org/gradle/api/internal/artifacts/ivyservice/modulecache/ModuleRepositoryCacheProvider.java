@@ -15,18 +15,29 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.modulecache;
 
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
 
 @ServiceScope(Scope.BuildTree.class)
-public class ModuleRepositoryCacheProvider {
+public class ModuleRepositoryCacheProvider implements Stoppable {
     private final ModuleRepositoryCaches caches;
     private final ModuleRepositoryCaches inMemoryCaches;
+    private final Stoppable cachesResources;
     private final ResolvedArtifactCaches resolvedArtifactCaches = new ResolvedArtifactCaches();
 
     public ModuleRepositoryCacheProvider(ModuleRepositoryCaches caches, ModuleRepositoryCaches inMemoryCaches) {
+        this(caches, inMemoryCaches, CompositeStoppable.NO_OP_STOPPABLE);
+    }
+
+    /**
+     * Creates a provider that stops the given resources of the caches when the build tree is done with them.
+     */
+    public ModuleRepositoryCacheProvider(ModuleRepositoryCaches caches, ModuleRepositoryCaches inMemoryCaches, Stoppable cachesResources) {
         this.caches = caches;
         this.inMemoryCaches = inMemoryCaches;
+        this.cachesResources = cachesResources;
     }
 
     /**
@@ -47,4 +58,9 @@ public ModuleRepositoryCaches getInMemoryOnlyCaches() {
     public ResolvedArtifactCaches getResolvedArtifactCaches() {
         return resolvedArtifactCaches;
     }
+
+    @Override
+    public void stop() {
+        cachesResources.stop();
+    }
 }
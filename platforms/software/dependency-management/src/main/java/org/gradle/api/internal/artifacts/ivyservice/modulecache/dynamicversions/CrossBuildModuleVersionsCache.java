@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache.dynamicversions;
+
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.util.internal.BuildCommencedTimeProvider;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A module versions cache that serves listings from a {@link CrossBuildModuleVersionsStore}, in front of the persistent cache.
+ * <p>
+ * Listings made or read in a previous build of the daemon are returned without going to the persistent cache, whose access requires the cache lock.
+ * Their age is still reported relative to the time of the listing, so the cache policy decides whether they have expired exactly as it would for persisted listings.
+ * <p>
+ * The persistent cache may have been updated by other processes in the meantime.
+ * So the first time a listing from a previous build is used, it is reconciled with the persistent cache on a background thread and a more recent persisted listing replaces it.
+ * Stopping the cache waits for the pending reconciliations, so none of them outlives the build tree.
+ */
+public class CrossBuildModuleVersionsCache extends AbstractModuleVersionsCache implements Stoppable {
+    public static final InternalFlag ENABLED = new InternalFlag("org.gradle.internal.dependency-cache.cross-build-versions", true);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CrossBuildModuleVersionsCache.class);
+
+    private final CrossBuildModuleVersionsStore store;
+    private final AbstractModuleVersionsCache delegate;
+    private final ManagedExecutor refreshExecutor;
+    private final Set<ModuleAtRepositoryKey> seenInThisBuild = ConcurrentHashMap.newKeySet();
+
+    public CrossBuildModuleVersionsCache(BuildCommencedTimeProvider timeProvider, CrossBuildModuleVersionsStore store, AbstractModuleVersionsCache delegate, ExecutorFactory executorFactory) {
+        super(timeProvider);
+        this.store = store;
+        this.delegate = delegate;
+        this.refreshExecutor = executorFactory.create("Module versions cache refresh", 1);
+    }
+
+    @Override
+    protected void store(ModuleAtRepositoryKey key, ModuleVersionsCacheEntry entry) {
+        seenInThisBuild.add(key);
+        store.put(key, entry);
+        delegate.store(key, entry);
+    }
+
+    @Override
+    @Nullable
+    protected ModuleVersionsCacheEntry get(ModuleAtRepositoryKey key) {
+        boolean firstUseInThisBuild = seenInThisBuild.add(key);
+        ModuleVersionsCacheEntry entry = store.get(key);
+        if (entry == null) {
+            entry = delegate.get(key);
+            if (entry != null) {
+                store.put(key, entry);
+            }
+            return entry;
+        }
+        if (firstUseInThisBuild) {
+            refreshExecutor.execute(() -> refresh(key));
+        }
+        return entry;
+    }
+
+    private void refresh(ModuleAtRepositoryKey key) {
+        try {
+            ModuleVersionsCacheEntry persisted = delegate.get(key);
+            if (persisted != null) {
+                store.put(key, persisted);
+            }
+        } catch (Exception e) {
+            // The in-memory listing remains valid, the refresh will be attempted again in the next build
+            LOGGER.debug("Could not refresh module versions for '{}' from the persistent cache.", key.moduleId, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        refreshExecutor.stop();
+    }
+}
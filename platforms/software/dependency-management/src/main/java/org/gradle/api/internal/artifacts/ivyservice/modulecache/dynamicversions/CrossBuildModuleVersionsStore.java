@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache.dynamicversions;
+
+import org.gradle.cache.internal.CrossBuildInMemoryCache;
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Holds the module version listings known to this daemon, so that they survive from one build to the next.
+ * <p>
+ * Entries keep the timestamp at which the listing was made, so callers still apply the dynamic version cache timeout to them.
+ * Listings are refreshed from the persistent cache by each build tree, see {@link CrossBuildModuleVersionsCache}.
+ */
+@ServiceScope(Scope.UserHome.class)
+public class CrossBuildModuleVersionsStore {
+    private final CrossBuildInMemoryCache<ModuleAtRepositoryKey, ModuleVersionsCacheEntry> entries;
+
+    public CrossBuildModuleVersionsStore(CrossBuildInMemoryCacheFactory cacheFactory) {
+        this.entries = cacheFactory.newCacheRetainingDataFromPreviousBuild(entry -> true);
+    }
+
+    @Nullable
+    ModuleVersionsCacheEntry get(ModuleAtRepositoryKey key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * Records the given entry, unless a more recent listing is already known.
+     */
+    synchronized void put(ModuleAtRepositoryKey key, ModuleVersionsCacheEntry entry) {
+        ModuleVersionsCacheEntry current = entries.getIfPresent(key);
+        if (current == null || current.createTimestamp <= entry.createTimestamp) {
+            entries.put(key, entry);
+        }
+    }
+}
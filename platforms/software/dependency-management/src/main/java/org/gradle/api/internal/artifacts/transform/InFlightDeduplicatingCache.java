@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform;
+
+import org.gradle.cache.Cache;
+import org.gradle.internal.lazy.Lazy;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Decorates the identity cache of transform executions, so that a transform execution with a given workspace identity runs at most once at a time.
+ * <p>
+ * Callers asking for an identity which is being computed wait for the running execution and share its result.
+ * Unlike computing the value inside the delegate's {@code get()}, which may hold a lock shared by other keys for as long as the transform runs,
+ * executions of different identities never wait for each other.
+ */
+public class InFlightDeduplicatingCache<K, V> implements Cache<K, V> {
+    private final Cache<K, V> delegate;
+    private final ConcurrentMap<K, Lazy<V>> inFlight = new ConcurrentHashMap<>();
+
+    public InFlightDeduplicatingCache(Cache<K, V> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> factory) {
+        V cached = delegate.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Lazy<V> execution = inFlight.computeIfAbsent(key, k -> Lazy.locking().of(() -> {
+            // Another execution may have completed after the first lookup
+            V value = delegate.getIfPresent(k);
+            if (value == null) {
+                value = factory.apply(k);
+                delegate.put(k, value);
+            }
+            return value;
+        }));
+        try {
+            return execution.get();
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    @Nullable
+    @Override
+    public V getIfPresent(K key) {
+        return delegate.getIfPresent(key);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        delegate.put(key, value);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.buildoption.InternalOptions;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.jspecify.annotations.Nullable;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Collects how long scheduled transform steps wait for a worker once all their dependencies are complete.
+ * <p>
+ * A transform step node is ready as soon as the previous step of the chain for the same artifact has completed,
+ * so steps of different artifacts are pipelined by the execution plan.
+ * A long queueing time means that transforms are starved of workers rather than waiting for each other.
+ * <p>
+ * Statistics are only collected when {@link #STATS} is enabled, and are logged when the build tree finishes.
+ */
+@ThreadSafe
+@ServiceScope(Scope.BuildTree.class)
+public class TransformSchedulingStats implements Stoppable {
+    public static final InternalFlag STATS = new InternalFlag("org.gradle.internal.transform.stats");
+
+    private static final Logger LOGGER = Logging.getLogger(TransformSchedulingStats.class);
+
+    private final boolean enabled;
+    private final LongSupplier nanoTime;
+    private final LongAdder executedSteps = new LongAdder();
+    private final LongAdder totalQueueingTime = new LongAdder();
+    private final LongAccumulator maxQueueingTime = new LongAccumulator(Long::max, 0);
+
+    public TransformSchedulingStats(InternalOptions internalOptions) {
+        this(internalOptions, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    TransformSchedulingStats(InternalOptions internalOptions, LongSupplier nanoTime) {
+        this.enabled = internalOptions.getOption(STATS).get();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Creates a timer for the queueing time of a single transform step.
+     */
+    public StepTimer newStepTimer() {
+        return new StepTimer();
+    }
+
+    private void stepStarted(long queueingTimeNanos) {
+        executedSteps.increment();
+        if (queueingTimeNanos > 0) {
+            totalQueueingTime.add(queueingTimeNanos);
+            maxQueueingTime.accumulate(queueingTimeNanos);
+        }
+    }
+
+    @Override
+    public void stop() {
+        String report = report();
+        if (report != null) {
+            LOGGER.lifecycle(report);
+        }
+    }
+
+    /**
+     * Returns the statistics to report, or {@code null} when there is nothing to report.
+     */
+    @VisibleForTesting
+    @Nullable
+    String report() {
+        long steps = executedSteps.sum();
+        if (!enabled || steps == 0) {
+            return null;
+        }
+        return "TRANSFORM SCHEDULING STATISTICS\n"
+            + "executed transform steps: " + steps + "\n"
+            + "average queueing time: " + format(totalQueueingTime.sum() / steps) + "\n"
+            + "maximum queueing time: " + format(maxQueueingTime.get());
+    }
+
+    @VisibleForTesting
+    static String format(long nanos) {
+        return DecimalFormat.getNumberInstance().format(BigDecimal.valueOf(nanos).divide(BigDecimal.valueOf(1000000), RoundingMode.HALF_UP)) + "ms";
+    }
+
+    /**
+     * Measures the time between all dependencies of a transform step being complete and the step starting to execute.
+     */
+    @ThreadSafe
+    public class StepTimer {
+        // The time at which all dependencies of the step completed, or 0 when not yet known or when not collecting statistics
+        private volatile long readyTime;
+
+        private StepTimer() {
+        }
+
+        public void dependenciesComplete() {
+            if (enabled && readyTime == 0) {
+                readyTime = nanoTime.getAsLong();
+            }
+        }
+
+        public void started() {
+            long readyTime = this.readyTime;
+            if (readyTime != 0) {
+                stepStarted(nanoTime.getAsLong() - readyTime);
+            }
+        }
+    }
+}
@@ -60,6 +60,7 @@ public abstract class TransformStepNode extends CreationOrderedNode implements S
     private final AttributeContainer sourceAttributes;
     protected final TransformUpstreamDependencies upstreamDependencies;
     private final long transformStepNodeId;
+    private final TransformSchedulingStats.StepTimer stepTimer;
 
     private PlannedTransformStepIdentity cachedIdentity;
 
@@ -69,7 +70,8 @@ protected TransformStepNode(
         AttributeContainer sourceAttributes,
         TransformStep transformStep,
         ResolvableArtifact artifact,
-        TransformUpstreamDependencies upstreamDependencies
+        TransformUpstreamDependencies upstreamDependencies,
+        TransformSchedulingStats schedulingStats
     ) {
         this.targetComponentVariant = targetComponentVariant;
         this.sourceAttributes = sourceAttributes;
@@ -77,6 +79,7 @@ protected TransformStepNode(
         this.artifact = artifact;
         this.upstreamDependencies = upstreamDependencies;
         this.transformStepNodeId = transformStepNodeId;
+        this.stepTimer = schedulingStats.newStepTimer();
     }
 
     public long getTransformStepNodeId() {
@@ -178,8 +181,18 @@ public Try<TransformStepSubject> getTransformedSubject() {
         return getTransformedArtifacts().getValue();
     }
 
+    @Override
+    protected DependenciesState doCheckDependenciesComplete() {
+        DependenciesState state = super.doCheckDependenciesComplete();
+        if (state == DependenciesState.COMPLETE_AND_SUCCESSFUL) {
+            stepTimer.dependenciesComplete();
+        }
+        return state;
+    }
+
     @Override
     public void execute(NodeExecutionContext context) {
+        stepTimer.started();
         getTransformedArtifacts().run(context);
     }
 
@@ -218,9 +231,10 @@ public InitialTransformStepNode(
             ResolvableArtifact artifact,
             TransformUpstreamDependencies upstreamDependencies,
             BuildOperationRunner buildOperationRunner,
-            CalculatedValueContainerFactory calculatedValueContainerFactory
+            CalculatedValueContainerFactory calculatedValueContainerFactory,
+            TransformSchedulingStats schedulingStats
         ) {
-            super(transformStepNodeId, targetComponentVariant, sourceAttributes, transformStep, artifact, upstreamDependencies);
+            super(transformStepNodeId, targetComponentVariant, sourceAttributes, transformStep, artifact, upstreamDependencies, schedulingStats);
             result = calculatedValueContainerFactory.create(Describables.of(this), new TransformInitialArtifact(buildOperationRunner));
         }
 
@@ -273,9 +287,10 @@ public ChainedTransformStepNode(
             TransformStepNode previousTransformStepNode,
             TransformUpstreamDependencies upstreamDependencies,
             BuildOperationRunner buildOperationExecutor,
-            CalculatedValueContainerFactory calculatedValueContainerFactory
+            CalculatedValueContainerFactory calculatedValueContainerFactory,
+            TransformSchedulingStats schedulingStats
         ) {
-            super(transformStepNodeId, targetComponentVariant, sourceAttributes, transformStep, previousTransformStepNode.artifact, upstreamDependencies);
+            super(transformStepNodeId, targetComponentVariant, sourceAttributes, transformStep, previousTransformStepNode.artifact, upstreamDependencies, schedulingStats);
             this.previousTransformStepNode = previousTransformStepNode;
             result = calculatedValueContainerFactory.create(Describables.of(this), new TransformPreviousArtifacts(buildOperationExecutor));
         }
@@ -35,9 +35,11 @@
 public class TransformStepNodeFactory {
 
     private final ConfigurationCacheableIdFactory idFactory;
+    private final TransformSchedulingStats schedulingStats;
 
-    public TransformStepNodeFactory(ConfigurationCacheableIdFactory idFactory) {
+    public TransformStepNodeFactory(ConfigurationCacheableIdFactory idFactory, TransformSchedulingStats schedulingStats) {
         this.idFactory = idFactory;
+        this.schedulingStats = schedulingStats;
     }
 
     /**
@@ -53,7 +55,7 @@ public TransformStepNode.InitialTransformStepNode createInitial(
         CalculatedValueContainerFactory calculatedValueContainerFactory
     ) {
         long transformStepNodeId = idFactory.createId();
-        return new TransformStepNode.InitialTransformStepNode(transformStepNodeId, targetComponentVariant, sourceAttributes, initial, artifact, upstreamDependencies, buildOperationRunner, calculatedValueContainerFactory);
+        return new TransformStepNode.InitialTransformStepNode(transformStepNodeId, targetComponentVariant, sourceAttributes, initial, artifact, upstreamDependencies, buildOperationRunner, calculatedValueContainerFactory, schedulingStats);
     }
 
     /**
@@ -72,7 +74,7 @@ public TransformStepNode.InitialTransformStepNode recreateInitial(
         CalculatedValueContainerFactory calculatedValueContainerFactory
     ) {
         idFactory.idRecreated();
-        return new TransformStepNode.InitialTransformStepNode(transformStepNodeId, targetComponentVariant, sourceAttributes, initial, artifact, upstreamDependencies, buildOperationRunner, calculatedValueContainerFactory);
+        return new TransformStepNode.InitialTransformStepNode(transformStepNodeId, targetComponentVariant, sourceAttributes, initial, artifact, upstreamDependencies, buildOperationRunner, calculatedValueContainerFactory, schedulingStats);
     }
 
     /**
@@ -88,7 +90,7 @@ public TransformStepNode.ChainedTransformStepNode createChained(
         CalculatedValueContainerFactory calculatedValueContainerFactory
     ) {
         long transformStepNodeId = idFactory.createId();
-        return new TransformStepNode.ChainedTransformStepNode(transformStepNodeId, targetComponentVariant, sourceAttributes, current, previous, upstreamDependencies, buildOperationExecutor, calculatedValueContainerFactory);
+        return new TransformStepNode.ChainedTransformStepNode(transformStepNodeId, targetComponentVariant, sourceAttributes, current, previous, upstreamDependencies, buildOperationExecutor, calculatedValueContainerFactory, schedulingStats);
     }
 
     /**
@@ -107,7 +109,7 @@ public TransformStepNode.ChainedTransformStepNode recreateChained(
         CalculatedValueContainerFactory calculatedValueContainerFactory
     ) {
         idFactory.idRecreated();
-        return new TransformStepNode.ChainedTransformStepNode(transformStepNodeId, targetComponentVariant, sourceAttributes, current, previous, upstreamDependencies, buildOperationExecutor, calculatedValueContainerFactory);
+        return new TransformStepNode.ChainedTransformStepNode(transformStepNodeId, targetComponentVariant, sourceAttributes, current, previous, upstreamDependencies, buildOperationExecutor, calculatedValueContainerFactory, schedulingStats);
     }
 
 }
@@ -19,16 +19,21 @@
 import org.gradle.api.Namer;
 import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheMetadata;
 import org.gradle.api.internal.file.temp.TemporaryFileProvider;
+import org.gradle.internal.buildoption.InternalOptions;
 import org.gradle.internal.component.external.model.ModuleComponentArtifactIdentifier;
 import org.gradle.internal.file.FileAccessTimeJournal;
 import org.gradle.internal.hash.ChecksumService;
+import org.gradle.internal.resource.local.ContentAddressedBlobStore;
 import org.gradle.internal.resource.local.GroupedAndNamedUniqueFileStore;
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
+import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.io.File;
 
+import static org.gradle.api.internal.artifacts.ivyservice.DefaultArtifactCacheMetadata.DEDUPLICATE_CONTENT;
+
 public class DefaultArtifactIdentifierFileStore extends GroupedAndNamedUniqueFileStore<ModuleComponentArtifactIdentifier> implements ArtifactIdentifierFileStore {
 
     private static final int NUMBER_OF_GROUPING_DIRS = 3;
@@ -48,8 +53,8 @@ public int getNumberOfGroupingDirs() {
 
     private static final Namer<ModuleComponentArtifactIdentifier> NAMER = ModuleComponentArtifactIdentifier::getFileName;
 
-    private DefaultArtifactIdentifierFileStore(File baseDir, TemporaryFileProvider temporaryFileProvider, FileAccessTimeJournal fileAccessTimeJournal, ChecksumService checksumService) {
-        super(baseDir, temporaryFileProvider, fileAccessTimeJournal, GROUPER, NAMER, checksumService);
+    private DefaultArtifactIdentifierFileStore(File baseDir, TemporaryFileProvider temporaryFileProvider, FileAccessTimeJournal fileAccessTimeJournal, ChecksumService checksumService, @Nullable ContentAddressedBlobStore blobStore) {
+        super(baseDir, temporaryFileProvider, fileAccessTimeJournal, GROUPER, NAMER, checksumService, blobStore);
     }
 
     @ServiceScope({Scope.BuildTree.class, Scope.Project.class})
@@ -57,12 +62,14 @@ public static class Factory {
         private final TemporaryFileProvider temporaryFileProvider;
         private final FileAccessTimeJournal fileAccessTimeJournal;
         private final ChecksumService checksumService;
+        private final boolean deduplicate;
 
         @Inject
-        public Factory(TemporaryFileProvider temporaryFileProvider, FileAccessTimeJournal fileAccessTimeJournal, ChecksumService checksumService) {
+        public Factory(TemporaryFileProvider temporaryFileProvider, FileAccessTimeJournal fileAccessTimeJournal, ChecksumService checksumService, InternalOptions internalOptions) {
             this.temporaryFileProvider = temporaryFileProvider;
             this.fileAccessTimeJournal = fileAccessTimeJournal;
             this.checksumService = checksumService;
+            this.deduplicate = internalOptions.getOption(DEDUPLICATE_CONTENT).get();
         }
 
         public DefaultArtifactIdentifierFileStore create(ArtifactCacheMetadata artifactCacheMetadata) {
@@ -70,7 +77,8 @@ public DefaultArtifactIdentifierFileStore create(ArtifactCacheMetadata artifactC
                 artifactCacheMetadata.getFileStoreDirectory(),
                 temporaryFileProvider,
                 fileAccessTimeJournal,
-                checksumService
+                checksumService,
+                deduplicate ? new ContentAddressedBlobStore(artifactCacheMetadata.getBlobStoreDirectory(), checksumService) : null
             );
         }
     }
@@ -19,15 +19,20 @@
 import org.gradle.api.Namer;
 import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheMetadata;
 import org.gradle.api.internal.file.temp.TemporaryFileProvider;
+import org.gradle.internal.buildoption.InternalOptions;
 import org.gradle.internal.file.FileAccessTimeJournal;
 import org.gradle.internal.hash.ChecksumService;
+import org.gradle.internal.resource.local.ContentAddressedBlobStore;
 import org.gradle.internal.resource.local.GroupedAndNamedUniqueFileStore;
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
+import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.io.File;
 
+import static org.gradle.api.internal.artifacts.ivyservice.DefaultArtifactCacheMetadata.DEDUPLICATE_CONTENT;
+
 public class DefaultExternalResourceFileStore extends GroupedAndNamedUniqueFileStore<String> implements ExternalResourceFileStore {
 
     private static final int NUMBER_OF_GROUPING_DIRS = 1;
@@ -47,8 +52,8 @@ public int getNumberOfGroupingDirs() {
 
     private static final Namer<String> NAMER = s -> StringUtils.substringAfterLast(s, "/");
 
-    private DefaultExternalResourceFileStore(File baseDir, TemporaryFileProvider tmpProvider, FileAccessTimeJournal fileAccessTimeJournal, ChecksumService checksumService) {
-        super(baseDir, tmpProvider, fileAccessTimeJournal, GROUPER, NAMER, checksumService);
+    private DefaultExternalResourceFileStore(File baseDir, TemporaryFileProvider tmpProvider, FileAccessTimeJournal fileAccessTimeJournal, ChecksumService checksumService, @Nullable ContentAddressedBlobStore blobStore) {
+        super(baseDir, tmpProvider, fileAccessTimeJournal, GROUPER, NAMER, checksumService, blobStore);
     }
 
     @ServiceScope({Scope.BuildTree.class, Scope.Project.class})
@@ -56,12 +61,14 @@ public static class Factory {
         private final TemporaryFileProvider temporaryFileProvider;
         private final FileAccessTimeJournal fileAccessTimeJournal;
         private final ChecksumService checksumService;
+        private final boolean deduplicate;
 
         @Inject
-        public Factory(TemporaryFileProvider temporaryFileProvider, FileAccessTimeJournal fileAccessTimeJournal, ChecksumService checksumService) {
+        public Factory(TemporaryFileProvider temporaryFileProvider, FileAccessTimeJournal fileAccessTimeJournal, ChecksumService checksumService, InternalOptions internalOptions) {
             this.temporaryFileProvider = temporaryFileProvider;
             this.fileAccessTimeJournal = fileAccessTimeJournal;
             this.checksumService = checksumService;
+            this.deduplicate = internalOptions.getOption(DEDUPLICATE_CONTENT).get();
         }
 
         public DefaultExternalResourceFileStore create(ArtifactCacheMetadata artifactCacheMetadata) {
@@ -69,7 +76,8 @@ public DefaultExternalResourceFileStore create(ArtifactCacheMetadata artifactCac
                 artifactCacheMetadata.getExternalResourcesStoreDirectory(),
                 temporaryFileProvider,
                 fileAccessTimeJournal,
-                checksumService
+                checksumService,
+                deduplicate ? new ContentAddressedBlobStore(artifactCacheMetadata.getBlobStoreDirectory(), checksumService) : null
             );
         }
     }
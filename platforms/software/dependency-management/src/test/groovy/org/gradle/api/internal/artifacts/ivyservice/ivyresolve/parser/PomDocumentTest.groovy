@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser
+
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.internal.resource.local.LocalFileStandInExternalResource
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class PomDocumentTest extends Specification {
+    @Rule
+    public final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def "retains only the elements relevant to dependency resolution"() {
+        when:
+        def document = parse("""
+<project>
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>group-one</groupId>
+    <artifactId>artifact-one</artifactId>
+    <version>version-one</version>
+    <name>Test Artifact One</name>
+    <build>
+        <plugins>
+            <plugin>
+                <groupId>org.apache.maven.plugins</groupId>
+                <artifactId>maven-compiler-plugin</artifactId>
+            </plugin>
+        </plugins>
+    </build>
+    <dependencies>
+        <dependency>
+            <groupId>group-two</groupId>
+            <artifactId>artifact-two</artifactId>
+            <version>version-two</version>
+        </dependency>
+    </dependencies>
+    <profiles>
+        <profile>
+            <id>profile-1</id>
+            <build>
+                <finalName>ignored</finalName>
+            </build>
+            <properties>
+                <some.prop>value</some.prop>
+            </properties>
+        </profile>
+    </profiles>
+</project>
+""")
+
+        then:
+        def project = document.projectElement
+        project.name == 'project'
+        project.children*.name == ['groupId', 'artifactId', 'version', 'dependencies', 'profiles']
+        PomDomParser.getFirstChildText(project, 'groupId') == 'group-one'
+
+        def dependency = PomDomParser.getFirstChildElement(PomDomParser.getFirstChildElement(project, 'dependencies'), 'dependency')
+        dependency.children*.name == ['groupId', 'artifactId', 'version']
+        PomDomParser.getFirstChildText(dependency, 'version') == 'version-two'
+
+        def profile = PomDomParser.getFirstChildElement(PomDomParser.getFirstChildElement(project, 'profiles'), 'profile')
+        profile.children*.name == ['id', 'properties']
+    }
+
+    def "reads text and CDATA content"() {
+        when:
+        def document = parse("""
+<project>
+    <groupId>group-<![CDATA[one]]></groupId>
+    <artifactId>artifact&#45;one</artifactId>
+</project>
+""")
+
+        then:
+        PomDomParser.getFirstChildText(document.projectElement, 'groupId') == 'group-one'
+        PomDomParser.getFirstChildText(document.projectElement, 'artifactId') == 'artifact-one'
+    }
+
+    def "detects Gradle metadata marker in project comments"() {
+        when:
+        def document = parse("""
+<project>
+    <!-- ${MetaDataParser.GRADLE_METADATA_MARKER} -->
+    <groupId>group-one</groupId>
+</project>
+""")
+
+        then:
+        document.hasGradleMetadataMarker()
+    }
+
+    def "ignores Gradle metadata marker outside of project comments"() {
+        when:
+        def document = parse("""
+<project>
+    <groupId>group-one</groupId>
+    <dependencies>
+        <!-- ${MetaDataParser.GRADLE_METADATA_MARKER} -->
+    </dependencies>
+</project>
+""")
+
+        then:
+        !document.hasGradleMetadataMarker()
+    }
+
+    def "reuses cached documents for unchanged files"() {
+        given:
+        def cache = new PomDocumentCache()
+        def pomFile = tmpDir.file('pom.xml')
+        pomFile.text = "<project><groupId>group-one</groupId></project>"
+        def resource = new LocalFileStandInExternalResource(pomFile, TestFiles.fileSystem())
+
+        when:
+        def first = cache.get(resource)
+        def second = cache.get(resource)
+
+        then:
+        first.is(second)
+
+        when:
+        pomFile.text = "<project><groupId>group-three</groupId></project>"
+        pomFile.lastModified = pomFile.lastModified() + 2000
+        def third = cache.get(resource)
+
+        then:
+        !third.is(first)
+        PomDomParser.getFirstChildText(third.projectElement, 'groupId') == 'group-three'
+    }
+
+    private PomDocument parse(String pom) {
+        def pomFile = tmpDir.file('pom.xml')
+        pomFile.text = pom
+        return PomReader.parse(new LocalFileStandInExternalResource(pomFile, TestFiles.fileSystem()))
+    }
+}
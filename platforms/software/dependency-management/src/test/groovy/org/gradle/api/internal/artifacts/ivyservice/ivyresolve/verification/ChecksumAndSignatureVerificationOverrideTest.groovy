@@ -0,0 +1,239 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification
+
+import org.gradle.api.artifacts.verification.DependencyVerificationMode
+import org.gradle.api.internal.DocumentationRegistry
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.verification.exceptions.DependencyVerificationException
+import org.gradle.api.internal.artifacts.verification.signatures.SignatureVerificationService
+import org.gradle.api.internal.artifacts.verification.signatures.SignatureVerificationServiceFactory
+import org.gradle.api.internal.properties.GradleProperties
+import org.gradle.cache.internal.TestCrossBuildInMemoryCacheFactory
+import org.gradle.internal.Factory
+import org.gradle.internal.component.external.model.DefaultModuleComponentArtifactIdentifier
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.internal.hash.ChecksumService
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.internal.resource.local.FileResourceListener
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.TestUtil
+import org.junit.Rule
+import spock.lang.Specification
+
+import static org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.ArtifactVerificationOperation.ArtifactKind.REGULAR
+
+class ChecksumAndSignatureVerificationOverrideTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def verificationResultCache = new CrossBuildVerificationResultCache(new TestCrossBuildInMemoryCacheFactory())
+    def artifact = new DefaultModuleComponentArtifactIdentifier(DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("org", "foo"), "1.0"), "foo", "jar", "jar")
+    TestFile artifactFile = tmpDir.file("foo-1.0.jar")
+    TestFile verificationsFile = tmpDir.file("gradle/verification-metadata.xml")
+    TestFile signatureFile = tmpDir.file("foo-1.0.jar.asc")
+    def gradleProperties = Stub(GradleProperties)
+    def fileResourceListener = Mock(FileResourceListener)
+    int verifications = 0
+    // Only the verification itself computes the SHA-512 checksum of the artifact
+    def checksumService = Stub(ChecksumService) {
+        sha256(_) >> { File file -> TestUtil.checksumService.sha256(file) }
+        sha512(_) >> { File file ->
+            verifications++
+            TestUtil.checksumService.sha512(file)
+        }
+    }
+
+    def setup() {
+        artifactFile.text = "content"
+        signatureFile.text = "signature"
+        writeVerificationMetadata(sha512(artifactFile))
+    }
+
+    def "skips verification of artifacts verified successfully in a previous build"() {
+        when:
+        verifyInNewBuild()
+        verifyInNewBuild()
+
+        then:
+        verifications == 1
+    }
+
+    def "does not remember failed verifications"() {
+        given:
+        writeVerificationMetadata("0000")
+
+        when:
+        verifyInNewBuild()
+
+        then:
+        thrown(DependencyVerificationException)
+
+        when:
+        verifyInNewBuild()
+
+        then:
+        thrown(DependencyVerificationException)
+        verifications == 2
+    }
+
+    def "verifies again when the artifact changes"() {
+        given:
+        def other = tmpDir.file("other.jar")
+        other.text = "other"
+        writeVerificationMetadata(sha512(artifactFile), sha512(other))
+
+        when:
+        verifyInNewBuild()
+        artifactFile.text = "other"
+        verifyInNewBuild()
+
+        then:
+        verifications == 2
+    }
+
+    def "verifies again when the verification metadata changes"() {
+        when:
+        verifyInNewBuild()
+        verificationsFile.text = verificationsFile.text.replace("</components>", "</components>\n")
+        verifyInNewBuild()
+
+        then:
+        verifications == 2
+    }
+
+    def "verifies again when the keyring changes"() {
+        def keyring = verificationsFile.parentFile.file("verification-keyring.keys")
+
+        when:
+        verifyInNewBuild()
+        keyring.text = "-----BEGIN PGP PUBLIC KEY BLOCK-----\n-----END PGP PUBLIC KEY BLOCK-----\n"
+        verifyInNewBuild()
+
+        then:
+        verifications == 2
+    }
+
+    def "verifies again when refreshing keys"() {
+        when:
+        verifyInNewBuild()
+        verifyInNewBuild(true)
+        verifyInNewBuild(true)
+
+        then:
+        verifications == 3
+    }
+
+    def "verifies again when the signature file changes"() {
+        when:
+        verifyInNewBuild()
+        signatureFile.text = "other signature"
+        verifyInNewBuild()
+
+        then:
+        verifications == 2
+    }
+
+    def "observes the signature file when reusing a verification result"() {
+        when:
+        verifyInNewBuild()
+
+        then:
+        1 * fileResourceListener.fileObserved(signatureFile)
+
+        when:
+        verifyInNewBuild()
+
+        then:
+        1 * fileResourceListener.fileObserved(signatureFile)
+        verifications == 1
+    }
+
+    def "reuses verification results of signatures when key servers are disabled"() {
+        given:
+        writeVerificationMetadata(sha512(artifactFile), null, true, false)
+
+        when:
+        verifyInNewBuild()
+        verifyInNewBuild()
+
+        then:
+        verifications == 1
+    }
+
+    def "does not reuse verification results of signatures when keys may be downloaded from key servers"() {
+        given:
+        writeVerificationMetadata(sha512(artifactFile), null, true, true)
+
+        when:
+        verifyInNewBuild()
+        verifyInNewBuild()
+
+        then:
+        verifications == 2
+    }
+
+    private void verifyInNewBuild(boolean refreshKeys = false) {
+        def signatureVerificationServiceFactory = Stub(SignatureVerificationServiceFactory) {
+            create(_, _, _) >> Stub(SignatureVerificationService)
+        }
+        def override = new ChecksumAndSignatureVerificationOverride(
+            new TestBuildOperationExecutor(),
+            tmpDir.file("user-home"),
+            verificationsFile,
+            checksumService,
+            signatureVerificationServiceFactory,
+            DependencyVerificationMode.STRICT,
+            new DocumentationRegistry(),
+            tmpDir.file("reports"),
+            { gradleProperties } as Factory<GradleProperties>,
+            fileResourceListener,
+            verificationResultCache,
+            refreshKeys
+        )
+        try {
+            override.onArtifact(REGULAR, artifact, artifactFile, { signatureFile } as Factory<File>, "repo", "repo-id")
+            override.artifactsAccessed("test")
+        } finally {
+            override.stop()
+        }
+    }
+
+    private void writeVerificationMetadata(String sha512, String alsoTrusted = null, boolean verifySignatures = false, boolean useKeyServers = false) {
+        verificationsFile.text = """<?xml version="1.0" encoding="UTF-8"?>
+<verification-metadata>
+   <configuration>
+      <verify-metadata>true</verify-metadata>
+      <verify-signatures>$verifySignatures</verify-signatures>
+      <key-servers enabled="$useKeyServers"/>
+   </configuration>
+   <components>
+      <component group="org" name="foo" version="1.0">
+         <artifact name="foo-1.0.jar">
+            <sha512 value="$sha512">${alsoTrusted ? """<also-trust value="$alsoTrusted"/>""" : ""}</sha512>
+         </artifact>
+      </component>
+   </components>
+</verification-metadata>
+"""
+    }
+
+    private static String sha512(File file) {
+        return TestUtil.checksumService.sha512(file).toString()
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache.dynamicversions
+
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.cache.internal.TestCrossBuildInMemoryCacheFactory
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.ManagedExecutor
+import org.gradle.util.internal.BuildCommencedTimeProvider
+import spock.lang.Specification
+
+class CrossBuildModuleVersionsCacheTest extends Specification {
+    def timeProvider = Stub(BuildCommencedTimeProvider)
+    def refreshExecutor = Stub(ManagedExecutor) {
+        execute(_) >> { Runnable action -> action.run() }
+    }
+    def executorFactory = Stub(ExecutorFactory) {
+        create(_, _) >> refreshExecutor
+    }
+    def store = new CrossBuildModuleVersionsStore(new TestCrossBuildInMemoryCacheFactory())
+    def persistentCache = Mock(AbstractModuleVersionsCache)
+    def key = new ModuleAtRepositoryKey("repo", DefaultModuleIdentifier.newId("org", "foo"))
+
+    def "stores listings in memory and in the persistent cache"() {
+        def cache = new CrossBuildModuleVersionsCache(timeProvider, store, persistentCache, executorFactory)
+        def entry = new ModuleVersionsCacheEntry(["1.0"] as Set, 100L)
+
+        when:
+        cache.store(key, entry)
+
+        then:
+        1 * persistentCache.store(key, entry)
+
+        when:
+        def result = cache.get(key)
+
+        then:
+        result == entry
+        0 * persistentCache._
+    }
+
+    def "serves listings from a previous build and refreshes them once from the persistent cache"() {
+        def previous = new ModuleVersionsCacheEntry(["1.0"] as Set, 100L)
+        def persisted = new ModuleVersionsCacheEntry(["1.0", "1.1"] as Set, 200L)
+        new CrossBuildModuleVersionsCache(timeProvider, store, Stub(AbstractModuleVersionsCache), executorFactory).store(key, previous)
+        def cache = new CrossBuildModuleVersionsCache(timeProvider, store, persistentCache, executorFactory)
+
+        when:
+        def first = cache.get(key)
+
+        then:
+        first == previous
+        1 * persistentCache.get(key) >> persisted
+
+        when:
+        def second = cache.get(key)
+
+        then:
+        second == persisted
+        0 * persistentCache._
+    }
+
+    def "keeps more recent listing when persistent cache holds an older one"() {
+        def previous = new ModuleVersionsCacheEntry(["1.0", "1.1"] as Set, 200L)
+        def persisted = new ModuleVersionsCacheEntry(["1.0"] as Set, 100L)
+        new CrossBuildModuleVersionsCache(timeProvider, store, Stub(AbstractModuleVersionsCache), executorFactory).store(key, previous)
+        def cache = new CrossBuildModuleVersionsCache(timeProvider, store, persistentCache, executorFactory)
+
+        when:
+        cache.get(key)
+        def result = cache.get(key)
+
+        then:
+        1 * persistentCache.get(key) >> persisted
+        result == previous
+    }
+
+    def "loads listings from the persistent cache when not known in memory"() {
+        def persisted = new ModuleVersionsCacheEntry(["1.0"] as Set, 100L)
+        def cache = new CrossBuildModuleVersionsCache(timeProvider, store, persistentCache, executorFactory)
+
+        when:
+        def result = cache.get(key)
+
+        then:
+        1 * persistentCache.get(key) >> persisted
+        result == persisted
+        store.get(key) == persisted
+    }
+
+    def "waits for pending refreshes when stopped"() {
+        def refreshExecutor = Mock(ManagedExecutor)
+        def cache = new CrossBuildModuleVersionsCache(timeProvider, store, persistentCache, Stub(ExecutorFactory) {
+            create(_, _) >> refreshExecutor
+        })
+
+        when:
+        cache.stop()
+
+        then:
+        1 * refreshExecutor.stop()
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform
+
+import org.gradle.cache.ManualEvictionInMemoryCache
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.function.Function
+
+class InFlightDeduplicatingCacheTest extends ConcurrentSpec {
+    def delegate = new ManualEvictionInMemoryCache<String, String>()
+    def cache = new InFlightDeduplicatingCache<String, String>(delegate)
+
+    def "runs one execution for concurrent requests of the same key"() {
+        def function = Mock(Function)
+
+        when:
+        def values = new CopyOnWriteArrayList()
+        async {
+            4.times {
+                start {
+                    values << cache.get("a", function)
+                }
+            }
+        }
+
+        then:
+        values == ["value a"] * 4
+
+        and:
+        1 * function.apply("a") >> "value a"
+        0 * function._
+    }
+
+    def "executions of different keys do not wait for each other"() {
+        when:
+        async {
+            start {
+                cache.get("a", { key ->
+                    thread.blockUntil.bExecuted
+                    "value a"
+                } as Function)
+            }
+            start {
+                cache.get("b", { key ->
+                    instant.bExecuted
+                    "value b"
+                } as Function)
+            }
+        }
+
+        then:
+        delegate.getIfPresent("a") == "value a"
+        delegate.getIfPresent("b") == "value b"
+    }
+
+    def "does not run an execution for a cached key"() {
+        def function = Mock(Function)
+        delegate.put("a", "cached a")
+
+        when:
+        def value = cache.get("a", function)
+
+        then:
+        value == "cached a"
+        0 * function._
+    }
+
+    def "runs the execution again after it failed"() {
+        def function = Mock(Function)
+
+        when:
+        cache.get("a", function)
+
+        then:
+        1 * function.apply("a") >> { throw new RuntimeException("broken") }
+        thrown(RuntimeException)
+
+        when:
+        def value = cache.get("a", function)
+
+        then:
+        value == "value a"
+        1 * function.apply("a") >> "value a"
+    }
+}
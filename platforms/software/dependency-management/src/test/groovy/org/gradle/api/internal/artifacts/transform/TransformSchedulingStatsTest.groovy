@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform
+
+import org.gradle.internal.buildoption.DefaultInternalOptions
+import spock.lang.Specification
+
+import java.util.function.LongSupplier
+
+class TransformSchedulingStatsTest extends Specification {
+    long now = 1_000_000_000L
+    LongSupplier clock = { now } as LongSupplier
+
+    def "records time between dependencies being complete and step starting"() {
+        def stats = stats(true)
+        def first = stats.newStepTimer()
+        def second = stats.newStepTimer()
+
+        when:
+        first.dependenciesComplete()
+        now += 10_000_000
+        second.dependenciesComplete()
+        now += 20_000_000
+        // Only the first time dependencies are found complete counts
+        first.dependenciesComplete()
+        first.started()
+        second.started()
+
+        then:
+        stats.report() == """TRANSFORM SCHEDULING STATISTICS
+executed transform steps: 2
+average queueing time: ${TransformSchedulingStats.format(25_000_000)}
+maximum queueing time: ${TransformSchedulingStats.format(30_000_000)}"""
+    }
+
+    def "does not record steps whose dependencies were not found complete"() {
+        def stats = stats(true)
+
+        when:
+        stats.newStepTimer().started()
+
+        then:
+        stats.report() == null
+    }
+
+    def "does not collect statistics when disabled"() {
+        def stats = stats(false)
+        def timer = stats.newStepTimer()
+
+        when:
+        timer.dependenciesComplete()
+        now += 10_000_000
+        timer.started()
+
+        then:
+        stats.report() == null
+    }
+
+    private TransformSchedulingStats stats(boolean enabled) {
+        return new TransformSchedulingStats(new DefaultInternalOptions([(TransformSchedulingStats.STATS.systemPropertyName): String.valueOf(enabled)]), clock)
+    }
+}
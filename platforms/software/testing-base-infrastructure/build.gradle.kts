@@ -21,6 +21,7 @@ dependencies {
 
     api(libs.jspecify)
 
+    implementation(projects.classloaders)
     implementation(projects.io)
     implementation(projects.serviceLookup)
     implementation(projects.serviceProvider)
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Runs a subset of the tests of a test class. The tests of the class are partitioned into {@code shardCount} shards,
+ * and only those of the shard with the given index are executed.
+ * <p>
+ * The partitioning is computed independently by each worker, so it must only depend on the identity of the tests.
+ */
+public class ShardedTestClassRunInfo implements TestClassRunInfo {
+    private final String testClassName;
+    private final int shardIndex;
+    private final int shardCount;
+
+    public ShardedTestClassRunInfo(String testClassName, int shardIndex, int shardCount) {
+        if (StringUtils.isEmpty(testClassName)) {
+            throw new IllegalArgumentException("testClassName is empty!");
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shardIndex " + shardIndex + " is out of range for " + shardCount + " shards");
+        }
+
+        this.testClassName = testClassName;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public String getTestClassName() {
+        return testClassName;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Returns the shard that the test with the given identity belongs to.
+     */
+    public static int shardOf(String testIdentity, int shardCount) {
+        return (testIdentity.hashCode() & Integer.MAX_VALUE) % shardCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ShardedTestClassRunInfo that = (ShardedTestClassRunInfo) o;
+
+        return shardIndex == that.shardIndex && shardCount == that.shardCount && testClassName.equals(that.testClassName);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = testClassName.hashCode();
+        result = 31 * result + shardIndex;
+        result = 31 * result + shardCount;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardedTestClassRunInfo(" + testClassName + ", " + (shardIndex + 1) + "/" + shardCount + ')';
+    }
+}
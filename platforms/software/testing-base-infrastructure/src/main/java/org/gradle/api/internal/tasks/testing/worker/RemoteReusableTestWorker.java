@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+
+/**
+ * Commands sent to a {@link ReusableTestWorker}. A worker runs any number of sessions one after the other, each session
+ * being made of a call to {@link #startSession(TestWorkerSession)}, any number of calls to {@link #processTestClass(TestClassRunInfo)}
+ * and a call to {@link #stopSession()}.
+ */
+public interface RemoteReusableTestWorker {
+    /**
+     * Does not block.
+     */
+    void startSession(TestWorkerSession session);
+
+    /**
+     * Does not block.
+     */
+    void processTestClass(TestClassRunInfo testClass);
+
+    /**
+     * Does not block. Completion is signalled by {@link ReusableTestWorkerResultProcessor#sessionCompleted()} or {@link ReusableTestWorkerResultProcessor#sessionFailed(Throwable)}.
+     */
+    void stopSession();
+
+    /**
+     * Does not block. Stops the worker once the current session, if any, is complete.
+     */
+    void shutdown();
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.Action;
+import org.gradle.api.internal.tasks.testing.TestClassProcessor;
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory;
+import org.gradle.internal.Cast;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.actor.ActorFactory;
+import org.gradle.internal.classloader.VisitableURLClassLoader;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.dispatch.ContextClassLoaderProxy;
+import org.gradle.internal.id.IdGenerator;
+import org.gradle.internal.remote.ObjectConnection;
+import org.gradle.internal.service.CloseableServiceRegistry;
+import org.gradle.internal.time.Clock;
+import org.gradle.process.internal.worker.WorkerProcessContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Processes the tests of several test tasks, one after the other, in the same worker process. See {@link RemoteReusableTestWorker}.
+ * <p>
+ * The test runtime classpath of each session is loaded in its own ClassLoader, which is discarded at the end of the session,
+ * and the system properties are restored at the end of each session.
+ * As with {@link TestWorker}, commands are received on communication threads and then processed sequentially on the main thread.
+ * Any failure stops the worker, so that a worker in an unknown state is never reused.
+ */
+public class ReusableTestWorker implements Action<WorkerProcessContext>, RemoteReusableTestWorker, Serializable {
+    private enum State {IDLE, STARTED, STOPPED}
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReusableTestWorker.class);
+    private static final String WORK_THREAD_NAME = "Test worker";
+
+    private final BlockingQueue<Runnable> runQueue = new ArrayBlockingQueue<Runnable>(1);
+    private transient WorkerProcessContext workerProcessContext;
+    private transient CloseableServiceRegistry testServices;
+    private transient ReusableTestWorkerResultProcessor resultProcessor;
+    private transient Session session;
+
+    /**
+     * Only modified on the main thread, see {@link TestWorker}.
+     */
+    private volatile State state = State.IDLE;
+
+    @Override
+    public void execute(WorkerProcessContext workerProcessContext) {
+        Thread.currentThread().setName(WORK_THREAD_NAME);
+
+        LOGGER.info("{} started executing tests.", workerProcessContext.getDisplayName());
+
+        System.setProperty(TestWorker.WORKER_ID_SYS_PROPERTY, workerProcessContext.getWorkerId().toString());
+
+        this.workerProcessContext = workerProcessContext;
+        this.testServices = TestWorker.TestFrameworkServiceRegistry.create(workerProcessContext);
+
+        ObjectConnection serverConnection = workerProcessContext.getServerConnection();
+        serverConnection.useParameterSerializers(TestEventSerializer.create());
+        this.resultProcessor = serverConnection.addOutgoing(ReusableTestWorkerResultProcessor.class);
+        serverConnection.addIncoming(RemoteReusableTestWorker.class, this);
+        serverConnection.connect();
+
+        try {
+            try {
+                while (state != State.STOPPED) {
+                    executeAndMaintainThreadName(runQueue.take());
+                }
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        } finally {
+            LOGGER.info("{} finished executing tests.", workerProcessContext.getDisplayName());
+
+            synchronized (this) {
+                state = State.STOPPED;
+                runQueue.clear();
+            }
+
+            if (session != null) {
+                session.close();
+            }
+            testServices.close();
+        }
+    }
+
+    private static void executeAndMaintainThreadName(Runnable action) {
+        try {
+            action.run();
+        } finally {
+            // Reset the thread name if the action changes it (e.g. if a test sets the thread name without resetting it afterwards)
+            Thread.currentThread().setName(WORK_THREAD_NAME);
+        }
+    }
+
+    @Override
+    public void startSession(final TestWorkerSession sessionSpec) {
+        submitToRun(new Runnable() {
+            @Override
+            public void run() {
+                if (state != State.IDLE) {
+                    throw new IllegalStateException("A session has already been started");
+                }
+                try {
+                    session = new Session(sessionSpec);
+                    session.start();
+                    state = State.STARTED;
+                } catch (Throwable t) {
+                    failSession(t);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void processTestClass(final TestClassRunInfo testClass) {
+        submitToRun(new Runnable() {
+            @Override
+            public void run() {
+                if (state != State.STARTED) {
+                    throw new IllegalStateException("Test classes cannot be processed until a session has been started");
+                }
+                try {
+                    session.processor.processTestClass(testClass);
+                } catch (Throwable t) {
+                    failSession(t);
+                } finally {
+                    // Clean the interrupted status
+                    Thread.interrupted();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void stopSession() {
+        submitToRun(new Runnable() {
+            @Override
+            public void run() {
+                if (state != State.STARTED) {
+                    throw new IllegalStateException("No session has been started");
+                }
+                try {
+                    session.processor.stop();
+                    session.close();
+                    session = null;
+                    state = State.IDLE;
+                    resultProcessor.sessionCompleted();
+                } catch (Throwable t) {
+                    failSession(t);
+                } finally {
+                    // Clean the interrupted status
+                    // because some test class processors do work here, e.g. JUnitPlatform
+                    Thread.interrupted();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        submitToRun(new Runnable() {
+            @Override
+            public void run() {
+                state = State.STOPPED;
+            }
+        });
+    }
+
+    private void failSession(Throwable failure) {
+        state = State.STOPPED;
+        if (session != null) {
+            session.flushResults();
+        }
+        resultProcessor.sessionFailed(failure);
+    }
+
+    private synchronized void submitToRun(Runnable command) {
+        if (state != State.STOPPED) {
+            try {
+                runQueue.put(command);
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+    }
+
+    private class Session {
+        private final TestWorkerSession spec;
+        private final SecurityManagerRef securityManagerRef = SecurityManagerRef.getOrFake();
+        private final Properties systemProperties = copyOf(System.getProperties());
+        private VisitableURLClassLoader applicationClassLoader;
+        private VisitableURLClassLoader testFrameworkClassLoader;
+        private TestClassProcessor processor;
+        private TestEventBatchWriter resultWriter;
+
+        private Session(TestWorkerSession spec) {
+            this.spec = spec;
+        }
+
+        void start() {
+            System.setProperty(TestWorker.WORKER_TMPDIR_SYS_PROPERTY, spec.getWorkerTmpDir());
+            applicationClassLoader = spec.createApplicationClassLoader();
+            testFrameworkClassLoader = spec.createTestFrameworkClassLoader(applicationClassLoader, ReusableTestWorker.class.getClassLoader());
+
+            WorkerTestClassProcessorFactory factory = spec.getProcessorFactory(testFrameworkClassLoader);
+            TestClassProcessor targetProcessor = factory.create(
+                testServices.get(IdGenerator.class),
+                testServices.get(ActorFactory.class),
+                testServices.get(Clock.class)
+            );
+            // The id generator is shared by all sessions, so that ids remain unique when consecutive forks of a test task use the same worker
+            IdGenerator<Object> idGenerator = Cast.uncheckedNonnullCast(testServices.get(IdGenerator.class));
+            targetProcessor = new WorkerTestClassProcessor(targetProcessor, idGenerator.generateId(),
+                workerProcessContext.getDisplayName(), testServices.get(Clock.class));
+            ContextClassLoaderProxy<TestClassProcessor> proxy = new ContextClassLoaderProxy<TestClassProcessor>(
+                TestClassProcessor.class, targetProcessor, applicationClassLoader);
+            processor = proxy.getSource();
+            // Each session is read by a new reader in the build process, so uses its own writer
+            resultWriter = new TestEventBatchWriter(resultProcessor, testServices.get(ExecutorFactory.class).createScheduled("Test event batch writer", 1));
+            processor.startProcessing(resultWriter);
+        }
+
+        void flushResults() {
+            if (resultWriter != null) {
+                resultWriter.flush();
+            }
+        }
+
+        void close() {
+            // Send the results that have not been sent yet, before the end of the session is signalled
+            if (resultWriter != null) {
+                resultWriter.stop();
+            }
+            // Reset any security manager the tests seem to have installed
+            securityManagerRef.reinstall(LOGGER);
+            // Reset any system properties the tests changed, so that they do not leak into the next session
+            System.setProperties(systemProperties);
+            CompositeStoppable.stoppable(testFrameworkClassLoader, applicationClassLoader).stop();
+        }
+
+        private Properties copyOf(Properties properties) {
+            Properties copy = new Properties();
+            copy.putAll(properties);
+            return copy;
+        }
+    }
+}
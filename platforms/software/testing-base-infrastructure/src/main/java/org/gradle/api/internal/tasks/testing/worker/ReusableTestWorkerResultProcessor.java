@@ -0,0 +1,31 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+/**
+ * Receives the results of the sessions of a {@link ReusableTestWorker}.
+ * <p>
+ * The end of a session is signalled on the same channel as the results, so that all results of a session are received before its end.
+ */
+public interface ReusableTestWorkerResultProcessor extends TestEventBatchReceiver {
+    void sessionCompleted();
+
+    /**
+     * The session could not be run to completion. The worker stops after signalling a failure.
+     */
+    void sessionFailed(Throwable failure);
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+/**
+ * A sequence of encoded test events, sent by a test worker to the build process.
+ * <p>
+ * Sending each event as a separate remote method call costs a message, a method invocation and a full serialization of its parameters.
+ * Instead, a worker encodes its events into batches with a {@link TestEventBatchWriter}, which are decoded by a {@link TestEventBatchReader} in the build process.
+ * The encoding relies on state shared by the writer and the reader of a worker, so batches must be read in the order they have been written:
+ * <ul>
+ *     <li>Strings of test descriptors are sent once and then referenced by their index in a dictionary.</li>
+ *     <li>The ids of running tests are sent once, in the started event, and then referenced by a small handle until the test completes.</li>
+ * </ul>
+ */
+public final class TestEventBatch {
+    static final byte STARTED = 1;
+    static final byte COMPLETED = 2;
+    static final byte OUTPUT = 3;
+    static final byte FAILURE = 4;
+
+    /**
+     * References to test ids, either a handle or one of these codes, followed by the handle or the serialized id.
+     */
+    static final int NULL_ID = 0;
+    static final int EXPLICIT_ID = 1;
+    static final int FIRST_ID_HANDLE = 2;
+
+    /**
+     * References to strings, either a dictionary index or one of these codes, followed by the index or the string.
+     */
+    static final int NULL_STRING = 0;
+    static final int INLINE_STRING = 1;
+    static final int NEW_STRING = 2;
+    static final int FIRST_STRING_INDEX = 3;
+
+    /**
+     * The dictionary is cleared by both sides when it reaches this size, so that a long-running worker uses bounded memory.
+     */
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    /**
+     * Longer strings, such as some parameterized display names, are unlikely to be repeated and are always sent inline.
+     */
+    static final int MAX_DICTIONARY_STRING_LENGTH = 512;
+
+    private final byte[] content;
+    private final int eventCount;
+
+    public TestEventBatch(byte[] content, int eventCount) {
+        this.content = content;
+        this.eventCount = eventCount;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+}
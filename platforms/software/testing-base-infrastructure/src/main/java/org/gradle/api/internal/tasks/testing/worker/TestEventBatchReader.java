@@ -0,0 +1,266 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.tasks.testing.TestFailure;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.api.tasks.testing.TestResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.serialize.AbstractDecoder;
+import org.gradle.internal.serialize.Serializer;
+import org.gradle.internal.serialize.SerializerRegistry;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the {@link TestEventBatch}es written by the {@link TestEventBatchWriter} of a single test worker.
+ * <p>
+ * Not thread-safe. Batches must be read in the order they have been received.
+ */
+public class TestEventBatchReader {
+    private static final TestResult.ResultType[] RESULT_TYPES = TestResult.ResultType.values();
+    private static final TestOutputEvent.Destination[] DESTINATIONS = TestOutputEvent.Destination.values();
+
+    private final Serializer<TestDescriptorInternal> descriptorSerializer;
+    private final Serializer<Object> idSerializer;
+    private final Serializer<TestFailure> failureSerializer;
+    private final KryoBackedDecoder input = new KryoBackedDecoder(new ByteArrayInputStream(new byte[0]));
+    private final StringDictionaryDecoder decoder = new StringDictionaryDecoder(input);
+    private final List<Object> idsByHandle = new ArrayList<Object>();
+
+    public TestEventBatchReader() {
+        SerializerRegistry registry = TestEventSerializer.create();
+        this.descriptorSerializer = registry.build(TestDescriptorInternal.class);
+        this.idSerializer = registry.build(Object.class);
+        this.failureSerializer = registry.build(TestFailure.class);
+    }
+
+    /**
+     * Notifies the given processor of the events of the given batch.
+     * <p>
+     * When the processor supports it, the whole batch is handed over to it instead. See {@link TestResultBatchProcessor}.
+     */
+    public void dispatch(TestEventBatch batch, TestResultProcessor processor) {
+        if (processor instanceof TestResultBatchProcessor) {
+            ((TestResultBatchProcessor) processor).processBatch(this, batch);
+        } else {
+            read(batch, processor);
+        }
+    }
+
+    /**
+     * Notifies the given processor of the events of the given batch.
+     */
+    public void read(TestEventBatch batch, TestResultProcessor processor) {
+        input.restart(new ByteArrayInputStream(batch.getContent()));
+        try {
+            for (int i = 0; i < batch.getEventCount(); i++) {
+                readEvent(processor);
+            }
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private void readEvent(TestResultProcessor processor) throws Exception {
+        byte type = input.readByte();
+        switch (type) {
+            case TestEventBatch.STARTED: {
+                int handle = input.readSmallInt();
+                TestDescriptorInternal test = descriptorSerializer.read(decoder);
+                long startTime = input.readSmallLong();
+                Object parentId = readId();
+                setId(handle, test.getId());
+                processor.started(test, new TestStartEvent(startTime, parentId));
+                break;
+            }
+            case TestEventBatch.COMPLETED: {
+                int reference = input.readSmallInt();
+                Object testId = readId(reference);
+                long endTime = input.readSmallLong();
+                int resultType = input.readSmallInt();
+                processor.completed(testId, new TestCompleteEvent(endTime, resultType == 0 ? null : RESULT_TYPES[resultType - 1]));
+                if (reference >= TestEventBatch.FIRST_ID_HANDLE) {
+                    idsByHandle.set(reference - TestEventBatch.FIRST_ID_HANDLE, null);
+                }
+                break;
+            }
+            case TestEventBatch.OUTPUT: {
+                Object testId = readId();
+                long logTime = input.readSmallLong();
+                TestOutputEvent.Destination destination = DESTINATIONS[input.readSmallInt()];
+                String message = input.readString();
+                processor.output(testId, new DefaultTestOutputEvent(logTime, destination, message));
+                break;
+            }
+            case TestEventBatch.FAILURE: {
+                Object testId = readId();
+                byte[] failureContent = input.readBinary();
+                TestFailure failure = failureSerializer.read(new KryoBackedDecoder(new ByteArrayInputStream(failureContent)));
+                processor.failure(testId, failure);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected test event type %d found.", type));
+        }
+    }
+
+    @Nullable
+    private Object readId() throws Exception {
+        return readId(input.readSmallInt());
+    }
+
+    @Nullable
+    private Object readId(int reference) throws Exception {
+        if (reference == TestEventBatch.NULL_ID) {
+            return null;
+        }
+        if (reference == TestEventBatch.EXPLICIT_ID) {
+            return idSerializer.read(decoder);
+        }
+        return idsByHandle.get(reference - TestEventBatch.FIRST_ID_HANDLE);
+    }
+
+    private void setId(int handle, Object id) {
+        int index = handle - TestEventBatch.FIRST_ID_HANDLE;
+        while (idsByHandle.size() <= index) {
+            idsByHandle.add(null);
+        }
+        idsByHandle.set(index, id);
+    }
+
+    /**
+     * Reads strings written by the {@code StringDictionaryEncoder} of {@link TestEventBatchWriter}.
+     */
+    private static class StringDictionaryDecoder extends AbstractDecoder {
+        private final KryoBackedDecoder delegate;
+        private final List<String> strings = new ArrayList<String>();
+
+        StringDictionaryDecoder(KryoBackedDecoder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String readString() throws EOFException {
+            String value = readNullableString();
+            if (value == null) {
+                throw new IllegalStateException("Unexpected null string found.");
+            }
+            return value;
+        }
+
+        @Nullable
+        @Override
+        public String readNullableString() throws EOFException {
+            int code = delegate.readSmallInt();
+            switch (code) {
+                case TestEventBatch.NULL_STRING:
+                    return null;
+                case TestEventBatch.INLINE_STRING:
+                    return delegate.readString();
+                case TestEventBatch.NEW_STRING:
+                    if (strings.size() == TestEventBatch.MAX_DICTIONARY_SIZE) {
+                        strings.clear();
+                    }
+                    String value = delegate.readString();
+                    strings.add(value);
+                    return value;
+                default:
+                    return strings.get(code - TestEventBatch.FIRST_STRING_INDEX);
+            }
+        }
+
+        @Override
+        public byte readByte() throws EOFException {
+            return delegate.readByte();
+        }
+
+        @Override
+        public void readBytes(byte[] buffer, int offset, int count) throws EOFException {
+            delegate.readBytes(buffer, offset, count);
+        }
+
+        @Override
+        public long readLong() throws EOFException {
+            return delegate.readLong();
+        }
+
+        @Override
+        public long readSmallLong() throws EOFException, IOException {
+            return delegate.readSmallLong();
+        }
+
+        @Override
+        public int readInt() throws EOFException {
+            return delegate.readInt();
+        }
+
+        @Override
+        public int readSmallInt() throws EOFException {
+            return delegate.readSmallInt();
+        }
+
+        @Override
+        public short readShort() throws EOFException, IOException {
+            return delegate.readShort();
+        }
+
+        @Override
+        public float readFloat() throws EOFException, IOException {
+            return delegate.readFloat();
+        }
+
+        @Override
+        public double readDouble() throws EOFException, IOException {
+            return delegate.readDouble();
+        }
+
+        @Override
+        public boolean readBoolean() throws EOFException {
+            return delegate.readBoolean();
+        }
+
+        @Override
+        public void skipBytes(long count) throws EOFException, IOException {
+            delegate.skipBytes(count);
+        }
+
+        // A batch always contains complete events, so running out of content is an error rather than the end of the stream
+        @Override
+        protected int maybeReadBytes(byte[] buffer, int offset, int count) throws IOException {
+            delegate.readBytes(buffer, offset, count);
+            return count;
+        }
+
+        @Override
+        protected long maybeSkip(long count) throws IOException {
+            delegate.skipBytes(count);
+            return count;
+        }
+    }
+}
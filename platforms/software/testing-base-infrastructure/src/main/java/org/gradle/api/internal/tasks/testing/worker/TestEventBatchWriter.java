@@ -0,0 +1,370 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.tasks.testing.TestFailure;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.api.tasks.testing.TestResult;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ManagedScheduledExecutor;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.serialize.AbstractEncoder;
+import org.gradle.internal.serialize.Serializer;
+import org.gradle.internal.serialize.SerializerRegistry;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes the events reported by a test worker into {@link TestEventBatch}es.
+ * <p>
+ * A batch is sent when it reaches a given size, when the writer is stopped, or shortly after its first event was written,
+ * so that the build process still reports progress promptly when tests are slow. Pending events are also sent when the
+ * worker process exits without stopping the writer, for example when a test calls {@link System#exit(int)}, so that the
+ * build process can still tell which test was running.
+ * Each event is encoded on its own first and only added to the batch once complete, so that an event that cannot be
+ * serialized does not leave a partial record in the batch.
+ * Test frameworks may report events from several threads, so all methods are synchronized.
+ */
+public class TestEventBatchWriter implements TestResultProcessor, Stoppable {
+    private static final int MAX_BATCH_SIZE = 32 * 1024;
+    private static final long MAX_BATCH_DELAY_MILLIS = 100;
+
+    private final TestEventBatchReceiver receiver;
+    private final ManagedScheduledExecutor flushExecutor;
+    private final Serializer<TestDescriptorInternal> descriptorSerializer;
+    private final Serializer<Object> idSerializer;
+    private final Serializer<TestFailure> failureSerializer;
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream(MAX_BATCH_SIZE + 4096);
+    private final KryoBackedEncoder output = new KryoBackedEncoder(content);
+    private final ByteArrayOutputStream eventContent = new ByteArrayOutputStream(4096);
+    private final KryoBackedEncoder eventOutput = new KryoBackedEncoder(eventContent);
+    private final StringDictionaryEncoder encoder = new StringDictionaryEncoder(eventOutput);
+    private final Map<Object, Integer> handles = new HashMap<Object, Integer>();
+    private final Deque<Integer> freeHandles = new ArrayDeque<Integer>();
+    private final Thread shutdownHook = new Thread(this::flush, "Test event batch writer shutdown hook");
+    private int nextHandle = TestEventBatch.FIRST_ID_HANDLE;
+    private long batchStart;
+    private int eventCount;
+    private boolean stopped;
+
+    public TestEventBatchWriter(TestEventBatchReceiver receiver, ManagedScheduledExecutor flushExecutor) {
+        this.receiver = receiver;
+        this.flushExecutor = flushExecutor;
+        SerializerRegistry registry = TestEventSerializer.create();
+        this.descriptorSerializer = registry.build(TestDescriptorInternal.class);
+        this.idSerializer = registry.build(Object.class);
+        this.failureSerializer = registry.build(TestFailure.class);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public synchronized void started(TestDescriptorInternal test, TestStartEvent event) {
+        try {
+            Integer freeHandle = freeHandles.peek();
+            int handle = freeHandle == null ? nextHandle : freeHandle;
+            startEvent(TestEventBatch.STARTED);
+            eventOutput.writeSmallInt(handle);
+            descriptorSerializer.write(encoder, test);
+            eventOutput.writeSmallLong(event.getStartTime());
+            writeId(event.getParentId());
+            endEvent();
+            // Only take the handle once the event is in the batch, so that it is not lost when the descriptor cannot be serialized
+            if (freeHandle == null) {
+                nextHandle++;
+            } else {
+                freeHandles.poll();
+            }
+            handles.put(test.getId(), handle);
+        } catch (Exception e) {
+            discardEvent();
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    @Override
+    public synchronized void completed(Object testId, TestCompleteEvent event) {
+        try {
+            startEvent(TestEventBatch.COMPLETED);
+            writeId(testId);
+            eventOutput.writeSmallLong(event.getEndTime());
+            TestResult.ResultType resultType = event.getResultType();
+            eventOutput.writeSmallInt(resultType == null ? 0 : resultType.ordinal() + 1);
+            endEvent();
+            // The reader releases the handle once it has read this event, so it can be reused for the next test
+            Integer handle = handles.remove(testId);
+            if (handle != null) {
+                freeHandles.push(handle);
+            }
+        } catch (Exception e) {
+            discardEvent();
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    @Override
+    public synchronized void output(Object testId, TestOutputEvent event) {
+        try {
+            startEvent(TestEventBatch.OUTPUT);
+            writeId(testId);
+            eventOutput.writeSmallLong(event.getLogTime());
+            eventOutput.writeSmallInt(event.getDestination().ordinal());
+            // Output is rarely repeated, so is not added to the dictionary
+            eventOutput.writeString(event.getMessage());
+            endEvent();
+        } catch (Exception e) {
+            discardEvent();
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    @Override
+    public synchronized void failure(Object testId, TestFailure result) {
+        try {
+            ByteArrayOutputStream failureContent = new ByteArrayOutputStream();
+            KryoBackedEncoder failureEncoder = new KryoBackedEncoder(failureContent);
+            failureSerializer.write(failureEncoder, result);
+            failureEncoder.flush();
+
+            startEvent(TestEventBatch.FAILURE);
+            writeId(testId);
+            eventOutput.writeBinary(failureContent.toByteArray());
+            endEvent();
+        } catch (Exception e) {
+            discardEvent();
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private void writeId(@Nullable Object testId) throws Exception {
+        if (testId == null) {
+            eventOutput.writeSmallInt(TestEventBatch.NULL_ID);
+            return;
+        }
+        Integer handle = handles.get(testId);
+        if (handle != null) {
+            eventOutput.writeSmallInt(handle);
+        } else {
+            eventOutput.writeSmallInt(TestEventBatch.EXPLICIT_ID);
+            idSerializer.write(encoder, testId);
+        }
+    }
+
+    private void startEvent(byte type) {
+        eventOutput.writeByte(type);
+    }
+
+    private void endEvent() throws IOException {
+        eventOutput.flush();
+        if (eventCount == 0 && !stopped) {
+            batchStart = output.getWritePosition();
+            flushExecutor.schedule(this::flush, MAX_BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        eventContent.writeTo(output.getOutputStream());
+        eventContent.reset();
+        encoder.commit();
+        eventCount++;
+        if (stopped || output.getWritePosition() - batchStart >= MAX_BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    private void discardEvent() {
+        eventOutput.flush();
+        eventContent.reset();
+        encoder.rollback();
+    }
+
+    /**
+     * Sends the events written so far, if any.
+     */
+    public synchronized void flush() {
+        if (eventCount == 0) {
+            return;
+        }
+        output.flush();
+        TestEventBatch batch = new TestEventBatch(content.toByteArray(), eventCount);
+        content.reset();
+        eventCount = 0;
+        receiver.processBatch(batch);
+    }
+
+    /**
+     * Sends any pending events. Events reported later on, for example by threads leaked by tests, are sent immediately.
+     */
+    @Override
+    public void stop() {
+        flushExecutor.shutdownNow();
+        synchronized (this) {
+            flush();
+            stopped = true;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The process is already exiting, and the shutdown hook has nothing left to send
+        }
+    }
+
+    /**
+     * The hook that sends pending events when the process exits before the writer is stopped.
+     */
+    Thread getShutdownHook() {
+        return shutdownHook;
+    }
+
+    /**
+     * Writes strings as references to a dictionary, see {@link TestEventBatch}.
+     * <p>
+     * The strings added while writing an event only become part of the dictionary when the event is committed,
+     * so that the dictionary stays in sync with the reader's when an event is discarded.
+     */
+    private static class StringDictionaryEncoder extends AbstractEncoder {
+        private final KryoBackedEncoder delegate;
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+        private final Map<String, Integer> pendingStrings = new HashMap<String, Integer>();
+        private boolean pendingClear;
+
+        StringDictionaryEncoder(KryoBackedEncoder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void writeString(CharSequence value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Cannot encode a null string.");
+            }
+            writeNonnullString(value.toString());
+        }
+
+        @Override
+        public void writeNullableString(@Nullable CharSequence value) {
+            if (value == null) {
+                delegate.writeSmallInt(TestEventBatch.NULL_STRING);
+            } else {
+                writeNonnullString(value.toString());
+            }
+        }
+
+        private void writeNonnullString(String value) {
+            if (value.length() > TestEventBatch.MAX_DICTIONARY_STRING_LENGTH) {
+                delegate.writeSmallInt(TestEventBatch.INLINE_STRING);
+                delegate.writeString(value);
+                return;
+            }
+            Integer index = pendingStrings.get(value);
+            if (index == null && !pendingClear) {
+                index = strings.get(value);
+            }
+            if (index != null) {
+                delegate.writeSmallInt(index);
+                return;
+            }
+            int size = (pendingClear ? 0 : strings.size()) + pendingStrings.size();
+            if (size == TestEventBatch.MAX_DICTIONARY_SIZE) {
+                // The reader clears its dictionary when it reads this string
+                pendingClear = true;
+                pendingStrings.clear();
+                size = 0;
+            }
+            pendingStrings.put(value, size + TestEventBatch.FIRST_STRING_INDEX);
+            delegate.writeSmallInt(TestEventBatch.NEW_STRING);
+            delegate.writeString(value);
+        }
+
+        /**
+         * Adds the strings written since the last commit to the dictionary.
+         */
+        void commit() {
+            if (pendingClear) {
+                strings.clear();
+                pendingClear = false;
+            }
+            strings.putAll(pendingStrings);
+            pendingStrings.clear();
+        }
+
+        /**
+         * Forgets the strings written since the last commit.
+         */
+        void rollback() {
+            pendingClear = false;
+            pendingStrings.clear();
+        }
+
+        @Override
+        public void writeByte(byte value) {
+            delegate.writeByte(value);
+        }
+
+        @Override
+        public void writeBytes(byte[] bytes, int offset, int count) {
+            delegate.writeBytes(bytes, offset, count);
+        }
+
+        @Override
+        public void writeLong(long value) {
+            delegate.writeLong(value);
+        }
+
+        @Override
+        public void writeSmallLong(long value) {
+            delegate.writeSmallLong(value);
+        }
+
+        @Override
+        public void writeInt(int value) {
+            delegate.writeInt(value);
+        }
+
+        @Override
+        public void writeSmallInt(int value) {
+            delegate.writeSmallInt(value);
+        }
+
+        @Override
+        public void writeShort(short value) throws IOException {
+            delegate.writeShort(value);
+        }
+
+        @Override
+        public void writeFloat(float value) throws IOException {
+            delegate.writeFloat(value);
+        }
+
+        @Override
+        public void writeDouble(double value) throws IOException {
+            delegate.writeDouble(value);
+        }
+
+        @Override
+        public void writeBoolean(boolean value) {
+            delegate.writeBoolean(value);
+        }
+    }
+}
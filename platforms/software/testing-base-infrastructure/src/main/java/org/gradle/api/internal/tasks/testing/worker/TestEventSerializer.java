@@ -29,6 +29,7 @@
 import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent;
 import org.gradle.api.internal.tasks.testing.DefaultTestSuiteDescriptor;
 import org.gradle.api.internal.tasks.testing.FileComparisonFailureDetails;
+import org.gradle.api.internal.tasks.testing.ShardedTestClassRunInfo;
 import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
 import org.gradle.api.internal.tasks.testing.TestFailureSerializationException;
 import org.gradle.api.internal.tasks.testing.TestStartEvent;
@@ -54,6 +55,7 @@ public static SerializerRegistry create() {
         BaseSerializerFactory factory = new BaseSerializerFactory();
         DefaultSerializerRegistry registry = new DefaultSerializerRegistry();
         registry.register(DefaultTestClassRunInfo.class, new DefaultTestClassRunInfoSerializer());
+        registry.register(ShardedTestClassRunInfo.class, new ShardedTestClassRunInfoSerializer());
         registry.register(CompositeIdGenerator.CompositeId.class, new IdSerializer());
         registry.register(DefaultNestedTestSuiteDescriptor.class, new DefaultNestedTestSuiteDescriptorSerializer());
         registry.register(DefaultParameterizedTestDescriptor.class, new DefaultParameterizedTestDescriptorSerializer());
@@ -68,6 +70,7 @@ public static SerializerRegistry create() {
         Serializer<Throwable> throwableSerializer = factory.getSerializerFor(Throwable.class);
         registry.register(Throwable.class, throwableSerializer);
         registry.register(TestFailure.class, new DefaultTestFailureSerializer(throwableSerializer));
+        registry.register(TestEventBatch.class, new TestEventBatchSerializer());
         return registry;
     }
 
@@ -108,6 +111,21 @@ public void write(Encoder encoder, CompositeIdGenerator.CompositeId value) throw
         }
     }
 
+    private static class TestEventBatchSerializer implements Serializer<TestEventBatch> {
+        @Override
+        public TestEventBatch read(Decoder decoder) throws Exception {
+            int eventCount = decoder.readSmallInt();
+            byte[] content = decoder.readBinary();
+            return new TestEventBatch(content, eventCount);
+        }
+
+        @Override
+        public void write(Encoder encoder, TestEventBatch value) throws Exception {
+            encoder.writeSmallInt(value.getEventCount());
+            encoder.writeBinary(value.getContent());
+        }
+    }
+
     private static class DefaultTestClassRunInfoSerializer implements Serializer<DefaultTestClassRunInfo> {
         @Override
         public DefaultTestClassRunInfo read(Decoder decoder) throws Exception {
@@ -120,6 +138,23 @@ public void write(Encoder encoder, DefaultTestClassRunInfo value) throws Excepti
         }
     }
 
+    private static class ShardedTestClassRunInfoSerializer implements Serializer<ShardedTestClassRunInfo> {
+        @Override
+        public ShardedTestClassRunInfo read(Decoder decoder) throws Exception {
+            String testClassName = decoder.readString();
+            int shardIndex = decoder.readSmallInt();
+            int shardCount = decoder.readSmallInt();
+            return new ShardedTestClassRunInfo(testClassName, shardIndex, shardCount);
+        }
+
+        @Override
+        public void write(Encoder encoder, ShardedTestClassRunInfo value) throws Exception {
+            encoder.writeString(value.getTestClassName());
+            encoder.writeSmallInt(value.getShardIndex());
+            encoder.writeSmallInt(value.getShardCount());
+        }
+    }
+
     private static class TestStartEventSerializer implements Serializer<TestStartEvent> {
         final Serializer<CompositeIdGenerator.CompositeId> idSerializer = new NullableSerializer<CompositeIdGenerator.CompositeId>(new IdSerializer());
 
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+
+/**
+ * A {@link TestResultProcessor} that can also decode the batches of events sent by test workers.
+ * <p>
+ * This allows a batch to be handed over to the thread processing the results as a whole, rather than event by event.
+ */
+public interface TestResultBatchProcessor extends TestResultProcessor {
+    /**
+     * Decodes the given batch with the reader of the worker that sent it, notifying this processor of its events.
+     * Batches of the same worker must be processed in the order they have been received.
+     */
+    void processBatch(TestEventBatchReader reader, TestEventBatch batch);
+}
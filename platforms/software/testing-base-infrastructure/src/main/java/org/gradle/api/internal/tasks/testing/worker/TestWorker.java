@@ -19,7 +19,6 @@
 import org.gradle.api.Action;
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
-import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory;
 import org.gradle.internal.Cast;
 import org.gradle.internal.UncheckedException;
@@ -71,7 +70,7 @@ private enum State {INITIALIZING, STARTED, STOPPED}
     private final WorkerTestClassProcessorFactory factory;
     private final BlockingQueue<Runnable> runQueue = new ArrayBlockingQueue<Runnable>(1);
     private TestClassProcessor processor;
-    private TestResultProcessor resultProcessor;
+    private TestEventBatchWriter resultProcessor;
 
     /**
      * Note that the state object is not synchronized and not thread-safe.  Any modifications to the
@@ -115,6 +114,11 @@ public void execute(final WorkerProcessContext workerProcessContext) {
                 runQueue.clear();
             }
 
+            // Send the results that have not been sent yet
+            if (resultProcessor != null) {
+                resultProcessor.stop();
+            }
+
             // Reset any security manager the tests seem to have installed
             securityManagerRef.reinstall(LOGGER);
             testServices.close();
@@ -146,7 +150,10 @@ private void startReceivingTests(WorkerProcessContext workerProcessContext, Serv
 
         ObjectConnection serverConnection = workerProcessContext.getServerConnection();
         serverConnection.useParameterSerializers(TestEventSerializer.create());
-        this.resultProcessor = serverConnection.addOutgoing(TestResultProcessor.class);
+        this.resultProcessor = new TestEventBatchWriter(
+            serverConnection.addOutgoing(TestEventBatchReceiver.class),
+            testServices.get(ExecutorFactory.class).createScheduled("Test event batch writer", 1)
+        );
         serverConnection.addIncoming(RemoteTestClassProcessor.class, this);
         serverConnection.connect();
     }
@@ -212,7 +219,7 @@ private synchronized void submitToRun(Runnable command) {
         }
     }
 
-    private static class TestFrameworkServiceRegistry implements ServiceRegistrationProvider {
+    static class TestFrameworkServiceRegistry implements ServiceRegistrationProvider {
 
         public static CloseableServiceRegistry create(WorkerProcessContext workerProcessContext) {
             return ServiceRegistryBuilder.builder()
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classloader.ClassLoaderUtils;
+import org.gradle.internal.classloader.FilteringClassLoader;
+import org.gradle.internal.classloader.MultiParentClassLoader;
+import org.gradle.internal.classloader.VisitableURLClassLoader;
+import org.gradle.internal.serialize.ClassLoaderObjectInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * Everything a {@link ReusableTestWorker} needs to run the tests of one test task.
+ * <p>
+ * A regular test worker has the test runtime classpath on its system ClassLoader. A reusable test worker instead
+ * loads it in a ClassLoader per session, and loads the test framework integration on top of it, the same way the
+ * worker process loads its implementation classpath on top of the system ClassLoader.
+ */
+public class TestWorkerSession implements Serializable {
+    /**
+     * Packages of the test framework integration, which must be loaded next to the test runtime classpath of each session
+     * rather than from the implementation classpath of the worker.
+     */
+    private static final String[] TEST_FRAMEWORK_PACKAGES = {
+        "org.gradle.api.internal.tasks.testing.failure",
+        "org.gradle.api.internal.tasks.testing.junit",
+        "org.gradle.api.internal.tasks.testing.junitplatform",
+        "org.gradle.api.internal.tasks.testing.testng"
+    };
+
+    /**
+     * Packages of the implementation classpath that the test framework integration links against.
+     */
+    private static final String[] IMPLEMENTATION_PACKAGES = {
+        "org.gradle",
+        "org.slf4j",
+        "org.jspecify",
+        "javax.annotation"
+    };
+
+    private final List<URL> applicationClasspath;
+    private final List<URL> testFrameworkClasspath;
+    private final List<String> sharedPackages;
+    private final byte[] serializedProcessorFactory;
+    private final String workerTmpDir;
+
+    public TestWorkerSession(List<URL> applicationClasspath, List<URL> testFrameworkClasspath, List<String> sharedPackages, WorkerTestClassProcessorFactory processorFactory, String workerTmpDir) {
+        this.applicationClasspath = applicationClasspath;
+        this.testFrameworkClasspath = testFrameworkClasspath;
+        this.sharedPackages = sharedPackages;
+        this.serializedProcessorFactory = serialize(processorFactory);
+        this.workerTmpDir = workerTmpDir;
+    }
+
+    public String getWorkerTmpDir() {
+        return workerTmpDir;
+    }
+
+    /**
+     * Creates the ClassLoader for the test runtime classpath of this session.
+     */
+    VisitableURLClassLoader createApplicationClassLoader() {
+        return new VisitableURLClassLoader("test-session-application", ClassLoaderUtils.getPlatformClassLoader(), applicationClasspath);
+    }
+
+    /**
+     * Creates the ClassLoader for the test framework integration, which sees the shared packages of the test runtime classpath
+     * and the Gradle infrastructure of the worker.
+     */
+    VisitableURLClassLoader createTestFrameworkClassLoader(ClassLoader applicationClassLoader, ClassLoader implementationClassLoader) {
+        FilteringClassLoader.Spec applicationSpec = new FilteringClassLoader.Spec();
+        for (String sharedPackage : sharedPackages) {
+            applicationSpec.allowPackage(sharedPackage);
+        }
+        FilteringClassLoader.Spec implementationSpec = new FilteringClassLoader.Spec();
+        for (String implementationPackage : IMPLEMENTATION_PACKAGES) {
+            implementationSpec.allowPackage(implementationPackage);
+        }
+        for (String testFrameworkPackage : TEST_FRAMEWORK_PACKAGES) {
+            implementationSpec.disallowPackage(testFrameworkPackage);
+        }
+        ClassLoader parent = new MultiParentClassLoader(
+            new FilteringClassLoader(applicationClassLoader, applicationSpec),
+            new FilteringClassLoader(implementationClassLoader, implementationSpec)
+        );
+        return new VisitableURLClassLoader("test-session-framework", parent, testFrameworkClasspath);
+    }
+
+    WorkerTestClassProcessorFactory getProcessorFactory(ClassLoader testFrameworkClassLoader) {
+        try {
+            ObjectInputStream inputStream = new ClassLoaderObjectInputStream(new ByteArrayInputStream(serializedProcessorFactory), testFrameworkClassLoader);
+            try {
+                return (WorkerTestClassProcessorFactory) inputStream.readObject();
+            } finally {
+                inputStream.close();
+            }
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static byte[] serialize(WorkerTestClassProcessorFactory processorFactory) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            ObjectOutputStream outputStream = new ObjectOutputStream(bytes);
+            outputStream.writeObject(processorFactory);
+            outputStream.close();
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
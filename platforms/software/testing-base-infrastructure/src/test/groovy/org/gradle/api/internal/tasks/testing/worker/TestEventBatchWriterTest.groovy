@@ -0,0 +1,219 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker
+
+import org.gradle.api.internal.tasks.testing.DefaultTestClassDescriptor
+import org.gradle.api.internal.tasks.testing.DefaultTestMethodDescriptor
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.api.internal.tasks.testing.TestStartEvent
+import org.gradle.api.tasks.testing.TestFailure
+import org.gradle.api.tasks.testing.TestOutputEvent
+import org.gradle.api.tasks.testing.TestResult
+import org.gradle.internal.concurrent.ManagedScheduledExecutor
+import org.gradle.internal.id.CompositeIdGenerator
+import spock.lang.Specification
+
+class TestEventBatchWriterTest extends Specification {
+    def batches = []
+    def flushExecutor = Mock(ManagedScheduledExecutor)
+    def writer = new TestEventBatchWriter({ batches << it } as TestEventBatchReceiver, flushExecutor)
+    def reader = new TestEventBatchReader()
+    def processor = Mock(TestResultProcessor)
+
+    def classId = new CompositeIdGenerator.CompositeId(1L, 1L)
+    def methodId = new CompositeIdGenerator.CompositeId(1L, 2L)
+
+    def cleanup() {
+        writer.stop()
+    }
+
+    def "writes events that are read back in order"() {
+        def failure = TestFailure.fromTestAssertionFailure(new RuntimeException("broken"), 'expected', 'actual')
+
+        when:
+        writer.started(new DefaultTestClassDescriptor(classId, "org.gradle.SomeTest"), new TestStartEvent(100L, null))
+        writer.started(new DefaultTestMethodDescriptor(methodId, "org.gradle.SomeTest", "someMethod"), new TestStartEvent(101L, classId))
+        writer.output(methodId, new DefaultTestOutputEvent(102L, TestOutputEvent.Destination.StdErr, "some output"))
+        writer.failure(methodId, failure)
+        writer.completed(methodId, new TestCompleteEvent(103L, TestResult.ResultType.FAILURE))
+        writer.completed(classId, new TestCompleteEvent(104L))
+        writer.stop()
+
+        then:
+        batches.size() == 1
+        batches[0].eventCount == 6
+
+        when:
+        reader.read(batches[0], processor)
+
+        then:
+        1 * processor.started({ it.id == classId && it.className == "org.gradle.SomeTest" }, { it.startTime == 100L && it.parentId == null })
+
+        then:
+        1 * processor.started({ it.id == methodId && it.name == "someMethod" }, { it.startTime == 101L && it.parentId == classId })
+
+        then:
+        1 * processor.output(methodId, { it.logTime == 102L && it.destination == TestOutputEvent.Destination.StdErr && it.message == "some output" })
+
+        then:
+        1 * processor.failure(methodId, { it.rawFailure.message == "broken" && it.details.expected == 'expected' && it.details.actual == 'actual' })
+
+        then:
+        1 * processor.completed(methodId, { it.endTime == 103L && it.resultType == TestResult.ResultType.FAILURE })
+
+        then:
+        1 * processor.completed(classId, { it.endTime == 104L && it.resultType == null })
+        0 * processor._
+    }
+
+    def "sends strings and ids of running tests only once"() {
+        when:
+        writer.started(new DefaultTestClassDescriptor(classId, "org.gradle.SomeTest"), new TestStartEvent(100L, null))
+        writer.flush()
+        (1..10).each {
+            def id = new CompositeIdGenerator.CompositeId(1L, it + 1L)
+            writer.started(new DefaultTestMethodDescriptor(id, "org.gradle.SomeTest", "someMethod"), new TestStartEvent(100L, classId))
+            writer.completed(id, new TestCompleteEvent(100L, TestResult.ResultType.SUCCESS))
+            writer.flush()
+        }
+        writer.completed(classId, new TestCompleteEvent(100L))
+        writer.stop()
+
+        then:
+        batches.size() == 12
+        batches[2].content.length < batches[1].content.length
+        batches[2..10].every { it.content.length == batches[2].content.length }
+
+        when:
+        batches.each { reader.read(it, processor) }
+
+        then:
+        10 * processor.started({ it.className == "org.gradle.SomeTest" && it.name == "someMethod" }, { it.parentId == classId })
+        10 * processor.completed({ it.scope == 1L && it.id > 1L }, _)
+        1 * processor.completed(classId, _)
+    }
+
+    def "sends events of completed tests with their id"() {
+        when:
+        writer.started(new DefaultTestClassDescriptor(classId, "org.gradle.SomeTest"), new TestStartEvent(100L, null))
+        writer.completed(classId, new TestCompleteEvent(104L))
+        writer.output(classId, new DefaultTestOutputEvent(105L, TestOutputEvent.Destination.StdOut, "late output"))
+        writer.stop()
+        reader.read(batches[0], processor)
+
+        then:
+        1 * processor.output(classId, { it.message == "late output" })
+    }
+
+    def "does not write a partial event when a test descriptor cannot be serialized"() {
+        def brokenId = new CompositeIdGenerator.CompositeId(1L, 3L)
+
+        when:
+        writer.started(new DefaultTestClassDescriptor(classId, "org.gradle.SomeTest"), new TestStartEvent(100L, null))
+        // The class name is written before the missing method name is found
+        writer.started(new DefaultTestMethodDescriptor(brokenId, "org.gradle.OtherTest", null), new TestStartEvent(101L, classId))
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        writer.started(new DefaultTestMethodDescriptor(methodId, "org.gradle.OtherTest", "someMethod"), new TestStartEvent(102L, classId))
+        writer.completed(methodId, new TestCompleteEvent(103L, TestResult.ResultType.SUCCESS))
+        writer.completed(classId, new TestCompleteEvent(104L))
+        writer.stop()
+
+        then:
+        batches.size() == 1
+        batches[0].eventCount == 4
+
+        when:
+        reader.read(batches[0], processor)
+
+        then:
+        1 * processor.started({ it.id == classId }, _)
+
+        then:
+        1 * processor.started({ it.id == methodId && it.className == "org.gradle.OtherTest" && it.name == "someMethod" }, { it.startTime == 102L && it.parentId == classId })
+
+        then:
+        1 * processor.completed(methodId, { it.endTime == 103L })
+
+        then:
+        1 * processor.completed(classId, { it.endTime == 104L })
+        0 * processor._
+    }
+
+    def "sends a batch once it is large enough"() {
+        when:
+        (1..1000).each {
+            writer.output(classId, new DefaultTestOutputEvent(100L, TestOutputEvent.Destination.StdOut, "x" * 100))
+        }
+
+        then:
+        batches.size() > 1
+    }
+
+    def "sends events written after stop immediately"() {
+        when:
+        writer.stop()
+        writer.output(classId, new DefaultTestOutputEvent(100L, TestOutputEvent.Destination.StdOut, "output"))
+
+        then:
+        batches.size() == 1
+        0 * flushExecutor.schedule(_, _, _)
+    }
+
+    def "sends pending events when the process exits before the writer is stopped"() {
+        when:
+        writer.started(new DefaultTestClassDescriptor(classId, "org.gradle.SomeTest"), new TestStartEvent(100L, null))
+        writer.output(classId, new DefaultTestOutputEvent(101L, TestOutputEvent.Destination.StdOut, "exiting"))
+
+        then:
+        batches.isEmpty()
+
+        when:
+        writer.shutdownHook.run()
+        reader.read(batches[0], processor)
+
+        then:
+        batches.size() == 1
+        1 * processor.started({ it.id == classId }, _)
+        1 * processor.output(classId, { it.message == "exiting" })
+    }
+
+    def "removes its shutdown hook when stopped"() {
+        when:
+        writer.stop()
+
+        then:
+        !Runtime.runtime.removeShutdownHook(writer.shutdownHook)
+    }
+
+    def "hands batches over to processors that can decode them"() {
+        def batchProcessor = Mock(TestResultBatchProcessor)
+        def batch = new TestEventBatch(new byte[0], 0)
+
+        when:
+        reader.dispatch(batch, batchProcessor)
+
+        then:
+        1 * batchProcessor.processBatch(reader, batch)
+        0 * batchProcessor._
+    }
+}
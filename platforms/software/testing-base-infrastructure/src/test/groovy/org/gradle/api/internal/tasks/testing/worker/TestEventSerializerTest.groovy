@@ -23,6 +23,7 @@ import org.gradle.api.internal.tasks.testing.DefaultTestDescriptor
 import org.gradle.api.internal.tasks.testing.DefaultTestMethodDescriptor
 import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent
 import org.gradle.api.internal.tasks.testing.DefaultTestSuiteDescriptor
+import org.gradle.api.internal.tasks.testing.ShardedTestClassRunInfo
 import org.gradle.api.internal.tasks.testing.TestCompleteEvent
 import org.gradle.api.internal.tasks.testing.TestStartEvent
 import org.gradle.api.tasks.testing.TestFailure
@@ -45,6 +46,16 @@ class TestEventSerializerTest extends SerializerSpec {
         result.testClassName == "some-test"
     }
 
+    def "serializes ShardedTestClassRunInfo"() {
+        def info = new ShardedTestClassRunInfo("some-test", 1, 3)
+
+        when:
+        def result = serialize(info)
+
+        then:
+        result == info
+    }
+
     def "serializes CompositeId"() {
         def id = new CompositeIdGenerator.CompositeId(1L, 2L)
 
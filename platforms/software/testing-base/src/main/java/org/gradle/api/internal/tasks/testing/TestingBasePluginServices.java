@@ -20,10 +20,16 @@
 import org.gradle.api.internal.tasks.testing.report.generic.MetadataRendererRegistry;
 import org.gradle.api.internal.tasks.testing.results.AggregateTestEventReporter;
 import org.gradle.api.internal.tasks.testing.results.HtmlTestReportGenerator;
+import org.gradle.api.internal.tasks.testing.worker.TestWorkerPool;
 import org.gradle.api.tasks.testing.TestEventReporterFactory;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.service.Provides;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.ServiceRegistrationProvider;
 import org.gradle.internal.service.scopes.AbstractGradleModuleServices;
+import org.gradle.internal.time.Clock;
+import org.gradle.process.internal.health.memory.MemoryManager;
+import org.gradle.process.internal.health.memory.OsMemoryInfo;
 import org.jspecify.annotations.NullMarked;
 
 @NullMarked
@@ -33,6 +39,11 @@ public void registerGlobalServices(ServiceRegistration registration) {
         registration.addProvider(new TestingGlobalScopeServices());
     }
 
+    @Override
+    public void registerGradleUserHomeServices(ServiceRegistration registration) {
+        registration.addProvider(new TestingUserHomeScopeServices());
+    }
+
     @Override
     public void registerBuildSessionServices(ServiceRegistration registration) {
         registration.addProvider(new TestingBuildSessionScopeServices());
@@ -55,6 +66,14 @@ void configure(ServiceRegistration serviceRegistration) {
         }
     }
 
+    @NullMarked
+    public static class TestingUserHomeScopeServices implements ServiceRegistrationProvider {
+        @Provides
+        TestWorkerPool createTestWorkerPool(Clock clock, ExecutorFactory executorFactory, MemoryManager memoryManager, OsMemoryInfo memoryInfo) {
+            return new TestWorkerPool(Runtime.getRuntime().availableProcessors(), clock, executorFactory, memoryManager, memoryInfo);
+        }
+    }
+
     @NullMarked
     public static class TestingBuildSessionScopeServices implements ServiceRegistrationProvider {
         void configure(ServiceRegistration serviceRegistration) {
@@ -17,15 +17,26 @@
 package org.gradle.api.internal.tasks.testing.junit.result;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.PeekingIterator;
 import org.gradle.api.Action;
 import org.gradle.api.tasks.testing.TestOutputEvent;
 import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.jspecify.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -65,6 +76,75 @@ public void execute(final TestClassResult classResult) {
         }
     }
 
+    @Override
+    public @Nullable TestClassResultIterator readClassesInOrder() {
+        List<TestClassResultIterator> delegates = new ArrayList<>();
+        List<Iterator<DelegateResult>> delegateResults = new ArrayList<>();
+        for (TestResultsProvider provider : providers) {
+            TestClassResultIterator delegate = provider.readClassesInOrder();
+            if (delegate == null) {
+                CompositeStoppable.stoppable(delegates).stop();
+                return null;
+            }
+            int providerIndex = delegates.size();
+            delegates.add(delegate);
+            delegateResults.add(Iterators.transform(delegate, classResult -> new DelegateResult(providerIndex, provider, classResult)));
+        }
+        classOutputProviders = ArrayListMultimap.create();
+        return new MergingTestClassResultIterator(delegates, delegateResults);
+    }
+
+    /**
+     * Merges the ordered results of each provider, holding at most one class of each provider in memory.
+     */
+    private class MergingTestClassResultIterator extends AbstractIterator<TestClassResult> implements TestClassResultIterator {
+        private final List<TestClassResultIterator> delegates;
+        private final PeekingIterator<DelegateResult> results;
+        private long newIdCounter;
+
+        MergingTestClassResultIterator(List<TestClassResultIterator> delegates, List<Iterator<DelegateResult>> delegateResults) {
+            this.delegates = delegates;
+            // Classes with the same name are merged in the order of the providers, like visitClasses() does
+            this.results = Iterators.peekingIterator(Iterators.mergeSorted(delegateResults, Comparator
+                .comparing((DelegateResult result) -> result.classResult, TestClassResult.PACKAGE_AND_CLASS_NAME_ORDER)
+                .thenComparingInt(result -> result.providerIndex)
+            ));
+        }
+
+        @Override
+        protected TestClassResult computeNext() {
+            if (!results.hasNext()) {
+                return endOfData();
+            }
+            DelegateResult first = results.next();
+            OverlaidIdProxyingTestClassResult newTestResult = new OverlaidIdProxyingTestClassResult(++newIdCounter, first.classResult);
+            classOutputProviders.put(newTestResult.getId(), new DelegateProvider(first.classResult.getId(), first.provider));
+            while (results.hasNext() && results.peek().classResult.getClassName().equals(first.classResult.getClassName())) {
+                DelegateResult next = results.next();
+                newTestResult.addTestClassResult(next.classResult);
+                classOutputProviders.put(newTestResult.getId(), new DelegateProvider(next.classResult.getId(), next.provider));
+            }
+            return newTestResult;
+        }
+
+        @Override
+        public void close() {
+            CompositeStoppable.stoppable(delegates).stop();
+        }
+    }
+
+    private static class DelegateResult {
+        private final int providerIndex;
+        private final TestResultsProvider provider;
+        private final TestClassResult classResult;
+
+        private DelegateResult(int providerIndex, TestResultsProvider provider, TestClassResult classResult) {
+            this.providerIndex = providerIndex;
+            this.provider = provider;
+            this.classResult = classResult;
+        }
+    }
+
     private static class DelegateProvider {
         private final long id;
         private final TestResultsProvider provider;
@@ -122,6 +202,26 @@ public void writeAllOutput(long classId, TestOutputEvent.Destination destination
         }
     }
 
+    @Override
+    public @Nullable HashCode getClassFingerprint(long classId) {
+        Hasher hasher = Hashing.newHasher();
+        for (DelegateProvider delegateProvider : classOutputProviders.get(classId)) {
+            HashCode delegateFingerprint = delegateProvider.provider.getClassFingerprint(delegateProvider.id);
+            if (delegateFingerprint == null) {
+                return null;
+            }
+            hasher.putHash(delegateFingerprint);
+        }
+        return hasher.hash();
+    }
+
+    @Override
+    public void releaseClass(long classId) {
+        for (DelegateProvider delegateProvider : classOutputProviders.removeAll(classId)) {
+            delegateProvider.provider.releaseClass(delegateProvider.id);
+        }
+    }
+
     @Override
     public boolean isHasResults() {
         return any(providers, TestResultsProvider::isHasResults);
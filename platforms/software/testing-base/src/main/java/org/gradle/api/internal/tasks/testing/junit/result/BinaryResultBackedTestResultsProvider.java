@@ -17,11 +17,20 @@
 package org.gradle.api.internal.tasks.testing.junit.result;
 
 import org.gradle.api.Action;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class BinaryResultBackedTestResultsProvider extends TestOutputStoreBackedResultsProvider {
     private final TestResultSerializer resultSerializer;
+    // The hash of each class result read in order, until the fingerprint of the class is requested or the class is released
+    private final Map<Long, HashCode> classResultHashes = new HashMap<>();
 
     public BinaryResultBackedTestResultsProvider(File resultsDir) {
         super(new TestOutputStore(resultsDir));
@@ -33,6 +42,55 @@ public void visitClasses(final Action<? super TestClassResult> visitor) {
         resultSerializer.read(visitor);
     }
 
+    @Override
+    public @Nullable TestClassResultIterator readClassesInOrder() {
+        TestClassResultIterator results = resultSerializer.readOrdered();
+        if (results == null) {
+            return null;
+        }
+        return new TestClassResultIterator() {
+            @Override
+            public boolean hasNext() {
+                return results.hasNext();
+            }
+
+            @Override
+            public TestClassResult next() {
+                TestClassResult classResult = results.next();
+                classResultHashes.put(classResult.getId(), TestResultSerializer.hash(classResult));
+                return classResult;
+            }
+
+            @Override
+            public void close() throws IOException {
+                results.close();
+            }
+        };
+    }
+
+    /**
+     * Fingerprints the class from its serialized result and its stored output, so the fingerprint does not change when the results are rewritten with the same content,
+     * for example when the test task is restored from the build cache.
+     * <p>
+     * Only classes read by {@link #readClassesInOrder()} are fingerprinted, once each.
+     */
+    @Override
+    public @Nullable HashCode getClassFingerprint(long classId) {
+        HashCode classResultHash = classResultHashes.remove(classId);
+        if (classResultHash == null) {
+            return null;
+        }
+        Hasher hasher = Hashing.newHasher();
+        hasher.putHash(classResultHash);
+        reader.hashOutput(classId, hasher);
+        return hasher.hash();
+    }
+
+    @Override
+    public void releaseClass(long classId) {
+        classResultHashes.remove(classId);
+    }
+
     @Override
     public boolean isHasResults() {
         return resultSerializer.isHasResults();
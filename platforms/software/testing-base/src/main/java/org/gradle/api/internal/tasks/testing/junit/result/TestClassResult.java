@@ -16,14 +16,23 @@
 
 package org.gradle.api.internal.tasks.testing.junit.result;
 
+import org.apache.commons.lang3.StringUtils;
 import org.gradle.api.tasks.testing.TestResult;
 import org.gradle.internal.time.Clock;
 import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 public class TestClassResult {
+    /**
+     * Orders classes by package name, then by class name, so that the classes of a package are next to each other.
+     */
+    public static final Comparator<TestClassResult> PACKAGE_AND_CLASS_NAME_ORDER = Comparator
+        .comparing((TestClassResult result) -> packageOf(result.getClassName()))
+        .thenComparing(TestClassResult::getClassName);
+
     private final List<TestMethodResult> methodResults = new ArrayList<TestMethodResult>();
     private final String className;
     private final String classDisplayName;
@@ -108,6 +117,11 @@ public void setStartTime(long startTime) {
         this.startTime = startTime;
     }
 
+    private static String packageOf(String className) {
+        String packageName = StringUtils.substringBeforeLast(className, ".");
+        return packageName.equals(className) ? "" : packageName;
+    }
+
     String getXmlTestSuiteName() {
         return hasDefaultDisplayName() ? className : classDisplayName;
     }
@@ -16,31 +16,55 @@
 
 package org.gradle.api.internal.tasks.testing.junit.result;
 
-import com.esotericsoftware.kryo.io.Input;
-import com.esotericsoftware.kryo.io.Output;
-import com.google.common.collect.ImmutableMap;
 import org.gradle.api.tasks.testing.TestOutputEvent;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.Hasher;
 import org.gradle.internal.file.nio.PositionTrackingFileChannelInputStream;
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
 import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
-import org.jspecify.annotations.Nullable;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.StandardOpenOption;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Stores the output of tests in a data file, along with an index of where the output of each test class and test can be found.
+ * <p>
+ * The index is written as fixed-width tables sorted by id, which readers load into a few {@code long} arrays and binary search.
+ * For each class and test, it records the region from the first to the last event of each stream. For each class, it also records
+ * the runs of consecutive events of that class. Tests from parallel forks interleave their output, so these runs allow reading
+ * the output of a class without decoding the output of all other classes written in between.
+ */
 public class TestOutputStore {
 
+    private static final int INDEX_VERSION = 2;
+
+    // Class table: class id, stdout start and stop, stderr start and stop, first test row, test count, first run row, run count
+    private static final int CLASS_ROW_WIDTH = 9;
+    // Test table: test id, stdout start and stop, stderr start and stop
+    private static final int TEST_ROW_WIDTH = 5;
+    // Run table: start and stop
+    private static final int RUN_ROW_WIDTH = 2;
+    // The maximum size of the stream flag, class id, test id and message length written before each message
+    private static final int EVENT_HEADER_SIZE = 1 + 9 + 9 + 5;
+
     private final File resultsDir;
     private final Charset messageStorageCharset;
 
@@ -70,6 +94,15 @@ private Region(long start, long stop) {
             this.start = start;
             this.stop = stop;
         }
+
+        void include(Region other) {
+            if (other.start >= 0 && (start < 0 || other.start < start)) {
+                start = other.start;
+            }
+            if (other.stop > stop) {
+                stop = other.stop;
+            }
+        }
     }
 
     private static class TestCaseRegion {
@@ -77,10 +110,17 @@ private static class TestCaseRegion {
         Region stdErrRegion = new Region();
     }
 
+    private static class ClassRegions {
+        final Map<Long, TestCaseRegion> testCaseRegions = new HashMap<>();
+        final List<Region> runs = new ArrayList<>();
+    }
+
     public class Writer implements Closeable {
         private final KryoBackedEncoder output;
 
-        private final Map<Long, Map<Long, TestCaseRegion>> index = new LinkedHashMap<Long, Map<Long, TestCaseRegion>>();
+        private final Map<Long, ClassRegions> index = new HashMap<>();
+        private long currentRunClassId;
+        private Region currentRun;
 
         public Writer() {
             try {
@@ -114,12 +154,8 @@ public void onOutput(long classId, long testId, TestOutputEvent outputEvent) {
         }
 
         private void mark(long classId, long testId, boolean isStdout) {
-            if (!index.containsKey(classId)) {
-                index.put(classId, new LinkedHashMap<>());
-            }
-
-            Map<Long, TestCaseRegion> testCaseRegions = index.get(classId);
-            TestCaseRegion region = testCaseRegions.computeIfAbsent(testId, k -> new TestCaseRegion());
+            ClassRegions classRegions = index.computeIfAbsent(classId, k -> new ClassRegions());
+            TestCaseRegion region = classRegions.testCaseRegions.computeIfAbsent(testId, k -> new TestCaseRegion());
 
             Region streamRegion = isStdout ? region.stdOutRegion : region.stdErrRegion;
 
@@ -128,98 +164,96 @@ private void mark(long classId, long testId, boolean isStdout) {
                 streamRegion.start = total;
             }
             streamRegion.stop = total;
+
+            if (currentRun == null || currentRunClassId != classId) {
+                currentRun = new Region(total, total);
+                currentRunClassId = classId;
+                classRegions.runs.add(currentRun);
+            } else {
+                currentRun.stop = total;
+            }
         }
 
         private void writeIndex() {
-            Output indexOutput;
-            try {
-                indexOutput = new Output(new FileOutputStream(getIndexFile()));
-            } catch (FileNotFoundException e) {
-                throw UncheckedException.throwAsUncheckedException(e);
+            long[] classIds = sortedKeys(index);
+            int testCount = 0;
+            int runCount = 0;
+            for (ClassRegions classRegions : index.values()) {
+                testCount += classRegions.testCaseRegions.size();
+                runCount += classRegions.runs.size();
             }
 
-
-            try {
-                indexOutput.writeInt(index.size(), true);
-
-                for (Map.Entry<Long, Map<Long, TestCaseRegion>> classEntry : index.entrySet()) {
-                    Long classId = classEntry.getKey();
-                    Map<Long, TestCaseRegion> regions = classEntry.getValue();
-
-                    indexOutput.writeLong(classId, true);
-                    indexOutput.writeInt(regions.size(), true);
-
-                    for (Map.Entry<Long, TestCaseRegion> testCaseEntry : regions.entrySet()) {
-                        long id = testCaseEntry.getKey();
-                        TestCaseRegion region = testCaseEntry.getValue();
-                        indexOutput.writeLong(id, true);
-                        indexOutput.writeLong(region.stdOutRegion.start);
-                        indexOutput.writeLong(region.stdOutRegion.stop);
-                        indexOutput.writeLong(region.stdErrRegion.start);
-                        indexOutput.writeLong(region.stdErrRegion.stop);
+            try (DataOutputStream indexOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(getIndexFile())))) {
+                indexOutput.writeInt(INDEX_VERSION);
+                indexOutput.writeInt(classIds.length);
+                indexOutput.writeInt(testCount);
+                indexOutput.writeInt(runCount);
+
+                int testRow = 0;
+                int runRow = 0;
+                for (long classId : classIds) {
+                    ClassRegions classRegions = index.get(classId);
+                    TestCaseRegion classRegion = new TestCaseRegion();
+                    for (TestCaseRegion testCaseRegion : classRegions.testCaseRegions.values()) {
+                        classRegion.stdOutRegion.include(testCaseRegion.stdOutRegion);
+                        classRegion.stdErrRegion.include(testCaseRegion.stdErrRegion);
                     }
+                    indexOutput.writeLong(classId);
+                    writeRegions(indexOutput, classRegion);
+                    indexOutput.writeLong(testRow);
+                    indexOutput.writeLong(classRegions.testCaseRegions.size());
+                    indexOutput.writeLong(runRow);
+                    indexOutput.writeLong(classRegions.runs.size());
+                    testRow += classRegions.testCaseRegions.size();
+                    runRow += classRegions.runs.size();
                 }
-            } finally {
-                indexOutput.close();
+                for (long classId : classIds) {
+                    Map<Long, TestCaseRegion> testCaseRegions = index.get(classId).testCaseRegions;
+                    for (long testId : sortedKeys(testCaseRegions)) {
+                        indexOutput.writeLong(testId);
+                        writeRegions(indexOutput, testCaseRegions.get(testId));
+                    }
+                }
+                for (long classId : classIds) {
+                    for (Region run : index.get(classId).runs) {
+                        indexOutput.writeLong(run.start);
+                        indexOutput.writeLong(run.stop);
+                    }
+                }
+            } catch (IOException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
             }
         }
-    }
 
-    public Writer writer() {
-        return new Writer();
-    }
-
-    private static class Index {
-        final ImmutableMap<Long, Index> children;
-        final Region stdOut;
-        final Region stdErr;
-
-        private Index(Region stdOut, Region stdErr) {
-            this.children = ImmutableMap.of();
-            this.stdOut = stdOut;
-            this.stdErr = stdErr;
-        }
-
-        private Index(ImmutableMap<Long, Index> children, Region stdOut, Region stdErr) {
-            this.children = children;
-            this.stdOut = stdOut;
-            this.stdErr = stdErr;
+        private void writeRegions(DataOutputStream indexOutput, TestCaseRegion region) throws IOException {
+            indexOutput.writeLong(region.stdOutRegion.start);
+            indexOutput.writeLong(region.stdOutRegion.stop);
+            indexOutput.writeLong(region.stdErrRegion.start);
+            indexOutput.writeLong(region.stdErrRegion.stop);
         }
     }
 
-    private static class IndexBuilder {
-        final Region stdOut = new Region();
-        final Region stdErr = new Region();
-
-        private final ImmutableMap.Builder<Long, Index> children = ImmutableMap.builder();
-
-        void add(long key, Index index) {
-            if (stdOut.start < 0) {
-                stdOut.start = index.stdOut.start;
-            }
-            if (stdErr.start < 0) {
-                stdErr.start = index.stdErr.start;
-            }
-            if (index.stdOut.stop > stdOut.stop) {
-                stdOut.stop = index.stdOut.stop;
-            }
-            if (index.stdErr.stop > stdErr.stop) {
-                stdErr.stop = index.stdErr.stop;
-            }
-
-            children.put(key, index);
+    private static long[] sortedKeys(Map<Long, ?> map) {
+        long[] keys = new long[map.size()];
+        int i = 0;
+        for (Long key : map.keySet()) {
+            keys[i++] = key;
         }
+        Arrays.sort(keys);
+        return keys;
+    }
 
-        Index build() {
-            return new Index(children.build(), stdOut, stdErr);
-        }
+    public Writer writer() {
+        return new Writer();
     }
 
     /*
      * This class is thread-safe, it contains no concurrent modifications to the `dataFile`'s state.
      */
     public class Reader implements Closeable {
-        private final Index index;
+        private final long[] classes;
+        private final long[] tests;
+        private final long[] runs;
         private final FileChannel dataFile;
 
         public Reader() {
@@ -231,38 +265,21 @@ public Reader() {
                     throw new IllegalStateException(String.format("Test outputs data file '%s' exists but the index file '%s' does not", outputsFile, indexFile));
                 }
 
-                Input input;
-                try {
-                    input = new Input(new FileInputStream(indexFile));
-                } catch (FileNotFoundException e) {
-                    throw UncheckedException.throwAsUncheckedException(e);
-                }
-
-                IndexBuilder rootBuilder = null;
-                try {
-                    int numClasses = input.readInt(true);
-                    rootBuilder = new IndexBuilder();
-
-                    for (int classCounter = 0; classCounter < numClasses; ++classCounter) {
-                        long classId = input.readLong(true);
-                        IndexBuilder classBuilder = new IndexBuilder();
-
-                        int numEntries = input.readInt(true);
-                        for (int entryCounter = 0; entryCounter < numEntries; ++entryCounter) {
-                            long testId = input.readLong(true);
-                            Region stdOut = new Region(input.readLong(), input.readLong());
-                            Region stdErr = new Region(input.readLong(), input.readLong());
-                            classBuilder.add(testId, new Index(stdOut, stdErr));
-                        }
-
-                        rootBuilder.add(classId, classBuilder.build());
+                try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+                    int version = input.readInt();
+                    if (version != INDEX_VERSION) {
+                        throw new IllegalStateException(String.format("Test outputs index file '%s' has unsupported version %s", indexFile, version));
                     }
-                } finally {
-                    input.close();
+                    int classCount = input.readInt();
+                    int testCount = input.readInt();
+                    int runCount = input.readInt();
+                    classes = readTable(input, classCount * CLASS_ROW_WIDTH);
+                    tests = readTable(input, testCount * TEST_ROW_WIDTH);
+                    runs = readTable(input, runCount * RUN_ROW_WIDTH);
+                } catch (IOException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
                 }
 
-                index = rootBuilder.build();
-
                 try {
                     dataFile = FileChannel.open(getOutputsFile().toPath(), StandardOpenOption.READ);
                 } catch (IOException e) {
@@ -273,11 +290,21 @@ public Reader() {
                     throw new IllegalStateException(String.format("Test outputs data file '%s' does not exist but the index file '%s' does", outputsFile, indexFile));
                 }
 
-                index = null;
+                classes = new long[0];
+                tests = new long[0];
+                runs = new long[0];
                 dataFile = null;
             }
         }
 
+        private long[] readTable(DataInputStream input, int length) throws IOException {
+            long[] table = new long[length];
+            for (int i = 0; i < length; i++) {
+                table[i] = input.readLong();
+            }
+            return table;
+        }
+
         @Override
         public void close() throws IOException {
             if (dataFile != null) {
@@ -290,17 +317,15 @@ public boolean hasOutput(long classId, TestOutputEvent.Destination destination)
         }
 
         public boolean hasOutput(long classId, long testId, TestOutputEvent.Destination destination) {
-            if (dataFile == null) {
+            int classRow = findClass(classId);
+            if (classRow < 0) {
                 return false;
             }
-
-            Index index = getIndex(classId, testId);
-            if (index == null) {
-                return false;
-            } else {
-                Region region = destination == TestOutputEvent.Destination.StdOut ? index.stdOut : index.stdErr;
-                return region.start >= 0;
+            if (testId == 0) {
+                return regionStart(classes, classRow * CLASS_ROW_WIDTH, destination) >= 0;
             }
+            int testRow = findTest(classRow, testId);
+            return testRow >= 0 && regionStart(tests, testRow * TEST_ROW_WIDTH, destination) >= 0;
         }
 
         public void writeAllOutput(long classId, TestOutputEvent.Destination destination, java.io.Writer writer) {
@@ -316,59 +341,88 @@ public void writeTestOutput(long classId, long testId, TestOutputEvent.Destinati
         }
 
         private void doRead(long classId, long testId, boolean allClassOutput, TestOutputEvent.Destination destination, java.io.Writer writer) {
-            if (dataFile == null) {
+            int classRow = findClass(classId);
+            if (classRow < 0) {
                 return;
             }
 
-            Index targetIndex = getIndex(classId, testId);
-            if (targetIndex == null) {
-                return;
+            long regionStart;
+            long regionStop;
+            if (testId == 0) {
+                regionStart = regionStart(classes, classRow * CLASS_ROW_WIDTH, destination);
+                regionStop = regionStop(classes, classRow * CLASS_ROW_WIDTH, destination);
+            } else {
+                int testRow = findTest(classRow, testId);
+                if (testRow < 0) {
+                    return;
+                }
+                regionStart = regionStart(tests, testRow * TEST_ROW_WIDTH, destination);
+                regionStop = regionStop(tests, testRow * TEST_ROW_WIDTH, destination);
             }
 
-            boolean stdout = destination == TestOutputEvent.Destination.StdOut;
-            Region region = stdout ? targetIndex.stdOut : targetIndex.stdErr;
-
-            if (region.start < 0) {
+            if (regionStart < 0) {
                 return;
             }
 
+            boolean stdout = destination == TestOutputEvent.Destination.StdOut;
             boolean ignoreClassLevel = !allClassOutput && testId != 0;
             boolean ignoreTestLevel = !allClassOutput && testId == 0;
 
             try {
-                long maxPos = region.stop - region.start;
-                KryoBackedDecoder decoder = new KryoBackedDecoder(new PositionTrackingFileChannelInputStream(dataFile, region.start));
-                while (decoder.getReadPosition() <= maxPos) {
-                    boolean readStdout = decoder.readBoolean();
-                    long readClassId = decoder.readSmallLong();
-                    long readTestId = decoder.readSmallLong();
-                    int readLength = decoder.readSmallInt();
-
-                    boolean isClassLevel = readTestId == 0;
-
-                    if (stdout != readStdout || classId != readClassId) {
-                        decoder.skipBytes(readLength);
-                        continue;
+                KryoBackedDecoder decoder = null;
+                byte[] messageBytes = new byte[256];
+                int firstRun = (int) classes[classRow * CLASS_ROW_WIDTH + 7];
+                int runCount = (int) classes[classRow * CLASS_ROW_WIDTH + 8];
+                for (int run = firstRun; run < firstRun + runCount; run++) {
+                    // Both are positions of events of this class, so the range starts and ends at event boundaries
+                    long start = Math.max(runs[run * RUN_ROW_WIDTH], regionStart);
+                    long stop = Math.min(runs[run * RUN_ROW_WIDTH + 1], regionStop);
+                    if (start > regionStop) {
+                        break;
                     }
-
-                    if (ignoreClassLevel && isClassLevel) {
-                        decoder.skipBytes(readLength);
+                    if (start > stop) {
                         continue;
                     }
 
-                    if (ignoreTestLevel && !isClassLevel) {
-                        decoder.skipBytes(readLength);
-                        continue;
+                    PositionTrackingFileChannelInputStream inputStream = new PositionTrackingFileChannelInputStream(dataFile, start);
+                    if (decoder == null) {
+                        decoder = new KryoBackedDecoder(inputStream);
+                    } else {
+                        decoder.restart(inputStream);
                     }
+                    long maxPos = stop - start;
+                    while (decoder.getReadPosition() <= maxPos) {
+                        boolean readStdout = decoder.readBoolean();
+                        long readClassId = decoder.readSmallLong();
+                        long readTestId = decoder.readSmallLong();
+                        int readLength = decoder.readSmallInt();
+
+                        boolean isClassLevel = readTestId == 0;
+
+                        if (stdout != readStdout || classId != readClassId) {
+                            decoder.skipBytes(readLength);
+                            continue;
+                        }
+
+                        if (ignoreClassLevel && isClassLevel) {
+                            decoder.skipBytes(readLength);
+                            continue;
+                        }
 
-                    if (testId == 0 || testId == readTestId) {
-                        byte[] stringBytes = new byte[readLength];
-                        decoder.readBytes(stringBytes);
-                        String message = new String(stringBytes, messageStorageCharset);
+                        if (ignoreTestLevel && !isClassLevel) {
+                            decoder.skipBytes(readLength);
+                            continue;
+                        }
 
-                        writer.write(message);
-                    } else {
-                        decoder.skipBytes(readLength);
+                        if (testId == 0 || testId == readTestId) {
+                            if (messageBytes.length < readLength) {
+                                messageBytes = new byte[Math.max(readLength, messageBytes.length * 2)];
+                            }
+                            decoder.readBytes(messageBytes, 0, readLength);
+                            writer.write(new String(messageBytes, 0, readLength, messageStorageCharset));
+                        } else {
+                            decoder.skipBytes(readLength);
+                        }
                     }
                 }
             } catch (IOException e1) {
@@ -376,14 +430,89 @@ private void doRead(long classId, long testId, boolean allClassOutput, TestOutpu
             }
         }
 
-        @Nullable
-        private Index getIndex(long classId, long testId) {
-            Index targetIndex = index.children.get(classId);
-            if (targetIndex != null && testId != 0) {
-                targetIndex = targetIndex.children.get(testId);
+        /**
+         * Hashes the output of the given test class and its tests, as stored in the data file.
+         */
+        public void hashOutput(long classId, Hasher hasher) {
+            int classRow = findClass(classId);
+            if (classRow < 0) {
+                hasher.putInt(0);
+                return;
+            }
+            int firstRun = (int) classes[classRow * CLASS_ROW_WIDTH + 7];
+            int runCount = (int) classes[classRow * CLASS_ROW_WIDTH + 8];
+            hasher.putInt(runCount);
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(8192);
+                for (int run = firstRun; run < firstRun + runCount; run++) {
+                    // A run ends with the start of its last event, so that event is included up to its end
+                    long position = runs[run * RUN_ROW_WIDTH];
+                    long stop = endOfEvent(runs[run * RUN_ROW_WIDTH + 1]);
+                    hasher.putLong(stop - position);
+                    while (position < stop) {
+                        buffer.clear();
+                        buffer.limit((int) Math.min(buffer.capacity(), stop - position));
+                        int read = dataFile.read(buffer, position);
+                        if (read < 0) {
+                            throw new IllegalStateException(String.format("Test outputs data file '%s' is truncated", getOutputsFile()));
+                        }
+                        hasher.putBytes(buffer.array(), 0, read);
+                        position += read;
+                    }
+                }
+            } catch (IOException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
+        private long endOfEvent(long eventStart) throws IOException {
+            KryoBackedDecoder decoder = new KryoBackedDecoder(new PositionTrackingFileChannelInputStream(dataFile, eventStart), EVENT_HEADER_SIZE);
+            decoder.readBoolean();
+            decoder.readSmallLong();
+            decoder.readSmallLong();
+            int length = decoder.readSmallInt();
+            return eventStart + decoder.getReadPosition() + length;
+        }
+
+        private int findClass(long classId) {
+            return binarySearch(classes, CLASS_ROW_WIDTH, 0, classes.length / CLASS_ROW_WIDTH, classId);
+        }
+
+        private int findTest(int classRow, long testId) {
+            int firstTest = (int) classes[classRow * CLASS_ROW_WIDTH + 5];
+            int testCount = (int) classes[classRow * CLASS_ROW_WIDTH + 6];
+            return binarySearch(tests, TEST_ROW_WIDTH, firstTest, firstTest + testCount, testId);
+        }
+
+        private long regionStart(long[] table, int offset, TestOutputEvent.Destination destination) {
+            return table[offset + (destination == TestOutputEvent.Destination.StdOut ? 1 : 3)];
+        }
+
+        private long regionStop(long[] table, int offset, TestOutputEvent.Destination destination) {
+            return table[offset + (destination == TestOutputEvent.Destination.StdOut ? 2 : 4)];
+        }
+    }
+
+    /**
+     * Finds the row with the given id, in rows {@code fromRow} (inclusive) to {@code toRow} (exclusive) of a table sorted by id.
+     *
+     * @return the row, or -1 when there is none.
+     */
+    private static int binarySearch(long[] table, int rowWidth, int fromRow, int toRow, long id) {
+        int low = fromRow;
+        int high = toRow - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = table[mid * rowWidth];
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
             }
-            return targetIndex;
         }
+        return -1;
     }
 
     // IMPORTANT: return must be closed when done with.
@@ -61,7 +61,14 @@ public void afterSuite(TestDescriptor suite, TestResult result) {
             //there are some exceptions attached to the suite. Let's make sure they are reported to the user.
             //this may happen for example when suite initialisation fails and no tests are executed
             TestMethodResult methodResult = new TestMethodResult(internalIdCounter++, EXECUTION_FAILURE);
-            TestClassResult classResult = new TestClassResult(internalIdCounter++, suite.getName(), result.getStartTime());
+            //a class split into shards reports a suite per shard, so keep the results of the other shards
+            TestClassResult classResult = results.get(suite.getName());
+            if (classResult == null) {
+                classResult = new TestClassResult(internalIdCounter++, suite.getName(), result.getStartTime());
+                results.put(suite.getName(), classResult);
+            } else {
+                updateStartTime(classResult, result.getStartTime());
+            }
             for (Throwable throwable : result.getExceptions()) {
                 methodResult.addFailure(failureMessage(throwable), stackTrace(throwable), exceptionClassName(throwable));
             }
@@ -70,7 +77,6 @@ public void afterSuite(TestDescriptor suite, TestResult result) {
             }
             methodResult.completed(result);
             classResult.add(methodResult);
-            results.put(suite.getName(), classResult);
         } else if (result.getResultType() == TestResult.ResultType.SKIPPED) {
             String parentClassName = findEnclosingClassName(suite.getParent());
             String classDisplayName = ((TestDescriptorInternal) suite).getClassDisplayName();
@@ -120,13 +126,20 @@ public void afterTest(TestDescriptor testDescriptor, TestResult result) {
         if (classResult == null) {
             classResult = new TestClassResult(internalIdCounter++, className, classDisplayName, result.getStartTime());
             results.put(className, classResult);
-        } else if (classResult.getStartTime() == 0) {
-            //class results may be created earlier, where we don't yet have access to the start time
-            classResult.setStartTime(result.getStartTime());
+        } else {
+            updateStartTime(classResult, result.getStartTime());
         }
         classResult.add(methodResult);
     }
 
+    private static void updateStartTime(TestClassResult classResult, long startTime) {
+        //class results may be created earlier, where we don't yet have access to the start time,
+        //and the shards of a split class may complete in a different order than they started
+        if (classResult.getStartTime() == 0 || startTime < classResult.getStartTime()) {
+            classResult.setStartTime(startTime);
+        }
+    }
+
     private String failureMessage(Throwable throwable) {
         try {
             return throwable.toString();
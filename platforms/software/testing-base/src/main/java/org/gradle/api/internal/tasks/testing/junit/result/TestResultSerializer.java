@@ -16,15 +16,21 @@
 
 package org.gradle.api.internal.tasks.testing.junit.result;
 
+import com.google.common.collect.AbstractIterator;
+import com.google.common.io.ByteStreams;
 import org.gradle.api.Action;
 import org.gradle.api.internal.tasks.testing.results.serializable.SerializableFailure;
 import org.gradle.api.tasks.testing.TestResult;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.hash.HashingOutputStream;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
 import org.gradle.internal.serialize.FlushableEncoder;
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
 import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -32,10 +38,15 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 
 public class TestResultSerializer {
-    private static final int RESULT_VERSION = 3;
+    // Version 4 writes the classes in package and class name order, version 3 wrote them in no specific order
+    private static final int RESULT_VERSION = 4;
+    private static final int UNORDERED_RESULT_VERSION = 3;
 
     private final File resultsFile;
 
@@ -62,13 +73,30 @@ public void write(Collection<TestClassResult> results) {
     }
 
     private void write(Collection<TestClassResult> results, Encoder encoder) throws IOException {
-        encoder.writeSmallInt(results.size());
-        for (TestClassResult result : results) {
+        List<TestClassResult> orderedResults = new ArrayList<>(results);
+        orderedResults.sort(TestClassResult.PACKAGE_AND_CLASS_NAME_ORDER);
+        encoder.writeSmallInt(orderedResults.size());
+        for (TestClassResult result : orderedResults) {
             write(result, encoder);
         }
     }
 
-    private void write(TestClassResult classResult, Encoder encoder) throws IOException {
+    /**
+     * Hashes the given class result as it is serialized, so that the hash changes whenever the stored result does.
+     */
+    static HashCode hash(TestClassResult classResult) {
+        HashingOutputStream hashingOutputStream = new HashingOutputStream(Hashing.defaultFunction(), ByteStreams.nullOutputStream());
+        FlushableEncoder encoder = new KryoBackedEncoder(hashingOutputStream);
+        try {
+            write(classResult, encoder);
+            encoder.flush();
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        return hashingOutputStream.hash();
+    }
+
+    private static void write(TestClassResult classResult, Encoder encoder) throws IOException {
         encoder.writeSmallLong(classResult.getId());
         encoder.writeString(classResult.getClassName());
         encoder.writeString(classResult.getClassDisplayName());
@@ -79,7 +107,7 @@ private void write(TestClassResult classResult, Encoder encoder) throws IOExcept
         }
     }
 
-    private void write(TestMethodResult methodResult, Encoder encoder) throws IOException {
+    private static void write(TestMethodResult methodResult, Encoder encoder) throws IOException {
         encoder.writeSmallLong(methodResult.getId());
         encoder.writeString(methodResult.getName());
         encoder.writeString(methodResult.getDisplayName());
@@ -95,39 +123,93 @@ private void write(TestMethodResult methodResult, Encoder encoder) throws IOExce
     }
 
     public void read(Action<? super TestClassResult> visitor) {
-        if (!isHasResults()) {
-            return;
-        }
-        try {
-            InputStream inputStream = new FileInputStream(resultsFile);
-            try {
-                Decoder decoder = new KryoBackedDecoder(inputStream);
-                int version = decoder.readSmallInt();
-                if (version != RESULT_VERSION) {
-                    throw new IllegalArgumentException(String.format("Unexpected result file version %d found in %s.", version, resultsFile));
-                }
-                readResults(decoder, visitor);
-            } finally {
-                inputStream.close();
+        try (ResultsIterator results = new ResultsIterator()) {
+            while (results.hasNext()) {
+                visitor.execute(results.next());
             }
         } catch (Exception e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
     }
 
+    /**
+     * Reads the results one class at a time, in package and class name order, see {@link TestClassResult#PACKAGE_AND_CLASS_NAME_ORDER}.
+     *
+     * @return the results, or {@code null} when they were written in no specific order.
+     */
+    @Nullable
+    public TestClassResultIterator readOrdered() {
+        ResultsIterator results = new ResultsIterator();
+        if (!results.ordered) {
+            results.close();
+            return null;
+        }
+        return results;
+    }
+
     public boolean isHasResults() {
         return resultsFile.exists() && resultsFile.length() > 0;
     }
 
-    private void readResults(Decoder decoder, Action<? super TestClassResult> visitor) throws ClassNotFoundException, IOException {
-        int classCount = decoder.readSmallInt();
-        for (int i = 0; i < classCount; i++) {
-            TestClassResult classResult = readClassResult(decoder);
-            visitor.execute(classResult);
+    private class ResultsIterator extends AbstractIterator<TestClassResult> implements TestClassResultIterator {
+        private final @Nullable InputStream inputStream;
+        private final @Nullable Decoder decoder;
+        private final boolean ordered;
+        private int remaining;
+
+        ResultsIterator() {
+            if (!isHasResults()) {
+                inputStream = null;
+                decoder = null;
+                ordered = true;
+                return;
+            }
+            try {
+                inputStream = new FileInputStream(resultsFile);
+                try {
+                    decoder = new KryoBackedDecoder(inputStream);
+                    int version = decoder.readSmallInt();
+                    if (version != RESULT_VERSION && version != UNORDERED_RESULT_VERSION) {
+                        throw new IllegalArgumentException(String.format("Unexpected result file version %d found in %s.", version, resultsFile));
+                    }
+                    ordered = version == RESULT_VERSION;
+                    remaining = decoder.readSmallInt();
+                } catch (Exception e) {
+                    inputStream.close();
+                    throw e;
+                }
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
+        @Override
+        protected TestClassResult computeNext() {
+            if (remaining == 0) {
+                return endOfData();
+            }
+            remaining--;
+            try {
+                return readClassResult(Objects.requireNonNull(decoder));
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (inputStream == null) {
+                return;
+            }
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
         }
     }
 
-    private TestClassResult readClassResult(Decoder decoder) throws IOException, ClassNotFoundException {
+    private static TestClassResult readClassResult(Decoder decoder) throws IOException {
         long id = decoder.readSmallLong();
         String className = decoder.readString();
         String classDisplayName = decoder.readString();
@@ -141,7 +223,7 @@ private TestClassResult readClassResult(Decoder decoder) throws IOException, Cla
         return result;
     }
 
-    private TestMethodResult readMethodResult(Decoder decoder) throws ClassNotFoundException, IOException {
+    private static TestMethodResult readMethodResult(Decoder decoder) throws IOException {
         long id = decoder.readSmallLong();
         String name = decoder.readString();
         String displayName = decoder.readString();
@@ -18,6 +18,8 @@
 
 import org.gradle.api.Action;
 import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.gradle.internal.hash.HashCode;
+import org.jspecify.annotations.Nullable;
 
 import java.io.Closeable;
 import java.io.Writer;
@@ -44,6 +46,33 @@ public interface TestResultsProvider extends Closeable {
      */
     void visitClasses(Action<? super TestClassResult> visitor);
 
+    /**
+     * Reads the results of each test class one at a time, in package and class name order, see {@link TestClassResult#PACKAGE_AND_CLASS_NAME_ORDER}.
+     * Each class is read exactly once. This can be used instead of {@link #visitClasses(Action)}, when the results should not all be held in memory.
+     *
+     * @return the results, or {@code null} when this provider cannot read them in this order.
+     */
+    @Nullable
+    default TestClassResultIterator readClassesInOrder() {
+        return null;
+    }
+
+    /**
+     * Returns a hash that changes whenever the results or the output of the given test class might have changed, or {@code null} when this is not known.
+     * This method must be called only after the class was read.
+     */
+    @Nullable
+    default HashCode getClassFingerprint(long classId) {
+        return null;
+    }
+
+    /**
+     * Releases what this provider holds for the given test class, once the class read by {@link #readClassesInOrder()} is no longer needed.
+     * The output and the fingerprint of the class cannot be read afterwards.
+     */
+    default void releaseClass(long classId) {
+    }
+
     boolean hasOutput(long classId, TestOutputEvent.Destination destination);
 
     boolean hasOutput(long classId, long testId, TestOutputEvent.Destination destination);
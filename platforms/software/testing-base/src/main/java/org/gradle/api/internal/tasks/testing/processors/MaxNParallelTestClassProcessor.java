@@ -18,7 +18,15 @@
 
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.internal.tasks.testing.worker.TestEventBatch;
+import org.gradle.api.internal.tasks.testing.worker.TestEventBatchReader;
+import org.gradle.api.internal.tasks.testing.worker.TestResultBatchProcessor;
+import org.gradle.api.tasks.testing.TestFailure;
+import org.gradle.api.tasks.testing.TestOutputEvent;
 import org.gradle.internal.Factory;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.actor.Actor;
@@ -32,13 +40,18 @@
 /**
  * Manages a set of parallel TestClassProcessors. Uses a simple round-robin algorithm to assign test classes to
  * processors.
+ * <p>
+ * When durations of the previous execution are known, each test class is instead assigned to the processor with the least
+ * estimated amount of work queued. Combined with classes being received longest first, this balances the time spent by each processor.
  */
 public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     private final int maxProcessors;
     private final Factory<TestClassProcessor> factory;
     private final ActorFactory actorFactory;
+    private final TestClassDurationEstimates durationEstimates;
     private TestResultProcessor resultProcessor;
     private int pos;
+    private final List<Long> estimatedWork = new ArrayList<Long>();
     private List<TestClassProcessor> processors = new ArrayList<TestClassProcessor>();
     private List<TestClassProcessor> rawProcessors = new ArrayList<TestClassProcessor>();
     private List<Actor> actors = new ArrayList<Actor>();
@@ -46,16 +59,22 @@ public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     private volatile boolean stoppedNow;
 
     public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory) {
+        this(maxProcessors, factory, actorFactory, TestClassDurationEstimates.NONE);
+    }
+
+    public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory, TestClassDurationEstimates durationEstimates) {
         this.maxProcessors = maxProcessors;
         this.factory = factory;
         this.actorFactory = actorFactory;
+        this.durationEstimates = durationEstimates;
     }
 
     @Override
     public void startProcessing(TestResultProcessor resultProcessor) {
-        // Create a processor that processes events in its own thread
-        resultProcessorActor = actorFactory.createActor(resultProcessor);
-        this.resultProcessor = resultProcessorActor.getProxy(TestResultProcessor.class);
+        // Create a processor that processes events in its own thread.
+        // The batches of events sent by test workers are handed over to that thread as a whole and decoded there.
+        resultProcessorActor = actorFactory.createActor(new BatchDecodingResultProcessor(resultProcessor));
+        this.resultProcessor = resultProcessorActor.getProxy(TestResultBatchProcessor.class);
     }
 
     @Override
@@ -72,14 +91,29 @@ public void processTestClass(TestClassRunInfo testClass) {
             processor = actor.getProxy(TestClassProcessor.class);
             actors.add(actor);
             processors.add(processor);
+            estimatedWork.add(durationEstimates.estimate(testClass));
             processor.startProcessing(resultProcessor);
-        } else {
+        } else if (durationEstimates.isEmpty()) {
             processor = processors.get(pos);
             pos = (pos + 1) % processors.size();
+        } else {
+            int leastBusy = leastBusyProcessor();
+            estimatedWork.set(leastBusy, estimatedWork.get(leastBusy) + durationEstimates.estimate(testClass));
+            processor = processors.get(leastBusy);
         }
         processor.processTestClass(testClass);
     }
 
+    private int leastBusyProcessor() {
+        int leastBusy = 0;
+        for (int i = 1; i < estimatedWork.size(); i++) {
+            if (estimatedWork.get(i) < estimatedWork.get(leastBusy)) {
+                leastBusy = i;
+            }
+        }
+        return leastBusy;
+    }
+
     @Override
     public void stop() {
         try {
@@ -96,4 +130,37 @@ public void stopNow() {
             processor.stopNow();
         }
     }
+
+    private static class BatchDecodingResultProcessor implements TestResultBatchProcessor {
+        private final TestResultProcessor delegate;
+
+        BatchDecodingResultProcessor(TestResultProcessor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void processBatch(TestEventBatchReader reader, TestEventBatch batch) {
+            reader.read(batch, delegate);
+        }
+
+        @Override
+        public void started(TestDescriptorInternal test, TestStartEvent event) {
+            delegate.started(test, event);
+        }
+
+        @Override
+        public void completed(Object testId, TestCompleteEvent event) {
+            delegate.completed(testId, event);
+        }
+
+        @Override
+        public void output(Object testId, TestOutputEvent event) {
+            delegate.output(testId, event);
+        }
+
+        @Override
+        public void failure(Object testId, TestFailure result) {
+            delegate.failure(testId, result);
+        }
+    }
 }
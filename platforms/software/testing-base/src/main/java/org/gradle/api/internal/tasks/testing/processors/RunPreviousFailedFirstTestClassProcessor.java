@@ -20,21 +20,33 @@
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
  * In order to speed up the development feedback cycle, this class guarantee previous failed test classes
  * to be passed to its delegate first.
+ * <p>
+ * When durations of the previous execution are known, the other test classes are passed longest first,
+ * so that the longest classes do not end up running alone at the end of the test execution.
  */
 public class RunPreviousFailedFirstTestClassProcessor implements TestClassProcessor {
     private final Set<String> previousFailedTestClasses;
+    private final TestClassDurationEstimates durationEstimates;
     private final TestClassProcessor delegate;
     private final LinkedHashSet<TestClassRunInfo> prioritizedTestClasses = new LinkedHashSet<TestClassRunInfo>();
     private final LinkedHashSet<TestClassRunInfo> otherTestClasses = new LinkedHashSet<TestClassRunInfo>();
 
     public RunPreviousFailedFirstTestClassProcessor(Set<String> previousFailedTestClasses, TestClassProcessor delegate) {
+        this(previousFailedTestClasses, TestClassDurationEstimates.NONE, delegate);
+    }
+
+    public RunPreviousFailedFirstTestClassProcessor(Set<String> previousFailedTestClasses, TestClassDurationEstimates durationEstimates, TestClassProcessor delegate) {
         this.previousFailedTestClasses = previousFailedTestClasses;
+        this.durationEstimates = durationEstimates;
         this.delegate = delegate;
     }
 
@@ -57,12 +69,22 @@ public void stop() {
         for (TestClassRunInfo test : prioritizedTestClasses) {
             delegate.processTestClass(test);
         }
-        for (TestClassRunInfo test : otherTestClasses) {
+        for (TestClassRunInfo test : longestFirst(otherTestClasses)) {
             delegate.processTestClass(test);
         }
         delegate.stop();
     }
 
+    private Iterable<TestClassRunInfo> longestFirst(Set<TestClassRunInfo> testClasses) {
+        if (durationEstimates.isEmpty()) {
+            return testClasses;
+        }
+        List<TestClassRunInfo> sorted = new ArrayList<TestClassRunInfo>(testClasses);
+        // Stable sort, so that classes with the same estimate keep the order in which they were detected
+        sorted.sort(Comparator.comparingLong((TestClassRunInfo testClass) -> durationEstimates.estimate(testClass.getTestClassName())).reversed());
+        return sorted;
+    }
+
     @Override
     public void stopNow() {
         delegate.stopNow();
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors;
+
+import org.gradle.api.internal.tasks.testing.ShardedTestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestClassProcessor;
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+
+/**
+ * Splits test classes that took longer than a fair share of the previous test execution into shards, so that their
+ * test methods can run in several forks in parallel instead of keeping a single fork busy until the end.
+ * <p>
+ * A fair share is the total duration of the previous execution divided by the number of forks. A class is split into
+ * as many shards as fair shares it took, with at most one shard per fork.
+ * Only test frameworks which can execute a {@link ShardedTestClassRunInfo} may be used with this processor.
+ */
+public class SplitLongTestClassesProcessor implements TestClassProcessor {
+    private final TestClassDurationEstimates durationEstimates;
+    private final int maxShards;
+    private final long fairShare;
+    private final TestClassProcessor delegate;
+
+    public SplitLongTestClassesProcessor(TestClassDurationEstimates durationEstimates, int maxParallelForks, TestClassProcessor delegate) {
+        this.durationEstimates = durationEstimates;
+        this.maxShards = maxParallelForks;
+        this.fairShare = Math.max(1, durationEstimates.getTotalDuration() / Math.max(1, maxParallelForks));
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void startProcessing(TestResultProcessor resultProcessor) {
+        delegate.startProcessing(resultProcessor);
+    }
+
+    @Override
+    public void processTestClass(TestClassRunInfo testClass) {
+        int shardCount = shardCountFor(testClass);
+        if (shardCount <= 1) {
+            delegate.processTestClass(testClass);
+            return;
+        }
+        for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            delegate.processTestClass(new ShardedTestClassRunInfo(testClass.getTestClassName(), shardIndex, shardCount));
+        }
+    }
+
+    private int shardCount(long duration) {
+        long shares = (duration + fairShare - 1) / fairShare;
+        return (int) Math.min(maxShards, shares);
+    }
+
+    private int shardCountFor(TestClassRunInfo testClass) {
+        if (maxShards <= 1 || durationEstimates.isEmpty() || testClass instanceof ShardedTestClassRunInfo) {
+            return 1;
+        }
+        return shardCount(durationEstimates.estimate(testClass.getTestClassName()));
+    }
+
+    @Override
+    public void stop() {
+        delegate.stop();
+    }
+
+    @Override
+    public void stopNow() {
+        delegate.stopNow();
+    }
+}
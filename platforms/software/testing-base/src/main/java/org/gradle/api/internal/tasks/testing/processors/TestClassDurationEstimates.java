@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors;
+
+import org.gradle.api.internal.tasks.testing.ShardedTestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.junit.result.TestClassResult;
+import org.gradle.api.internal.tasks.testing.junit.result.TestMethodResult;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Estimates how long test classes take to execute, based on their durations in the previous execution of the test task.
+ * <p>
+ * Classes without a previous duration, for example new classes, are estimated to take the average duration of the known classes.
+ */
+public class TestClassDurationEstimates {
+    public static final TestClassDurationEstimates NONE = new TestClassDurationEstimates(Collections.emptyMap());
+
+    private final Map<String, Long> previousDurations;
+    private final long averageDuration;
+    private final long totalDuration;
+
+    public TestClassDurationEstimates(Map<String, Long> previousDurations) {
+        this.previousDurations = previousDurations;
+        long total = 0;
+        for (Long duration : previousDurations.values()) {
+            total += duration;
+        }
+        // Never estimate 0, so that classes are still spread across processors when all durations are unknown
+        this.averageDuration = previousDurations.isEmpty() ? 1 : Math.max(1, total / previousDurations.size());
+        this.totalDuration = total;
+    }
+
+    /**
+     * The duration to record for a test class from its result in an execution.
+     * <p>
+     * This is the wall-clock span of the class, which includes its class-level setup, unless the durations of
+     * its tests add up to more than that. That happens when the class was split into shards that ran in parallel: the
+     * span then only covers the longest shard, which would make the class look short enough to not be split again in
+     * the next execution. For a class whose tests ran one after another in a single fork, this is the span.
+     */
+    public static long durationOf(TestClassResult testClassResult) {
+        long duration = 0;
+        for (TestMethodResult methodResult : testClassResult.getResults()) {
+            duration += methodResult.getDuration();
+        }
+        return Math.max(testClassResult.getDuration(), duration);
+    }
+
+    public boolean isEmpty() {
+        return previousDurations.isEmpty();
+    }
+
+    /**
+     * The sum of the known durations.
+     */
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * Estimates the duration of the given run of a test class, taking into account that a shard only runs part of the class.
+     */
+    public long estimate(TestClassRunInfo testClass) {
+        long estimate = estimate(testClass.getTestClassName());
+        if (testClass instanceof ShardedTestClassRunInfo) {
+            return Math.max(1, estimate / ((ShardedTestClassRunInfo) testClass).getShardCount());
+        }
+        return estimate;
+    }
+
+    public long estimate(String testClassName) {
+        Long duration = previousDurations.get(testClassName);
+        return duration == null ? averageDuration : Math.max(1, duration);
+    }
+}
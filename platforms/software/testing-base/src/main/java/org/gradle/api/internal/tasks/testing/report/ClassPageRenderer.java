@@ -34,9 +34,23 @@
 class ClassPageRenderer extends PageRenderer<ClassTestResults> {
     private final CodePanelRenderer codePanelRenderer = new CodePanelRenderer();
     private final TestResultsProvider resultsProvider;
+    private final boolean generationTimeShown;
 
     public ClassPageRenderer(TestResultsProvider provider) {
+        this(provider, true);
+    }
+
+    /**
+     * @param generationTimeShown whether to show when the page was generated, which should not be the case when the page may be reused by later report generations
+     */
+    public ClassPageRenderer(TestResultsProvider provider, boolean generationTimeShown) {
         this.resultsProvider = provider;
+        this.generationTimeShown = generationTimeShown;
+    }
+
+    @Override
+    protected boolean isGenerationTimeShown() {
+        return generationTimeShown;
     }
 
     @Override
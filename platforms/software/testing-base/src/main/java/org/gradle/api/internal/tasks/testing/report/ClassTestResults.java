@@ -94,6 +94,16 @@ public Collection<TestResult> getTestResults() {
         return results;
     }
 
+    /**
+     * Discards the results of the individual tests once the page of this class is rendered, keeping the counts and the failed and ignored tests listed on the other pages.
+     */
+    void discardTestDetails() {
+        for (TestResult test : results) {
+            test.discardFailures();
+        }
+        results.clear();
+    }
+
     public TestResult addTest(String testName, String testDisplayName, long duration) {
         TestResult test = new TestResult(testName, testDisplayName, duration, this);
         results.add(test);
@@ -18,11 +18,16 @@
 import org.gradle.api.Action;
 import org.gradle.api.GradleException;
 import org.gradle.api.internal.tasks.testing.junit.result.TestClassResult;
+import org.gradle.api.internal.tasks.testing.junit.result.TestClassResultIterator;
 import org.gradle.api.internal.tasks.testing.junit.result.TestMethodResult;
 import org.gradle.api.internal.tasks.testing.junit.result.TestResultsProvider;
 import org.gradle.api.internal.tasks.testing.results.serializable.SerializableFailure;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
 import org.gradle.internal.operations.BuildOperationContext;
 import org.gradle.internal.operations.BuildOperationDescriptor;
 import org.gradle.internal.operations.BuildOperationExecutor;
@@ -34,11 +39,16 @@
 import org.gradle.reporting.HtmlReportBuilder;
 import org.gradle.reporting.HtmlReportRenderer;
 import org.gradle.reporting.ReportRenderer;
+import org.gradle.util.GradleVersion;
 import org.gradle.util.internal.GFileUtils;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.gradle.api.tasks.testing.TestResult.ResultType.SKIPPED;
 
@@ -46,6 +56,8 @@
  * Generates an HTML report based on test class results from a {@link TestResultsProvider}.
  */
 public class HtmlTestReport {
+    private static final int TESTS_PER_RENDERING_BATCH = 10_000;
+
     private final BuildOperationRunner buildOperationRunner;
     private final BuildOperationExecutor buildOperationExecutor;
     private final static Logger LOG = Logging.getLogger(HtmlTestReport.class);
@@ -56,11 +68,34 @@ public HtmlTestReport(BuildOperationRunner buildOperationRunner, BuildOperationE
     }
 
     public void generateReport(TestResultsProvider resultsProvider, File reportDir) {
+        generateReport(resultsProvider, reportDir, null);
+    }
+
+    /**
+     * Generates the report, reading the results one class at a time when the provider supports it, see {@link TestResultsProvider#readClassesInOrder()}.
+     * <p>
+     * The pages are then rendered one batch of packages at a time, and only the counts and the failed and ignored tests of rendered classes are kept in memory.
+     * The provider releases the classes of each batch once their pages are rendered, see {@link TestResultsProvider#releaseClass(long)}.
+     * When a state directory is given, class pages whose results did not change since the previous report generation are not rendered again.
+     *
+     * @param stateDir a directory to keep the fingerprints of the rendered class pages in, or {@code null}
+     */
+    public void generateReport(TestResultsProvider resultsProvider, File reportDir, @Nullable File stateDir) {
         LOG.info("Generating HTML test report...");
 
         Timer clock = Time.startTimer();
-        AllTestResults model = loadModelFromProvider(resultsProvider);
-        generateFiles(model, resultsProvider, reportDir);
+        RenderedClassPages renderedClassPages = stateDir == null ? null : RenderedClassPages.load(stateDir);
+        TestClassResultIterator orderedResults = resultsProvider.readClassesInOrder();
+        if (orderedResults == null) {
+            AllTestResults model = loadModelFromProvider(resultsProvider);
+            generateFiles(model, resultsProvider, reportDir);
+        } else {
+            try {
+                generateFilesIncrementally(orderedResults, resultsProvider, reportDir, renderedClassPages);
+            } finally {
+                CompositeStoppable.stoppable(orderedResults).stop();
+            }
+        }
         LOG.info("Finished generating test html results ({}) into: {}", clock.getElapsed(), reportDir);
     }
 
@@ -69,24 +104,29 @@ private AllTestResults loadModelFromProvider(TestResultsProvider resultsProvider
         resultsProvider.visitClasses(new Action<TestClassResult>() {
             @Override
             public void execute(TestClassResult classResult) {
-                model.addTestClass(classResult.getId(), classResult.getClassName(), classResult.getClassDisplayName());
-                List<TestMethodResult> collectedResults = classResult.getResults();
-                for (TestMethodResult collectedResult : collectedResults) {
-                    final TestResult testResult = model.addTest(classResult.getId(), classResult.getClassName(), classResult.getClassDisplayName(), collectedResult.getName(), collectedResult.getDisplayName(), collectedResult.getDuration());
-                    if (collectedResult.getResultType() == SKIPPED) {
-                        testResult.markIgnored(collectedResult.getAssumptionFailure());
-                    } else {
-                        List<SerializableFailure> failures = collectedResult.getFailures();
-                        for (SerializableFailure failure : failures) {
-                            testResult.addFailure(failure);
-                        }
-                    }
-                }
+                addToModel(model, classResult);
             }
         });
         return model;
     }
 
+    private static ClassTestResults addToModel(AllTestResults model, TestClassResult classResult) {
+        ClassTestResults classTestResults = model.addTestClass(classResult.getId(), classResult.getClassName(), classResult.getClassDisplayName());
+        List<TestMethodResult> collectedResults = classResult.getResults();
+        for (TestMethodResult collectedResult : collectedResults) {
+            final TestResult testResult = model.addTest(classResult.getId(), classResult.getClassName(), classResult.getClassDisplayName(), collectedResult.getName(), collectedResult.getDisplayName(), collectedResult.getDuration());
+            if (collectedResult.getResultType() == SKIPPED) {
+                testResult.markIgnored(collectedResult.getAssumptionFailure());
+            } else {
+                List<SerializableFailure> failures = collectedResult.getFailures();
+                for (SerializableFailure failure : failures) {
+                    testResult.addFailure(failure);
+                }
+            }
+        }
+        return classTestResults;
+    }
+
     private void generateFiles(AllTestResults model, final TestResultsProvider resultsProvider, final File reportDir) {
         try {
             HtmlReportRenderer htmlRenderer = new HtmlReportRenderer();
@@ -126,6 +166,129 @@ public void execute(BuildOperationQueue<HtmlReportFileGenerator<? extends Compos
         }
     }
 
+    private void generateFilesIncrementally(TestClassResultIterator orderedResults, TestResultsProvider resultsProvider, File reportDir, @Nullable RenderedClassPages renderedClassPages) {
+        try {
+            HtmlReportRenderer htmlRenderer = new HtmlReportRenderer();
+            boolean keepClassPages = renderedClassPages != null && renderedClassPages.hasPreviousPages();
+            buildOperationRunner.run(new RunnableBuildOperation() {
+                @Override
+                public void run(BuildOperationContext context) {
+                    // Clean-up old HTML report directories, class pages which are not rendered again are kept
+                    GFileUtils.deleteQuietly(new File(reportDir, "packages"));
+                    if (!keepClassPages) {
+                        GFileUtils.deleteQuietly(new File(reportDir, "classes"));
+                    }
+                }
+
+                @Override
+                public BuildOperationDescriptor.Builder description() {
+                    return BuildOperationDescriptor.displayName("Delete old HTML results");
+                }
+            });
+
+            Set<String> classPages = new HashSet<>();
+            htmlRenderer.render(new AllTestResults(), new ReportRenderer<AllTestResults, HtmlReportBuilder>() {
+                @Override
+                public void render(final AllTestResults model, final HtmlReportBuilder output) {
+                    // The results are ordered by package, so each package is complete once a class of another package is read
+                    List<PackageTestResults> batch = new ArrayList<>();
+                    Set<ClassTestResults> unchangedClasses = new HashSet<>();
+                    int batchTestCount = 0;
+                    PackageTestResults currentPackage = null;
+                    while (orderedResults.hasNext()) {
+                        TestClassResult classResult = orderedResults.next();
+                        ClassTestResults classResults = addToModel(model, classResult);
+                        if (classResults.getPackageResults() != currentPackage) {
+                            if (currentPackage != null) {
+                                batch.add(currentPackage);
+                                if (batchTestCount >= TESTS_PER_RENDERING_BATCH) {
+                                    renderPackages(batch, unchangedClasses, renderedClassPages != null, resultsProvider, output);
+                                    batch.clear();
+                                    unchangedClasses.clear();
+                                    batchTestCount = 0;
+                                }
+                            }
+                            currentPackage = classResults.getPackageResults();
+                        }
+                        classPages.add(classResults.getBaseUrl());
+                        if (renderedClassPages != null && !renderedClassPages.record(reportDir, classResults.getBaseUrl(), pageFingerprint(reportDir, resultsProvider, classResult))) {
+                            unchangedClasses.add(classResults);
+                        }
+                        batchTestCount += classResult.getResults().size();
+                    }
+                    if (currentPackage != null) {
+                        batch.add(currentPackage);
+                    }
+                    renderPackages(batch, unchangedClasses, renderedClassPages != null, resultsProvider, output);
+                    buildOperationExecutor.runAll(new Action<BuildOperationQueue<HtmlReportFileGenerator<? extends CompositeTestResults>>>() {
+                        @Override
+                        public void execute(BuildOperationQueue<HtmlReportFileGenerator<? extends CompositeTestResults>> queue) {
+                            queue.add(generator("index.html", model, new OverviewPageRenderer(), output));
+                        }
+                    });
+                }
+            }, reportDir);
+
+            if (keepClassPages) {
+                deleteStaleClassPages(reportDir, classPages);
+            }
+            if (renderedClassPages != null) {
+                renderedClassPages.store();
+            }
+        } catch (Exception e) {
+            throw new GradleException(String.format("Could not generate test report to '%s'.", reportDir), e);
+        }
+    }
+
+    private void renderPackages(List<PackageTestResults> packages, Set<ClassTestResults> unchangedClasses, boolean reusesClassPages, TestResultsProvider resultsProvider, HtmlReportBuilder output) {
+        buildOperationExecutor.runAll(new Action<BuildOperationQueue<HtmlReportFileGenerator<? extends CompositeTestResults>>>() {
+            @Override
+            public void execute(BuildOperationQueue<HtmlReportFileGenerator<? extends CompositeTestResults>> queue) {
+                for (PackageTestResults packageResults : packages) {
+                    queue.add(generator(packageResults.getBaseUrl(), packageResults, new PackagePageRenderer(), output));
+                    for (ClassTestResults classResults : packageResults.getClasses()) {
+                        if (!unchangedClasses.contains(classResults)) {
+                            // Class pages that may be kept by later report generations do not show when they were generated
+                            queue.add(generator(classResults.getBaseUrl(), classResults, new ClassPageRenderer(resultsProvider, !reusesClassPages), output));
+                        }
+                    }
+                }
+            }
+        });
+        for (PackageTestResults packageResults : packages) {
+            for (ClassTestResults classResults : packageResults.getClasses()) {
+                classResults.discardTestDetails();
+                resultsProvider.releaseClass(classResults.getId());
+            }
+        }
+    }
+
+    @Nullable
+    private static HashCode pageFingerprint(File reportDir, TestResultsProvider resultsProvider, TestClassResult classResult) {
+        HashCode classFingerprint = resultsProvider.getClassFingerprint(classResult.getId());
+        if (classFingerprint == null) {
+            return null;
+        }
+        Hasher hasher = Hashing.newHasher();
+        hasher.putString(GradleVersion.current().getVersion());
+        hasher.putString(reportDir.getAbsolutePath());
+        hasher.putString(classResult.getClassName());
+        hasher.putHash(classFingerprint);
+        return hasher.hash();
+    }
+
+    private static void deleteStaleClassPages(File reportDir, Set<String> classPages) {
+        File[] pages = new File(reportDir, "classes").listFiles();
+        if (pages == null) {
+            return;
+        }
+        for (File page : pages) {
+            if (!classPages.contains("classes/" + page.getName())) {
+                GFileUtils.deleteQuietly(page);
+            }
+        }
+    }
+
     public static <T extends CompositeTestResults> HtmlReportFileGenerator<T> generator(String fileUrl, T results, PageRenderer<T> renderer, HtmlReportBuilder output) {
         return new HtmlReportFileGenerator<T>(fileUrl, results, renderer, output);
     }
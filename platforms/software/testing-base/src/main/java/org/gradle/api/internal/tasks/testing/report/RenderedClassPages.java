@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.report;
+
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.FlushableEncoder;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The fingerprints of the class pages of a test report, used to skip rendering class pages whose results did not change since the report was last generated.
+ */
+class RenderedClassPages {
+    private static final int VERSION = 1;
+
+    private final File stateFile;
+    private final Map<String, HashCode> previousPages;
+    private final Map<String, HashCode> currentPages = new HashMap<>();
+
+    private RenderedClassPages(File stateFile, Map<String, HashCode> previousPages) {
+        this.stateFile = stateFile;
+        this.previousPages = previousPages;
+    }
+
+    /**
+     * Loads the fingerprints of the class pages rendered by the previous report generation, if any.
+     * <p>
+     * The fingerprints are removed until {@link #store()} is called, so that they are not trusted when this report generation fails or does not record its pages.
+     */
+    static RenderedClassPages load(File stateDir) {
+        File stateFile = new File(stateDir, "class-pages.bin");
+        Map<String, HashCode> pages = new HashMap<>();
+        if (stateFile.isFile()) {
+            try (InputStream inputStream = new FileInputStream(stateFile)) {
+                Decoder decoder = new KryoBackedDecoder(inputStream);
+                if (decoder.readSmallInt() == VERSION) {
+                    int count = decoder.readSmallInt();
+                    for (int i = 0; i < count; i++) {
+                        pages.put(decoder.readString(), HashCode.fromBytes(decoder.readBinary()));
+                    }
+                }
+            } catch (Exception e) {
+                // Render all pages again
+                pages.clear();
+            }
+            stateFile.delete();
+        }
+        return new RenderedClassPages(stateFile, pages);
+    }
+
+    /**
+     * Whether the previous report generation rendered any class page.
+     */
+    boolean hasPreviousPages() {
+        return !previousPages.isEmpty();
+    }
+
+    /**
+     * Records the fingerprint of a class page of this report generation, returning whether the page needs to be rendered.
+     */
+    boolean record(File reportDir, String pageUrl, @Nullable HashCode fingerprint) {
+        if (fingerprint == null) {
+            return true;
+        }
+        currentPages.put(pageUrl, fingerprint);
+        return !fingerprint.equals(previousPages.get(pageUrl)) || !new File(reportDir, pageUrl).isFile();
+    }
+
+    void store() {
+        stateFile.getParentFile().mkdirs();
+        try (OutputStream outputStream = new FileOutputStream(stateFile)) {
+            FlushableEncoder encoder = new KryoBackedEncoder(outputStream);
+            encoder.writeSmallInt(VERSION);
+            encoder.writeSmallInt(currentPages.size());
+            for (Map.Entry<String, HashCode> page : currentPages.entrySet()) {
+                encoder.writeString(page.getKey());
+                encoder.writeBinary(page.getValue().toByteArray());
+            }
+            encoder.flush();
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+}
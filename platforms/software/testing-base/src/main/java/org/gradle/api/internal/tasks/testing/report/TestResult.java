@@ -29,6 +29,7 @@ public class TestResult extends TestResultModel implements Comparable<TestResult
     private final List<SerializableFailure> failures = new ArrayList<SerializableFailure>();
     private final String name;
     private final String displayName;
+    private boolean failed;
     private boolean ignored;
 
     public TestResult(String name, long duration, ClassTestResults classResults) {
@@ -64,7 +65,7 @@ public ResultType getResultType() {
         if (ignored) {
             return ResultType.SKIPPED;
         }
-        return failures.isEmpty() ? ResultType.SUCCESS : ResultType.FAILURE;
+        return failed ? ResultType.FAILURE : ResultType.SUCCESS;
     }
 
     @Override
@@ -91,9 +92,17 @@ public boolean isIgnored() {
 
     public void addFailure(SerializableFailure failure) {
         classResults.failed(this);
+        failed = true;
         failures.add(failure);
     }
 
+    /**
+     * Discards the failures of this test, which are only rendered on the page of its class, keeping its result type.
+     */
+    void discardFailures() {
+        failures.clear();
+    }
+
     public void markIgnored(@Nullable SerializableFailure assumptionFailure) {
         classResults.ignored(this);
         ignored = true;
@@ -37,15 +37,26 @@ public class ForkedTestClasspath {
     private final ImmutableList<File> applicationClasspath;
     private final ImmutableList<File> applicationModulepath;
     private final ImmutableList<URL> implementationClasspath;
+    private final ImmutableList<URL> testFrameworkImplementationClasspath;
 
     public ForkedTestClasspath(
         ImmutableList<File> applicationClasspath,
         ImmutableList<File> applicationModulepath,
         ImmutableList<URL> implementationClasspath
+    ) {
+        this(applicationClasspath, applicationModulepath, implementationClasspath, ImmutableList.of());
+    }
+
+    public ForkedTestClasspath(
+        ImmutableList<File> applicationClasspath,
+        ImmutableList<File> applicationModulepath,
+        ImmutableList<URL> implementationClasspath,
+        ImmutableList<URL> testFrameworkImplementationClasspath
     ) {
         this.applicationClasspath = applicationClasspath;
         this.applicationModulepath = applicationModulepath;
         this.implementationClasspath = implementationClasspath;
+        this.testFrameworkImplementationClasspath = testFrameworkImplementationClasspath;
     }
 
     public ImmutableList<File> getApplicationClasspath() {
@@ -59,4 +70,12 @@ public ImmutableList<File> getApplicationModulepath() {
     public ImmutableList<URL> getImplementationClasspath() {
         return implementationClasspath;
     }
+
+    /**
+     * The part of the implementation classpath which links against the test framework, and so must be loaded
+     * next to the application classpath when the application classpath is not on the system classloader.
+     */
+    public ImmutableList<URL> getTestFrameworkImplementationClasspath() {
+        return testFrameworkImplementationClasspath;
+    }
 }
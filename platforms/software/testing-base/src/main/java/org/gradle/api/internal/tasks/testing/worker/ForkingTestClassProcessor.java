@@ -132,7 +132,8 @@ public void execute(Throwable throwable) {
                 }
             }
         });
-        connection.addIncoming(TestResultProcessor.class, resultProcessor);
+        TestEventBatchReader resultReader = new TestEventBatchReader();
+        connection.addIncoming(TestEventBatchReceiver.class, batch -> resultReader.dispatch(batch, resultProcessor));
         RemoteTestClassProcessor remoteProcessor = connection.addOutgoing(RemoteTestClassProcessor.class);
         connection.connect();
         remoteProcessor.startProcessing();
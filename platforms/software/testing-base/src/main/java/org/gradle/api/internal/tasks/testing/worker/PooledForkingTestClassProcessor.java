@@ -0,0 +1,212 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import com.google.common.collect.ImmutableList;
+import org.gradle.api.Action;
+import org.gradle.api.internal.tasks.testing.TestClassProcessor;
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classpath.DefaultClassPath;
+import org.gradle.internal.exceptions.DefaultMultiCauseException;
+import org.gradle.internal.nativeintegration.services.NativeServices.NativeServicesMode;
+import org.gradle.internal.work.WorkerLeaseRegistry;
+import org.gradle.internal.work.WorkerThreadRegistry;
+import org.gradle.process.JavaForkOptions;
+import org.gradle.process.internal.JavaExecHandleBuilder;
+import org.gradle.process.internal.health.memory.MemoryAmount;
+import org.gradle.process.internal.worker.WorkerProcessBuilder;
+import org.gradle.process.internal.worker.WorkerProcessFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs test classes in a test worker taken from a {@link TestWorkerPool}, rather than in a worker forked for this processor only.
+ * <p>
+ * The worker is returned to the pool once all test classes ran successfully, and is discarded otherwise.
+ */
+public class PooledForkingTestClassProcessor implements TestClassProcessor {
+    private final WorkerThreadRegistry workerThreadRegistry;
+    private final TestWorkerPool pool;
+    private final WorkerProcessFactory workerFactory;
+    private final WorkerTestClassProcessorFactory processorFactory;
+    private final JavaForkOptions options;
+    private final ForkedTestClasspath classpath;
+    private final Action<WorkerProcessBuilder> buildConfigAction;
+    private final Lock lock = new ReentrantLock();
+    private PooledTestWorker worker;
+    private TestResultProcessor resultProcessor;
+    private WorkerLeaseRegistry.WorkerLeaseCompletion completion;
+    private volatile boolean stoppedNow;
+
+    public PooledForkingTestClassProcessor(
+        WorkerThreadRegistry workerThreadRegistry,
+        TestWorkerPool pool,
+        WorkerProcessFactory workerFactory,
+        WorkerTestClassProcessorFactory processorFactory,
+        JavaForkOptions options,
+        ForkedTestClasspath classpath,
+        Action<WorkerProcessBuilder> buildConfigAction
+    ) {
+        this.workerThreadRegistry = workerThreadRegistry;
+        this.pool = pool;
+        this.workerFactory = workerFactory;
+        this.processorFactory = processorFactory;
+        this.options = options;
+        this.classpath = classpath;
+        this.buildConfigAction = buildConfigAction;
+    }
+
+    @Override
+    public void startProcessing(TestResultProcessor resultProcessor) {
+        this.resultProcessor = resultProcessor;
+    }
+
+    @Override
+    public void processTestClass(TestClassRunInfo testClass) {
+        lock.lock();
+        try {
+            if (stoppedNow) {
+                return;
+            }
+
+            if (worker == null) {
+                completion = workerThreadRegistry.startWorker();
+                try {
+                    worker = acquireWorker();
+                } catch (RuntimeException e) {
+                    completion.leaseFinish();
+                    completion = null;
+                    throw e;
+                }
+            }
+
+            worker.processTestClass(testClass);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PooledTestWorker acquireWorker() {
+        WorkerProcessBuilder builder = workerFactory.create(new ReusableTestWorker());
+        builder.setBaseName(ForkingTestClassProcessor.GRADLE_TEST_WORKER_NAME);
+        builder.setImplementationClasspath(classpath.getImplementationClasspath());
+        // Disabled for faster startup, see https://github.com/gradle/gradle/pull/1883
+        builder.setNativeServicesMode(NativeServicesMode.DISABLED);
+        builder.getJavaCommand().copyJavaForkOptions(options);
+        buildConfigAction.execute(builder);
+
+        String key = keyOf(builder);
+        PooledTestWorker worker = pool.acquire(key, () -> PooledTestWorker.start(key, builder, MemoryAmount.parseNotation(options.getMaxHeapSize())));
+        TestWorkerSession session = new TestWorkerSession(
+            DefaultClassPath.of(classpath.getApplicationClasspath()).getAsURLs(),
+            classpath.getTestFrameworkImplementationClasspath(),
+            ImmutableList.copyOf(builder.getSharedPackages()),
+            processorFactory,
+            String.valueOf(options.getSystemProperties().get(TestWorker.WORKER_TMPDIR_SYS_PROPERTY))
+        );
+        try {
+            worker.startSession(session, resultProcessor);
+        } catch (RuntimeException e) {
+            pool.discard(worker, "the test execution could not be started");
+            throw e;
+        }
+        return worker;
+    }
+
+    /**
+     * Everything that is fixed when a worker process starts. Workers can only be reused by test tasks that agree on all of it.
+     * The temporary directory of the test task is excluded, as it is set again for each session.
+     */
+    private String keyOf(WorkerProcessBuilder builder) {
+        JavaExecHandleBuilder javaCommand = builder.getJavaCommand();
+        String tmpDirArgument = "-D" + TestWorker.WORKER_TMPDIR_SYS_PROPERTY + "=";
+        List<String> jvmArgs = new ArrayList<>();
+        for (String jvmArg : javaCommand.getAllJvmArgs()) {
+            if (!jvmArg.startsWith(tmpDirArgument)) {
+                jvmArgs.add(jvmArg);
+            }
+        }
+        Map<String, String> environment = new TreeMap<>();
+        javaCommand.getEnvironment().forEach((name, value) -> environment.put(name, String.valueOf(value)));
+        return javaCommand.getExecutable()
+            + '\n' + javaCommand.getWorkingDir()
+            + '\n' + environment
+            + '\n' + jvmArgs
+            + '\n' + builder.getLogLevel()
+            + '\n' + new TreeSet<>(builder.getSharedPackages())
+            + '\n' + classpath.getImplementationClasspath();
+    }
+
+    @Override
+    public void stop() {
+        try {
+            if (worker != null) {
+                lock.lock();
+                try {
+                    if (stoppedNow) {
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                stopSession();
+            }
+        } finally {
+            if (completion != null) {
+                completion.leaseFinish();
+            }
+        }
+    }
+
+    private void stopSession() {
+        Throwable failure = worker.stopSession();
+        if (failure != null) {
+            if (!stoppedNow) {
+                pool.discard(worker, "the test execution failed");
+                throw UncheckedException.throwAsUncheckedException(failure);
+            }
+            return;
+        }
+        if (!worker.getUnrecoverableExceptions().isEmpty()) {
+            pool.discard(worker, "errors were encountered while processing test results");
+            throw new DefaultMultiCauseException("Unexpected errors were encountered while processing test results that may result in some results being incorrect or incomplete.", worker.getUnrecoverableExceptions());
+        }
+        pool.release(worker);
+    }
+
+    @Override
+    public void stopNow() {
+        lock.lock();
+        try {
+            stoppedNow = true;
+            if (worker != null) {
+                pool.discardNow(worker, "the test execution was stopped");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.remote.ObjectConnection;
+import org.gradle.process.internal.worker.WorkerProcess;
+import org.gradle.process.internal.worker.WorkerProcessBuilder;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A test worker process running a {@link ReusableTestWorker}, which can run the tests of several test tasks one after the other.
+ *
+ * @see TestWorkerPool
+ */
+public class PooledTestWorker implements ReusableTestWorkerResultProcessor {
+    private final String key;
+    private final WorkerProcess workerProcess;
+    private final long maxHeapSize;
+    private final Set<Throwable> unrecoverableExceptions = ConcurrentHashMap.newKeySet();
+    private RemoteReusableTestWorker remoteWorker;
+    private volatile TestResultProcessor resultProcessor;
+    private volatile TestEventBatchReader resultReader;
+    private volatile CountDownLatch sessionEnd;
+    @Nullable
+    private volatile Throwable sessionFailure;
+    private final AtomicInteger uses = new AtomicInteger();
+
+    private PooledTestWorker(String key, WorkerProcess workerProcess, long maxHeapSize) {
+        this.key = key;
+        this.workerProcess = workerProcess;
+        this.maxHeapSize = maxHeapSize;
+    }
+
+    /**
+     * Starts a worker process running a {@link ReusableTestWorker}.
+     *
+     * @param maxHeapSize the maximum heap size of the worker in bytes, or -1 if it is the JVM default
+     */
+    public static PooledTestWorker start(String key, WorkerProcessBuilder builder, long maxHeapSize) {
+        WorkerProcess workerProcess = builder.build();
+
+        // If the Test Worker JVM fails to start up, an exception will be thrown when we call start()
+        workerProcess.start();
+
+        PooledTestWorker worker = new PooledTestWorker(key, workerProcess, maxHeapSize);
+        ObjectConnection connection = workerProcess.getConnection();
+        connection.useParameterSerializers(TestEventSerializer.create());
+        connection.addUnrecoverableErrorHandler(worker.unrecoverableExceptions::add);
+        connection.addIncoming(ReusableTestWorkerResultProcessor.class, worker);
+        worker.remoteWorker = connection.addOutgoing(RemoteReusableTestWorker.class);
+        connection.connect();
+        return worker;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getDisplayName() {
+        return workerProcess.getDisplayName();
+    }
+
+    /**
+     * The number of sessions started in this worker.
+     */
+    public int getUses() {
+        return uses.get();
+    }
+
+    /**
+     * The maximum heap size of the worker in bytes, or -1 if it is the JVM default.
+     */
+    public long getMaxHeapSize() {
+        return maxHeapSize;
+    }
+
+    public boolean hasExited() {
+        return workerProcess.getExecResult().isPresent();
+    }
+
+    public void startSession(TestWorkerSession session, TestResultProcessor resultProcessor) {
+        this.resultProcessor = resultProcessor;
+        this.resultReader = new TestEventBatchReader();
+        this.sessionFailure = null;
+        this.sessionEnd = new CountDownLatch(1);
+        unrecoverableExceptions.clear();
+        uses.incrementAndGet();
+        remoteWorker.startSession(session);
+    }
+
+    public void processTestClass(TestClassRunInfo testClass) {
+        remoteWorker.processTestClass(testClass);
+    }
+
+    /**
+     * Stops the current session, waiting until all of its results have been received.
+     *
+     * @return the failure of the session, if any. The worker cannot be reused after a failure.
+     */
+    @Nullable
+    public Throwable stopSession() {
+        remoteWorker.stopSession();
+        try {
+            while (!sessionEnd.await(1, TimeUnit.SECONDS)) {
+                if (hasExited()) {
+                    return exitFailure();
+                }
+            }
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        return sessionFailure;
+    }
+
+    private Throwable exitFailure() {
+        try {
+            workerProcess.waitForStop();
+        } catch (RuntimeException e) {
+            return e;
+        }
+        return new IllegalStateException(String.format("%s exited before the end of the test execution.", getDisplayName()));
+    }
+
+    /**
+     * Errors while receiving results of the current session, which may make the results incorrect or incomplete.
+     */
+    public Set<Throwable> getUnrecoverableExceptions() {
+        return unrecoverableExceptions;
+    }
+
+    /**
+     * Asks the worker to stop once idle and waits for it to stop.
+     */
+    public void stop() {
+        if (!hasExited()) {
+            remoteWorker.shutdown();
+        }
+        workerProcess.waitForStop();
+    }
+
+    /**
+     * Stops the worker without waiting for the current session to complete.
+     */
+    public void stopNow() {
+        workerProcess.stopNow();
+    }
+
+    @Override
+    public void processBatch(TestEventBatch batch) {
+        resultReader.dispatch(batch, resultProcessor);
+    }
+
+    @Override
+    public void sessionCompleted() {
+        sessionEnd.countDown();
+    }
+
+    @Override
+    public void sessionFailed(Throwable failure) {
+        sessionFailure = failure;
+        sessionEnd.countDown();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedScheduledExecutor;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.gradle.internal.time.Clock;
+import org.gradle.process.internal.health.memory.MaximumHeapHelper;
+import org.gradle.process.internal.health.memory.MemoryHolder;
+import org.gradle.process.internal.health.memory.MemoryManager;
+import org.gradle.process.internal.health.memory.OsMemoryInfo;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps test worker processes alive between test task executions, so that later test tasks with the same JVM, JVM arguments,
+ * working directory and test infrastructure do not pay for JVM startup and warm-up again.
+ * <p>
+ * Workers are recycled after a fixed number of uses, to bound the state that tests may leak into a worker,
+ * and after any failure. Idle workers are stopped once they have not been used for a while,
+ * and when the daemon asks for memory to be released. Each reuse and the reason for recycling a worker are logged.
+ */
+@ServiceScope(Scope.UserHome.class)
+public class TestWorkerPool implements MemoryHolder, Stoppable {
+    private static final Logger LOGGER = Logging.getLogger(TestWorkerPool.class);
+
+    static final int MAX_USES = 50;
+    static final long MAX_IDLE_TIME_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Object lock = new Object();
+    private final int maxIdleWorkers;
+    private final Clock clock;
+    private final MemoryManager memoryManager;
+    private final long defaultWorkerHeapSize;
+    private final ManagedScheduledExecutor expirationExecutor;
+    private final Set<PooledTestWorker> allWorkers = new LinkedHashSet<>();
+    // Least recently used first, with the time each worker became idle
+    private final Map<PooledTestWorker, Long> idleWorkers = new LinkedHashMap<>();
+
+    public TestWorkerPool(int maxIdleWorkers, Clock clock, ExecutorFactory executorFactory, MemoryManager memoryManager, OsMemoryInfo memoryInfo) {
+        this.maxIdleWorkers = maxIdleWorkers;
+        this.clock = clock;
+        this.memoryManager = memoryManager;
+        this.defaultWorkerHeapSize = defaultWorkerHeapSize(memoryInfo);
+        this.expirationExecutor = executorFactory.createScheduled("Test worker pool expiration", 1);
+        expirationExecutor.scheduleWithFixedDelay(this::stopExpiredWorkers, 1, 1, TimeUnit.MINUTES);
+        memoryManager.addMemoryHolder(this);
+    }
+
+    private static long defaultWorkerHeapSize(OsMemoryInfo memoryInfo) {
+        try {
+            return new MaximumHeapHelper().getDefaultMaximumHeapSize(memoryInfo.getOsSnapshot().getPhysicalMemory().getTotal());
+        } catch (UnsupportedOperationException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reserves an idle worker with the given key, or starts a new one when there is none.
+     */
+    public PooledTestWorker acquire(String key, Factory<PooledTestWorker> workerFactory) {
+        List<PooledTestWorker> exited = new ArrayList<>();
+        PooledTestWorker reused = null;
+        synchronized (lock) {
+            Iterator<PooledTestWorker> it = idleWorkers.keySet().iterator();
+            while (reused == null && it.hasNext()) {
+                PooledTestWorker candidate = it.next();
+                if (candidate.hasExited()) {
+                    it.remove();
+                    exited.add(candidate);
+                } else if (candidate.getKey().equals(key)) {
+                    it.remove();
+                    reused = candidate;
+                }
+            }
+        }
+        for (PooledTestWorker worker : exited) {
+            discard(worker, "its process exited while idle");
+        }
+        if (reused != null) {
+            LOGGER.info("Reusing test worker '{}', which already ran {} test execution(s).", reused.getDisplayName(), reused.getUses());
+            return reused;
+        }
+
+        // Allow workers to be started concurrently
+        PooledTestWorker worker = workerFactory.create();
+        synchronized (lock) {
+            allWorkers.add(worker);
+        }
+        return worker;
+    }
+
+    /**
+     * Returns a worker whose session completed successfully to the pool.
+     */
+    public void release(PooledTestWorker worker) {
+        if (worker.getUses() >= MAX_USES) {
+            discard(worker, "it reached the maximum of " + MAX_USES + " uses");
+            return;
+        }
+        PooledTestWorker evicted = null;
+        synchronized (lock) {
+            if (!allWorkers.contains(worker)) {
+                // The pool was stopped in the meantime
+                evicted = worker;
+            } else {
+                idleWorkers.put(worker, clock.getCurrentTime());
+                if (idleWorkers.size() > maxIdleWorkers) {
+                    evicted = idleWorkers.keySet().iterator().next();
+                    idleWorkers.remove(evicted);
+                }
+            }
+        }
+        if (evicted != null) {
+            discard(evicted, "there are more than " + maxIdleWorkers + " idle test workers");
+        }
+    }
+
+    /**
+     * Stops the workers which have been idle for longer than {@link #MAX_IDLE_TIME_MILLIS}.
+     */
+    void stopExpiredWorkers() {
+        long expiredBefore = clock.getCurrentTime() - MAX_IDLE_TIME_MILLIS;
+        List<PooledTestWorker> expired = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<Map.Entry<PooledTestWorker, Long>> it = idleWorkers.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<PooledTestWorker, Long> entry = it.next();
+                if (entry.getValue() <= expiredBefore) {
+                    // Remove the worker while holding the lock, so that it cannot be acquired while it is being stopped
+                    it.remove();
+                    expired.add(entry.getKey());
+                }
+            }
+        }
+        for (PooledTestWorker worker : expired) {
+            discard(worker, "it was idle for more than " + TimeUnit.MILLISECONDS.toMinutes(MAX_IDLE_TIME_MILLIS) + " minutes");
+        }
+    }
+
+    /**
+     * Stops idle workers, least recently used first, until their maximum heap sizes add up to the requested amount of memory.
+     */
+    @Override
+    public long attemptToRelease(long memoryAmountBytes) throws IllegalArgumentException {
+        if (memoryAmountBytes < 0) {
+            throw new IllegalArgumentException("Negative memory amount");
+        }
+        long releasedBytes = 0;
+        List<PooledTestWorker> toStop = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<PooledTestWorker> it = idleWorkers.keySet().iterator();
+            while (releasedBytes < memoryAmountBytes && it.hasNext()) {
+                PooledTestWorker worker = it.next();
+                it.remove();
+                toStop.add(worker);
+                long maxHeapSize = worker.getMaxHeapSize();
+                releasedBytes += maxHeapSize >= 0 ? maxHeapSize : defaultWorkerHeapSize;
+            }
+        }
+        for (PooledTestWorker worker : toStop) {
+            discard(worker, "the daemon is running low on memory");
+        }
+        return releasedBytes;
+    }
+
+    /**
+     * Stops a worker which cannot be reused, once it is done with its current session.
+     */
+    public void discard(PooledTestWorker worker, String reason) {
+        remove(worker, reason);
+        try {
+            if (!worker.hasExited()) {
+                worker.stop();
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Failed to stop test worker '{}'.", worker.getDisplayName(), e);
+            worker.stopNow();
+        }
+    }
+
+    /**
+     * Stops a worker which cannot be reused, without waiting for its current session.
+     */
+    public void discardNow(PooledTestWorker worker, String reason) {
+        remove(worker, reason);
+        worker.stopNow();
+    }
+
+    private void remove(PooledTestWorker worker, String reason) {
+        synchronized (lock) {
+            idleWorkers.remove(worker);
+            allWorkers.remove(worker);
+        }
+        LOGGER.info("Stopping test worker '{}' after {} use(s) because {}.", worker.getDisplayName(), worker.getUses(), reason);
+    }
+
+    @Override
+    public void stop() {
+        memoryManager.removeMemoryHolder(this);
+        expirationExecutor.stop();
+        List<PooledTestWorker> idle;
+        List<PooledTestWorker> busy;
+        synchronized (lock) {
+            idle = new ArrayList<>(idleWorkers.keySet());
+            busy = new ArrayList<>(allWorkers);
+            busy.removeAll(idle);
+            idleWorkers.clear();
+            allWorkers.clear();
+        }
+        for (PooledTestWorker worker : busy) {
+            discardNow(worker, "the test worker pool is stopping");
+        }
+        for (PooledTestWorker worker : idle) {
+            discard(worker, "the test worker pool is stopping");
+        }
+    }
+}
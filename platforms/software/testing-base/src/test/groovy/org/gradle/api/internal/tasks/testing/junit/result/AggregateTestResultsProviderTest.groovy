@@ -53,6 +53,91 @@ class AggregateTestResultsProviderTest extends Specification {
         0 * action._
     }
 
+    def "merges classes read in order from each provider"() {
+        def classA1 = new TestClassResult(5, 'org.A', 200).add(new TestMethodResult(1, 'a1', TestResult.ResultType.SUCCESS, 0, 0))
+        def classB = new TestClassResult(6, 'org.B', 0)
+        def classA2 = new TestClassResult(7, 'org.A', 100).add(new TestMethodResult(1, 'a2', TestResult.ResultType.SUCCESS, 0, 0))
+        def classC = new TestClassResult(8, 'org.C', 0)
+
+        when:
+        def results = provider.readClassesInOrder().collect()
+
+        then:
+        1 * provider1.readClassesInOrder() >> iterator([classA1, classB])
+        1 * provider2.readClassesInOrder() >> iterator([classA2, classC])
+        results*.className == ['org.A', 'org.B', 'org.C']
+        results*.id == [1, 2, 3]
+        results[0].results*.name == ['a1', 'a2']
+        results[0].startTime == 100
+
+        when:
+        provider.writeAllOutput(1, TestOutputEvent.Destination.StdOut, Stub(Writer))
+
+        then:
+        1 * provider1.writeAllOutput(5, TestOutputEvent.Destination.StdOut, _)
+        1 * provider2.writeAllOutput(7, TestOutputEvent.Destination.StdOut, _)
+    }
+
+    def "releases the classes of each provider merged into a class"() {
+        def classA1 = new TestClassResult(5, 'org.A', 0)
+        def classA2 = new TestClassResult(7, 'org.A', 0)
+
+        given:
+        provider1.readClassesInOrder() >> iterator([classA1])
+        provider2.readClassesInOrder() >> iterator([classA2])
+        provider.readClassesInOrder().collect()
+
+        when:
+        provider.releaseClass(1)
+
+        then:
+        1 * provider1.releaseClass(5)
+        1 * provider2.releaseClass(7)
+
+        when:
+        provider.writeAllOutput(1, TestOutputEvent.Destination.StdOut, Stub(Writer))
+        provider.releaseClass(1)
+
+        then:
+        0 * provider1._
+        0 * provider2._
+    }
+
+    def "does not read classes in order when a provider cannot"() {
+        def delegate = iterator([])
+
+        when:
+        def results = provider.readClassesInOrder()
+
+        then:
+        1 * provider1.readClassesInOrder() >> delegate
+        1 * provider2.readClassesInOrder() >> null
+        results == null
+        delegate.closed
+    }
+
+    private static TestClassResultIterator iterator(List<TestClassResult> results) {
+        def iterator = results.iterator()
+        return new TestClassResultIterator() {
+            boolean closed
+
+            @Override
+            boolean hasNext() {
+                return iterator.hasNext()
+            }
+
+            @Override
+            TestClassResult next() {
+                return iterator.next()
+            }
+
+            @Override
+            void close() {
+                closed = true
+            }
+        }
+    }
+
     def "maps class id to original id when fetching test output"() {
         def writer = Stub(Writer)
         def class1 = Stub(TestClassResult) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.junit.result
+
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent
+import org.gradle.api.tasks.testing.TestOutputEvent
+import org.gradle.api.tasks.testing.TestResult
+import org.gradle.internal.hash.HashCode
+import org.gradle.test.fixtures.file.WorkspaceTest
+
+import static org.gradle.api.tasks.testing.TestOutputEvent.Destination.StdErr
+import static org.gradle.api.tasks.testing.TestOutputEvent.Destination.StdOut
+
+class BinaryResultBackedTestResultsProviderTest extends WorkspaceTest {
+
+    def "class fingerprints do not change when the results are rewritten with the same content"() {
+        given:
+        writeResults()
+        def fingerprints = readFingerprints()
+
+        when:
+        writeResults()
+        testDirectory.listFiles().each { it.setLastModified(it.lastModified() - 10000) }
+
+        then:
+        readFingerprints() == fingerprints
+        fingerprints.values().every { it != null }
+        fingerprints.values().toSet().size() == 3
+    }
+
+    def "class fingerprint changes when the result or the output of the class changes"() {
+        given:
+        writeResults()
+        def fingerprints = readFingerprints()
+
+        when:
+        writeResults(200, "[changed]")
+        def newFingerprints = readFingerprints()
+
+        then:
+        newFingerprints['org.A'] != fingerprints['org.A']
+        newFingerprints['org.B'] != fingerprints['org.B']
+        newFingerprints['org.C'] == fingerprints['org.C']
+    }
+
+    def "only fingerprints classes read in order, once each"() {
+        given:
+        writeResults()
+        def provider = new BinaryResultBackedTestResultsProvider(testDirectory)
+
+        expect:
+        provider.visitClasses {}
+        provider.getClassFingerprint(1) == null
+
+        when:
+        def results = provider.readClassesInOrder()
+        results.next()
+
+        then:
+        provider.getClassFingerprint(1) != null
+        provider.getClassFingerprint(1) == null
+
+        cleanup:
+        results?.close()
+        provider.close()
+    }
+
+    private void writeResults(long durationOfB = 100, String outputOfA = "[out-a]") {
+        new TestResultSerializer(testDirectory).write([
+            new TestClassResult(1, 'org.A', 1000).add(new TestMethodResult(1, 'a', TestResult.ResultType.SUCCESS, 100, 1100)),
+            new TestClassResult(2, 'org.B', 1000).add(new TestMethodResult(2, 'b', TestResult.ResultType.SUCCESS, durationOfB, 1100)),
+            new TestClassResult(3, 'org.C', 1000).add(new TestMethodResult(3, 'c', TestResult.ResultType.FAILURE, 100, 1100).addFailure("message", "stack-trace", "ExceptionType"))
+        ])
+        def writer = new TestOutputStore(testDirectory).writer()
+        writer.onOutput(1, 1, output(StdOut, outputOfA))
+        writer.onOutput(3, 3, output(StdOut, "[out-c]"))
+        writer.onOutput(1, output(StdErr, "[err-a]"))
+        writer.onOutput(3, 3, output(StdErr, "[err-c]"))
+        writer.onOutput(1, 1, output(StdOut, outputOfA))
+        writer.close()
+    }
+
+    private Map<String, HashCode> readFingerprints() {
+        def provider = new BinaryResultBackedTestResultsProvider(testDirectory)
+        def results = provider.readClassesInOrder()
+        try {
+            def fingerprints = [:]
+            while (results.hasNext()) {
+                def classResult = results.next()
+                fingerprints[classResult.className] = provider.getClassFingerprint(classResult.id)
+            }
+            return fingerprints
+        } finally {
+            results.close()
+            provider.close()
+        }
+    }
+
+    private static TestOutputEvent output(TestOutputEvent.Destination destination, String message) {
+        new DefaultTestOutputEvent(destination, message)
+    }
+}
@@ -98,6 +98,73 @@ class TestOutputStoreSpec extends WorkspaceTest {
         reader.close()
     }
 
+    def "reads output of classes interleaved with output of other classes"() {
+        when:
+        def writer = output.writer()
+        writer.onOutput(1, 1, output(StdOut, "[1-1-a]"))
+        writer.onOutput(2, 1, output(StdOut, "[2-1-a]"))
+        writer.onOutput(2, 2, output(StdOut, "[2-2-a]"))
+        writer.onOutput(1, output(StdOut, "[1-a]"))
+        writer.onOutput(1, 2, output(StdOut, "[1-2-a]"))
+        writer.onOutput(3, 1, output(StdErr, "[3-1-a]"))
+        writer.onOutput(2, 1, output(StdOut, "[2-1-b]"))
+        writer.onOutput(1, 1, output(StdOut, "[1-1-b]"))
+        writer.onOutput(1, 1, output(StdErr, "[1-1-c]"))
+        writer.onOutput(2, 2, output(StdOut, "[2-2-b]"))
+        writer.close()
+        def reader = output.reader()
+
+        then:
+        collectAllOutput(reader, 1, StdOut) == "[1-1-a][1-a][1-2-a][1-1-b]"
+        collectAllOutput(reader, 2, StdOut) == "[2-1-a][2-2-a][2-1-b][2-2-b]"
+        collectAllOutput(reader, 3, StdErr) == "[3-1-a]"
+        collectOutput(reader, 1, 1, StdOut) == "[1-1-a][1-1-b]"
+        collectOutput(reader, 1, 1, StdErr) == "[1-1-c]"
+        collectOutput(reader, 1, 2, StdOut) == "[1-2-a]"
+        collectOutput(reader, 2, 2, StdOut) == "[2-2-a][2-2-b]"
+        collectOutput(reader, 1, StdOut) == "[1-a]"
+
+        cleanup:
+        reader.close()
+    }
+
+    def "output for class includes events of a test that started writing to the stream before the first test did"() {
+        when:
+        def writer = output.writer()
+        writer.onOutput(1, 1, output(StdOut, "[out-1]"))
+        writer.onOutput(1, 2, output(StdErr, "[err-2]"))
+        writer.onOutput(1, 1, output(StdErr, "[err-1]"))
+        writer.close()
+        def reader = output.reader()
+
+        then:
+        collectAllOutput(reader, 1, StdErr) == "[err-2][err-1]"
+        reader.hasOutput(1, 2, StdErr)
+        !reader.hasOutput(1, 2, StdOut)
+
+        cleanup:
+        reader.close()
+    }
+
+    def "reads output longer than the read buffers"() {
+        def longMessage = "x" * 10000
+
+        when:
+        def writer = output.writer()
+        writer.onOutput(1, 1, output(StdOut, "[short]"))
+        writer.onOutput(1, 1, output(StdOut, longMessage))
+        writer.onOutput(2, 1, output(StdOut, longMessage))
+        writer.onOutput(1, 1, output(StdOut, "[short]"))
+        writer.close()
+        def reader = output.reader()
+
+        then:
+        collectOutput(reader, 1, 1, StdOut) == "[short]" + longMessage + "[short]"
+
+        cleanup:
+        reader.close()
+    }
+
     def DefaultTestOutputEvent output(TestOutputEvent.Destination destination, String msg) {
         new DefaultTestOutputEvent(destination, msg)
     }
@@ -151,6 +218,16 @@ class TestOutputStoreSpec extends WorkspaceTest {
         output.reader().close() // no exception
     }
 
+    def "exception if index file has an unsupported version"() {
+        when:
+        output.outputsFile.createNewFile()
+        output.indexFile.bytes = [0, 0, 0, 1] as byte[]
+        output.reader()
+
+        then:
+        thrown(IllegalStateException)
+    }
+
     def "exception if no output file"() {
         when:
         output.indexFile.createNewFile()
@@ -82,6 +82,28 @@ class TestReportDataCollectorSpec extends Specification {
         fooTest.results.find { it.name == 'testMethod3' && it.endTime == 400 && it.duration == 50 }
     }
 
+    def "merges the results of the shards of a split class"() {
+        def test1 = new DefaultTestDescriptor("1.1.1", "FooTest", "testMethod")
+        def test2 = new DefaultTestDescriptor("2.1.1", "FooTest", "testMethod2")
+        def shard = new DefaultTestClassDescriptor("3.1", "FooTest")
+        def failure = TestFailure.fromTestFrameworkFailure(new RuntimeException("beforeAll failed"))
+
+        when:
+        collector.beforeTest(test1)
+        collector.afterTest(test1, new DefaultTestResult(SUCCESS, 200, 300, 1, 1, 0, [], null))
+        collector.beforeTest(test2)
+        collector.afterTest(test2, new DefaultTestResult(SUCCESS, 100, 250, 1, 1, 0, [], null))
+        collector.afterSuite(shard, new DefaultTestResult(FAILURE, 150, 160, 0, 0, 0, [failure], null))
+
+        then:
+        results.size() == 1
+        def fooTest = results.FooTest
+        fooTest.startTime == 100
+        fooTest.duration == 200
+        fooTest.results*.name == ['testMethod', 'testMethod2', TestReportDataCollector.EXECUTION_FAILURE]
+        fooTest.failuresCount == 1
+    }
+
     def "writes test outputs for interleaved tests"() {
         def test = new DefaultTestDescriptor("1.1.1", "FooTest", "testMethod")
         def test2 = new DefaultTestDescriptor("1.1.2", "FooTest", "testMethod2")
@@ -67,6 +67,22 @@ class TestResultSerializerTest extends Specification {
         readClass2.results.empty
     }
 
+    def "reads classes in package and class name order"() {
+        def serializer = new TestResultSerializer(tmp.createDir("results"))
+        serializer.write(['org.b.Test', 'Default', 'org.a.z.Test', 'org.a.Test', 'org.a.Zest'].withIndex().collect { name, index ->
+            new TestClassResult(index + 1, name, 0)
+        })
+
+        when:
+        def results = serializer.readOrdered()
+
+        then:
+        results.collect { it.className } == ['Default', 'org.a.Test', 'org.a.Zest', 'org.a.z.Test', 'org.b.Test']
+
+        cleanup:
+        results?.close()
+    }
+
     List<TestClassResult> serialize(Collection<TestClassResult> results) {
         def serializer = new TestResultSerializer(tmp.createDir("results"))
         serializer.write(results)
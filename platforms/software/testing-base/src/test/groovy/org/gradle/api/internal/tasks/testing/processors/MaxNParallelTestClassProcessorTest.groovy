@@ -19,6 +19,7 @@ package org.gradle.api.internal.tasks.testing.processors
 import org.gradle.api.internal.tasks.testing.TestClassProcessor
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo
 import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.api.internal.tasks.testing.worker.TestResultBatchProcessor
 import org.gradle.internal.actor.Actor
 import org.gradle.internal.actor.ActorFactory
 import spock.lang.Specification
@@ -27,7 +28,7 @@ import org.gradle.internal.Factory
 class MaxNParallelTestClassProcessorTest extends Specification {
     private final Factory<TestClassProcessor> factory = Mock()
     private final TestResultProcessor resultProcessor = Mock()
-    private final TestResultProcessor asyncResultProcessor = Mock()
+    private final TestResultBatchProcessor asyncResultProcessor = Mock()
     private final Actor resultProcessorActor = Mock()
     private final ActorFactory actorFactory = Mock()
     private final MaxNParallelTestClassProcessor processor = new MaxNParallelTestClassProcessor(2, factory, actorFactory)
@@ -37,8 +38,8 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         processor.startProcessing(resultProcessor)
 
         then:
-        1 * actorFactory.createActor(resultProcessor) >> resultProcessorActor
-        1 * resultProcessorActor.getProxy(TestResultProcessor) >> asyncResultProcessor
+        1 * actorFactory.createActor(_ as TestResultBatchProcessor) >> resultProcessorActor
+        1 * resultProcessorActor.getProxy(TestResultBatchProcessor) >> asyncResultProcessor
     }
 
     def doesNothingWhenNoTestsProcessed() {
@@ -53,8 +54,8 @@ class MaxNParallelTestClassProcessorTest extends Specification {
     }
 
     def startProcessor() {
-        1 * actorFactory.createActor(resultProcessor) >> resultProcessorActor
-        1 * resultProcessorActor.getProxy(TestResultProcessor) >> asyncResultProcessor
+        1 * actorFactory.createActor(_ as TestResultBatchProcessor) >> resultProcessorActor
+        1 * resultProcessorActor.getProxy(TestResultBatchProcessor) >> asyncResultProcessor
         processor.startProcessing(resultProcessor)
     }
 
@@ -202,4 +203,31 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         1 * processor1.stopNow()
         1 * processor2.stopNow()
     }
+
+    def "assigns test classes to the processor with the least estimated work when durations are known"() {
+        def durations = new TestClassDurationEstimates([Long1: 100L, Long2: 80L, Short1: 30L, Short2: 20L])
+        def balancedProcessor = new MaxNParallelTestClassProcessor(2, factory, actorFactory, durations)
+        TestClassProcessor asyncProcessor1 = Mock()
+        TestClassProcessor asyncProcessor2 = Mock()
+        actorFactory.createActor(_ as TestResultBatchProcessor) >> resultProcessorActor
+        resultProcessorActor.getProxy(TestResultBatchProcessor) >> asyncResultProcessor
+        factory.create() >>> [Stub(TestClassProcessor), Stub(TestClassProcessor)]
+        actorFactory.createActor(_ as TestClassProcessor) >>> [Stub(Actor) { getProxy(TestClassProcessor) >> asyncProcessor1 }, Stub(Actor) { getProxy(TestClassProcessor) >> asyncProcessor2 }]
+        balancedProcessor.startProcessing(resultProcessor)
+
+        when:
+        ['Long1', 'Long2', 'Short1', 'Short2'].each { balancedProcessor.processTestClass(testClass(it)) }
+
+        then:
+        1 * asyncProcessor1.processTestClass({ it.testClassName == 'Long1' })
+        1 * asyncProcessor2.processTestClass({ it.testClassName == 'Long2' })
+        1 * asyncProcessor2.processTestClass({ it.testClassName == 'Short1' })
+        1 * asyncProcessor1.processTestClass({ it.testClassName == 'Short2' })
+    }
+
+    private TestClassRunInfo testClass(String name) {
+        return Stub(TestClassRunInfo) {
+            getTestClassName() >> name
+        }
+    }
 }
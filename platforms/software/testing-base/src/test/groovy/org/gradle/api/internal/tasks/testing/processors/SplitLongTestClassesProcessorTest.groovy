@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors
+
+import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo
+import org.gradle.api.internal.tasks.testing.ShardedTestClassRunInfo
+import org.gradle.api.internal.tasks.testing.DefaultTestDescriptor
+import org.gradle.api.internal.tasks.testing.TestClassProcessor
+import org.gradle.api.internal.tasks.testing.junit.result.TestClassResult
+import org.gradle.api.internal.tasks.testing.junit.result.TestOutputStore
+import org.gradle.api.internal.tasks.testing.junit.result.TestReportDataCollector
+import org.gradle.api.internal.tasks.testing.results.DefaultTestResult
+import spock.lang.Specification
+
+import static org.gradle.api.tasks.testing.TestResult.ResultType.SUCCESS
+
+class SplitLongTestClassesProcessorTest extends Specification {
+    TestClassProcessor delegate = Mock()
+
+    def "splits classes that took longer than a fair share of the previous execution"() {
+        given:
+        def durations = new TestClassDurationEstimates([Long: 700L, Medium: 150L, Short: 150L])
+        def processor = new SplitLongTestClassesProcessor(durations, 4, delegate)
+
+        when:
+        ['Long', 'Medium', 'Short'].each { processor.processTestClass(new DefaultTestClassRunInfo(it)) }
+
+        then:
+        1 * delegate.processTestClass(new ShardedTestClassRunInfo('Long', 0, 3))
+        1 * delegate.processTestClass(new ShardedTestClassRunInfo('Long', 1, 3))
+        1 * delegate.processTestClass(new ShardedTestClassRunInfo('Long', 2, 3))
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Medium'))
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Short'))
+        0 * delegate._
+    }
+
+    def "uses at most one shard per fork"() {
+        given:
+        def durations = new TestClassDurationEstimates([Long: 1000L, Short: 1L])
+        def processor = new SplitLongTestClassesProcessor(durations, 2, delegate)
+
+        when:
+        processor.processTestClass(new DefaultTestClassRunInfo('Long'))
+
+        then:
+        1 * delegate.processTestClass(new ShardedTestClassRunInfo('Long', 0, 2))
+        1 * delegate.processTestClass(new ShardedTestClassRunInfo('Long', 1, 2))
+        0 * delegate._
+    }
+
+    def "passes classes through when durations are unknown"() {
+        given:
+        def processor = new SplitLongTestClassesProcessor(TestClassDurationEstimates.NONE, 4, delegate)
+
+        when:
+        processor.processTestClass(new DefaultTestClassRunInfo('SomeClass'))
+
+        then:
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('SomeClass'))
+        0 * delegate._
+    }
+
+    def "keeps splitting a class whose shards ran in parallel in the previous execution"() {
+        given:
+        Map<String, TestClassResult> results = [:]
+        def collector = new TestReportDataCollector(results, Stub(TestOutputStore.Writer))
+        // Long was split into 3 shards of 2 tests each, which ran at the same time
+        (0..<6).each { index ->
+            def start = 1000 + (index % 2) * 100
+            runTest(collector, "Long", "test$index", start, start + 100)
+        }
+        runTest(collector, "Medium", "test", 1000, 1150)
+        runTest(collector, "Short", "test", 1150, 1300)
+
+        def durations = new TestClassDurationEstimates(results.collectEntries { name, result -> [name, TestClassDurationEstimates.durationOf(result)] })
+        def processor = new SplitLongTestClassesProcessor(durations, 4, delegate)
+
+        expect:
+        results.Long.duration == 200
+        durations.estimate('Long') == 600
+
+        when:
+        ['Long', 'Medium', 'Short'].each { processor.processTestClass(new DefaultTestClassRunInfo(it)) }
+
+        then:
+        1 * delegate.processTestClass(new ShardedTestClassRunInfo('Long', 0, 3))
+        1 * delegate.processTestClass(new ShardedTestClassRunInfo('Long', 1, 3))
+        1 * delegate.processTestClass(new ShardedTestClassRunInfo('Long', 2, 3))
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Medium'))
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Short'))
+        0 * delegate._
+    }
+
+    private static void runTest(TestReportDataCollector collector, String className, String methodName, long startTime, long endTime) {
+        def test = new DefaultTestDescriptor("$className.$methodName", className, methodName)
+        collector.beforeTest(test)
+        collector.afterTest(test, new DefaultTestResult(SUCCESS, startTime, endTime, 1, 1, 0, [], null))
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors
+
+import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo
+import org.gradle.api.internal.tasks.testing.ShardedTestClassRunInfo
+import org.gradle.api.internal.tasks.testing.junit.result.TestClassResult
+import org.gradle.api.internal.tasks.testing.junit.result.TestMethodResult
+import spock.lang.Specification
+
+import static org.gradle.api.tasks.testing.TestResult.ResultType.SUCCESS
+
+class TestClassDurationEstimatesTest extends Specification {
+
+    def "records the span of a class whose tests ran one after another"() {
+        given:
+        // 50ms of class-level setup before the first test
+        def result = new TestClassResult(1, 'SomeTest', 1000)
+            .add(new TestMethodResult(1, 'first', SUCCESS, 100, 1150))
+            .add(new TestMethodResult(2, 'second', SUCCESS, 100, 1250))
+
+        expect:
+        TestClassDurationEstimates.durationOf(result) == 250
+    }
+
+    def "records the span of a class without tests"() {
+        expect:
+        TestClassDurationEstimates.durationOf(new TestClassResult(1, 'SomeTest', 1000)) == 0
+    }
+
+    def "records the sum of the test durations of a class whose shards ran in parallel"() {
+        given:
+        def result = new TestClassResult(1, 'SomeTest', 1000)
+            .add(new TestMethodResult(1, 'first', SUCCESS, 100, 1100))
+            .add(new TestMethodResult(2, 'second', SUCCESS, 100, 1100))
+            .add(new TestMethodResult(3, 'third', SUCCESS, 100, 1100))
+
+        expect:
+        result.duration == 100
+        TestClassDurationEstimates.durationOf(result) == 300
+    }
+
+    def "estimates unknown classes with the average duration"() {
+        given:
+        def durations = new TestClassDurationEstimates([A: 100L, B: 300L])
+
+        expect:
+        durations.estimate('A') == 100
+        durations.estimate('Unknown') == 200
+        durations.totalDuration == 400
+        TestClassDurationEstimates.NONE.estimate('Unknown') == 1
+    }
+
+    def "estimates a shard as its part of the class"() {
+        given:
+        def durations = new TestClassDurationEstimates([A: 300L])
+
+        expect:
+        durations.estimate(new DefaultTestClassRunInfo('A')) == 300
+        durations.estimate(new ShardedTestClassRunInfo('A', 0, 3)) == 100
+    }
+}
@@ -17,7 +17,12 @@ package org.gradle.api.internal.tasks.testing.report
 
 import org.gradle.api.internal.tasks.testing.BuildableTestResultsProvider
 import org.gradle.api.internal.tasks.testing.junit.result.AggregateTestResultsProvider
+import org.gradle.api.internal.tasks.testing.junit.result.BinaryResultBackedTestResultsProvider
+import org.gradle.api.internal.tasks.testing.junit.result.TestClassResult
+import org.gradle.api.internal.tasks.testing.junit.result.TestMethodResult
+import org.gradle.api.internal.tasks.testing.junit.result.TestResultSerializer
 import org.gradle.api.internal.tasks.testing.junit.result.TestResultsProvider
+import org.gradle.api.tasks.testing.TestResult
 import org.gradle.internal.operations.BuildOperationExecutor
 import org.gradle.internal.operations.BuildOperationExecutorSupport
 import org.gradle.internal.operations.BuildOperationRunner
@@ -522,6 +527,76 @@ class HtmlTestReportTest extends Specification {
         testClassFile.assertHasStandardError('err:\u0102')
     }
 
+    def "renders report from ordered binary results and skips class pages whose results did not change"() {
+        given:
+        report = reportWithMaxThreads(4)
+        def stateDir = tmpDir.file('state')
+        def store1 = writeBinaryResults('store1', [
+            classResult(1, 'org.gradle.b.Shared', 'first', TestResult.ResultType.SUCCESS),
+            classResult(2, 'org.gradle.a.Only1', 'only', TestResult.ResultType.SUCCESS)
+        ])
+        def store2 = writeBinaryResults('store2', [
+            classResult(1, 'org.gradle.b.Shared', 'second', TestResult.ResultType.FAILURE),
+            classResult(2, 'org.gradle.c.Only2', 'only', TestResult.ResultType.SUCCESS)
+        ])
+
+        when:
+        generateFromBinaryResults([store1, store2], stateDir)
+
+        then:
+        def index = results(indexFile)
+        index.assertHasTests(4)
+        index.assertHasFailures(1)
+        index.assertHasFailedTest('classes/org.gradle.b.Shared', 'second')
+        def sharedClassFile = results(reportDir.file('classes/org.gradle.b.Shared.html'))
+        sharedClassFile.assertHasTests(2)
+        sharedClassFile.assertHasFailure('second', 'message\n\nstack-trace')
+        results(reportDir.file('packages/org.gradle.a.html')).assertHasTests(1)
+        results(reportDir.file('packages/org.gradle.c.html')).assertHasTests(1)
+        // Class pages may be kept by later report generations, so only the other pages show when they were generated
+        indexFile.text.contains('</a> at ')
+        !reportDir.file('classes/org.gradle.b.Shared.html').text.contains('</a> at ')
+
+        when:
+        def only1Page = reportDir.file('classes/org.gradle.a.Only1.html')
+        def only2Page = reportDir.file('classes/org.gradle.c.Only2.html')
+        only1Page.text = 'unchanged'
+        only2Page.text = 'unchanged'
+        store2 = writeBinaryResults('store2', [
+            classResult(1, 'org.gradle.b.Shared', 'second', TestResult.ResultType.SUCCESS)
+        ])
+        generateFromBinaryResults([store1, store2], stateDir)
+
+        then:
+        only1Page.text == 'unchanged'
+        !only2Page.exists()
+        results(indexFile).assertHasFailures(0)
+        results(reportDir.file('classes/org.gradle.b.Shared.html')).assertHasFailures(0)
+    }
+
+    private void generateFromBinaryResults(List<File> resultDirs, File stateDir) {
+        def provider = new AggregateTestResultsProvider(resultDirs.collect { new BinaryResultBackedTestResultsProvider(it) })
+        try {
+            report.generateReport(provider, reportDir, stateDir)
+        } finally {
+            provider.close()
+        }
+    }
+
+    private File writeBinaryResults(String name, List<TestClassResult> classResults) {
+        def dir = tmpDir.createDir(name)
+        new TestResultSerializer(dir).write(classResults)
+        return dir
+    }
+
+    private static TestClassResult classResult(long id, String className, String testName, TestResult.ResultType resultType) {
+        def methodResult = new TestMethodResult(1, testName, resultType, 100, 1100)
+        if (resultType == TestResult.ResultType.FAILURE) {
+            methodResult.addFailure('message', 'stack-trace', 'ExceptionType')
+        }
+        return new TestClassResult(id, className, 1000).add(methodResult)
+    }
+
     TestResultsProvider buildResults(Closure closure) {
         ConfigureUtil.configure(closure, new BuildableTestResultsProvider())
     }
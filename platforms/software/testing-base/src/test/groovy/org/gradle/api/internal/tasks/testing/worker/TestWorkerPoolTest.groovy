@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker
+
+import org.gradle.internal.concurrent.ExecutorFactory
+import org.gradle.internal.concurrent.ManagedScheduledExecutor
+import org.gradle.internal.time.MockClock
+import org.gradle.process.internal.health.memory.MemoryManager
+import org.gradle.process.internal.health.memory.OsMemoryInfo
+import spock.lang.Specification
+
+class TestWorkerPoolTest extends Specification {
+    def clock = MockClock.create()
+    def expirationExecutor = Mock(ManagedScheduledExecutor)
+    def executorFactory = Stub(ExecutorFactory) {
+        createScheduled(_, _) >> expirationExecutor
+    }
+    def memoryManager = Mock(MemoryManager)
+    def memoryInfo = Stub(OsMemoryInfo) {
+        getOsSnapshot() >> { throw new UnsupportedOperationException() }
+    }
+    def pool = new TestWorkerPool(2, clock, executorFactory, memoryManager, memoryInfo)
+
+    def "reuses an idle worker with the same key"() {
+        def idle = worker("a")
+
+        when:
+        def first = pool.acquire("a", { idle })
+        pool.release(first)
+        def second = pool.acquire("a", { throw new IllegalStateException() })
+
+        then:
+        first.is(idle)
+        second.is(idle)
+        0 * idle.stop()
+    }
+
+    def "starts a new worker when no idle worker has the same key"() {
+        def workerA = worker("a")
+        def workerB = worker("b")
+
+        when:
+        pool.release(pool.acquire("a", { workerA }))
+        def acquired = pool.acquire("b", { workerB })
+
+        then:
+        acquired.is(workerB)
+    }
+
+    def "does not hand out a worker that is in use"() {
+        def first = worker("a")
+        def second = worker("a")
+
+        when:
+        pool.acquire("a", { first })
+        def acquired = pool.acquire("a", { second })
+
+        then:
+        acquired.is(second)
+    }
+
+    def "discards idle workers that have exited"() {
+        def exited = worker("a")
+        def replacement = worker("a")
+
+        when:
+        pool.release(pool.acquire("a", { exited }))
+        def acquired = pool.acquire("a", { replacement })
+
+        then:
+        exited.hasExited() >> true
+        0 * exited.stop()
+        acquired.is(replacement)
+    }
+
+    def "stops workers that reached the maximum number of uses"() {
+        def used = worker("a")
+        def replacement = worker("a")
+        used.getUses() >> TestWorkerPool.MAX_USES
+
+        when:
+        pool.release(pool.acquire("a", { used }))
+
+        then:
+        1 * used.stop()
+
+        when:
+        def acquired = pool.acquire("a", { replacement })
+
+        then:
+        acquired.is(replacement)
+    }
+
+    def "stops the least recently used idle worker when there are too many idle workers"() {
+        def workers = (1..3).collect { worker("a") }
+
+        when:
+        def acquired = workers.collect { w -> pool.acquire("a", { w }) }
+        acquired.each { pool.release(it) }
+
+        then:
+        1 * workers[0].stop()
+        0 * workers[1].stop()
+        0 * workers[2].stop()
+    }
+
+    def "stops idle workers gracefully and busy workers immediately when stopped"() {
+        def idle = worker("a")
+        def busy = worker("b")
+
+        given:
+        pool.release(pool.acquire("a", { idle }))
+        pool.acquire("b", { busy })
+
+        when:
+        pool.stop()
+
+        then:
+        1 * idle.stop()
+        1 * busy.stopNow()
+        0 * busy.stop()
+    }
+
+    def "stops workers which have been idle for too long"() {
+        def expired = worker("a")
+        def recent = worker("b")
+
+        given:
+        pool.release(pool.acquire("a", { expired }))
+        clock.increment(TestWorkerPool.MAX_IDLE_TIME_MILLIS - 1000)
+        pool.release(pool.acquire("b", { recent }))
+        clock.increment(1000)
+
+        when:
+        pool.stopExpiredWorkers()
+
+        then:
+        1 * expired.stop()
+        0 * recent.stop()
+
+        when:
+        def acquired = pool.acquire("b", { throw new IllegalStateException() })
+
+        then:
+        acquired.is(recent)
+    }
+
+    def "stops the least recently used idle workers until the requested memory is released"() {
+        def workers = (1..2).collect { worker("a", 256) }
+        def busy = worker("b", 256)
+
+        given:
+        workers.collect { w -> pool.acquire("a", { w }) }.each { pool.release(it) }
+        pool.acquire("b", { busy })
+
+        when:
+        def released = pool.attemptToRelease(100)
+
+        then:
+        released == 256
+        1 * workers[0].stop()
+        0 * workers[1].stop()
+        0 * busy.stop()
+    }
+
+    def "registers with the memory manager and checks for expired workers periodically until stopped"() {
+        when:
+        def pool = new TestWorkerPool(2, clock, executorFactory, memoryManager, memoryInfo)
+
+        then:
+        1 * memoryManager.addMemoryHolder(_ as TestWorkerPool)
+        1 * expirationExecutor.scheduleWithFixedDelay(_, 1, 1, _)
+
+        when:
+        pool.stop()
+
+        then:
+        1 * memoryManager.removeMemoryHolder(pool)
+        1 * expirationExecutor.stop()
+    }
+
+    private PooledTestWorker worker(String key, long maxHeapSize = -1) {
+        def worker = Mock(PooledTestWorker)
+        _ * worker.getKey() >> key
+        _ * worker.getMaxHeapSize() >> maxHeapSize
+        _ * worker.getDisplayName() >> "worker with key ${key}"
+        return worker
+    }
+}
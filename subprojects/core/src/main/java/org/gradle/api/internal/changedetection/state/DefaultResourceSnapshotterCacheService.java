@@ -20,6 +20,8 @@
 import org.gradle.internal.fingerprint.hashing.FileSystemLocationSnapshotHasher;
 import org.gradle.internal.fingerprint.hashing.RegularFileSnapshotContext;
 import org.gradle.internal.fingerprint.hashing.RegularFileSnapshotContextHasher;
+import org.gradle.internal.fingerprint.hashing.ResourceHasher;
+import org.gradle.internal.fingerprint.hashing.ZipEntryContext;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.hash.Hasher;
 import org.gradle.internal.hash.Hashing;
@@ -31,6 +33,7 @@
 
 public class DefaultResourceSnapshotterCacheService implements ResourceSnapshotterCacheService {
     private static final HashCode NO_HASH = Hashing.signature(CachingResourceHasher.class.getName() + " : no hash");
+    private static final HashCode ZIP_ENTRY_MARKER = Hashing.signature(CachingResourceHasher.class.getName() + " : zip entry");
     private final IndexedCache<HashCode, HashCode> indexedCache;
 
     public DefaultResourceSnapshotterCacheService(IndexedCache<HashCode, HashCode> indexedCache) {
@@ -49,9 +52,24 @@ public HashCode hashFile(RegularFileSnapshotContext fileSnapshotContext, Regular
         return hashFile(fileSnapshotContext.getSnapshot(), () -> hasher.hash(fileSnapshotContext), configurationHash);
     }
 
+    @Nullable
+    @Override
+    public HashCode hashZipEntry(ZipEntryContext zipEntryContext, HashCode contentHash, ResourceHasher hasher, HashCode configurationHash) throws IOException {
+        // Zip entries are hashed differently from files with the same content, for example when falling back to the content hash
+        Hasher zipEntryConfigurationHasher = Hashing.newHasher();
+        zipEntryConfigurationHasher.putHash(ZIP_ENTRY_MARKER);
+        zipEntryConfigurationHasher.putHash(configurationHash);
+        return hash(contentHash, () -> hasher.hash(zipEntryContext), zipEntryConfigurationHasher.hash());
+    }
+
     @Nullable
     private HashCode hashFile(FileSystemLocationSnapshot snapshot, IoSupplier<HashCode> hashCodeSupplier, HashCode configurationHash) throws IOException {
-        HashCode resourceHashCacheKey = resourceHashCacheKey(snapshot.getHash(), configurationHash);
+        return hash(snapshot.getHash(), hashCodeSupplier, configurationHash);
+    }
+
+    @Nullable
+    private HashCode hash(HashCode contentHash, IoSupplier<HashCode> hashCodeSupplier, HashCode configurationHash) throws IOException {
+        HashCode resourceHashCacheKey = resourceHashCacheKey(contentHash, configurationHash);
 
         HashCode resourceHash = indexedCache.getIfPresent(resourceHashCacheKey);
         if (resourceHash != null) {
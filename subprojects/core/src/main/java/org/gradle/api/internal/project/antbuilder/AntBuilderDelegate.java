@@ -50,6 +50,13 @@ public AntBuilderDelegate getAnt() {
         return this;
     }
 
+    /**
+     * Returns the class loader of the Ant library classpath, which is shared by all the builders using the same classpath.
+     */
+    public ClassLoader getAntlibClassLoader() {
+        return antlibClassLoader;
+    }
+
     public void taskdef(Map<String, String> args) {
         Set<String> argNames = args.keySet();
         if (argNames.equals(ImmutableSet.of("name", "classname"))) {
@@ -19,6 +19,8 @@
 import org.gradle.internal.execution.FileCollectionFingerprinter;
 import org.gradle.internal.fingerprint.FileCollectionFingerprint;
 import org.gradle.internal.fingerprint.impl.RelativePathFileCollectionFingerprinter;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
 
 /**
  * Responsible for calculating a {@link FileCollectionFingerprint} for a {@link org.gradle.api.file.FileCollection} representing a Java
@@ -26,5 +28,6 @@
  *
  * @see org.gradle.api.tasks.CompileClasspath
  */
+@ServiceScope(Scope.BuildSession.class)
 public interface CompileClasspathFingerprinter extends FileCollectionFingerprinter {
 }
@@ -20,17 +20,22 @@
 import org.gradle.api.internal.changedetection.state.AbiExtractingClasspathResourceHasher;
 import org.gradle.api.internal.changedetection.state.CachingResourceHasher;
 import org.gradle.api.internal.changedetection.state.ResourceSnapshotterCacheService;
+import org.gradle.cache.GlobalCacheLocations;
 import org.gradle.internal.execution.model.InputNormalizer;
 import org.gradle.internal.fingerprint.FileNormalizer;
 import org.gradle.internal.fingerprint.classpath.CompileClasspathFingerprinter;
 import org.gradle.internal.fingerprint.impl.AbstractFileCollectionFingerprinter;
 
 public class DefaultCompileClasspathFingerprinter extends AbstractFileCollectionFingerprinter implements CompileClasspathFingerprinter {
-    public DefaultCompileClasspathFingerprinter(ResourceSnapshotterCacheService cacheService, StringInterner stringInterner) {
+    public DefaultCompileClasspathFingerprinter(ResourceSnapshotterCacheService cacheService, StringInterner stringInterner, ClasspathFingerprintCache fingerprintCache, GlobalCacheLocations globalCacheLocations) {
         super(ClasspathFingerprintingStrategy.compileClasspath(
-            new CachingResourceHasher(AbiExtractingClasspathResourceHasher.DEFAULT, cacheService),
+            // The ABI of a class file only depends on its content, so the ABI of the unchanged classes in a changed jar is reused.
+            // Jars in the global caches never change, so their hash is cached as a whole instead.
+            new CachingResourceHasher(AbiExtractingClasspathResourceHasher.DEFAULT, cacheService, zipEntryContext ->
+                zipEntryContext.getFullName().endsWith(".class") && !globalCacheLocations.isInsideGlobalCache(zipEntryContext.getRootParentName())),
             cacheService,
-            stringInterner
+            stringInterner,
+            fingerprintCache
         ));
     }
 
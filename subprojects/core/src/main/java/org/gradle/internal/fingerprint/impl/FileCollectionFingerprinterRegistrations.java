@@ -27,8 +27,8 @@
 import org.gradle.internal.execution.impl.FingerprinterRegistration;
 import org.gradle.internal.fingerprint.DirectorySensitivity;
 import org.gradle.internal.fingerprint.LineEndingSensitivity;
+import org.gradle.internal.fingerprint.classpath.CompileClasspathFingerprinter;
 import org.gradle.internal.fingerprint.classpath.impl.DefaultClasspathFingerprinter;
-import org.gradle.internal.fingerprint.classpath.impl.DefaultCompileClasspathFingerprinter;
 import org.gradle.internal.fingerprint.hashing.FileSystemLocationSnapshotHasher;
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
@@ -52,12 +52,13 @@ public class FileCollectionFingerprinterRegistrations {
     public FileCollectionFingerprinterRegistrations(
         StringInterner stringInterner,
         ResourceSnapshotterCacheService resourceSnapshotterCacheService,
+        CompileClasspathFingerprinter compileClasspathFingerprinter,
         ResourceFilter resourceFilter,
         ResourceEntryFilter metaInfFilter,
         Map<String, ResourceEntryFilter> propertiesFileFilters
         ) {
 
-        List<? extends FileCollectionFingerprinter> insensitiveFingerprinters = insensitiveFingerprinters(resourceSnapshotterCacheService, stringInterner);
+        List<? extends FileCollectionFingerprinter> insensitiveFingerprinters = insensitiveFingerprinters(compileClasspathFingerprinter);
         this.registrants =
             withAllLineEndingSensitivities(lineEndingSensitivity -> {
                 FileSystemLocationSnapshotHasher normalizedContentHasher = normalizedContentHasher(lineEndingSensitivity, resourceSnapshotterCacheService);
@@ -131,11 +132,12 @@ private static List<? extends FileCollectionFingerprinter> directoryInsensitiveF
     }
 
     /**
-     * These fingerprinters do not care about line ending or directory sensitivity at all
+     * These fingerprinters do not care about line ending or directory sensitivity at all.
+     * They do not depend on the input normalization of a project either, so they are shared by all projects of the build.
      */
-    private static List<? extends FileCollectionFingerprinter> insensitiveFingerprinters(ResourceSnapshotterCacheService resourceSnapshotterCacheService, StringInterner stringInterner) {
+    private static List<? extends FileCollectionFingerprinter> insensitiveFingerprinters(CompileClasspathFingerprinter compileClasspathFingerprinter) {
         return Collections.singletonList(
-            new DefaultCompileClasspathFingerprinter(resourceSnapshotterCacheService, stringInterner)
+            compileClasspathFingerprinter
         );
     }
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.local;
+
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.ChecksumService;
+import org.gradle.internal.hash.HashCode;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A file store that keeps each distinct content exactly once, addressed by its SHA1 hash.
+ * <p>
+ * Entries of other file stores are materialized as hard links to the blob, so the same content stored under several keys
+ * (e.g. the same jar fetched from two repositories) only occupies disk space once. The number of links to a blob is used as its
+ * reference count, see {@link #getReferenceCount(File)}.
+ * <p>
+ * When the file system does not support hard links, entries are materialized as copies of the blob instead.
+ * <p>
+ * Like {@link UniquePathKeyFileStore}, blobs are only ever added and never modified. Locking is required to add blobs.
+ */
+@NullMarked
+public class ContentAddressedBlobStore {
+
+    public static final int FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP = 2;
+
+    private final File baseDir;
+    private final PathKeyFileStore delegate;
+
+    public ContentAddressedBlobStore(File baseDir, ChecksumService checksumService) {
+        this.baseDir = baseDir;
+        this.delegate = new UniquePathKeyFileStore(checksumService, baseDir);
+    }
+
+    public File getBaseDir() {
+        return baseDir;
+    }
+
+    public File whereIs(HashCode sha1) {
+        return new File(baseDir, toPath(sha1));
+    }
+
+    /**
+     * Moves the given file into the store, unless a blob with the same hash is already present, in which case the file is discarded.
+     *
+     * @return the blob for the given content
+     */
+    public LocallyAvailableResource move(HashCode sha1, File source) {
+        LocallyAvailableResource blob = delegate.move(toPath(sha1), source);
+        return new DefaultLocallyAvailableResource(blob.getFile(), sha1);
+    }
+
+    /**
+     * Materializes the given blob at the destination, preferably as a hard link.
+     */
+    public void linkTo(LocallyAvailableResource blob, File destination) {
+        Path blobPath = blob.getFile().toPath();
+        Path destinationPath = destination.toPath();
+        try {
+            try {
+                Files.createLink(destinationPath, blobPath);
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(blobPath, destinationPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the number of entries that link to the given blob, or {@code -1} when the file system cannot tell.
+     */
+    public static int getReferenceCount(File blob) {
+        try {
+            Object linkCount = Files.getAttribute(blob.toPath(), "unix:nlink");
+            return ((Number) linkCount).intValue() - 1;
+        } catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+            return -1;
+        }
+    }
+
+    private static String toPath(HashCode sha1) {
+        String hash = sha1.toString();
+        return hash.substring(0, 2) + "/" + hash;
+    }
+}
@@ -22,12 +22,16 @@
 import org.gradle.internal.file.FileAccessTracker;
 import org.gradle.internal.file.impl.SingleDepthFileAccessTracker;
 import org.gradle.internal.hash.ChecksumService;
+import org.gradle.internal.hash.HashCode;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
 import java.util.Set;
 
 /**
  * A file store that stores items grouped by some provided function over the key and an SHA1 hash of the value. This means that files are only ever added and never modified once added, so a resource from this store can be used without locking. Locking is required to add entries.
+ * <p>
+ * When a {@link ContentAddressedBlobStore} is provided, the content of each entry is stored once in the blob store and the entry links to it.
  */
 public class GroupedAndNamedUniqueFileStore<K> implements FileStore<K>, FileStoreSearcher<K> {
 
@@ -40,8 +44,16 @@
     private final FileAccessTracker checksumDirAccessTracker;
     private final File baseDir;
     private final ChecksumService checksumService;
+    @Nullable
+    private final ContentAddressedBlobStore blobStore;
+    @Nullable
+    private final FileAccessTracker blobAccessTracker;
 
     public GroupedAndNamedUniqueFileStore(File baseDir, TemporaryFileProvider temporaryFileProvider, FileAccessTimeJournal fileAccessTimeJournal, Grouper<K> grouper, Namer<K> namer, ChecksumService checksumService) {
+        this(baseDir, temporaryFileProvider, fileAccessTimeJournal, grouper, namer, checksumService, null);
+    }
+
+    public GroupedAndNamedUniqueFileStore(File baseDir, TemporaryFileProvider temporaryFileProvider, FileAccessTimeJournal fileAccessTimeJournal, Grouper<K> grouper, Namer<K> namer, ChecksumService checksumService, @Nullable ContentAddressedBlobStore blobStore) {
         this.delegate = new UniquePathKeyFileStore(checksumService, baseDir);
         this.temporaryFileProvider = temporaryFileProvider;
         this.grouper = grouper;
@@ -49,11 +61,13 @@ public GroupedAndNamedUniqueFileStore(File baseDir, TemporaryFileProvider tempor
         this.checksumDirAccessTracker = new SingleDepthFileAccessTracker(fileAccessTimeJournal, baseDir, grouper.getNumberOfGroupingDirs() + NUMBER_OF_CHECKSUM_DIRS);
         this.baseDir = baseDir;
         this.checksumService = checksumService;
+        this.blobStore = blobStore;
+        this.blobAccessTracker = blobStore == null ? null : new SingleDepthFileAccessTracker(fileAccessTimeJournal, blobStore.getBaseDir(), ContentAddressedBlobStore.FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP);
     }
 
     @Override
     public LocallyAvailableResource move(K key, File source) {
-        return markAccessed(delegate.move(toPath(key, getChecksum(source)), source));
+        return markAccessed(doMove(key, source));
     }
 
     @Override
@@ -86,8 +100,8 @@ private String stripLeadingZeros(String checksumPart) {
         return checksumPart;
     }
 
-    private String getChecksum(File contentFile) {
-        return checksumService.sha1(contentFile).toString();
+    private HashCode getChecksum(File contentFile) {
+        return checksumService.sha1(contentFile);
     }
 
     private File getTempFile() {
@@ -104,8 +118,22 @@ public LocallyAvailableResource add(K key, Action<File> addAction) {
         //and reexecuting the action isn't acceptable
         final File tempFile = getTempFile();
         addAction.execute(tempFile);
-        final String groupedAndNamedKey = toPath(key, getChecksum(tempFile));
-        return markAccessed(delegate.move(groupedAndNamedKey, tempFile));
+        return markAccessed(doMove(key, tempFile));
+    }
+
+    private LocallyAvailableResource doMove(K key, File source) {
+        HashCode checksum = getChecksum(source);
+        String groupedAndNamedKey = toPath(key, checksum.toString());
+        ContentAddressedBlobStore blobStore = this.blobStore;
+        FileAccessTracker blobAccessTracker = this.blobAccessTracker;
+        if (blobStore == null || blobAccessTracker == null) {
+            return delegate.move(groupedAndNamedKey, source);
+        }
+        LocallyAvailableResource blob = blobStore.move(checksum, source);
+        // Blobs are cleaned up by access time when the file system cannot count their links
+        blobAccessTracker.markAccessed(blob.getFile());
+        LocallyAvailableResource entry = delegate.add(groupedAndNamedKey, destination -> blobStore.linkTo(blob, destination));
+        return new DefaultLocallyAvailableResource(entry.getFile(), checksum);
     }
 
     private LocallyAvailableResource markAccessed(LocallyAvailableResource resource) {
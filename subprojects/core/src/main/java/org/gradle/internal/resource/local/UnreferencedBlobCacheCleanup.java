@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.local;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.gradle.cache.internal.AbstractTimeJournalAwareCacheCleanup;
+import org.gradle.cache.internal.SingleDepthFilesFinder;
+import org.gradle.internal.file.FileAccessTimeJournal;
+
+import java.io.File;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes blobs of a {@link ContentAddressedBlobStore} that are no longer linked from any entry.
+ * <p>
+ * Entries linked from a blob own their content, so deleting a blob never invalidates an entry.
+ * When the reference count of a blob cannot be determined, e.g. on Windows, the blob is deleted once it was not used by a new entry
+ * within the retention period, like the entries of the other file stores.
+ */
+public class UnreferencedBlobCacheCleanup extends AbstractTimeJournalAwareCacheCleanup {
+
+    private final ToIntFunction<File> referenceCounter;
+    private final Supplier<Long> removeUnusedEntriesOlderThan;
+
+    public UnreferencedBlobCacheCleanup(FileAccessTimeJournal journal, Supplier<Long> removeUnusedEntriesOlderThan) {
+        this(ContentAddressedBlobStore::getReferenceCount, journal, removeUnusedEntriesOlderThan);
+    }
+
+    @VisibleForTesting
+    UnreferencedBlobCacheCleanup(ToIntFunction<File> referenceCounter, FileAccessTimeJournal journal, Supplier<Long> removeUnusedEntriesOlderThan) {
+        super(new SingleDepthFilesFinder(ContentAddressedBlobStore.FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP), journal);
+        this.referenceCounter = referenceCounter;
+        this.removeUnusedEntriesOlderThan = removeUnusedEntriesOlderThan;
+    }
+
+    @Override
+    protected boolean shouldDelete(File file) {
+        int referenceCount = referenceCounter.applyAsInt(file);
+        if (referenceCount < 0) {
+            // The file system cannot tell, so fall back to when the blob was last used
+            return journal.getLastAccessTime(file) < removeUnusedEntriesOlderThan.get();
+        }
+        return referenceCount == 0;
+    }
+}
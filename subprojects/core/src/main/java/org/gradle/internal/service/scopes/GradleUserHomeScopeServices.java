@@ -80,6 +80,7 @@
 import org.gradle.internal.jvm.inspection.InvalidInstallationWarningReporter;
 import org.gradle.internal.jvm.inspection.JvmMetadataDetector;
 import org.gradle.internal.jvm.inspection.JvmVersionDetector;
+import org.gradle.internal.jvm.inspection.PersistentJvmMetadataDetector;
 import org.gradle.internal.jvm.inspection.ReportingJvmMetadataDetector;
 import org.gradle.internal.logging.LoggingManagerInternal;
 import org.gradle.internal.logging.events.OutputEventListener;
@@ -132,11 +133,15 @@ public void configure(ServiceRegistration registration) {
     }
 
     @Provides
-    JvmMetadataDetector createJvmMetadataDetector(ClientExecHandleBuilderFactory execHandleFactory, TemporaryFileProvider temporaryFileProvider) {
+    JvmMetadataDetector createJvmMetadataDetector(ClientExecHandleBuilderFactory execHandleFactory, TemporaryFileProvider temporaryFileProvider, GlobalScopedCacheBuilderFactory cacheBuilderFactory) {
+        // Only valid installations are persisted, so invalid ones are still probed and reported on every build
         return new CachingJvmMetadataDetector(
-            new ReportingJvmMetadataDetector(
-                new DefaultJvmMetadataDetector(execHandleFactory, temporaryFileProvider),
-                new InvalidInstallationWarningReporter()
+            new PersistentJvmMetadataDetector(
+                new ReportingJvmMetadataDetector(
+                    new DefaultJvmMetadataDetector(execHandleFactory, temporaryFileProvider),
+                    new InvalidInstallationWarningReporter()
+                ),
+                cacheBuilderFactory.createCacheBuilder("jvms")
             )
         );
     }
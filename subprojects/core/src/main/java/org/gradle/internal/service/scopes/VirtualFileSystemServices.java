@@ -39,6 +39,7 @@
 import org.gradle.cache.GlobalCacheLocations;
 import org.gradle.cache.IndexedCache;
 import org.gradle.cache.IndexedCacheParameters;
+import org.gradle.cache.internal.HeapProportionalCacheSizer;
 import org.gradle.cache.internal.InMemoryCacheDecoratorFactory;
 import org.gradle.cache.scopes.BuildTreeScopedCacheBuilderFactory;
 import org.gradle.cache.scopes.GlobalScopedCacheBuilderFactory;
@@ -63,7 +64,10 @@
 import org.gradle.internal.file.Stat;
 import org.gradle.internal.fingerprint.LineEndingSensitivity;
 import org.gradle.internal.fingerprint.classpath.ClasspathFingerprinter;
+import org.gradle.internal.fingerprint.classpath.CompileClasspathFingerprinter;
+import org.gradle.internal.fingerprint.classpath.impl.ClasspathFingerprintCache;
 import org.gradle.internal.fingerprint.classpath.impl.DefaultClasspathFingerprinter;
+import org.gradle.internal.fingerprint.classpath.impl.DefaultCompileClasspathFingerprinter;
 import org.gradle.internal.fingerprint.impl.DefaultFileCollectionSnapshotter;
 import org.gradle.internal.fingerprint.impl.FileCollectionFingerprinterRegistrations;
 import org.gradle.internal.hash.DefaultFileHasher;
@@ -156,6 +160,8 @@ DirectorySnapshotterStatistics.Collector createDirectorySnapshotterStatisticsCol
 
     @VisibleForTesting
     static class GradleUserHomeServices implements ServiceRegistrationProvider {
+        private static final int CLASSPATH_ENTRY_FINGERPRINTS_MAX_SIZE = 100_000;
+        private static final int CLASSPATH_FINGERPRINTS_MAX_SIZE = 200_000;
 
         @Provides
         @PrivateService
@@ -302,6 +308,15 @@ ClasspathFingerprinter createClasspathFingerprinter(ResourceSnapshotterCacheServ
             return new DefaultClasspathFingerprinter(resourceSnapshotterCacheService, ResourceFilter.FILTER_NOTHING, ResourceEntryFilter.FILTER_NOTHING, PropertiesFileFilter.FILTER_NOTHING, stringInterner, LineEndingSensitivity.DEFAULT);
         }
 
+        @Provides
+        ClasspathFingerprintCache createClasspathFingerprintCache() {
+            HeapProportionalCacheSizer cacheSizer = new HeapProportionalCacheSizer();
+            return new ClasspathFingerprintCache(
+                cacheSizer.scaleCacheSize(CLASSPATH_ENTRY_FINGERPRINTS_MAX_SIZE),
+                cacheSizer.scaleCacheSize(CLASSPATH_FINGERPRINTS_MAX_SIZE)
+            );
+        }
+
         @Provides
         ClasspathHasher createClasspathHasher(FileCollectionSnapshotter fileCollectionSnapshotter, ClasspathFingerprinter fingerprinter, FileCollectionFactory fileCollectionFactory) {
             return new DefaultClasspathHasher(fileCollectionSnapshotter, fingerprinter, fileCollectionFactory);
@@ -378,14 +393,26 @@ OutputSnapshotter createOutputSnapshotter(FileCollectionSnapshotter fileCollecti
             return new DefaultOutputSnapshotter(fileCollectionSnapshotter);
         }
 
+        @Provides
+        CompileClasspathFingerprinter createCompileClasspathFingerprinter(
+            ResourceSnapshotterCacheService resourceSnapshotterCacheService,
+            StringInterner stringInterner,
+            ClasspathFingerprintCache classpathFingerprintCache,
+            GlobalCacheLocations globalCacheLocations
+        ) {
+            return new DefaultCompileClasspathFingerprinter(resourceSnapshotterCacheService, stringInterner, classpathFingerprintCache, globalCacheLocations);
+        }
+
         @Provides
         FileCollectionFingerprinterRegistrations createFileCollectionFingerprinterRegistrations(
             StringInterner stringInterner,
-            ResourceSnapshotterCacheService resourceSnapshotterCacheService
+            ResourceSnapshotterCacheService resourceSnapshotterCacheService,
+            CompileClasspathFingerprinter compileClasspathFingerprinter
         ) {
             return new FileCollectionFingerprinterRegistrations(
                 stringInterner,
                 resourceSnapshotterCacheService,
+                compileClasspathFingerprinter,
                 ResourceFilter.FILTER_NOTHING,
                 ResourceEntryFilter.FILTER_NOTHING,
                 PropertiesFileFilter.FILTER_NOTHING
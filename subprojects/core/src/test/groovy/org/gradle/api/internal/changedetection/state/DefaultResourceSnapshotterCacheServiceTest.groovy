@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.changedetection.state
 
+import org.gradle.api.internal.file.archive.ZipEntry
 import org.gradle.internal.file.FileMetadata
 import org.gradle.internal.file.impl.DefaultFileMetadata
 import org.gradle.internal.fingerprint.hashing.ResourceHasher
@@ -78,6 +79,42 @@ class DefaultResourceSnapshotterCacheServiceTest extends Specification {
         0 * _
     }
 
+    def "caches the result for zip entries by content hash"() {
+        def expectedHash = TestHashCodes.hashCodeFrom(123)
+        def contentHash = TestHashCodes.hashCodeFrom(789)
+        def zipEntryContext = new DefaultZipEntryContext(Stub(ZipEntry), "Foo.class", "some.jar")
+        def otherZipEntryContext = new DefaultZipEntryContext(Stub(ZipEntry), "Bar.class", "other.jar")
+
+        when:
+        def actualHash = snapshotterCache.hashZipEntry(zipEntryContext, contentHash, delegate, configurationHash)
+        then:
+        1 * delegate.hash(zipEntryContext) >> expectedHash
+        actualHash == expectedHash
+        0 * _
+
+        when:
+        actualHash = snapshotterCache.hashZipEntry(otherZipEntryContext, contentHash, delegate, configurationHash)
+        then:
+        actualHash == expectedHash
+        0 * _
+    }
+
+    def "does not share results between files and zip entries with the same content"() {
+        def fileHash = TestHashCodes.hashCodeFrom(123)
+        def zipEntryHash = TestHashCodes.hashCodeFrom(321)
+        def zipEntryContext = new DefaultZipEntryContext(Stub(ZipEntry), "Foo.class", "some.jar")
+
+        when:
+        def actualFileHash = snapshotterCache.hashFile(snapshotContext, delegate, configurationHash)
+        def actualZipEntryHash = snapshotterCache.hashZipEntry(zipEntryContext, snapshot.hash, delegate, configurationHash)
+        then:
+        1 * delegate.hash(snapshotContext) >> fileHash
+        1 * delegate.hash(zipEntryContext) >> zipEntryHash
+        actualFileHash == fileHash
+        actualZipEntryHash == zipEntryHash
+        0 * _
+    }
+
     private HashCode getConfigurationHash() {
         def hasher = Hashing.newHasher()
         hasher.putString(delegate.getClass().getName())
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.fingerprint.classpath.impl
+
+import org.gradle.api.Action
+import org.gradle.api.Transformer
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.api.internal.changedetection.state.DefaultResourceSnapshotterCacheService
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.cache.GlobalCacheLocations
+import org.gradle.internal.fingerprint.impl.DefaultFileCollectionSnapshotter
+import org.gradle.internal.hash.HashCode
+import org.gradle.internal.serialize.HashCodeSerializer
+import org.gradle.test.fixtures.file.CleanupTestDirectory
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.testfixtures.internal.TestInMemoryIndexedCache
+import org.gradle.util.UsesNativeServices
+import org.junit.Rule
+import spock.lang.Specification
+
+@CleanupTestDirectory(fieldName = "tmpDir")
+@UsesNativeServices
+class DefaultCompileClasspathFingerprinterTest extends Specification {
+    @Rule
+    public final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def fileSystemAccess = TestFiles.fileSystemAccess()
+    def snapshotter = new DefaultFileCollectionSnapshotter(fileSystemAccess, TestFiles.fileSystem())
+    def cacheService = Spy(DefaultResourceSnapshotterCacheService, constructorArgs: [new TestInMemoryIndexedCache<HashCode, HashCode>(new HashCodeSerializer())])
+    def fingerprintCache = new ClasspathFingerprintCache(100_000, 100_000)
+    def globalCacheDir = tmpDir.file('global-cache')
+    def globalCacheLocations = Stub(GlobalCacheLocations) {
+        isInsideGlobalCache(_) >> { String path -> path.startsWith(globalCacheDir.absolutePath) }
+    }
+    def fingerprinter = new DefaultCompileClasspathFingerprinter(cacheService, new StringInterner(), fingerprintCache, globalCacheLocations)
+
+    def "reuses fingerprints of unchanged classpath directories"() {
+        def classes = tmpDir.file('classes')
+        addClass(classes, Action)
+
+        when:
+        def first = fingerprint(classes)
+
+        then:
+        1 * cacheService.hashFile(_, _, _)
+        first.size() == 1
+
+        when:
+        def second = fingerprint(classes)
+
+        then:
+        0 * cacheService.hashFile(_, _, _)
+        second == first
+
+        when:
+        addClass(classes, Transformer)
+        def third = fingerprint(classes)
+
+        then:
+        2 * cacheService.hashFile(_, _, _)
+        third.size() == 2
+        third[classes.file('org/gradle/api/Action.class').absolutePath] == first[classes.file('org/gradle/api/Action.class').absolutePath]
+    }
+
+    def "fingerprints a directory listed twice on the classpath once"() {
+        def classes = tmpDir.file('classes')
+        addClass(classes, Action)
+        fingerprint(classes)
+
+        when:
+        def fingerprints = fingerprint(classes, classes)
+
+        then:
+        fingerprints.keySet() == [classes.file('org/gradle/api/Action.class').absolutePath] as Set
+    }
+
+    def "reuses fingerprints of a classpath prefix across fingerprinters"() {
+        def first = tmpDir.file('first')
+        def second = tmpDir.file('second')
+        def third = tmpDir.file('third')
+        addClass(first, Action)
+        addClass(second, Transformer)
+        addClass(third, Specification)
+        fingerprint(first, second)
+
+        when:
+        fingerprinter = new DefaultCompileClasspathFingerprinter(cacheService, new StringInterner(), fingerprintCache, globalCacheLocations)
+        def fingerprints = fingerprint(first, second, third)
+
+        then:
+        1 * cacheService.hashFile(_, _, _)
+        fingerprints.keySet() as List == [
+            first.file('org/gradle/api/Action.class').absolutePath,
+            second.file('org/gradle/api/Transformer.class').absolutePath,
+            third.file('spock/lang/Specification.class').absolutePath
+        ]
+
+        when:
+        def reordered = fingerprint(second, first)
+
+        then:
+        0 * cacheService.hashFile(_, _, _)
+        reordered.keySet() as List == [
+            second.file('org/gradle/api/Transformer.class').absolutePath,
+            first.file('org/gradle/api/Action.class').absolutePath
+        ]
+    }
+
+    def "caches the hashes of classes in jars outside of the global caches"() {
+        def classes = tmpDir.file('classes')
+        addClass(classes, Action)
+        addClass(classes, Transformer)
+        def jar = tmpDir.file('libs/lib.jar')
+        classes.zipTo(jar)
+
+        when:
+        fingerprint(jar)
+
+        then:
+        2 * cacheService.hashZipEntry(_, _, _, _)
+    }
+
+    def "does not cache the hashes of classes in jars inside the global caches"() {
+        def classes = tmpDir.file('classes')
+        addClass(classes, Action)
+        addClass(classes, Transformer)
+        def jar = globalCacheDir.file('lib.jar')
+        classes.zipTo(jar)
+
+        when:
+        def fingerprints = fingerprint(jar)
+
+        then:
+        0 * cacheService.hashZipEntry(_, _, _, _)
+        fingerprints.size() == 1
+    }
+
+    private static void addClass(TestFile classesDir, Class<?> type) {
+        def resource = type.name.replace('.', '/') + '.class'
+        classesDir.file(resource).createFile().bytes = type.classLoader.getResourceAsStream(resource).bytes
+    }
+
+    private Map<String, String> fingerprint(TestFile... classpath) {
+        fileSystemAccess.invalidate(classpath.collect { it.absolutePath })
+        def snapshot = snapshotter.snapshot(TestFiles.fixed(classpath))
+        return fingerprinter.fingerprint(snapshot, null).fingerprints.collectEntries { path, fingerprint ->
+            [path, fingerprint.normalizedPath + ':' + fingerprint.normalizedContentHash]
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.fingerprint.impl
+
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.api.internal.changedetection.state.PropertiesFileFilter
+import org.gradle.api.internal.changedetection.state.ResourceEntryFilter
+import org.gradle.api.internal.changedetection.state.ResourceFilter
+import org.gradle.api.internal.changedetection.state.ResourceSnapshotterCacheService
+import org.gradle.internal.execution.model.InputNormalizer
+import org.gradle.internal.fingerprint.classpath.CompileClasspathFingerprinter
+import spock.lang.Specification
+
+class FileCollectionFingerprinterRegistrationsTest extends Specification {
+    def compileClasspathFingerprinter = Stub(CompileClasspathFingerprinter) {
+        getNormalizer() >> InputNormalizer.COMPILE_CLASSPATH
+    }
+
+    def "registrations with different input normalizations share the compile classpath fingerprinter"() {
+        when:
+        def first = registrations(ResourceFilter.FILTER_NOTHING)
+        def second = registrations(Stub(ResourceFilter))
+
+        then:
+        compileClasspathFingerprinters(first) == [compileClasspathFingerprinter] as Set
+        compileClasspathFingerprinters(second) == [compileClasspathFingerprinter] as Set
+    }
+
+    private FileCollectionFingerprinterRegistrations registrations(ResourceFilter resourceFilter) {
+        new FileCollectionFingerprinterRegistrations(
+            new StringInterner(),
+            Stub(ResourceSnapshotterCacheService),
+            compileClasspathFingerprinter,
+            resourceFilter,
+            ResourceEntryFilter.FILTER_NOTHING,
+            PropertiesFileFilter.FILTER_NOTHING
+        )
+    }
+
+    private static Set compileClasspathFingerprinters(FileCollectionFingerprinterRegistrations registrations) {
+        registrations.registrants
+            .findAll { it.spec.normalizer == InputNormalizer.COMPILE_CLASSPATH }
+            .collect { it.fingerprinter } as Set
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.local
+
+import org.gradle.cache.CleanableStore
+import org.gradle.cache.CleanupProgressMonitor
+import org.gradle.internal.file.FileAccessTimeJournal
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.test.precondition.Requires
+import org.gradle.test.preconditions.UnitTestPreconditions
+import org.gradle.util.TestUtil
+import org.junit.Rule
+import spock.lang.Specification
+import spock.lang.Subject
+
+class ContentAddressedBlobStoreTest extends Specification {
+
+    @Rule TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    TestFile baseDir = tmpDir.createDir("blobs")
+
+    @Subject ContentAddressedBlobStore blobStore = new ContentAddressedBlobStore(baseDir, TestUtil.checksumService)
+
+    def "stores blob under its hash"() {
+        given:
+        def source = tmpDir.file("source.txt").createFile()
+        source.text = "content"
+        def sha1 = TestUtil.checksumService.sha1(source)
+
+        when:
+        def blob = blobStore.move(sha1, source)
+
+        then:
+        blob.file == baseDir.file(sha1.toString().substring(0, 2), sha1.toString())
+        blob.file.text == "content"
+        blob.sha1 == sha1
+        !source.exists()
+    }
+
+    def "discards source when blob is already present"() {
+        given:
+        def first = tmpDir.file("first.txt").createFile()
+        first.text = "content"
+        def second = tmpDir.file("second.txt").createFile()
+        second.text = "content"
+        def sha1 = TestUtil.checksumService.sha1(first)
+
+        when:
+        def blob1 = blobStore.move(sha1, first)
+        def blob2 = blobStore.move(sha1, second)
+
+        then:
+        blob1.file == blob2.file
+        !second.exists()
+    }
+
+    @Requires(UnitTestPreconditions.NotWindows)
+    def "counts links to blob"() {
+        given:
+        def source = tmpDir.file("source.txt").createFile()
+        source.text = "content"
+        def blob = blobStore.move(TestUtil.checksumService.sha1(source), source)
+
+        expect:
+        ContentAddressedBlobStore.getReferenceCount(blob.file) == 0
+
+        when:
+        blobStore.linkTo(blob, tmpDir.file("entry1"))
+        blobStore.linkTo(blob, tmpDir.file("entry2"))
+
+        then:
+        ContentAddressedBlobStore.getReferenceCount(blob.file) == 2
+        tmpDir.file("entry1").text == "content"
+    }
+
+    @Requires(UnitTestPreconditions.NotWindows)
+    def "cleanup deletes only unreferenced blobs"() {
+        given:
+        def referenced = storeBlob("referenced")
+        def unreferenced = storeBlob("unreferenced")
+        blobStore.linkTo(referenced, tmpDir.file("entry"))
+        def cleanableStore = Stub(CleanableStore) {
+            getBaseDir() >> baseDir
+            getReservedCacheFiles() >> []
+            getDisplayName() >> "blobs"
+        }
+
+        when:
+        new UnreferencedBlobCacheCleanup(Stub(FileAccessTimeJournal), { 0L }).clean(cleanableStore, Mock(CleanupProgressMonitor))
+
+        then:
+        referenced.file.exists()
+        !unreferenced.file.exists()
+        tmpDir.file("entry").text == "referenced"
+    }
+
+    def "cleanup deletes blobs not used within the retention period when reference count is unknown"() {
+        given:
+        def unused = storeBlob("unused")
+        def used = storeBlob("used")
+        def journal = Mock(FileAccessTimeJournal) {
+            getLastAccessTime(unused.file) >> 500
+            getLastAccessTime(used.file) >> 2000
+        }
+        def cleanableStore = Stub(CleanableStore) {
+            getBaseDir() >> baseDir
+            getReservedCacheFiles() >> []
+            getDisplayName() >> "blobs"
+        }
+
+        when:
+        new UnreferencedBlobCacheCleanup({ -1 }, journal, { 1000L }).clean(cleanableStore, Mock(CleanupProgressMonitor))
+
+        then:
+        !unused.file.exists()
+        used.file.exists()
+        1 * journal.deleteLastAccessTime(unused.file)
+    }
+
+    private LocallyAvailableResource storeBlob(String content) {
+        def source = tmpDir.file("${content}.txt").createFile()
+        source.text = content
+        return blobStore.move(TestUtil.checksumService.sha1(source), source)
+    }
+}
@@ -72,4 +72,55 @@ class GroupedAndNamedUniqueFileStoreTest extends Specification {
         then:
         1 * fileAccessTimeJournal.setLastAccessTime(baseDir.file('group'), _)
     }
+
+    def "stores content once in blob store when deduplicating"() {
+        given:
+        def blobStore = new ContentAddressedBlobStore(tmpDir.createDir("blobs"), TestUtil.checksumService)
+        def deduplicatingStore = new GroupedAndNamedUniqueFileStore<String>(baseDir, temporaryFileProvider, fileAccessTimeJournal, grouper, { key -> key }, TestUtil.checksumService, blobStore)
+
+        when:
+        def first = deduplicatingStore.add('1', { it.text = 'Hello, World!' })
+        def second = deduplicatingStore.add('2', { it.text = 'Hello, World!' })
+
+        then:
+        first.file != second.file
+        first.file.text == 'Hello, World!'
+        second.file.text == 'Hello, World!'
+        first.sha1 == second.sha1
+        def blob = blobStore.whereIs(first.sha1)
+        blob.text == 'Hello, World!'
+        blobStore.baseDir.listFiles().size() == 1
+    }
+
+    def "moved source is consumed when deduplicating"() {
+        given:
+        def blobStore = new ContentAddressedBlobStore(tmpDir.createDir("blobs"), TestUtil.checksumService)
+        def deduplicatingStore = new GroupedAndNamedUniqueFileStore<String>(baseDir, temporaryFileProvider, fileAccessTimeJournal, grouper, { key -> key }, TestUtil.checksumService, blobStore)
+        def file = tmpDir.createFile("1.txt")
+        file.text = 'content'
+
+        when:
+        def entry = deduplicatingStore.move('1', file)
+
+        then:
+        !file.exists()
+        entry.file.text == 'content'
+        blobStore.whereIs(entry.sha1).text == 'content'
+    }
+
+    def "marks blobs accessed when deduplicating"() {
+        given:
+        def blobStore = new ContentAddressedBlobStore(tmpDir.createDir("blobs"), TestUtil.checksumService)
+        def deduplicatingStore = new GroupedAndNamedUniqueFileStore<String>(baseDir, temporaryFileProvider, fileAccessTimeJournal, grouper, { key -> key }, TestUtil.checksumService, blobStore)
+        def content = tmpDir.file("content")
+        content.text = 'content'
+        def blob = blobStore.whereIs(TestUtil.checksumService.sha1(content))
+
+        when:
+        deduplicatingStore.add('1', { it.text = 'content' })
+        deduplicatingStore.add('2', { it.text = 'content' })
+
+        then:
+        2 * fileAccessTimeJournal.setLastAccessTime(blob, _)
+    }
 }